@@ -33,13 +33,20 @@ import io.awspring.cloud.core.region.RegionProvider;
 import io.awspring.cloud.core.region.StaticRegionProvider;
 import io.awspring.cloud.messaging.config.QueueMessageHandlerFactory;
 import io.awspring.cloud.messaging.config.SimpleMessageListenerContainerFactory;
+import io.awspring.cloud.messaging.core.S3PayloadStore;
+import io.awspring.cloud.messaging.listener.ErrorVisibilityBackOff;
 import io.awspring.cloud.messaging.listener.QueueMessageHandler;
 import io.awspring.cloud.messaging.listener.SimpleMessageListenerContainer;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+import io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -63,8 +70,23 @@ import static io.awspring.cloud.core.config.AmazonWebserviceClientConfigurationU
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnProperty(name = "cloud.aws.sqs.enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties(SqsProperties.class)
+@AutoConfigureAfter(
+		name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 public class SqsAutoConfiguration {
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnBean(MeterRegistry.class)
+	static class SqsMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public MessagingMetrics messagingMetrics(MeterRegistry meterRegistry) {
+			return new MicrometerMessagingMetrics(meterRegistry);
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@ConditionalOnMissingAmazonClient(AmazonSQS.class)
 	static class SqsClientConfiguration {
@@ -116,11 +138,16 @@ public class SqsAutoConfiguration {
 
 		private final ObjectMapper objectMapper;
 
+		private final S3PayloadStore payloadStore;
+
+		private final MessagingMetrics messagingMetrics;
+
 		SqsConfiguration(ObjectProvider<SimpleMessageListenerContainerFactory> simpleMessageListenerContainerFactory,
 				ObjectProvider<QueueMessageHandlerFactory> queueMessageHandlerFactory, BeanFactory beanFactory,
 				ObjectProvider<ResourceIdResolver> resourceIdResolver,
 				ObjectProvider<MappingJackson2MessageConverter> mappingJackson2MessageConverter,
-				ObjectProvider<ObjectMapper> objectMapper, SqsProperties sqsProperties) {
+				ObjectProvider<ObjectMapper> objectMapper, ObjectProvider<S3PayloadStore> payloadStore,
+				ObjectProvider<MessagingMetrics> messagingMetrics, SqsProperties sqsProperties) {
 			this.simpleMessageListenerContainerFactory = simpleMessageListenerContainerFactory
 					.getIfAvailable(() -> createSimpleMessageListenerContainerFactory(sqsProperties));
 			this.queueMessageHandlerFactory = queueMessageHandlerFactory
@@ -129,6 +156,8 @@ public class SqsAutoConfiguration {
 			this.resourceIdResolver = resourceIdResolver.getIfAvailable();
 			this.mappingJackson2MessageConverter = mappingJackson2MessageConverter.getIfAvailable();
 			this.objectMapper = objectMapper.getIfAvailable();
+			this.payloadStore = payloadStore.getIfUnique();
+			this.messagingMetrics = messagingMetrics.getIfUnique();
 		}
 
 		private static QueueMessageHandlerFactory createQueueMessageHandlerFactory(SqsProperties sqsProperties) {
@@ -136,6 +165,8 @@ public class SqsAutoConfiguration {
 
 			Optional.ofNullable(sqsProperties.getHandler().getDefaultDeletionPolicy())
 					.ifPresent(factory::setSqsMessageDeletionPolicy);
+			Optional.ofNullable(sqsProperties.getHandler().getMaxDecompressedPayloadSize())
+					.ifPresent(factory::setMaxDecompressedPayloadSize);
 
 			return factory;
 		}
@@ -152,11 +183,55 @@ public class SqsAutoConfiguration {
 			Optional.ofNullable(sqsProperties.getListener().getVisibilityTimeout())
 					.ifPresent(factory::setVisibilityTimeout);
 			Optional.ofNullable(sqsProperties.getListener().getWaitTimeout()).ifPresent(factory::setWaitTimeOut);
+			Optional.ofNullable(sqsProperties.getListener().getMaxInFlightMessagesPerQueue())
+					.ifPresent(factory::setMaxInFlightMessagesPerQueue);
+			Optional.ofNullable(sqsProperties.getListener().getPollersPerQueue())
+					.ifPresent(factory::setPollersPerQueue);
+			Optional.ofNullable(sqsProperties.getListener().getDeleteMessageBatching())
+					.ifPresent(factory::setDeleteMessageBatching);
+			Optional.ofNullable(sqsProperties.getListener().getDeleteMessageBatchWindow())
+					.ifPresent(factory::setDeleteMessageBatchWindow);
+			Optional.ofNullable(sqsProperties.getListener().getChangeMessageVisibilityBatchWindow())
+					.ifPresent(factory::setChangeMessageVisibilityBatchWindow);
+			Optional.ofNullable(sqsProperties.getListener().getVisibilityHeartbeatInterval())
+					.ifPresent(factory::setVisibilityHeartbeatInterval);
+			Optional.ofNullable(sqsProperties.getListener().getVisibilityHeartbeatMaxDuration())
+					.ifPresent(factory::setVisibilityHeartbeatMaxDuration);
+			Optional.ofNullable(sqsProperties.getListener().getVirtualThreads()).ifPresent(factory::setVirtualThreads);
+			Optional.ofNullable(sqsProperties.getListener().getMaxEmptyReceiveBackOffTime())
+					.ifPresent(factory::setMaxEmptyReceiveBackOffTime);
+			Optional.ofNullable(sqsProperties.getListener().getMaxPrefetchedMessagesPerQueue())
+					.ifPresent(factory::setMaxPrefetchedMessagesPerQueue);
+			Optional.ofNullable(sqsProperties.getListener().getFifoPipelinedPolling())
+					.ifPresent(factory::setFifoPipelinedPolling);
+			Optional.ofNullable(sqsProperties.getListener().getQueueResolutionConcurrency())
+					.ifPresent(factory::setQueueResolutionConcurrency);
+			Optional.ofNullable(sqsProperties.getListener().getQueueResolutionTimeout())
+					.ifPresent(factory::setQueueResolutionTimeout);
+			Optional.ofNullable(sqsProperties.getListener().getDeferredQueueResolution())
+					.ifPresent(factory::setDeferredQueueResolution);
+			Optional.ofNullable(sqsProperties.getListener().getIgnoreUnresolvedQueues())
+					.ifPresent(factory::setIgnoreUnresolvedQueues);
+			Optional.ofNullable(createErrorVisibilityBackOff(sqsProperties.getListener()))
+					.ifPresent(factory::setErrorVisibilityBackOff);
+			Optional.ofNullable(sqsProperties.getListener().getDeriveAttributeNames())
+					.ifPresent(factory::setDeriveAttributeNames);
 			factory.setAutoStartup(sqsProperties.getListener().isAutoStartup());
 
 			return factory;
 		}
 
+		private static ErrorVisibilityBackOff createErrorVisibilityBackOff(SqsProperties.ListenerProperties listener) {
+			if (listener.getErrorVisibilityTimeout() == null) {
+				return null;
+			}
+			return new ErrorVisibilityBackOff(listener.getErrorVisibilityTimeout(),
+					Optional.ofNullable(listener.getErrorVisibilityTimeoutMultiplier())
+							.orElse(ErrorVisibilityBackOff.DEFAULT_MULTIPLIER),
+					Optional.ofNullable(listener.getMaxErrorVisibilityTimeout())
+							.orElse(ErrorVisibilityBackOff.MAX_VISIBILITY_TIMEOUT));
+		}
+
 		@Bean
 		public SimpleMessageListenerContainer simpleMessageListenerContainer(AmazonSQSAsync amazonSqs,
 				QueueMessageHandler queueMessageHandler) {
@@ -167,6 +242,13 @@ public class SqsAutoConfiguration {
 					&& this.resourceIdResolver != null) {
 				this.simpleMessageListenerContainerFactory.setResourceIdResolver(this.resourceIdResolver);
 			}
+			if (this.simpleMessageListenerContainerFactory.getPayloadStore() == null && this.payloadStore != null) {
+				this.simpleMessageListenerContainerFactory.setPayloadStore(this.payloadStore);
+			}
+			if (this.simpleMessageListenerContainerFactory.getMessagingMetrics() == null
+					&& this.messagingMetrics != null) {
+				this.simpleMessageListenerContainerFactory.setMessagingMetrics(this.messagingMetrics);
+			}
 
 			SimpleMessageListenerContainer simpleMessageListenerContainer = this.simpleMessageListenerContainerFactory
 					.createSimpleMessageListenerContainer();
@@ -96,6 +96,126 @@ public class SqsProperties extends AwsClientProperties {
 		 */
 		private Long backOffTime;
 
+		/**
+		 * The maximum number of messages per queue that can be in flight at the same
+		 * time. When set, the container polls for the next batch while the previous one
+		 * is still being processed instead of waiting for every message of the batch to
+		 * complete.
+		 */
+		private Integer maxInFlightMessagesPerQueue;
+
+		/**
+		 * The number of threads polling each queue concurrently. Can be overridden per
+		 * listener with the {@code pollers} attribute of {@link SqsListener}.
+		 */
+		private Integer pollersPerQueue;
+
+		/**
+		 * Configures if message deletions are sent as DeleteMessageBatch requests of up
+		 * to 10 entries instead of one DeleteMessage request per message.
+		 */
+		private Boolean deleteMessageBatching;
+
+		/**
+		 * The maximum number of milliseconds a message deletion is delayed to be batched
+		 * with other deletions of the same queue.
+		 */
+		private Long deleteMessageBatchWindow;
+
+		/**
+		 * The maximum number of milliseconds a visibility change of a failed message is
+		 * delayed to be batched with other visibility changes of the same queue.
+		 */
+		private Long changeMessageVisibilityBatchWindow;
+
+		/**
+		 * The number of seconds between two visibility timeout extensions of the messages
+		 * that are being processed. Enables the visibility heartbeat when set. Should be
+		 * lower than the visibility timeout of the queues.
+		 */
+		private Integer visibilityHeartbeatInterval;
+
+		/**
+		 * The maximum number of seconds the visibility heartbeat extends the visibility
+		 * of a message, counted from the moment its processing started.
+		 */
+		private Integer visibilityHeartbeatMaxDuration;
+
+		/**
+		 * Configures if pollers and listener methods run on virtual threads. Requires
+		 * Java 21 or later, the default thread pool is used on older runtimes.
+		 */
+		private Boolean virtualThreads;
+
+		/**
+		 * The maximum time in milliseconds the pollers of an idle queue back off after
+		 * consecutive empty receives. Enables adaptive polling when set, which also ramps
+		 * up the pollers of a queue one by one while receives return complete batches.
+		 */
+		private Long maxEmptyReceiveBackOffTime;
+
+		/**
+		 * The maximum number of messages per queue that are received ahead of processing.
+		 * Enables prefetching when set, so that the next messages are already available
+		 * when a listener completes. Polling pauses while the prefetch buffer is full.
+		 */
+		private Integer maxPrefetchedMessagesPerQueue;
+
+		/**
+		 * Configures if FIFO queues are polled while the messages of previous polls are
+		 * still being processed.
+		 */
+		private Boolean fifoPipelinedPolling;
+
+		/**
+		 * The maximum number of queues whose url and attributes are resolved concurrently
+		 * when the container is initialized.
+		 */
+		private Integer queueResolutionConcurrency;
+
+		/**
+		 * The time in milliseconds the queues are resolved for.
+		 */
+		private Long queueResolutionTimeout;
+
+		/**
+		 * Configures if the queues are resolved in the background after the container has
+		 * been initialized. Every queue is then polled as soon as it has been resolved.
+		 */
+		private Boolean deferredQueueResolution;
+
+		/**
+		 * Configures if queues that could not be resolved are ignored with a warning
+		 * instead of failing the initialization of the container.
+		 */
+		private Boolean ignoreUnresolvedQueues;
+
+		/**
+		 * The visibility timeout in seconds of a message whose processing failed for the
+		 * first time, 0 to retry it immediately. Enables the error visibility back off
+		 * when set: the visibility timeout of a failed message grows exponentially with
+		 * its receive count instead of being the visibility timeout of the queue.
+		 */
+		private Integer errorVisibilityTimeout;
+
+		/**
+		 * The multiplier of the error visibility timeout for every further receive of a
+		 * failed message.
+		 */
+		private Double errorVisibilityTimeoutMultiplier;
+
+		/**
+		 * The maximum visibility timeout in seconds of a message whose processing failed.
+		 */
+		private Integer maxErrorVisibilityTimeout;
+
+		/**
+		 * Configures if only the system and message attributes read through the
+		 * parameters of the listener methods are requested with the received messages,
+		 * instead of all of them.
+		 */
+		private Boolean deriveAttributeNames;
+
 		/**
 		 * Configures if this container should be automatically started.
 		 */
@@ -141,6 +261,158 @@ public class SqsProperties extends AwsClientProperties {
 			this.backOffTime = backOffTime;
 		}
 
+		public Integer getMaxInFlightMessagesPerQueue() {
+			return maxInFlightMessagesPerQueue;
+		}
+
+		public void setMaxInFlightMessagesPerQueue(Integer maxInFlightMessagesPerQueue) {
+			this.maxInFlightMessagesPerQueue = maxInFlightMessagesPerQueue;
+		}
+
+		public Integer getPollersPerQueue() {
+			return pollersPerQueue;
+		}
+
+		public void setPollersPerQueue(Integer pollersPerQueue) {
+			this.pollersPerQueue = pollersPerQueue;
+		}
+
+		public Boolean getDeleteMessageBatching() {
+			return deleteMessageBatching;
+		}
+
+		public void setDeleteMessageBatching(Boolean deleteMessageBatching) {
+			this.deleteMessageBatching = deleteMessageBatching;
+		}
+
+		public Long getDeleteMessageBatchWindow() {
+			return deleteMessageBatchWindow;
+		}
+
+		public void setDeleteMessageBatchWindow(Long deleteMessageBatchWindow) {
+			this.deleteMessageBatchWindow = deleteMessageBatchWindow;
+		}
+
+		public Long getChangeMessageVisibilityBatchWindow() {
+			return changeMessageVisibilityBatchWindow;
+		}
+
+		public void setChangeMessageVisibilityBatchWindow(Long changeMessageVisibilityBatchWindow) {
+			this.changeMessageVisibilityBatchWindow = changeMessageVisibilityBatchWindow;
+		}
+
+		public Integer getVisibilityHeartbeatInterval() {
+			return visibilityHeartbeatInterval;
+		}
+
+		public void setVisibilityHeartbeatInterval(Integer visibilityHeartbeatInterval) {
+			this.visibilityHeartbeatInterval = visibilityHeartbeatInterval;
+		}
+
+		public Integer getVisibilityHeartbeatMaxDuration() {
+			return visibilityHeartbeatMaxDuration;
+		}
+
+		public void setVisibilityHeartbeatMaxDuration(Integer visibilityHeartbeatMaxDuration) {
+			this.visibilityHeartbeatMaxDuration = visibilityHeartbeatMaxDuration;
+		}
+
+		public Boolean getVirtualThreads() {
+			return virtualThreads;
+		}
+
+		public void setVirtualThreads(Boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+		}
+
+		public Long getMaxEmptyReceiveBackOffTime() {
+			return maxEmptyReceiveBackOffTime;
+		}
+
+		public void setMaxEmptyReceiveBackOffTime(Long maxEmptyReceiveBackOffTime) {
+			this.maxEmptyReceiveBackOffTime = maxEmptyReceiveBackOffTime;
+		}
+
+		public Integer getMaxPrefetchedMessagesPerQueue() {
+			return maxPrefetchedMessagesPerQueue;
+		}
+
+		public void setMaxPrefetchedMessagesPerQueue(Integer maxPrefetchedMessagesPerQueue) {
+			this.maxPrefetchedMessagesPerQueue = maxPrefetchedMessagesPerQueue;
+		}
+
+		public Boolean getFifoPipelinedPolling() {
+			return fifoPipelinedPolling;
+		}
+
+		public void setFifoPipelinedPolling(Boolean fifoPipelinedPolling) {
+			this.fifoPipelinedPolling = fifoPipelinedPolling;
+		}
+
+		public Integer getQueueResolutionConcurrency() {
+			return queueResolutionConcurrency;
+		}
+
+		public void setQueueResolutionConcurrency(Integer queueResolutionConcurrency) {
+			this.queueResolutionConcurrency = queueResolutionConcurrency;
+		}
+
+		public Long getQueueResolutionTimeout() {
+			return queueResolutionTimeout;
+		}
+
+		public void setQueueResolutionTimeout(Long queueResolutionTimeout) {
+			this.queueResolutionTimeout = queueResolutionTimeout;
+		}
+
+		public Boolean getDeferredQueueResolution() {
+			return deferredQueueResolution;
+		}
+
+		public void setDeferredQueueResolution(Boolean deferredQueueResolution) {
+			this.deferredQueueResolution = deferredQueueResolution;
+		}
+
+		public Boolean getIgnoreUnresolvedQueues() {
+			return ignoreUnresolvedQueues;
+		}
+
+		public void setIgnoreUnresolvedQueues(Boolean ignoreUnresolvedQueues) {
+			this.ignoreUnresolvedQueues = ignoreUnresolvedQueues;
+		}
+
+		public Integer getErrorVisibilityTimeout() {
+			return errorVisibilityTimeout;
+		}
+
+		public void setErrorVisibilityTimeout(Integer errorVisibilityTimeout) {
+			this.errorVisibilityTimeout = errorVisibilityTimeout;
+		}
+
+		public Double getErrorVisibilityTimeoutMultiplier() {
+			return errorVisibilityTimeoutMultiplier;
+		}
+
+		public void setErrorVisibilityTimeoutMultiplier(Double errorVisibilityTimeoutMultiplier) {
+			this.errorVisibilityTimeoutMultiplier = errorVisibilityTimeoutMultiplier;
+		}
+
+		public Integer getMaxErrorVisibilityTimeout() {
+			return maxErrorVisibilityTimeout;
+		}
+
+		public void setMaxErrorVisibilityTimeout(Integer maxErrorVisibilityTimeout) {
+			this.maxErrorVisibilityTimeout = maxErrorVisibilityTimeout;
+		}
+
+		public Boolean getDeriveAttributeNames() {
+			return deriveAttributeNames;
+		}
+
+		public void setDeriveAttributeNames(Boolean deriveAttributeNames) {
+			this.deriveAttributeNames = deriveAttributeNames;
+		}
+
 		public boolean isAutoStartup() {
 			return autoStartup;
 		}
@@ -159,6 +431,12 @@ public class SqsProperties extends AwsClientProperties {
 		 */
 		private SqsMessageDeletionPolicy defaultDeletionPolicy = SqsMessageDeletionPolicy.NO_REDRIVE;
 
+		/**
+		 * Configures the maximum number of bytes compressed payloads are decompressed to.
+		 * Messages whose payload exceeds it fail without being dispatched.
+		 */
+		private Integer maxDecompressedPayloadSize;
+
 		public SqsMessageDeletionPolicy getDefaultDeletionPolicy() {
 			return defaultDeletionPolicy;
 		}
@@ -167,6 +445,14 @@ public class SqsProperties extends AwsClientProperties {
 			this.defaultDeletionPolicy = defaultDeletionPolicy;
 		}
 
+		public Integer getMaxDecompressedPayloadSize() {
+			return maxDecompressedPayloadSize;
+		}
+
+		public void setMaxDecompressedPayloadSize(Integer maxDecompressedPayloadSize) {
+			this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+		}
+
 	}
 
 }
@@ -24,6 +24,7 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
 import com.amazonaws.services.sns.AmazonSNSClient;
 import io.awspring.cloud.core.region.RegionProvider;
 import io.awspring.cloud.core.region.StaticRegionProvider;
@@ -131,6 +132,22 @@ class SnsAutoConfigurationTest {
 		});
 	}
 
+	@Test
+	void enableSns_withDefaultClient_shouldCreateASynchronousClient() {
+		this.contextRunner.run(context -> {
+			assertThat(context).hasSingleBean(AmazonSNSClient.class);
+			assertThat(context.getBean(AmazonSNS.class)).isNotInstanceOf(AmazonSNSAsync.class);
+		});
+	}
+
+	@Test
+	void enableSns_withCustomAsyncClient_shouldUseTheAsyncClient() {
+		this.contextRunner.withUserConfiguration(SnsConfigurationWithCustomAsyncClient.class).run(context -> {
+			assertThat(context).hasSingleBean(AmazonSNS.class);
+			assertThat(context.getBean(AmazonSNS.class)).isSameAs(SnsConfigurationWithCustomAsyncClient.AMAZON_SNS);
+		});
+	}
+
 	@Test
 	void enableSnsWithSpecificRegion() {
 		this.contextRunner.withPropertyValues("cloud.aws.sns.region:us-east-1").run(context -> {
@@ -247,6 +264,17 @@ class SnsAutoConfigurationTest {
 
 	}
 
+	protected static class SnsConfigurationWithCustomAsyncClient {
+
+		static final AmazonSNSAsync AMAZON_SNS = mock(AmazonSNSAsync.class);
+
+		@Bean
+		AmazonSNSAsync amazonSNS() {
+			return AMAZON_SNS;
+		}
+
+	}
+
 	@EnableWebMvc
 	protected static class SnsConfigurationWithRegionProvider {
 
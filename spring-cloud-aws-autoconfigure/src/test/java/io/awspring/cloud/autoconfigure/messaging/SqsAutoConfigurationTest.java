@@ -25,6 +25,7 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.AmazonSQSAsyncClient;
 import com.amazonaws.services.sqs.buffered.AmazonSQSBufferedAsyncClient;
@@ -34,10 +35,15 @@ import io.awspring.cloud.core.region.RegionProvider;
 import io.awspring.cloud.core.region.StaticRegionProvider;
 import io.awspring.cloud.messaging.config.QueueMessageHandlerFactory;
 import io.awspring.cloud.messaging.config.SimpleMessageListenerContainerFactory;
+import io.awspring.cloud.messaging.core.S3PayloadStore;
 import io.awspring.cloud.messaging.listener.QueueMessageHandler;
 import io.awspring.cloud.messaging.listener.SimpleMessageListenerContainer;
 import io.awspring.cloud.messaging.listener.SqsMessageDeletionPolicy;
 import io.awspring.cloud.messaging.support.destination.DynamicQueueUrlDestinationResolver;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+import io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -104,7 +110,25 @@ class SqsAutoConfigurationTest {
 		this.contextRunner.withPropertyValues("cloud.aws.sqs.listener.max-number-of-messages=5",
 				"cloud.aws.sqs.listener.visibility-timeout=10", "cloud.aws.sqs.listener.wait-timeout=5",
 				"cloud.aws.sqs.listener.queue-stop-timeout=10", "cloud.aws.sqs.listener.back-off-time=15",
-				"cloud.aws.sqs.listener.auto-startup=false").run((context) -> {
+				"cloud.aws.sqs.listener.max-in-flight-messages-per-queue=20",
+				"cloud.aws.sqs.listener.pollers-per-queue=3", "cloud.aws.sqs.listener.delete-message-batching=true",
+				"cloud.aws.sqs.listener.delete-message-batch-window=50",
+				"cloud.aws.sqs.listener.change-message-visibility-batch-window=25",
+				"cloud.aws.sqs.listener.visibility-heartbeat-interval=4",
+				"cloud.aws.sqs.listener.visibility-heartbeat-max-duration=3600",
+				"cloud.aws.sqs.listener.virtual-threads=true",
+				"cloud.aws.sqs.listener.max-empty-receive-back-off-time=30000",
+				"cloud.aws.sqs.listener.max-prefetched-messages-per-queue=40",
+				"cloud.aws.sqs.listener.fifo-pipelined-polling=true",
+				"cloud.aws.sqs.listener.queue-resolution-concurrency=4",
+				"cloud.aws.sqs.listener.queue-resolution-timeout=5000",
+				"cloud.aws.sqs.listener.deferred-queue-resolution=true",
+				"cloud.aws.sqs.listener.ignore-unresolved-queues=true",
+				"cloud.aws.sqs.listener.error-visibility-timeout=5",
+				"cloud.aws.sqs.listener.error-visibility-timeout-multiplier=3",
+				"cloud.aws.sqs.listener.max-error-visibility-timeout=600",
+				"cloud.aws.sqs.listener.derive-attribute-names=true", "cloud.aws.sqs.listener.auto-startup=false")
+				.run((context) -> {
 					SimpleMessageListenerContainer container = context.getBean(SimpleMessageListenerContainer.class);
 
 					assertThat(container.getBackOffTime()).isEqualTo(15);
@@ -113,17 +137,38 @@ class SqsAutoConfigurationTest {
 					assertThat(container).hasFieldOrPropertyWithValue("visibilityTimeout", 10);
 					assertThat(container).hasFieldOrPropertyWithValue("waitTimeOut", 5);
 					assertThat(container).hasFieldOrPropertyWithValue("autoStartup", false);
+					assertThat(container.getMaxInFlightMessagesPerQueue()).isEqualTo(20);
+					assertThat(container.getPollersPerQueue()).isEqualTo(3);
+					assertThat(container.isDeleteMessageBatching()).isTrue();
+					assertThat(container.getDeleteMessageBatchWindow()).isEqualTo(50);
+					assertThat(container.getChangeMessageVisibilityBatchWindow()).isEqualTo(25);
+					assertThat(container.getVisibilityHeartbeatInterval()).isEqualTo(4);
+					assertThat(container.getVisibilityHeartbeatMaxDuration()).isEqualTo(3600);
+					assertThat(container.isVirtualThreads()).isTrue();
+					assertThat(container.getMaxEmptyReceiveBackOffTime()).isEqualTo(30000);
+					assertThat(container.getMaxPrefetchedMessagesPerQueue()).isEqualTo(40);
+					assertThat(container.isFifoPipelinedPolling()).isTrue();
+					assertThat(container).hasFieldOrPropertyWithValue("queueResolutionConcurrency", 4);
+					assertThat(container).hasFieldOrPropertyWithValue("queueResolutionTimeout", 5000L);
+					assertThat(container).hasFieldOrPropertyWithValue("deferredQueueResolution", true);
+					assertThat(container).hasFieldOrPropertyWithValue("ignoreUnresolvedQueues", true);
+					assertThat(container.getErrorVisibilityBackOff().getInitialVisibilityTimeout()).isEqualTo(5);
+					assertThat(container.getErrorVisibilityBackOff().getMultiplier()).isEqualTo(3);
+					assertThat(container.getErrorVisibilityBackOff().getMaxVisibilityTimeout()).isEqualTo(600);
+					assertThat(container).hasFieldOrPropertyWithValue("deriveAttributeNames", true);
 				});
 	}
 
 	@Test
 	void configuration_withCustomProperties_shouldBeUsedByTheQueueMessageHandler() {
-		this.contextRunner.withPropertyValues("cloud.aws.sqs.handler.default-deletion-policy=ALWAYS").run((context) -> {
-			QueueMessageHandler handler = context.getBean(QueueMessageHandler.class);
+		this.contextRunner.withPropertyValues("cloud.aws.sqs.handler.default-deletion-policy=ALWAYS",
+				"cloud.aws.sqs.handler.max-decompressed-payload-size=1048576").run((context) -> {
+					QueueMessageHandler handler = context.getBean(QueueMessageHandler.class);
 
-			assertThat(handler).hasFieldOrPropertyWithValue("sqsMessageDeletionPolicy",
-					SqsMessageDeletionPolicy.ALWAYS);
-		});
+					assertThat(handler).hasFieldOrPropertyWithValue("sqsMessageDeletionPolicy",
+							SqsMessageDeletionPolicy.ALWAYS);
+					assertThat(handler.getMaxDecompressedPayloadSize()).isEqualTo(1048576);
+				});
 	}
 
 	@Test
@@ -158,8 +203,7 @@ class SqsAutoConfigurationTest {
 			assertThat(sendToMessageTemplate).hasFieldOrPropertyWithValue("amazonSqs",
 					ConfigurationWithCustomizedMessageHandler.CUSTOM_AMAZON_SQS);
 
-			assertThat(sendToMessageTemplate).extracting("destinationResolver").extracting("targetDestinationResolver")
-					.extracting("resourceIdResolver")
+			assertThat(sendToMessageTemplate).extracting("destinationResolver").extracting("resourceIdResolver")
 					.isEqualTo(ConfigurationWithCustomizedMessageHandler.CUSTOM_RESOURCE_ID_RESOLVER);
 		});
 	}
@@ -214,7 +258,7 @@ class SqsAutoConfigurationTest {
 			QueueMessageHandler queueMessageHandler = context.getBean(QueueMessageHandler.class);
 
 			// Assert
-			assertThat(queueMessageHandler.getReturnValueHandlers()).hasSize(1);
+			assertThat(queueMessageHandler.getReturnValueHandlers()).hasSize(2);
 			assertThat(queueMessageHandler.getReturnValueHandlers().get(0)).hasFieldOrPropertyWithValue(
 					"messageTemplate", ConfigurationWithCustomSendToMessageTemplate.SEND_TO_MESSAGE_TEMPLATE);
 		});
@@ -250,6 +294,45 @@ class SqsAutoConfigurationTest {
 		});
 	}
 
+	@Test
+	void configuration_withPayloadStore_shouldBeUsedByTheContainer() throws Exception {
+		// Arrange & Act
+		this.contextRunner.withUserConfiguration(ConfigurationWithPayloadStore.class).run((context) -> {
+			SimpleMessageListenerContainer simpleMessageListenerContainer = context
+					.getBean(SimpleMessageListenerContainer.class);
+
+			// Assert
+			assertThat(simpleMessageListenerContainer.getPayloadStore())
+					.isSameAs(context.getBean(S3PayloadStore.class));
+		});
+	}
+
+	@Test
+	void configuration_withMeterRegistry_shouldRecordContainerMetricsWithMicrometer() throws Exception {
+		// Arrange & Act
+		this.contextRunner.withUserConfiguration(ConfigurationWithMeterRegistry.class).run((context) -> {
+			SimpleMessageListenerContainer simpleMessageListenerContainer = context
+					.getBean(SimpleMessageListenerContainer.class);
+
+			// Assert
+			assertThat(simpleMessageListenerContainer.getMessagingMetrics())
+					.isInstanceOf(MicrometerMessagingMetrics.class).isSameAs(context.getBean(MessagingMetrics.class));
+		});
+	}
+
+	@Test
+	void configuration_withoutMeterRegistry_shouldNotRecordContainerMetrics() throws Exception {
+		// Arrange & Act
+		this.contextRunner.run((context) -> {
+			SimpleMessageListenerContainer simpleMessageListenerContainer = context
+					.getBean(SimpleMessageListenerContainer.class);
+
+			// Assert
+			assertThat(context).doesNotHaveBean(MessagingMetrics.class);
+			assertThat(simpleMessageListenerContainer.getMessagingMetrics()).isSameAs(MessagingMetrics.NONE);
+		});
+	}
+
 	@Test
 	void configuration_withoutAwsCredentials_shouldCreateAClientWithDefaultCredentialsProvider() throws Exception {
 		// Arrange & Act
@@ -554,6 +637,26 @@ class SqsAutoConfigurationTest {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class ConfigurationWithPayloadStore {
+
+		@Bean
+		S3PayloadStore payloadStore() {
+			return new S3PayloadStore(mock(AmazonS3.class), "payloads");
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ConfigurationWithMeterRegistry {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class ConfigurationWithCustomAmazonClient {
 
@@ -62,6 +62,8 @@ public class QueueMessageHandlerFactory {
 
 	private ObjectMapper objectMapper;
 
+	private Integer maxDecompressedPayloadSize;
+
 	public void setArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
 		this.argumentResolvers = argumentResolvers;
 	}
@@ -147,6 +149,17 @@ public class QueueMessageHandlerFactory {
 		this.objectMapper = objectMapper;
 	}
 
+	/**
+	 * Configures the maximum number of bytes compressed payloads are decompressed to.
+	 * Messages whose payload exceeds it fail without being dispatched.
+	 * @param maxDecompressedPayloadSize the maximum decompressed payload size in bytes
+	 * @since 2.4
+	 * @see QueueMessageHandler#setMaxDecompressedPayloadSize(int)
+	 */
+	public void setMaxDecompressedPayloadSize(Integer maxDecompressedPayloadSize) {
+		this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+	}
+
 	public QueueMessageHandler createQueueMessageHandler() {
 		QueueMessageHandler queueMessageHandler = new QueueMessageHandler(
 				CollectionUtils.isEmpty(this.messageConverters)
@@ -154,6 +167,9 @@ public class QueueMessageHandlerFactory {
 						: this.messageConverters,
 				this.sqsMessageDeletionPolicy);
 
+		if (this.maxDecompressedPayloadSize != null) {
+			queueMessageHandler.setMaxDecompressedPayloadSize(this.maxDecompressedPayloadSize);
+		}
 		if (!CollectionUtils.isEmpty(this.argumentResolvers)) {
 			queueMessageHandler.getCustomArgumentResolvers().addAll(this.argumentResolvers);
 		}
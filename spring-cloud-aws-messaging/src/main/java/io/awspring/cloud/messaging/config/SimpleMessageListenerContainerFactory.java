@@ -19,8 +19,11 @@ package io.awspring.cloud.messaging.config;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import io.awspring.cloud.core.env.ResourceIdResolver;
+import io.awspring.cloud.messaging.core.S3PayloadStore;
+import io.awspring.cloud.messaging.listener.ErrorVisibilityBackOff;
 import io.awspring.cloud.messaging.listener.QueueMessageHandler;
 import io.awspring.cloud.messaging.listener.SimpleMessageListenerContainer;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
@@ -56,6 +59,44 @@ public class SimpleMessageListenerContainerFactory {
 
 	private Long backOffTime;
 
+	private Integer maxInFlightMessagesPerQueue;
+
+	private Integer pollersPerQueue;
+
+	private Boolean deleteMessageBatching;
+
+	private Long deleteMessageBatchWindow;
+
+	private Long changeMessageVisibilityBatchWindow;
+
+	private Integer visibilityHeartbeatInterval;
+
+	private Integer visibilityHeartbeatMaxDuration;
+
+	private Boolean virtualThreads;
+
+	private Long maxEmptyReceiveBackOffTime;
+
+	private Integer maxPrefetchedMessagesPerQueue;
+
+	private Boolean fifoPipelinedPolling;
+
+	private Integer queueResolutionConcurrency;
+
+	private Long queueResolutionTimeout;
+
+	private Boolean deferredQueueResolution;
+
+	private Boolean ignoreUnresolvedQueues;
+
+	private ErrorVisibilityBackOff errorVisibilityBackOff;
+
+	private Boolean deriveAttributeNames;
+
+	private S3PayloadStore payloadStore;
+
+	private MessagingMetrics messagingMetrics;
+
 	/**
 	 * Configures the {@link TaskExecutor} which is used to poll messages and execute them
 	 * by calling the handler methods. If no {@link TaskExecutor} is set, a default one is
@@ -196,6 +237,238 @@ public class SimpleMessageListenerContainerFactory {
 		this.backOffTime = backOffTime;
 	}
 
+	/**
+	 * Enables pipelined polling by configuring the maximum number of messages per queue
+	 * that can be in flight at the same time. When set, the next poll for a queue is
+	 * issued as soon as the in-flight budget allows a new batch instead of waiting for
+	 * the previous batch to be completely processed.
+	 * @param maxInFlightMessagesPerQueue the in-flight budget per queue
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setMaxInFlightMessagesPerQueue(Integer)
+	 */
+	public void setMaxInFlightMessagesPerQueue(Integer maxInFlightMessagesPerQueue) {
+		this.maxInFlightMessagesPerQueue = maxInFlightMessagesPerQueue;
+	}
+
+	/**
+	 * Configures the number of threads polling each queue concurrently. Can be overridden
+	 * per listener with
+	 * {@link io.awspring.cloud.messaging.listener.annotation.SqsListener#pollers()}.
+	 * @param pollersPerQueue the number of pollers per queue
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setPollersPerQueue(int)
+	 */
+	public void setPollersPerQueue(Integer pollersPerQueue) {
+		this.pollersPerQueue = pollersPerQueue;
+	}
+
+	/**
+	 * Configures if message deletions are sent as {@code DeleteMessageBatch} requests
+	 * instead of one {@code DeleteMessage} request per message.
+	 * @param deleteMessageBatching {@code true} to batch message deletions
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setDeleteMessageBatching(boolean)
+	 */
+	public void setDeleteMessageBatching(Boolean deleteMessageBatching) {
+		this.deleteMessageBatching = deleteMessageBatching;
+	}
+
+	/**
+	 * Configures the maximum number of milliseconds a message deletion is delayed to be
+	 * batched with other deletions.
+	 * @param deleteMessageBatchWindow in milliseconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setDeleteMessageBatchWindow(long)
+	 */
+	public void setDeleteMessageBatchWindow(Long deleteMessageBatchWindow) {
+		this.deleteMessageBatchWindow = deleteMessageBatchWindow;
+	}
+
+	/**
+	 * Configures the maximum number of milliseconds a visibility change of a failed
+	 * message is delayed to be batched with other visibility changes.
+	 * @param changeMessageVisibilityBatchWindow in milliseconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setChangeMessageVisibilityBatchWindow(long)
+	 */
+	public void setChangeMessageVisibilityBatchWindow(Long changeMessageVisibilityBatchWindow) {
+		this.changeMessageVisibilityBatchWindow = changeMessageVisibilityBatchWindow;
+	}
+
+	/**
+	 * Configures the number of seconds between two visibility timeout extensions of the
+	 * messages that are being processed.
+	 * @param visibilityHeartbeatInterval the heartbeat interval in seconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setVisibilityHeartbeatInterval(Integer)
+	 */
+	public void setVisibilityHeartbeatInterval(Integer visibilityHeartbeatInterval) {
+		this.visibilityHeartbeatInterval = visibilityHeartbeatInterval;
+	}
+
+	/**
+	 * Configures the maximum number of seconds the visibility heartbeat extends the
+	 * visibility of a message.
+	 * @param visibilityHeartbeatMaxDuration in seconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setVisibilityHeartbeatMaxDuration(int)
+	 */
+	public void setVisibilityHeartbeatMaxDuration(Integer visibilityHeartbeatMaxDuration) {
+		this.visibilityHeartbeatMaxDuration = visibilityHeartbeatMaxDuration;
+	}
+
+	/**
+	 * Configures if the default task executor runs pollers and listener methods on
+	 * virtual threads. Only used if no {@link #setTaskExecutor(AsyncTaskExecutor) task
+	 * executor} is set and the Java runtime supports virtual threads.
+	 * @param virtualThreads {@code true} to use virtual threads
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setVirtualThreads(boolean)
+	 */
+	public void setVirtualThreads(Boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * Configures the maximum time in milliseconds the pollers of an idle queue back off
+	 * after consecutive empty receives. Enables adaptive polling when set.
+	 * @param maxEmptyReceiveBackOffTime the maximum back off time in milliseconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setMaxEmptyReceiveBackOffTime(Long)
+	 */
+	public void setMaxEmptyReceiveBackOffTime(Long maxEmptyReceiveBackOffTime) {
+		this.maxEmptyReceiveBackOffTime = maxEmptyReceiveBackOffTime;
+	}
+
+	/**
+	 * Configures the maximum number of messages per queue that are received ahead of
+	 * processing. Enables prefetching when set.
+	 * @param maxPrefetchedMessagesPerQueue the prefetch buffer capacity per queue
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setMaxPrefetchedMessagesPerQueue(Integer)
+	 */
+	public void setMaxPrefetchedMessagesPerQueue(Integer maxPrefetchedMessagesPerQueue) {
+		this.maxPrefetchedMessagesPerQueue = maxPrefetchedMessagesPerQueue;
+	}
+
+	/**
+	 * Configures the maximum number of queues that are resolved concurrently when the
+	 * container is initialized.
+	 * @param queueResolutionConcurrency the maximum number of concurrently resolved
+	 * queues
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setQueueResolutionConcurrency(int)
+	 */
+	public void setQueueResolutionConcurrency(Integer queueResolutionConcurrency) {
+		this.queueResolutionConcurrency = queueResolutionConcurrency;
+	}
+
+	/**
+	 * Configures the time in milliseconds the queues are resolved for before the queues
+	 * that could not be resolved in time are ignored.
+	 * @param queueResolutionTimeout the queue resolution timeout in milliseconds
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setQueueResolutionTimeout(long)
+	 */
+	public void setQueueResolutionTimeout(Long queueResolutionTimeout) {
+		this.queueResolutionTimeout = queueResolutionTimeout;
+	}
+
+	/**
+	 * Configures if the queues are resolved in the background, so that the container
+	 * starts polling every queue as soon as it has been resolved.
+	 * @param deferredQueueResolution {@code true} to resolve the queues in the background
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setDeferredQueueResolution(boolean)
+	 */
+	public void setDeferredQueueResolution(Boolean deferredQueueResolution) {
+		this.deferredQueueResolution = deferredQueueResolution;
+	}
+
+	/**
+	 * Configures if queues that could not be resolved are ignored with a warning instead
+	 * of failing the initialization of the container.
+	 * @param ignoreUnresolvedQueues {@code true} to ignore queues that could not be
+	 * resolved
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setIgnoreUnresolvedQueues(boolean)
+	 */
+	public void setIgnoreUnresolvedQueues(Boolean ignoreUnresolvedQueues) {
+		this.ignoreUnresolvedQueues = ignoreUnresolvedQueues;
+	}
+
+	/**
+	 * Configures the visibility back off of messages whose processing failed.
+	 * @param errorVisibilityBackOff the back off of failed messages
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setErrorVisibilityBackOff(ErrorVisibilityBackOff)
+	 */
+	public void setErrorVisibilityBackOff(ErrorVisibilityBackOff errorVisibilityBackOff) {
+		this.errorVisibilityBackOff = errorVisibilityBackOff;
+	}
+
+	/**
+	 * Configures if FIFO queues are polled while the messages of previous polls are still
+	 * being processed.
+	 * @param fifoPipelinedPolling {@code true} to keep polling FIFO queues while their
+	 * messages are processed
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setFifoPipelinedPolling(boolean)
+	 */
+	public void setFifoPipelinedPolling(Boolean fifoPipelinedPolling) {
+		this.fifoPipelinedPolling = fifoPipelinedPolling;
+	}
+
+	/**
+	 * Configures if only the system and message attributes read by the listener methods
+	 * are requested with the received messages.
+	 * @param deriveAttributeNames {@code true} to only request the attributes read by the
+	 * listener methods
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setDeriveAttributeNames(boolean)
+	 */
+	public void setDeriveAttributeNames(Boolean deriveAttributeNames) {
+		this.deriveAttributeNames = deriveAttributeNames;
+	}
+
+	/**
+	 * @return the store the payloads of received messages are retrieved from, or
+	 * {@code null} if none is configured
+	 * @since 2.4
+	 */
+	public S3PayloadStore getPayloadStore() {
+		return this.payloadStore;
+	}
+
+	/**
+	 * Configures the store the payloads of received messages are retrieved from, if they
+	 * have been stored in S3 by a messaging template.
+	 * @param payloadStore the payload store to use
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setPayloadStore(S3PayloadStore)
+	 */
+	public void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * @return the metrics the container reports its operations to
+	 * @since 2.4
+	 */
+	public MessagingMetrics getMessagingMetrics() {
+		return this.messagingMetrics;
+	}
+
+	/**
+	 * Configures the metrics the container reports its operations to.
+	 * @param messagingMetrics the metrics to report to
+	 * @since 2.4
+	 * @see SimpleMessageListenerContainer#setMessagingMetrics(MessagingMetrics)
+	 */
+	public void setMessagingMetrics(MessagingMetrics messagingMetrics) {
+		this.messagingMetrics = messagingMetrics;
+	}
+
 	public SimpleMessageListenerContainer createSimpleMessageListenerContainer() {
 		Assert.notNull(this.amazonSqs, "amazonSqs must not be null");
 
@@ -227,6 +500,64 @@ public class SimpleMessageListenerContainerFactory {
 		if (this.backOffTime != null) {
 			simpleMessageListenerContainer.setBackOffTime(this.backOffTime);
 		}
+		if (this.maxInFlightMessagesPerQueue != null) {
+			simpleMessageListenerContainer.setMaxInFlightMessagesPerQueue(this.maxInFlightMessagesPerQueue);
+		}
+		if (this.pollersPerQueue != null) {
+			simpleMessageListenerContainer.setPollersPerQueue(this.pollersPerQueue);
+		}
+		if (this.deleteMessageBatching != null) {
+			simpleMessageListenerContainer.setDeleteMessageBatching(this.deleteMessageBatching);
+		}
+		if (this.deleteMessageBatchWindow != null) {
+			simpleMessageListenerContainer.setDeleteMessageBatchWindow(this.deleteMessageBatchWindow);
+		}
+		if (this.changeMessageVisibilityBatchWindow != null) {
+			simpleMessageListenerContainer
+					.setChangeMessageVisibilityBatchWindow(this.changeMessageVisibilityBatchWindow);
+		}
+		if (this.visibilityHeartbeatInterval != null) {
+			simpleMessageListenerContainer.setVisibilityHeartbeatInterval(this.visibilityHeartbeatInterval);
+		}
+		if (this.visibilityHeartbeatMaxDuration != null) {
+			simpleMessageListenerContainer.setVisibilityHeartbeatMaxDuration(this.visibilityHeartbeatMaxDuration);
+		}
+		if (this.virtualThreads != null) {
+			simpleMessageListenerContainer.setVirtualThreads(this.virtualThreads);
+		}
+		if (this.maxEmptyReceiveBackOffTime != null) {
+			simpleMessageListenerContainer.setMaxEmptyReceiveBackOffTime(this.maxEmptyReceiveBackOffTime);
+		}
+		if (this.maxPrefetchedMessagesPerQueue != null) {
+			simpleMessageListenerContainer.setMaxPrefetchedMessagesPerQueue(this.maxPrefetchedMessagesPerQueue);
+		}
+		if (this.fifoPipelinedPolling != null) {
+			simpleMessageListenerContainer.setFifoPipelinedPolling(this.fifoPipelinedPolling);
+		}
+		if (this.queueResolutionConcurrency != null) {
+			simpleMessageListenerContainer.setQueueResolutionConcurrency(this.queueResolutionConcurrency);
+		}
+		if (this.queueResolutionTimeout != null) {
+			simpleMessageListenerContainer.setQueueResolutionTimeout(this.queueResolutionTimeout);
+		}
+		if (this.deferredQueueResolution != null) {
+			simpleMessageListenerContainer.setDeferredQueueResolution(this.deferredQueueResolution);
+		}
+		if (this.ignoreUnresolvedQueues != null) {
+			simpleMessageListenerContainer.setIgnoreUnresolvedQueues(this.ignoreUnresolvedQueues);
+		}
+		if (this.errorVisibilityBackOff != null) {
+			simpleMessageListenerContainer.setErrorVisibilityBackOff(this.errorVisibilityBackOff);
+		}
+		if (this.deriveAttributeNames != null) {
+			simpleMessageListenerContainer.setDeriveAttributeNames(this.deriveAttributeNames);
+		}
+		if (this.payloadStore != null) {
+			simpleMessageListenerContainer.setPayloadStore(this.payloadStore);
+		}
+		if (this.messagingMetrics != null) {
+			simpleMessageListenerContainer.setMessagingMetrics(this.messagingMetrics);
+		}
 
 		return simpleMessageListenerContainer;
 	}
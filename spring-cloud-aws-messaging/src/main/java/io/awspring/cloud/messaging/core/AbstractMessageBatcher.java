@@ -0,0 +1,294 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Base class for components that coalesce the messages sent to a destination into batch
+ * requests. Messages are collected per destination and sent as one batch request as soon
+ * as {@link #MAX_BATCH_SIZE} messages or {@link #MAX_BATCH_PAYLOAD_SIZE} bytes are
+ * pending, or once the batch window elapsed after the first pending message was added.
+ * Failed entries are retried as defined by the {@link BatchRetryPolicy}.
+ * <p>
+ * Messages sent to FIFO destinations are never batched: a retried entry would be sent
+ * after later messages of its message group, breaking the order of the group.
+ *
+ * @param <T> the type of the single message requests
+ * @param <R> the type of the single message results
+ * @since 2.4
+ */
+abstract class AbstractMessageBatcher<T, R> {
+
+	/**
+	 * Maximum number of entries of a batch request.
+	 */
+	static final int MAX_BATCH_SIZE = 10;
+
+	/**
+	 * Maximum total payload size of a batch request in bytes.
+	 */
+	static final int MAX_BATCH_PAYLOAD_SIZE = 262_144;
+
+	private static final String FIFO_SUFFIX = ".fifo";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ConcurrentHashMap<String, PendingBatch<T, R>> pendingBatchesByDestination = new ConcurrentHashMap<>();
+
+	private final TaskScheduler taskScheduler;
+
+	private final long batchWindow;
+
+	protected AbstractMessageBatcher(TaskScheduler taskScheduler, long batchWindow) {
+		this.taskScheduler = taskScheduler;
+		this.batchWindow = batchWindow;
+	}
+
+	/**
+	 * Schedules the sending of a message. Messages exceeding the payload size of a batch
+	 * on their own and messages sent to a FIFO destination are sent immediately with a
+	 * single message request.
+	 * @param destination the destination of the message
+	 * @param request the request of the message to send
+	 * @return a future completed with the result of the message once it was sent
+	 */
+	protected CompletableFuture<R> submit(String destination, T request) {
+		BatchEntry<T, R> entry = new BatchEntry<>(request, getPayloadSize(request));
+		if (entry.getPayloadSize() > MAX_BATCH_PAYLOAD_SIZE || destination.endsWith(FIFO_SUFFIX)) {
+			try {
+				sendSingle(entry);
+			}
+			catch (RuntimeException e) {
+				entry.getResult().completeExceptionally(e);
+			}
+			return entry.getResult();
+		}
+		return enqueue(destination, entry);
+	}
+
+	/**
+	 * Immediately sends all pending messages of all destinations.
+	 */
+	void flush() {
+		for (String destination : this.pendingBatchesByDestination.keySet()) {
+			flush(destination);
+		}
+	}
+
+	private CompletableFuture<R> enqueue(String destination, BatchEntry<T, R> entry) {
+		PendingBatch<T, R> pendingBatch = this.pendingBatchesByDestination.computeIfAbsent(destination,
+				key -> new PendingBatch<>());
+		List<List<BatchEntry<T, R>>> fullBatches = new ArrayList<>(2);
+		boolean scheduleFlush;
+		synchronized (pendingBatch) {
+			entry.incrementAttempts();
+			if (pendingBatch.getPayloadSize() + entry.getPayloadSize() > MAX_BATCH_PAYLOAD_SIZE) {
+				fullBatches.add(pendingBatch.drain());
+			}
+			pendingBatch.add(entry);
+			if (pendingBatch.size() >= MAX_BATCH_SIZE) {
+				fullBatches.add(pendingBatch.drain());
+			}
+			scheduleFlush = pendingBatch.size() == 1;
+		}
+
+		for (List<BatchEntry<T, R>> fullBatch : fullBatches) {
+			send(destination, fullBatch);
+		}
+		if (scheduleFlush) {
+			try {
+				this.taskScheduler.schedule(() -> flush(destination), Instant.now().plusMillis(this.batchWindow));
+			}
+			catch (RejectedExecutionException e) {
+				flush(destination);
+			}
+		}
+		return entry.getResult();
+	}
+
+	private void flush(String destination) {
+		PendingBatch<T, R> pendingBatch = this.pendingBatchesByDestination.get(destination);
+		List<BatchEntry<T, R>> batch;
+		synchronized (pendingBatch) {
+			if (pendingBatch.size() == 0) {
+				return;
+			}
+			batch = pendingBatch.drain();
+		}
+		send(destination, batch);
+	}
+
+	private void send(String destination, List<BatchEntry<T, R>> batch) {
+		Map<String, BatchEntry<T, R>> entriesById = new LinkedHashMap<>(batch.size());
+		for (BatchEntry<T, R> entry : batch) {
+			entriesById.put(String.valueOf(entriesById.size()), entry);
+		}
+
+		try {
+			sendBatch(destination, entriesById);
+		}
+		catch (RuntimeException e) {
+			handleBatchFailure(destination, entriesById.values(), e);
+		}
+	}
+
+	/**
+	 * Computes the payload size of a message as accounted by the service.
+	 * @param request the request of the message
+	 * @return the payload size in bytes
+	 */
+	protected abstract int getPayloadSize(T request);
+
+	/**
+	 * Sends the batch request for the given entries. Implementations must report the
+	 * outcome of every entry by calling either
+	 * {@link #handleEntryResult(BatchEntry, Object)},
+	 * {@link #handleEntryFailure(String, BatchEntry, boolean, Exception)} or
+	 * {@link #handleBatchFailure(String, Collection, Exception)}.
+	 * @param destination the destination of the messages
+	 * @param entriesById the entries of the batch indexed by their batch entry id
+	 */
+	protected abstract void sendBatch(String destination, Map<String, BatchEntry<T, R>> entriesById);
+
+	/**
+	 * Sends a single message that does not fit into a batch request. Implementations must
+	 * complete the result of the entry.
+	 * @param entry the entry of the message
+	 */
+	protected abstract void sendSingle(BatchEntry<T, R> entry);
+
+	protected void handleEntryResult(BatchEntry<T, R> entry, R result) {
+		entry.getResult().complete(result);
+	}
+
+	protected void handleEntryFailure(String destination, BatchEntry<T, R> entry, boolean senderFault,
+			Exception exception) {
+		if (BatchRetryPolicy.isRetryable(entry.getAttempts(), senderFault)) {
+			retry(destination, entry);
+		}
+		else {
+			entry.getResult().completeExceptionally(exception);
+		}
+	}
+
+	protected void handleBatchFailure(String destination, Collection<BatchEntry<T, R>> entries, Exception exception) {
+		for (BatchEntry<T, R> entry : entries) {
+			if (BatchRetryPolicy.isRetryable(entry.getAttempts(), exception)) {
+				retry(destination, entry);
+			}
+			else {
+				this.logger.debug("Sending a message batch to '{}' failed", destination, exception);
+				entry.getResult().completeExceptionally(exception);
+			}
+		}
+	}
+
+	private void retry(String destination, BatchEntry<T, R> entry) {
+		BatchRetryPolicy.scheduleRetry(this.taskScheduler, entry.getAttempts(), () -> enqueue(destination, entry));
+	}
+
+	protected static int getSize(String value) {
+		return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+	}
+
+	private static final class PendingBatch<T, R> {
+
+		private List<BatchEntry<T, R>> entries = new ArrayList<>(MAX_BATCH_SIZE);
+
+		private int payloadSize;
+
+		private void add(BatchEntry<T, R> entry) {
+			this.entries.add(entry);
+			this.payloadSize += entry.getPayloadSize();
+		}
+
+		private List<BatchEntry<T, R>> drain() {
+			List<BatchEntry<T, R>> drainedEntries = this.entries;
+			this.entries = new ArrayList<>(MAX_BATCH_SIZE);
+			this.payloadSize = 0;
+			return drainedEntries;
+		}
+
+		private int size() {
+			return this.entries.size();
+		}
+
+		private int getPayloadSize() {
+			return this.payloadSize;
+		}
+
+	}
+
+	/**
+	 * A single message of a batch request.
+	 *
+	 * @param <T> the type of the single message request
+	 * @param <R> the type of the single message result
+	 */
+	static final class BatchEntry<T, R> {
+
+		private final T request;
+
+		private final int payloadSize;
+
+		private final CompletableFuture<R> result = new CompletableFuture<>();
+
+		private int attempts;
+
+		private BatchEntry(T request, int payloadSize) {
+			this.request = request;
+			this.payloadSize = payloadSize;
+		}
+
+		T getRequest() {
+			return this.request;
+		}
+
+		int getPayloadSize() {
+			return this.payloadSize;
+		}
+
+		CompletableFuture<R> getResult() {
+			return this.result;
+		}
+
+		int getAttempts() {
+			return this.attempts;
+		}
+
+		private void incrementAttempts() {
+			this.attempts++;
+		}
+
+	}
+
+}
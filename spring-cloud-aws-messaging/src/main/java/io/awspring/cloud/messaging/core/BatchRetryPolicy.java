@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Retry policy shared by the components that send SQS and SNS batch requests. A failed
+ * entry is retried up to {@link #MAX_ATTEMPTS} times in total, the first retry
+ * {@link #INITIAL_BACK_OFF} milliseconds after the failure and every further retry after
+ * twice the previous delay. Only failures that may succeed when repeated are retried:
+ * entries that did not fail because of the sender and requests that failed because of
+ * throttling, a server side error or a client side error such as a connection failure.
+ * Requests rejected by the service because of the request itself, e.g. because of missing
+ * permissions or invalid parameters, are never retried.
+ *
+ * @since 2.4
+ */
+public final class BatchRetryPolicy {
+
+	/**
+	 * Maximum number of attempts of a batch entry, including the first one.
+	 */
+	public static final int MAX_ATTEMPTS = 3;
+
+	/**
+	 * Delay in milliseconds before the first retry of a failed entry.
+	 */
+	public static final long INITIAL_BACK_OFF = 100;
+
+	private BatchRetryPolicy() {
+		// Avoid instantiation
+	}
+
+	/**
+	 * @param attempts the number of attempts the entry already made
+	 * @param senderFault {@code true} if the service reported the entry as failed because
+	 * of the sender
+	 * @return {@code true} if a failed entry of a batch response must be retried
+	 */
+	public static boolean isRetryable(int attempts, boolean senderFault) {
+		return !senderFault && attempts < MAX_ATTEMPTS;
+	}
+
+	/**
+	 * @param attempts the number of attempts the entry already made
+	 * @param exception the exception the whole batch request failed with
+	 * @return {@code true} if an entry of a failed batch request must be retried
+	 */
+	public static boolean isRetryable(int attempts, Exception exception) {
+		return attempts < MAX_ATTEMPTS && isRetryable(exception);
+	}
+
+	private static boolean isRetryable(Exception exception) {
+		if (exception instanceof AmazonServiceException) {
+			AmazonServiceException serviceException = (AmazonServiceException) exception;
+			return RetryUtils.isThrottlingException(serviceException)
+					|| serviceException.getErrorType() == AmazonServiceException.ErrorType.Service
+					|| serviceException.getStatusCode() >= 500;
+		}
+		return exception instanceof AmazonClientException;
+	}
+
+	/**
+	 * @param attempts the number of attempts the entry already made
+	 * @return the delay in milliseconds before the next attempt
+	 */
+	public static long getBackOff(int attempts) {
+		return INITIAL_BACK_OFF << Math.max(attempts - 1, 0);
+	}
+
+	/**
+	 * Schedules the next attempt of a failed entry after its back off. The attempt is run
+	 * immediately if the scheduler rejects it.
+	 * @param taskScheduler the scheduler running the attempt
+	 * @param attempts the number of attempts the entry already made
+	 * @param retry the next attempt
+	 */
+	public static void scheduleRetry(TaskScheduler taskScheduler, int attempts, Runnable retry) {
+		try {
+			taskScheduler.schedule(retry, Instant.now().plusMillis(getBackOff(attempts)));
+		}
+		catch (RejectedExecutionException e) {
+			retry.run();
+		}
+	}
+
+}
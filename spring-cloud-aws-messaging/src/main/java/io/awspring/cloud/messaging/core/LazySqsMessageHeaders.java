@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * {@link SqsMessageHeaders} backed directly by a received SQS message. Attributes and
+ * message attributes are only converted into header values when they are read for the
+ * first time, the converted values are kept for subsequent reads. The complete header map
+ * is only built if all headers are requested at once, e.g. when iterating over or copying
+ * the headers.
+ * <p>
+ * The headers are resolved with the same precedence as an eagerly built header map:
+ * message attributes take precedence over attributes, which take precedence over the
+ * additional headers, which take precedence over the message id, receipt handle and
+ * source data headers.
+ *
+ * @since 2.4
+ */
+final class LazySqsMessageHeaders extends SqsMessageHeaders {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Object NO_VALUE = new Object();
+
+	private final transient Message message;
+
+	private final transient Map<String, Object> additionalHeaders;
+
+	private final transient Map<String, Object> resolvedHeaders = new ConcurrentHashMap<>(8);
+
+	private transient volatile Map<String, Object> materializedHeaders;
+
+	LazySqsMessageHeaders(Message message, Map<String, Object> additionalHeaders) {
+		super(Collections.emptyMap(), getId(message), getTimestamp(message));
+		this.message = message;
+		this.additionalHeaders = additionalHeaders;
+	}
+
+	private static UUID getId(Message message) {
+		MessageAttributeValue id = message.getMessageAttributes().get(ID);
+		return id != null ? UUID.fromString(id.getStringValue()) : null;
+	}
+
+	private static Long getTimestamp(Message message) {
+		String sentTimestamp = message.getAttributes().get(SQS_SENT_TIMESTAMP);
+		return sentTimestamp != null ? Long.parseLong(sentTimestamp) : null;
+	}
+
+	@Override
+	public Object get(Object key) {
+		if (ID.equals(key) || TIMESTAMP.equals(key)) {
+			return super.get(key);
+		}
+		Map<String, Object> materializedHeaders = this.materializedHeaders;
+		if (materializedHeaders != null) {
+			return materializedHeaders.get(key);
+		}
+		if (!(key instanceof String)) {
+			return null;
+		}
+
+		Object value = this.resolvedHeaders.computeIfAbsent((String) key, headerName -> {
+			Object resolvedValue = resolve(headerName);
+			return resolvedValue != null ? resolvedValue : NO_VALUE;
+		});
+		return value != NO_VALUE ? value : null;
+	}
+
+	private Object resolve(String key) {
+		MessageAttributeValue messageAttribute = this.message.getMessageAttributes().get(key);
+		if (messageAttribute != null) {
+			Object value = QueueMessageUtils.getMessageAttributeAsHeader(key, messageAttribute);
+			if (value != null) {
+				return value;
+			}
+		}
+		if (this.message.getAttributes().containsKey(key)) {
+			return this.message.getAttributes().get(key);
+		}
+		if (this.additionalHeaders.containsKey(key)) {
+			return this.additionalHeaders.get(key);
+		}
+		return QueueMessageUtils.getSourceDataHeader(this.message, key);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Object value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" + key + "'. Expected [" + type
+					+ "] but actual type is [" + value.getClass() + "]");
+		}
+		return (T) value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (ID.equals(key) || TIMESTAMP.equals(key)) {
+			return super.containsKey(key);
+		}
+		Map<String, Object> materializedHeaders = this.materializedHeaders;
+		if (materializedHeaders != null) {
+			return materializedHeaders.containsKey(key);
+		}
+
+		MessageAttributeValue messageAttribute = this.message.getMessageAttributes().get(key);
+		return (messageAttribute != null
+				&& QueueMessageUtils.isSupportedMessageAttribute((String) key, messageAttribute))
+				|| this.message.getAttributes().containsKey(key) || this.additionalHeaders.containsKey(key)
+				|| QueueMessageUtils.isSourceDataHeader(key);
+	}
+
+	/**
+	 * Reads the sent timestamp without building the complete header map.
+	 */
+	@Override
+	public Long getSentTimestamp() {
+		Object sentTimestamp = get(SQS_SENT_TIMESTAMP);
+		return sentTimestamp != null ? Long.parseLong((String) sentTimestamp) : null;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return getRawHeaders().containsValue(value);
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return Collections.unmodifiableMap(getRawHeaders()).entrySet();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return Collections.unmodifiableSet(getRawHeaders().keySet());
+	}
+
+	@Override
+	public Collection<Object> values() {
+		return Collections.unmodifiableCollection(getRawHeaders().values());
+	}
+
+	@Override
+	public int size() {
+		return getRawHeaders().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * Builds the complete header map on first use.
+	 */
+	@Override
+	protected Map<String, Object> getRawHeaders() {
+		Map<String, Object> materializedHeaders = this.materializedHeaders;
+		if (materializedHeaders == null) {
+			materializedHeaders = new HashMap<>();
+			QueueMessageUtils.putSourceDataHeaders(this.message, materializedHeaders);
+			materializedHeaders.putAll(this.additionalHeaders);
+			materializedHeaders.putAll(this.message.getAttributes());
+			for (Map.Entry<String, MessageAttributeValue> messageAttribute : this.message.getMessageAttributes()
+					.entrySet()) {
+				Object value = QueueMessageUtils.getMessageAttributeAsHeader(messageAttribute.getKey(),
+						messageAttribute.getValue());
+				if (value != null) {
+					materializedHeaders.put(messageAttribute.getKey(), value);
+				}
+			}
+			materializedHeaders.putAll(super.getRawHeaders());
+			this.materializedHeaders = materializedHeaders;
+		}
+		return materializedHeaders;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof MessageHeaders && getRawHeaders().equals(other));
+	}
+
+	@Override
+	public int hashCode() {
+		return getRawHeaders().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getRawHeaders().toString();
+	}
+
+	/**
+	 * Serializes the headers as regular {@link SqsMessageHeaders}, the received message
+	 * itself is not kept.
+	 */
+	private Object writeReplace() {
+		return new SqsMessageHeaders(getRawHeaders());
+	}
+
+}
@@ -17,23 +17,51 @@
 package io.awspring.cloud.messaging.core;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.amazonaws.services.sns.AmazonSNS;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import io.awspring.cloud.messaging.core.support.AbstractMessageChannelMessagingSendingTemplate;
 import io.awspring.cloud.messaging.support.destination.DynamicTopicDestinationResolver;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.core.DestinationResolver;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.Assert;
 
 /**
  * @author Alain Sahli
  * @since 1.0
  */
-public class NotificationMessagingTemplate extends AbstractMessageChannelMessagingSendingTemplate<TopicMessageChannel> {
+public class NotificationMessagingTemplate extends AbstractMessageChannelMessagingSendingTemplate<TopicMessageChannel>
+		implements DisposableBean {
+
+	private static final long DEFAULT_PUBLISH_BATCH_WINDOW = 10;
 
 	private final AmazonSNS amazonSns;
 
+	private boolean publishBatching;
+
+	private long publishBatchWindow = DEFAULT_PUBLISH_BATCH_WINDOW;
+
+	private TaskScheduler taskScheduler;
+
+	private boolean defaultTaskScheduler;
+
+	private volatile PublishBatcher publishBatcher;
+
+	private S3PayloadStore payloadStore;
+
+	private PayloadCompressor payloadCompressor;
+
+	private MessagingMetrics messagingMetrics = MessagingMetrics.NONE;
+
 	public NotificationMessagingTemplate(AmazonSNS amazonSns) {
 		this(amazonSns, (ResourceIdResolver) null, null);
 	}
@@ -44,21 +72,252 @@ public class NotificationMessagingTemplate extends AbstractMessageChannelMessagi
 
 	public NotificationMessagingTemplate(AmazonSNS amazonSns, ResourceIdResolver resourceIdResolver,
 			MessageConverter messageConverter) {
-		super(new DynamicTopicDestinationResolver(amazonSns, resourceIdResolver));
+		super(new DynamicTopicDestinationResolver(amazonSns, resourceIdResolver), false);
 		this.amazonSns = amazonSns;
 		initMessageConverter(messageConverter);
 	}
 
 	public NotificationMessagingTemplate(AmazonSNS amazonSns, DestinationResolver<String> destinationResolver,
 			MessageConverter messageConverter) {
-		super(destinationResolver);
+		super(destinationResolver, !(destinationResolver instanceof DynamicTopicDestinationResolver));
 		this.amazonSns = amazonSns;
 		initMessageConverter(messageConverter);
 	}
 
+	/**
+	 * @return {@code true} if published notifications are batched
+	 * @since 2.4
+	 */
+	public boolean isPublishBatching() {
+		return this.publishBatching;
+	}
+
+	/**
+	 * Enables the batching of published notifications. When enabled, the notifications
+	 * published concurrently to the same topic are coalesced into {@code PublishBatch}
+	 * requests of up to 10 notifications and 256 KB, instead of one {@code Publish}
+	 * request per notification. A batch is published as soon as it is full or when the
+	 * {@link #setPublishBatchWindow(long) batch window} elapsed, every publisher still
+	 * waits for the result of its own notification. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}. Default is
+	 * {@code false}.
+	 * @param publishBatching {@code true} to batch published notifications
+	 * @since 2.4
+	 */
+	public void setPublishBatching(boolean publishBatching) {
+		this.publishBatching = publishBatching;
+	}
+
+	/**
+	 * @return the maximum number of milliseconds a notification is delayed to be batched
+	 * with other notifications
+	 * @since 2.4
+	 */
+	public long getPublishBatchWindow() {
+		return this.publishBatchWindow;
+	}
+
+	/**
+	 * The maximum number of milliseconds a notification is delayed to be batched with
+	 * other notifications published to the same topic. Only used if
+	 * {@link #setPublishBatching(boolean) batching} is enabled. Default is 10
+	 * milliseconds.
+	 * @param publishBatchWindow in milliseconds
+	 * @since 2.4
+	 */
+	public void setPublishBatchWindow(long publishBatchWindow) {
+		Assert.isTrue(publishBatchWindow > 0, "publishBatchWindow must be a positive number");
+		this.publishBatchWindow = publishBatchWindow;
+	}
+
+	/**
+	 * @return the store for large payloads, or {@code null} if payloads are always sent
+	 * with the notifications
+	 * @since 2.4
+	 */
+	public S3PayloadStore getPayloadStore() {
+		return this.payloadStore;
+	}
+
+	/**
+	 * Configures a store for payloads exceeding its threshold. Such payloads are stored
+	 * in S3 and only their location is sent with the notification, which allows sending
+	 * payloads larger than 256 KB. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}.
+	 * @param payloadStore the payload store to use
+	 * @since 2.4
+	 */
+	public void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * @return the compressor of the payloads, or {@code null} if payloads are sent
+	 * uncompressed
+	 * @since 2.4
+	 */
+	public PayloadCompressor getPayloadCompressor() {
+		return this.payloadCompressor;
+	}
+
+	/**
+	 * Configures a compressor for the payloads of the sent notifications. Compressed
+	 * payloads are sent Base64 encoded and marked with the
+	 * {@link PayloadCompressor#CONTENT_ENCODING_HEADER} message attribute. Payloads are
+	 * compressed before they are stored in the {@link #setPayloadStore(S3PayloadStore)
+	 * payload store}. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}.
+	 * @param payloadCompressor the payload compressor to use
+	 * @since 2.4
+	 */
+	public void setPayloadCompressor(PayloadCompressor payloadCompressor) {
+		this.payloadCompressor = payloadCompressor;
+	}
+
+	/**
+	 * @return the metrics the published notifications are reported to
+	 * @since 2.4
+	 */
+	public MessagingMetrics getMessagingMetrics() {
+		return this.messagingMetrics;
+	}
+
+	/**
+	 * Configures the metrics the latency and outcome of the published notifications and
+	 * the size of the batch requests are reported to. Use
+	 * {@link io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics} to
+	 * record them with Micrometer. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}. By default no
+	 * metrics are recorded.
+	 * @param messagingMetrics the metrics to report to
+	 * @since 2.4
+	 */
+	public void setMessagingMetrics(MessagingMetrics messagingMetrics) {
+		Assert.notNull(messagingMetrics, "messagingMetrics must not be null");
+		this.messagingMetrics = messagingMetrics;
+	}
+
+	/**
+	 * Configures the scheduler used to publish the pending notification batches once
+	 * their batch window elapsed. If not set, a single threaded scheduler is created when
+	 * {@link #setPublishBatching(boolean) batching} is enabled.
+	 * @param taskScheduler the scheduler to use
+	 * @since 2.4
+	 */
+	public void setTaskScheduler(TaskScheduler taskScheduler) {
+		this.taskScheduler = taskScheduler;
+	}
+
+	/**
+	 * Immediately publishes the pending notification batches and shuts the default task
+	 * scheduler down.
+	 */
+	@Override
+	public void destroy() {
+		PublishBatcher publishBatcher = this.publishBatcher;
+		if (publishBatcher != null) {
+			publishBatcher.flush();
+		}
+		if (this.defaultTaskScheduler) {
+			((ThreadPoolTaskScheduler) this.taskScheduler).destroy();
+		}
+	}
+
 	@Override
 	protected TopicMessageChannel resolveMessageChannel(String physicalResourceIdentifier) {
-		return new TopicMessageChannel(this.amazonSns, physicalResourceIdentifier);
+		TopicMessageChannel topicMessageChannel = new TopicMessageChannel(this.amazonSns, physicalResourceIdentifier);
+		if (this.publishBatching) {
+			topicMessageChannel.setPublishBatcher(getPublishBatcher());
+		}
+		topicMessageChannel.setPayloadStore(this.payloadStore);
+		topicMessageChannel.setPayloadCompressor(this.payloadCompressor);
+		topicMessageChannel.setMetrics(this.messagingMetrics);
+		return topicMessageChannel;
+	}
+
+	private PublishBatcher getPublishBatcher() {
+		PublishBatcher publishBatcher = this.publishBatcher;
+		if (publishBatcher == null) {
+			synchronized (this) {
+				publishBatcher = this.publishBatcher;
+				if (publishBatcher == null) {
+					if (this.taskScheduler == null) {
+						this.defaultTaskScheduler = true;
+						this.taskScheduler = createDefaultTaskScheduler();
+					}
+					publishBatcher = new PublishBatcher(this.amazonSns, this.taskScheduler, this.publishBatchWindow,
+							this.messagingMetrics);
+					this.publishBatcher = publishBatcher;
+				}
+			}
+		}
+		return publishBatcher;
+	}
+
+	/**
+	 * Creates the default task scheduler. Called if batching is enabled and no explicit
+	 * task scheduler has been specified.
+	 * @return a single threaded task scheduler
+	 * @since 2.4
+	 */
+	protected TaskScheduler createDefaultTaskScheduler() {
+		ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+		threadPoolTaskScheduler.setThreadNamePrefix("NotificationMessagingTemplate-scheduler-");
+		threadPoolTaskScheduler.initialize();
+		return threadPoolTaskScheduler;
+	}
+
+	/**
+	 * Publishes a message to the given destination without blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param message the message to publish
+	 * @return a future completed with the result of the message, or completed
+	 * exceptionally with a {@link MessageDeliveryException} if it could not be published
+	 * @since 2.4
+	 */
+	public CompletableFuture<SendResult> sendAsync(String destinationName, Message<?> message) {
+		return resolveMessageChannelByLogicalName(destinationName).sendAsync(message);
+	}
+
+	/**
+	 * Publishes a message to the default destination without blocking the calling thread.
+	 * @param message the message to publish
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public CompletableFuture<SendResult> sendAsync(Message<?> message) {
+		return getRequiredDefaultDestination().sendAsync(message);
+	}
+
+	/**
+	 * Converts the payload into a message and publishes it to the given destination
+	 * without blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param payload the payload to convert
+	 * @param <T> the payload type
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public <T> CompletableFuture<SendResult> convertAndSendAsync(String destinationName, T payload) {
+		return convertAndSendAsync(destinationName, payload, null);
+	}
+
+	/**
+	 * Converts the payload and headers into a message and publishes it to the given
+	 * destination without blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param payload the payload to convert
+	 * @param headers the headers of the message, may be {@code null}
+	 * @param <T> the payload type
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public <T> CompletableFuture<SendResult> convertAndSendAsync(String destinationName, T payload,
+			Map<String, Object> headers) {
+		return sendAsync(destinationName, doConvert(payload, headers, null));
 	}
 
 	/**
@@ -90,4 +349,18 @@ public class NotificationMessagingTemplate extends AbstractMessageChannelMessagi
 				Collections.singletonMap(TopicMessageChannel.NOTIFICATION_SUBJECT_HEADER, subject));
 	}
 
+	/**
+	 * Asynchronous variant of {@link #sendNotification(String, Object, String)} that does
+	 * not block the calling thread.
+	 * @param destinationName The logical name of the destination
+	 * @param message The message to send
+	 * @param subject The subject to send
+	 * @return a future completed with the result of the notification
+	 * @since 2.4
+	 */
+	public CompletableFuture<SendResult> sendNotificationAsync(String destinationName, Object message, String subject) {
+		return convertAndSendAsync(destinationName, message,
+				Collections.singletonMap(TopicMessageChannel.NOTIFICATION_SUBJECT_HEADER, subject));
+	}
+
 }
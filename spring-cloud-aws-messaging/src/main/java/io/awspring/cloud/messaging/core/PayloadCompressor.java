@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.Assert;
+
+/**
+ * Compresses message payloads before they are sent. As SQS and SNS only accept text
+ * payloads, the compressed payload is sent Base64 encoded and the message is marked with
+ * the {@link #CONTENT_ENCODING_HEADER} message attribute. Compressed payloads are
+ * decompressed by the {@link io.awspring.cloud.messaging.listener.QueueMessageHandler}
+ * and by {@link QueueMessageChannel#receive()} before they are converted.
+ * <p>
+ * Payloads are only compressed if they are at least {@link #setThreshold(int) threshold}
+ * characters long and only sent compressed if that makes them smaller. Both {@link #GZIP
+ * gzip} and {@link #DEFLATE deflate} are supported, the compression level can be lowered
+ * for faster compression, e.g. to {@link Deflater#BEST_SPEED}.
+ * <p>
+ * Decompression stops as soon as a payload exceeds the maximum decompressed size,
+ * {@link #DEFAULT_MAX_DECOMPRESSED_SIZE} bytes by default, so that a small, highly
+ * compressed payload cannot exhaust the memory of the receiver.
+ *
+ * @since 2.4
+ */
+public class PayloadCompressor {
+
+	/**
+	 * Header and message attribute containing the encoding of a compressed payload.
+	 */
+	public static final String CONTENT_ENCODING_HEADER = "contentEncoding";
+
+	/**
+	 * Content encoding of payloads compressed in the gzip format.
+	 */
+	public static final String GZIP = "gzip";
+
+	/**
+	 * Content encoding of payloads compressed in the zlib format.
+	 */
+	public static final String DEFLATE = "deflate";
+
+	/**
+	 * Default maximum number of bytes a payload is decompressed to.
+	 */
+	public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 16 * 1024 * 1024;
+
+	static final int DEFAULT_THRESHOLD = 1024;
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private final String contentEncoding;
+
+	private int level = Deflater.DEFAULT_COMPRESSION;
+
+	private int threshold = DEFAULT_THRESHOLD;
+
+	public PayloadCompressor() {
+		this(GZIP);
+	}
+
+	/**
+	 * Creates a compressor for the given content encoding.
+	 * @param contentEncoding either {@link #GZIP} or {@link #DEFLATE}
+	 */
+	public PayloadCompressor(String contentEncoding) {
+		Assert.isTrue(isSupported(contentEncoding), "contentEncoding must be either 'gzip' or 'deflate'");
+		this.contentEncoding = contentEncoding;
+	}
+
+	public String getContentEncoding() {
+		return this.contentEncoding;
+	}
+
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Configures the compression level, from {@link Deflater#BEST_SPEED} to
+	 * {@link Deflater#BEST_COMPRESSION}. Default is {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @param level the compression level
+	 */
+	public void setLevel(int level) {
+		Assert.isTrue(
+				level == Deflater.DEFAULT_COMPRESSION
+						|| (level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION),
+				"level must be between 1 and 9 or -1 for the default compression");
+		this.level = level;
+	}
+
+	public int getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * Configures the minimum number of characters of compressed payloads. Smaller
+	 * payloads are sent uncompressed. Default is 1024.
+	 * @param threshold the minimum payload length
+	 */
+	public void setThreshold(int threshold) {
+		Assert.isTrue(threshold >= 0, "threshold must not be negative");
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Compresses the given payload.
+	 * @param payload the payload to compress
+	 * @return the compressed and Base64 encoded payload, or {@code null} if the payload
+	 * is below the threshold or would not become smaller
+	 */
+	String compress(String payload) {
+		if (payload.length() < this.threshold) {
+			return null;
+		}
+
+		ByteArrayOutputStream compressedPayload = new ByteArrayOutputStream(payload.length() / 4 + 64);
+		Deflater deflater = new Deflater(this.level, GZIP.equals(this.contentEncoding));
+		try (OutputStream outputStream = createCompressingStream(Base64.getEncoder().wrap(compressedPayload),
+				deflater)) {
+			outputStream.write(payload.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Payload could not be compressed", e);
+		}
+		finally {
+			deflater.end();
+		}
+		if (compressedPayload.size() >= payload.length()) {
+			return null;
+		}
+		return new String(compressedPayload.toByteArray(), StandardCharsets.US_ASCII);
+	}
+
+	private OutputStream createCompressingStream(OutputStream outputStream, Deflater deflater) throws IOException {
+		if (GZIP.equals(this.contentEncoding)) {
+			return new GZIPOutputStream(outputStream) {
+
+				{
+					// Use the deflater with the configured level instead of the default
+					// one
+					this.def.end();
+					this.def = deflater;
+				}
+
+			};
+		}
+		return new DeflaterOutputStream(outputStream, deflater);
+	}
+
+	/**
+	 * Decompresses the payload of the given message if it is marked with a supported
+	 * {@link #CONTENT_ENCODING_HEADER content encoding}, up to the
+	 * {@link #DEFAULT_MAX_DECOMPRESSED_SIZE default maximum decompressed size}.
+	 * @param message the message to decompress
+	 * @return a message with the decompressed payload and the same headers, or the given
+	 * message if its payload is not compressed
+	 * @throws MessageConversionException if the payload could not be decompressed
+	 * @see #decompress(Message, int)
+	 */
+	public static Message<?> decompress(Message<?> message) {
+		return decompress(message, DEFAULT_MAX_DECOMPRESSED_SIZE);
+	}
+
+	/**
+	 * Decompresses the payload of the given message if it is marked with a supported
+	 * {@link #CONTENT_ENCODING_HEADER content encoding}. The payloads of batch messages,
+	 * whose payload is a list of messages, are decompressed message by message.
+	 * @param message the message to decompress
+	 * @param maxDecompressedSize the maximum number of bytes a payload is decompressed to
+	 * @return a message with the decompressed payload and the same headers, or the given
+	 * message if its payload is not compressed
+	 * @throws MessageConversionException if the payload could not be decompressed or
+	 * exceeds the maximum decompressed size
+	 */
+	public static Message<?> decompress(Message<?> message, int maxDecompressedSize) {
+		Assert.isTrue(maxDecompressedSize > 0, "maxDecompressedSize must be greater than 0");
+		Object payload = message.getPayload();
+		if (payload instanceof String) {
+			Object contentEncoding = message.getHeaders().get(CONTENT_ENCODING_HEADER);
+			if (contentEncoding instanceof String && isSupported((String) contentEncoding)) {
+				return MessageBuilder.createMessage(
+						decompress(message, (String) payload, (String) contentEncoding, maxDecompressedSize),
+						message.getHeaders());
+			}
+		}
+		else if (payload instanceof List && !((List<?>) payload).isEmpty()
+				&& ((List<?>) payload).get(0) instanceof Message) {
+			List<?> messages = (List<?>) payload;
+			List<Message<?>> decompressedMessages = new ArrayList<>(messages.size());
+			for (Object batchMessage : messages) {
+				decompressedMessages.add(decompress((Message<?>) batchMessage, maxDecompressedSize));
+			}
+			return MessageBuilder.createMessage(decompressedMessages, message.getHeaders());
+		}
+		return message;
+	}
+
+	private static String decompress(Message<?> message, String payload, String contentEncoding,
+			int maxDecompressedSize) {
+		InputStream base64Payload = Base64.getDecoder()
+				.wrap(new ByteArrayInputStream(payload.getBytes(StandardCharsets.US_ASCII)));
+		try (InputStream inputStream = GZIP.equals(contentEncoding) ? new GZIPInputStream(base64Payload)
+				: new InflaterInputStream(base64Payload)) {
+			ByteArrayOutputStream decompressedPayload = new ByteArrayOutputStream(
+					(int) Math.min(payload.length() * 4L, maxDecompressedSize));
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				if (decompressedPayload.size() + bytesRead > maxDecompressedSize) {
+					throw new MessageConversionException(message, "Payload with content encoding '" + contentEncoding
+							+ "' exceeds the maximum decompressed size of " + maxDecompressedSize + " bytes");
+				}
+				decompressedPayload.write(buffer, 0, bytesRead);
+			}
+			return new String(decompressedPayload.toByteArray(), StandardCharsets.UTF_8);
+		}
+		catch (IOException | IllegalArgumentException e) {
+			throw new MessageConversionException(message,
+					"Payload with content encoding '" + contentEncoding + "' could not be decompressed", e);
+		}
+	}
+
+	private static boolean isSupported(String contentEncoding) {
+		return GZIP.equals(contentEncoding) || DEFLATE.equals(contentEncoding);
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
+import com.amazonaws.services.sns.model.AmazonSNSException;
+import com.amazonaws.services.sns.model.BatchResultErrorEntry;
+import com.amazonaws.services.sns.model.MessageAttributeValue;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import com.amazonaws.services.sns.model.PublishBatchResultEntry;
+import com.amazonaws.services.sns.model.PublishRequest;
+import com.amazonaws.services.sns.model.PublishResult;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Coalesces the notifications published to a topic into {@code PublishBatch} requests
+ * instead of sending one {@code Publish} request per notification. Batches are published
+ * without blocking if the client is an {@link AmazonSNSAsync}, otherwise they are
+ * published on the thread that completed the batch or on the scheduler thread.
+ *
+ * @since 2.4
+ */
+class PublishBatcher extends AbstractMessageBatcher<PublishRequest, PublishResult> {
+
+	private final AmazonSNS amazonSns;
+
+	private final MessagingMetrics metrics;
+
+	PublishBatcher(AmazonSNS amazonSns, TaskScheduler taskScheduler, long batchWindow) {
+		this(amazonSns, taskScheduler, batchWindow, MessagingMetrics.NONE);
+	}
+
+	PublishBatcher(AmazonSNS amazonSns, TaskScheduler taskScheduler, long batchWindow, MessagingMetrics metrics) {
+		super(taskScheduler, batchWindow);
+		this.amazonSns = amazonSns;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Schedules the publishing of a notification.
+	 * @param publishRequest the request of the notification to publish
+	 * @return a future completed with the result of the notification once it was
+	 * published
+	 */
+	CompletableFuture<PublishResult> publish(PublishRequest publishRequest) {
+		return submit(publishRequest.getTopicArn(), publishRequest);
+	}
+
+	@Override
+	protected void sendBatch(String topicArn, Map<String, BatchEntry<PublishRequest, PublishResult>> entriesById) {
+		this.metrics.recordPublishBatch(topicArn, entriesById.size());
+		List<PublishBatchRequestEntry> requestEntries = new ArrayList<>(entriesById.size());
+		for (Map.Entry<String, BatchEntry<PublishRequest, PublishResult>> entry : entriesById.entrySet()) {
+			requestEntries.add(createRequestEntry(entry.getKey(), entry.getValue().getRequest()));
+		}
+		PublishBatchRequest publishBatchRequest = new PublishBatchRequest().withTopicArn(topicArn)
+				.withPublishBatchRequestEntries(requestEntries);
+
+		if (this.amazonSns instanceof AmazonSNSAsync) {
+			((AmazonSNSAsync) this.amazonSns).publishBatchAsync(publishBatchRequest,
+					new AsyncHandler<PublishBatchRequest, PublishBatchResult>() {
+
+						@Override
+						public void onError(Exception exception) {
+							handleBatchFailure(topicArn, entriesById.values(), exception);
+						}
+
+						@Override
+						public void onSuccess(PublishBatchRequest request, PublishBatchResult result) {
+							handleBatchResult(topicArn, entriesById, result);
+						}
+
+					});
+		}
+		else {
+			handleBatchResult(topicArn, entriesById, this.amazonSns.publishBatch(publishBatchRequest));
+		}
+	}
+
+	@Override
+	protected void sendSingle(BatchEntry<PublishRequest, PublishResult> entry) {
+		if (this.amazonSns instanceof AmazonSNSAsync) {
+			((AmazonSNSAsync) this.amazonSns).publishAsync(entry.getRequest(),
+					new AsyncHandler<PublishRequest, PublishResult>() {
+
+						@Override
+						public void onError(Exception exception) {
+							entry.getResult().completeExceptionally(exception);
+						}
+
+						@Override
+						public void onSuccess(PublishRequest request, PublishResult result) {
+							entry.getResult().complete(result);
+						}
+
+					});
+		}
+		else {
+			entry.getResult().complete(this.amazonSns.publish(entry.getRequest()));
+		}
+	}
+
+	private void handleBatchResult(String topicArn, Map<String, BatchEntry<PublishRequest, PublishResult>> entriesById,
+			PublishBatchResult result) {
+		for (PublishBatchResultEntry successfulEntry : result.getSuccessful()) {
+			BatchEntry<PublishRequest, PublishResult> entry = entriesById.get(successfulEntry.getId());
+			if (entry != null) {
+				handleEntryResult(entry, new PublishResult().withMessageId(successfulEntry.getMessageId())
+						.withSequenceNumber(successfulEntry.getSequenceNumber()));
+			}
+		}
+
+		for (BatchResultErrorEntry failedEntry : result.getFailed()) {
+			BatchEntry<PublishRequest, PublishResult> entry = entriesById.get(failedEntry.getId());
+			if (entry != null) {
+				AmazonSNSException exception = new AmazonSNSException(failedEntry.getMessage());
+				exception.setErrorCode(failedEntry.getCode());
+				exception.setErrorType(failedEntry.isSenderFault() ? AmazonServiceException.ErrorType.Client
+						: AmazonServiceException.ErrorType.Service);
+				exception.setServiceName("AmazonSNS");
+				handleEntryFailure(topicArn, entry, failedEntry.isSenderFault(), exception);
+			}
+		}
+	}
+
+	private static PublishBatchRequestEntry createRequestEntry(String id, PublishRequest request) {
+		PublishBatchRequestEntry requestEntry = new PublishBatchRequestEntry().withId(id)
+				.withMessage(request.getMessage()).withSubject(request.getSubject())
+				.withMessageStructure(request.getMessageStructure()).withMessageGroupId(request.getMessageGroupId())
+				.withMessageDeduplicationId(request.getMessageDeduplicationId());
+		if (!request.getMessageAttributes().isEmpty()) {
+			requestEntry.setMessageAttributes(request.getMessageAttributes());
+		}
+		return requestEntry;
+	}
+
+	/**
+	 * Computes the payload size of a notification as accounted by SNS, which is the size
+	 * of the message and the names, types and values of its message attributes.
+	 */
+	@Override
+	protected int getPayloadSize(PublishRequest request) {
+		int payloadSize = getSize(request.getMessage());
+		for (Map.Entry<String, MessageAttributeValue> messageAttribute : request.getMessageAttributes().entrySet()) {
+			MessageAttributeValue value = messageAttribute.getValue();
+			payloadSize += getSize(messageAttribute.getKey()) + getSize(value.getDataType())
+					+ getSize(value.getStringValue());
+			if (value.getBinaryValue() != null) {
+				payloadSize += value.getBinaryValue().remaining();
+			}
+		}
+		return payloadSize;
+	}
+
+}
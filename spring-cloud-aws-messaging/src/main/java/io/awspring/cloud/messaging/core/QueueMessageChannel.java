@@ -16,15 +16,22 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
@@ -32,10 +39,12 @@ import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.amazonaws.services.sqs.model.ReceiveMessageResult;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.AbstractMessageChannel;
 import org.springframework.util.Assert;
@@ -53,27 +62,121 @@ public class QueueMessageChannel extends AbstractMessageChannel implements Polla
 
 	static final String ATTRIBUTE_NAMES = "All";
 
-	private static final String MESSAGE_ATTRIBUTE_NAMES = "All";
-
 	private final AmazonSQSAsync amazonSqs;
 
 	private final String queueUrl;
 
+	private SendMessageBatcher sendMessageBatcher;
+
+	private S3PayloadStore payloadStore;
+
+	private PayloadCompressor payloadCompressor;
+
+	private MessagingMetrics metrics = MessagingMetrics.NONE;
+
+	private Set<String> attributeNames = QueueMessageUtils.getReceiveAttributeNames(null);
+
+	private Set<String> messageAttributeNames = QueueMessageUtils.getReceiveMessageAttributeNames(null);
+
+	private int maxDecompressedPayloadSize = PayloadCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE;
+
 	public QueueMessageChannel(AmazonSQSAsync amazonSqs, String queueUrl) {
 		this.amazonSqs = amazonSqs;
 		this.queueUrl = queueUrl;
 	}
 
+	/**
+	 * Configures the batcher coalescing the sent messages into batch requests. By default
+	 * every message is sent with its own request.
+	 * @param sendMessageBatcher the batcher, or {@code null} to send every message with
+	 * its own request
+	 * @since 2.4
+	 */
+	void setSendMessageBatcher(SendMessageBatcher sendMessageBatcher) {
+		this.sendMessageBatcher = sendMessageBatcher;
+	}
+
+	/**
+	 * Configures the store for payloads exceeding its threshold. By default the payloads
+	 * are always sent with the messages.
+	 * @param payloadStore the payload store, or {@code null} to always send the payloads
+	 * with the messages
+	 * @since 2.4
+	 */
+	void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * Configures the compressor of the payloads. By default the payloads are sent
+	 * uncompressed.
+	 * @param payloadCompressor the compressor, or {@code null} to send the payloads
+	 * uncompressed
+	 * @since 2.4
+	 */
+	void setPayloadCompressor(PayloadCompressor payloadCompressor) {
+		this.payloadCompressor = payloadCompressor;
+	}
+
+	/**
+	 * Configures the metrics recording the sent messages. Default is
+	 * {@link MessagingMetrics#NONE}.
+	 * @param metrics the metrics
+	 * @since 2.4
+	 */
+	void setMetrics(MessagingMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null");
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Configures the system attributes requested with the received messages. By default
+	 * all of them are requested.
+	 * @param attributeNames the attribute names, or {@code null} to request all of them
+	 * @since 2.4
+	 */
+	void setAttributeNames(Collection<String> attributeNames) {
+		this.attributeNames = QueueMessageUtils.getReceiveAttributeNames(attributeNames);
+	}
+
+	/**
+	 * Configures the message attributes requested with the received messages. By default
+	 * all of them are requested.
+	 * @param messageAttributeNames the message attribute names, or {@code null} to
+	 * request all of them
+	 * @since 2.4
+	 */
+	void setMessageAttributeNames(Collection<String> messageAttributeNames) {
+		this.messageAttributeNames = QueueMessageUtils.getReceiveMessageAttributeNames(messageAttributeNames);
+	}
+
+	/**
+	 * Configures the maximum number of bytes the compressed payloads of received messages
+	 * are decompressed to. Receiving a message whose payload exceeds it fails. Default is
+	 * {@link PayloadCompressor#DEFAULT_MAX_DECOMPRESSED_SIZE}.
+	 * @param maxDecompressedPayloadSize the maximum decompressed payload size in bytes
+	 * @since 2.4
+	 */
+	public void setMaxDecompressedPayloadSize(int maxDecompressedPayloadSize) {
+		Assert.isTrue(maxDecompressedPayloadSize > 0, "maxDecompressedPayloadSize must be greater than 0");
+		this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+	}
+
 	private static boolean isSkipHeader(String headerName) {
 		return SqsMessageHeaders.SQS_DELAY_HEADER.equals(headerName)
 				|| SqsMessageHeaders.SQS_DEDUPLICATION_ID_HEADER.equals(headerName)
-				|| SqsMessageHeaders.SQS_GROUP_ID_HEADER.equals(headerName);
+				|| SqsMessageHeaders.SQS_GROUP_ID_HEADER.equals(headerName)
+				|| S3PayloadStore.PAYLOAD_SIZE_HEADER.equals(headerName)
+				|| PayloadCompressor.CONTENT_ENCODING_HEADER.equals(headerName);
 	}
 
 	@Override
 	protected boolean sendInternal(Message<?> message, long timeout) {
+		long startTime = System.nanoTime();
+		boolean successful = false;
 		try {
 			sendMessageAndWaitForResult(prepareSendMessageRequest(message), timeout);
+			successful = true;
 		}
 		catch (AmazonServiceException e) {
 			throw new MessageDeliveryException(message, e.getMessage(), e);
@@ -84,13 +187,83 @@ public class QueueMessageChannel extends AbstractMessageChannel implements Polla
 		catch (TimeoutException e) {
 			return false;
 		}
+		finally {
+			this.metrics.recordSend(this.queueUrl, System.nanoTime() - startTime, successful);
+		}
 
 		return true;
 	}
 
+	/**
+	 * Sends the message without blocking the calling thread. Unlike
+	 * {@link #send(Message)}, channel interceptors are not applied.
+	 * @param message the message to send
+	 * @return a future completed with the result of the message once it was sent, or
+	 * completed exceptionally with a {@link MessageDeliveryException} if sending failed
+	 * @since 2.4
+	 */
+	public CompletableFuture<SendResult> sendAsync(Message<?> message) {
+		long startTime = System.nanoTime();
+		SendMessageRequest sendMessageRequest = prepareSendMessageRequest(message);
+		CompletableFuture<SendMessageResult> sendMessageFuture;
+		if (this.sendMessageBatcher != null) {
+			sendMessageFuture = this.sendMessageBatcher.send(sendMessageRequest);
+		}
+		else {
+			sendMessageFuture = new CompletableFuture<>();
+			try {
+				this.amazonSqs.sendMessageAsync(sendMessageRequest,
+						new AsyncHandler<SendMessageRequest, SendMessageResult>() {
+
+							@Override
+							public void onError(Exception exception) {
+								sendMessageFuture.completeExceptionally(exception);
+							}
+
+							@Override
+							public void onSuccess(SendMessageRequest request, SendMessageResult result) {
+								sendMessageFuture.complete(result);
+							}
+
+						});
+			}
+			catch (RuntimeException e) {
+				sendMessageFuture.completeExceptionally(e);
+			}
+		}
+
+		CompletableFuture<SendResult> sendResultFuture = new CompletableFuture<>();
+		sendMessageFuture.whenComplete((sendMessageResult, throwable) -> {
+			this.metrics.recordSend(this.queueUrl, System.nanoTime() - startTime, throwable == null);
+			if (throwable != null) {
+				sendResultFuture.completeExceptionally(
+						new MessageDeliveryException(message, throwable.getMessage(), throwable));
+			}
+			else {
+				sendResultFuture.complete(
+						new SendResult(sendMessageResult.getMessageId(), sendMessageResult.getSequenceNumber()));
+			}
+		});
+		return sendResultFuture;
+	}
+
 	private SendMessageRequest prepareSendMessageRequest(Message<?> message) {
-		SendMessageRequest sendMessageRequest = new SendMessageRequest(this.queueUrl,
-				String.valueOf(message.getPayload()));
+		String messageBody = String.valueOf(message.getPayload());
+		Map<String, MessageAttributeValue> messageAttributes = getMessageAttributes(message);
+		if (this.payloadCompressor != null) {
+			String compressedMessageBody = this.payloadCompressor.compress(messageBody);
+			if (compressedMessageBody != null) {
+				messageBody = compressedMessageBody;
+				messageAttributes.put(PayloadCompressor.CONTENT_ENCODING_HEADER,
+						getStringMessageAttribute(this.payloadCompressor.getContentEncoding()));
+			}
+		}
+		if (this.payloadStore != null && this.payloadStore.exceedsThreshold(messageBody)) {
+			byte[] payload = messageBody.getBytes(StandardCharsets.UTF_8);
+			messageBody = storePayload(message, payload);
+			messageAttributes.put(S3PayloadStore.PAYLOAD_SIZE_HEADER, getNumberMessageAttribute(payload.length));
+		}
+		SendMessageRequest sendMessageRequest = new SendMessageRequest(this.queueUrl, messageBody);
 
 		if (message.getHeaders().containsKey(SqsMessageHeaders.SQS_GROUP_ID_HEADER)) {
 			sendMessageRequest
@@ -107,7 +280,6 @@ public class QueueMessageChannel extends AbstractMessageChannel implements Polla
 					.setDelaySeconds(message.getHeaders().get(SqsMessageHeaders.SQS_DELAY_HEADER, Integer.class));
 		}
 
-		Map<String, MessageAttributeValue> messageAttributes = getMessageAttributes(message);
 		if (!messageAttributes.isEmpty()) {
 			sendMessageRequest.withMessageAttributes(messageAttributes);
 		}
@@ -115,20 +287,41 @@ public class QueueMessageChannel extends AbstractMessageChannel implements Polla
 		return sendMessageRequest;
 	}
 
+	private String storePayload(Message<?> message, byte[] payload) {
+		try {
+			return this.payloadStore.store(payload);
+		}
+		catch (IOException | AmazonClientException e) {
+			throw new MessageDeliveryException(message, "The payload of the message could not be stored in bucket '"
+					+ this.payloadStore.getBucketName() + "'", e);
+		}
+	}
+
 	private void sendMessageAndWaitForResult(SendMessageRequest sendMessageRequest, long timeout)
 			throws ExecutionException, TimeoutException {
-		if (timeout > 0) {
-			Future<SendMessageResult> sendMessageFuture = this.amazonSqs.sendMessageAsync(sendMessageRequest);
+		if (this.sendMessageBatcher != null) {
+			waitForResult(this.sendMessageBatcher.send(sendMessageRequest), timeout);
+		}
+		else if (timeout > 0) {
+			waitForResult(this.amazonSqs.sendMessageAsync(sendMessageRequest), timeout);
+		}
+		else {
+			this.amazonSqs.sendMessage(sendMessageRequest);
+		}
+	}
 
-			try {
+	private void waitForResult(Future<SendMessageResult> sendMessageFuture, long timeout)
+			throws ExecutionException, TimeoutException {
+		try {
+			if (timeout > 0) {
 				sendMessageFuture.get(timeout, TimeUnit.MILLISECONDS);
 			}
-			catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
+			else {
+				sendMessageFuture.get();
 			}
 		}
-		else {
-			this.amazonSqs.sendMessage(sendMessageRequest);
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
@@ -208,15 +401,38 @@ public class QueueMessageChannel extends AbstractMessageChannel implements Polla
 	public Message<String> receive(long timeout) {
 		ReceiveMessageResult receiveMessageResult = this.amazonSqs
 				.receiveMessage(new ReceiveMessageRequest(this.queueUrl).withMaxNumberOfMessages(1)
-						.withWaitTimeSeconds(Long.valueOf(timeout).intValue()).withAttributeNames(ATTRIBUTE_NAMES)
-						.withMessageAttributeNames(MESSAGE_ATTRIBUTE_NAMES));
+						.withWaitTimeSeconds(Long.valueOf(timeout).intValue()).withAttributeNames(this.attributeNames)
+						.withMessageAttributeNames(this.messageAttributeNames));
 		if (receiveMessageResult.getMessages().isEmpty()) {
 			return null;
 		}
 		com.amazonaws.services.sqs.model.Message amazonMessage = receiveMessageResult.getMessages().get(0);
-		Message<String> message = createMessage(amazonMessage);
+		Message<String> message = decompressPayload(createMessage(resolvePayload(amazonMessage)));
 		this.amazonSqs.deleteMessage(new DeleteMessageRequest(this.queueUrl, amazonMessage.getReceiptHandle()));
+		if (this.payloadStore != null && this.payloadStore.isDeleteAfterReceipt()
+				&& this.payloadStore.isStored(amazonMessage)) {
+			this.payloadStore.delete(amazonMessage.getBody());
+		}
 		return message;
 	}
 
+	@SuppressWarnings("unchecked")
+	private Message<String> decompressPayload(Message<String> message) {
+		return (Message<String>) PayloadCompressor.decompress(message, this.maxDecompressedPayloadSize);
+	}
+
+	private com.amazonaws.services.sqs.model.Message resolvePayload(
+			com.amazonaws.services.sqs.model.Message amazonMessage) {
+		if (this.payloadStore == null) {
+			return amazonMessage;
+		}
+		try {
+			return this.payloadStore.resolve(amazonMessage);
+		}
+		catch (IOException | AmazonClientException | IllegalArgumentException e) {
+			throw new MessagingException(
+					"The payload of the message could not be retrieved from '" + amazonMessage.getBody() + "'", e);
+		}
+	}
+
 }
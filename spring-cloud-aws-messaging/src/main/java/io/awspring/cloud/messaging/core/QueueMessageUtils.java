@@ -16,12 +16,18 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.MessageSystemAttributeName;
 
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
@@ -43,6 +49,28 @@ public final class QueueMessageUtils {
 
 	private static final String SOURCE_DATA_HEADER = "sourceData";
 
+	private static final String ALL_ATTRIBUTES = "All";
+
+	/**
+	 * System attributes read by the framework itself: the sent timestamp as
+	 * {@link MessageHeaders#TIMESTAMP} header and for the message age metrics, the
+	 * receive count for the error visibility back off and the message group of messages
+	 * received from FIFO queues.
+	 */
+	private static final Set<String> REQUIRED_ATTRIBUTE_NAMES = Collections
+			.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(MessageSystemAttributeName.SentTimestamp.toString(),
+					MessageSystemAttributeName.ApproximateFirstReceiveTimestamp.toString(),
+					MessageSystemAttributeName.ApproximateReceiveCount.toString(),
+					MessageSystemAttributeName.MessageGroupId.toString())));
+
+	/**
+	 * Message attributes read by the framework itself to convert, decompress and resolve
+	 * the payloads of the received messages.
+	 */
+	private static final Set<String> REQUIRED_MESSAGE_ATTRIBUTE_NAMES = Collections
+			.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(MessageHeaders.ID, MessageHeaders.CONTENT_TYPE,
+					PayloadCompressor.CONTENT_ENCODING_HEADER, S3PayloadStore.PAYLOAD_SIZE_HEADER)));
+
 	private QueueMessageUtils() {
 		// Avoid instantiation
 	}
@@ -51,18 +79,18 @@ public final class QueueMessageUtils {
 		return createMessage(message, Collections.emptyMap());
 	}
 
+	/**
+	 * Creates a message for a received SQS message. The headers are backed by the SQS
+	 * message and a copy of the given additional headers. Attributes and message
+	 * attributes are only converted into header values when they are read.
+	 * @param message the received SQS message
+	 * @param additionalHeaders the headers to add to the message
+	 * @return the message
+	 */
 	public static Message<String> createMessage(com.amazonaws.services.sqs.model.Message message,
 			Map<String, Object> additionalHeaders) {
-		HashMap<String, Object> messageHeaders = new HashMap<>();
-		messageHeaders.put(MESSAGE_ID_MESSAGE_ATTRIBUTE_NAME, message.getMessageId());
-		messageHeaders.put(RECEIPT_HANDLE_MESSAGE_ATTRIBUTE_NAME, message.getReceiptHandle());
-		messageHeaders.put(SOURCE_DATA_HEADER, message);
-
-		messageHeaders.putAll(additionalHeaders);
-		messageHeaders.putAll(getAttributesAsMessageHeaders(message));
-		messageHeaders.putAll(getMessageAttributesAsMessageHeaders(message));
-
-		return new GenericMessage<>(message.getBody(), new SqsMessageHeaders(messageHeaders));
+		return new GenericMessage<>(message.getBody(), new LazySqsMessageHeaders(message,
+				additionalHeaders.isEmpty() ? Collections.emptyMap() : new HashMap<>(additionalHeaders)));
 	}
 
 	public static Object getNumberValue(String attributeValue, String attributeType) {
@@ -83,48 +111,108 @@ public final class QueueMessageUtils {
 		return (com.amazonaws.services.sqs.model.Message) message.getHeaders().get(SOURCE_DATA_HEADER);
 	}
 
-	private static Map<String, Object> getAttributesAsMessageHeaders(com.amazonaws.services.sqs.model.Message message) {
-		Map<String, Object> messageHeaders = new HashMap<>();
-		for (Map.Entry<String, String> attributeKeyValuePair : message.getAttributes().entrySet()) {
-			messageHeaders.put(attributeKeyValuePair.getKey(), attributeKeyValuePair.getValue());
+	/**
+	 * Returns the system attribute names to request with received messages, which are the
+	 * given names and the attributes the framework relies on.
+	 * @param attributeNames the names of the system attributes read by the application,
+	 * or {@code null} to request all system attributes
+	 * @return the system attribute names to request
+	 * @since 2.4
+	 */
+	public static Set<String> getReceiveAttributeNames(Collection<String> attributeNames) {
+		return withRequiredNames(attributeNames, REQUIRED_ATTRIBUTE_NAMES);
+	}
+
+	/**
+	 * Returns the message attribute names to request with received messages, which are
+	 * the given names and the message attributes the framework relies on.
+	 * @param messageAttributeNames the names of the message attributes read by the
+	 * application, or {@code null} to request all message attributes
+	 * @return the message attribute names to request
+	 * @since 2.4
+	 */
+	public static Set<String> getReceiveMessageAttributeNames(Collection<String> messageAttributeNames) {
+		return withRequiredNames(messageAttributeNames, REQUIRED_MESSAGE_ATTRIBUTE_NAMES);
+	}
+
+	private static Set<String> withRequiredNames(Collection<String> names, Set<String> requiredNames) {
+		if (names == null || names.contains(ALL_ATTRIBUTES)) {
+			return Collections.singleton(ALL_ATTRIBUTES);
 		}
+		Set<String> result = new LinkedHashSet<>(requiredNames);
+		result.addAll(names);
+		return Collections.unmodifiableSet(result);
+	}
 
-		return messageHeaders;
+	static boolean isSourceDataHeader(Object name) {
+		return MESSAGE_ID_MESSAGE_ATTRIBUTE_NAME.equals(name) || RECEIPT_HANDLE_MESSAGE_ATTRIBUTE_NAME.equals(name)
+				|| SOURCE_DATA_HEADER.equals(name);
 	}
 
-	private static Map<String, Object> getMessageAttributesAsMessageHeaders(
-			com.amazonaws.services.sqs.model.Message message) {
-		Map<String, Object> messageHeaders = new HashMap<>();
-		for (Map.Entry<String, MessageAttributeValue> messageAttribute : message.getMessageAttributes().entrySet()) {
-			if (MessageHeaders.CONTENT_TYPE.equals(messageAttribute.getKey())) {
-				messageHeaders.put(MessageHeaders.CONTENT_TYPE,
-						MimeType.valueOf(messageAttribute.getValue().getStringValue()));
-			}
-			else if (MessageHeaders.ID.equals(messageAttribute.getKey())) {
-				messageHeaders.put(MessageHeaders.ID, UUID.fromString(messageAttribute.getValue().getStringValue()));
-			}
-			else if (messageAttribute.getValue().getDataType().startsWith(MessageAttributeDataTypes.STRING)) {
-				messageHeaders.put(messageAttribute.getKey(), messageAttribute.getValue().getStringValue());
-			}
-			else if (messageAttribute.getValue().getDataType().startsWith(MessageAttributeDataTypes.NUMBER)) {
-				messageHeaders.put(messageAttribute.getKey(), getNumberValue(messageAttribute.getValue()));
-			}
-			else if (messageAttribute.getValue().getDataType().startsWith(MessageAttributeDataTypes.BINARY)) {
-				messageHeaders.put(messageAttribute.getKey(), messageAttribute.getValue().getBinaryValue());
-			}
+	static Object getSourceDataHeader(com.amazonaws.services.sqs.model.Message message, Object name) {
+		if (MESSAGE_ID_MESSAGE_ATTRIBUTE_NAME.equals(name)) {
+			return message.getMessageId();
+		}
+		else if (RECEIPT_HANDLE_MESSAGE_ATTRIBUTE_NAME.equals(name)) {
+			return message.getReceiptHandle();
+		}
+		else if (SOURCE_DATA_HEADER.equals(name)) {
+			return message;
 		}
+		return null;
+	}
 
-		return messageHeaders;
+	static void putSourceDataHeaders(com.amazonaws.services.sqs.model.Message message,
+			Map<String, Object> messageHeaders) {
+		messageHeaders.put(MESSAGE_ID_MESSAGE_ATTRIBUTE_NAME, message.getMessageId());
+		messageHeaders.put(RECEIPT_HANDLE_MESSAGE_ATTRIBUTE_NAME, message.getReceiptHandle());
+		messageHeaders.put(SOURCE_DATA_HEADER, message);
 	}
 
-	private static Object getNumberValue(MessageAttributeValue value) {
-		return getNumberValue(value.getStringValue(), value.getDataType());
+	static boolean isSupportedMessageAttribute(String name, MessageAttributeValue value) {
+		return MessageHeaders.CONTENT_TYPE.equals(name) || MessageHeaders.ID.equals(name)
+				|| value.getDataType().startsWith(MessageAttributeDataTypes.STRING)
+				|| value.getDataType().startsWith(MessageAttributeDataTypes.NUMBER)
+				|| value.getDataType().startsWith(MessageAttributeDataTypes.BINARY);
+	}
+
+	/**
+	 * Converts a message attribute into its header value.
+	 * @param name the name of the message attribute
+	 * @param value the message attribute
+	 * @return the header value, or {@code null} if the data type of the message attribute
+	 * is not supported
+	 */
+	static Object getMessageAttributeAsHeader(String name, MessageAttributeValue value) {
+		if (MessageHeaders.CONTENT_TYPE.equals(name)) {
+			return MimeType.valueOf(value.getStringValue());
+		}
+		else if (MessageHeaders.ID.equals(name)) {
+			return UUID.fromString(value.getStringValue());
+		}
+		else if (value.getDataType().startsWith(MessageAttributeDataTypes.STRING)) {
+			return value.getStringValue();
+		}
+		else if (value.getDataType().startsWith(MessageAttributeDataTypes.NUMBER)) {
+			return getNumberValue(value.getStringValue(), value.getDataType());
+		}
+		else if (value.getDataType().startsWith(MessageAttributeDataTypes.BINARY)) {
+			return value.getBinaryValue();
+		}
+		return null;
 	}
 
 	private static class NumberParser {
 
 		private static final Map<String, Class<? extends Number>> PRIMITIVE_TO_WRAPPED = new HashMap<>();
 
+		/**
+		 * Number types resolved by their full data type, e.g.
+		 * {@code Number.java.lang.Long}, to avoid loading the number class for every
+		 * message.
+		 */
+		private static final ConcurrentHashMap<String, Class<? extends Number>> NUMBER_TYPES = new ConcurrentHashMap<>();
+
 		static {
 			PRIMITIVE_TO_WRAPPED.put(byte.class.getName(), Byte.class);
 			PRIMITIVE_TO_WRAPPED.put(short.class.getName(), Short.class);
@@ -139,16 +227,21 @@ public final class QueueMessageUtils {
 				return NumberUtils.parseNumber(value, Number.class);
 			}
 			else {
-				String javaType = type.substring(MessageAttributeDataTypes.NUMBER.length() + 1);
+				return NumberUtils.parseNumber(value, getNumberType(type));
+			}
+		}
 
-				if (PRIMITIVE_TO_WRAPPED.containsKey(javaType.toLowerCase())) {
-					return NumberUtils.parseNumber(value, PRIMITIVE_TO_WRAPPED.get(javaType.toLowerCase()));
-				}
-				else {
-					Class<? extends Number> numberTypeClass = Class.forName(javaType).asSubclass(Number.class);
-					return NumberUtils.parseNumber(value, numberTypeClass);
+		private static Class<? extends Number> getNumberType(String type) throws ClassNotFoundException {
+			Class<? extends Number> numberType = NUMBER_TYPES.get(type);
+			if (numberType == null) {
+				String javaType = type.substring(MessageAttributeDataTypes.NUMBER.length() + 1);
+				numberType = PRIMITIVE_TO_WRAPPED.get(javaType.toLowerCase());
+				if (numberType == null) {
+					numberType = Class.forName(javaType).asSubclass(Number.class);
 				}
+				NUMBER_TYPES.put(type, numberType);
 			}
+			return numberType;
 		}
 
 	}
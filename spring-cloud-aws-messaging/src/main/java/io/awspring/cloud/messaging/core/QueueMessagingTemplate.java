@@ -16,19 +16,29 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import io.awspring.cloud.messaging.core.support.AbstractMessageChannelMessagingSendingTemplate;
 import io.awspring.cloud.messaging.support.destination.DynamicQueueUrlDestinationResolver;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.converter.CompositeMessageConverter;
 import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.converter.StringMessageConverter;
 import org.springframework.messaging.core.DestinationResolver;
 import org.springframework.messaging.core.DestinationResolvingMessageReceivingOperations;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.Assert;
 
 /**
  * <b>IMPORTANT</b>: For the message conversion this class always tries to first use the
@@ -45,10 +55,34 @@ import org.springframework.messaging.core.DestinationResolvingMessageReceivingOp
  * @since 1.0
  */
 public class QueueMessagingTemplate extends AbstractMessageChannelMessagingSendingTemplate<QueueMessageChannel>
-		implements DestinationResolvingMessageReceivingOperations<QueueMessageChannel> {
+		implements DestinationResolvingMessageReceivingOperations<QueueMessageChannel>, DisposableBean {
+
+	private static final long DEFAULT_SEND_MESSAGE_BATCH_WINDOW = 10;
 
 	private final AmazonSQSAsync amazonSqs;
 
+	private boolean sendMessageBatching;
+
+	private long sendMessageBatchWindow = DEFAULT_SEND_MESSAGE_BATCH_WINDOW;
+
+	private TaskScheduler taskScheduler;
+
+	private boolean defaultTaskScheduler;
+
+	private volatile SendMessageBatcher sendMessageBatcher;
+
+	private S3PayloadStore payloadStore;
+
+	private PayloadCompressor payloadCompressor;
+
+	private MessagingMetrics messagingMetrics = MessagingMetrics.NONE;
+
+	private Collection<String> receiveAttributeNames;
+
+	private Collection<String> receiveMessageAttributeNames;
+
+	private Integer maxDecompressedPayloadSize;
+
 	public QueueMessagingTemplate(AmazonSQSAsync amazonSqs) {
 		this(amazonSqs, (ResourceIdResolver) null, null);
 	}
@@ -78,7 +112,8 @@ public class QueueMessagingTemplate extends AbstractMessageChannelMessagingSendi
 	 * the default configuration to resolve destination names.
 	 * @param amazonSqs The {@link AmazonSQS} client, cannot be {@code null}.
 	 * @param destinationResolver A destination resolver implementation to resolve queue
-	 * names into queue urls. The destination resolver will be wrapped into a
+	 * names into queue urls. Unless it is a {@link DynamicQueueUrlDestinationResolver},
+	 * which caches queue urls itself, the destination resolver will be wrapped into a
 	 * {@link org.springframework.messaging.core.CachingDestinationResolverProxy} to avoid
 	 * duplicate queue url resolutions.
 	 * @param messageConverter A {@link MessageConverter} that is going to be added to the
@@ -86,14 +121,288 @@ public class QueueMessagingTemplate extends AbstractMessageChannelMessagingSendi
 	 */
 	public QueueMessagingTemplate(AmazonSQSAsync amazonSqs, DestinationResolver<String> destinationResolver,
 			MessageConverter messageConverter) {
-		super(destinationResolver);
+		super(destinationResolver, !(destinationResolver instanceof DynamicQueueUrlDestinationResolver));
 		this.amazonSqs = amazonSqs;
 		initMessageConverter(messageConverter);
 	}
 
+	/**
+	 * @return {@code true} if sent messages are batched
+	 * @since 2.4
+	 */
+	public boolean isSendMessageBatching() {
+		return this.sendMessageBatching;
+	}
+
+	/**
+	 * Enables the batching of sent messages. When enabled, the messages sent concurrently
+	 * to the same queue are coalesced into {@code SendMessageBatch} requests of up to 10
+	 * messages and 256 KB, instead of one {@code SendMessage} request per message. A
+	 * batch is sent as soon as it is full or when the
+	 * {@link #setSendMessageBatchWindow(long) batch window} elapsed, every sender still
+	 * waits for the result of its own message. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}. Default is
+	 * {@code false}.
+	 * @param sendMessageBatching {@code true} to batch sent messages
+	 * @since 2.4
+	 */
+	public void setSendMessageBatching(boolean sendMessageBatching) {
+		this.sendMessageBatching = sendMessageBatching;
+	}
+
+	/**
+	 * @return the maximum number of milliseconds a message is delayed to be batched with
+	 * other messages
+	 * @since 2.4
+	 */
+	public long getSendMessageBatchWindow() {
+		return this.sendMessageBatchWindow;
+	}
+
+	/**
+	 * The maximum number of milliseconds a message is delayed to be batched with other
+	 * messages sent to the same queue. Only used if
+	 * {@link #setSendMessageBatching(boolean) batching} is enabled. Default is 10
+	 * milliseconds.
+	 * @param sendMessageBatchWindow in milliseconds
+	 * @since 2.4
+	 */
+	public void setSendMessageBatchWindow(long sendMessageBatchWindow) {
+		Assert.isTrue(sendMessageBatchWindow > 0, "sendMessageBatchWindow must be a positive number");
+		this.sendMessageBatchWindow = sendMessageBatchWindow;
+	}
+
+	/**
+	 * @return the store for large payloads, or {@code null} if payloads are always sent
+	 * with the messages
+	 * @since 2.4
+	 */
+	public S3PayloadStore getPayloadStore() {
+		return this.payloadStore;
+	}
+
+	/**
+	 * Configures a store for payloads exceeding its threshold. Such payloads are stored
+	 * in S3 and only their location is sent with the message, which allows sending
+	 * payloads larger than 256 KB. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}.
+	 * @param payloadStore the payload store to use
+	 * @since 2.4
+	 */
+	public void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * @return the compressor of the payloads, or {@code null} if payloads are sent
+	 * uncompressed
+	 * @since 2.4
+	 */
+	public PayloadCompressor getPayloadCompressor() {
+		return this.payloadCompressor;
+	}
+
+	/**
+	 * Configures a compressor for the payloads of the sent messages. Compressed payloads
+	 * are sent Base64 encoded and marked with the
+	 * {@link PayloadCompressor#CONTENT_ENCODING_HEADER} message attribute. Payloads are
+	 * compressed before they are stored in the {@link #setPayloadStore(S3PayloadStore)
+	 * payload store}. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}.
+	 * @param payloadCompressor the payload compressor to use
+	 * @since 2.4
+	 */
+	public void setPayloadCompressor(PayloadCompressor payloadCompressor) {
+		this.payloadCompressor = payloadCompressor;
+	}
+
+	/**
+	 * @return the metrics the sent messages are reported to
+	 * @since 2.4
+	 */
+	public MessagingMetrics getMessagingMetrics() {
+		return this.messagingMetrics;
+	}
+
+	/**
+	 * Configures the metrics the latency and outcome of the sent messages and the size of
+	 * the batch requests are reported to. Use
+	 * {@link io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics} to
+	 * record them with Micrometer. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}. By default no
+	 * metrics are recorded.
+	 * @param messagingMetrics the metrics to report to
+	 * @since 2.4
+	 */
+	public void setMessagingMetrics(MessagingMetrics messagingMetrics) {
+		Assert.notNull(messagingMetrics, "messagingMetrics must not be null");
+		this.messagingMetrics = messagingMetrics;
+	}
+
+	/**
+	 * Configures the system attributes requested with the received messages. The
+	 * attributes the framework relies on are always requested. Must be configured before
+	 * the {@link #setDefaultDestinationName(String) default destination}. By default all
+	 * system attributes are requested.
+	 * @param receiveAttributeNames the names of the system attributes to request
+	 * @since 2.4
+	 */
+	public void setReceiveAttributeNames(Collection<String> receiveAttributeNames) {
+		this.receiveAttributeNames = receiveAttributeNames;
+	}
+
+	/**
+	 * Configures the message attributes requested with the received messages. Only the
+	 * requested message attributes are available as headers of the received messages,
+	 * apart from the message attributes the framework relies on, like the content type,
+	 * which are always requested. Must be configured before the
+	 * {@link #setDefaultDestinationName(String) default destination}. By default all
+	 * message attributes are requested.
+	 * @param receiveMessageAttributeNames the names of the message attributes to request
+	 * @since 2.4
+	 */
+	public void setReceiveMessageAttributeNames(Collection<String> receiveMessageAttributeNames) {
+		this.receiveMessageAttributeNames = receiveMessageAttributeNames;
+	}
+
+	/**
+	 * Configures the maximum number of bytes the compressed payloads of received messages
+	 * are decompressed to. Receiving a message whose payload exceeds it fails. Must be
+	 * configured before the {@link #setDefaultDestinationName(String) default
+	 * destination}. Default is {@link PayloadCompressor#DEFAULT_MAX_DECOMPRESSED_SIZE}.
+	 * @param maxDecompressedPayloadSize the maximum decompressed payload size in bytes
+	 * @since 2.4
+	 */
+	public void setMaxDecompressedPayloadSize(Integer maxDecompressedPayloadSize) {
+		this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+	}
+
+	/**
+	 * Configures the scheduler used to send the pending message batches once their batch
+	 * window elapsed. If not set, a single threaded scheduler is created when
+	 * {@link #setSendMessageBatching(boolean) batching} is enabled.
+	 * @param taskScheduler the scheduler to use
+	 * @since 2.4
+	 */
+	public void setTaskScheduler(TaskScheduler taskScheduler) {
+		this.taskScheduler = taskScheduler;
+	}
+
+	/**
+	 * Immediately sends the pending message batches and shuts the default task scheduler
+	 * down.
+	 */
+	@Override
+	public void destroy() {
+		SendMessageBatcher sendMessageBatcher = this.sendMessageBatcher;
+		if (sendMessageBatcher != null) {
+			sendMessageBatcher.flush();
+		}
+		if (this.defaultTaskScheduler) {
+			((ThreadPoolTaskScheduler) this.taskScheduler).destroy();
+		}
+	}
+
 	@Override
 	protected QueueMessageChannel resolveMessageChannel(String physicalResourceIdentifier) {
-		return new QueueMessageChannel(this.amazonSqs, physicalResourceIdentifier);
+		QueueMessageChannel queueMessageChannel = new QueueMessageChannel(this.amazonSqs, physicalResourceIdentifier);
+		if (this.sendMessageBatching) {
+			queueMessageChannel.setSendMessageBatcher(getSendMessageBatcher());
+		}
+		queueMessageChannel.setPayloadStore(this.payloadStore);
+		queueMessageChannel.setPayloadCompressor(this.payloadCompressor);
+		queueMessageChannel.setMetrics(this.messagingMetrics);
+		queueMessageChannel.setAttributeNames(this.receiveAttributeNames);
+		queueMessageChannel.setMessageAttributeNames(this.receiveMessageAttributeNames);
+		if (this.maxDecompressedPayloadSize != null) {
+			queueMessageChannel.setMaxDecompressedPayloadSize(this.maxDecompressedPayloadSize);
+		}
+		return queueMessageChannel;
+	}
+
+	private SendMessageBatcher getSendMessageBatcher() {
+		SendMessageBatcher sendMessageBatcher = this.sendMessageBatcher;
+		if (sendMessageBatcher == null) {
+			synchronized (this) {
+				sendMessageBatcher = this.sendMessageBatcher;
+				if (sendMessageBatcher == null) {
+					if (this.taskScheduler == null) {
+						this.defaultTaskScheduler = true;
+						this.taskScheduler = createDefaultTaskScheduler();
+					}
+					sendMessageBatcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler,
+							this.sendMessageBatchWindow, this.messagingMetrics);
+					this.sendMessageBatcher = sendMessageBatcher;
+				}
+			}
+		}
+		return sendMessageBatcher;
+	}
+
+	/**
+	 * Creates the default task scheduler. Called if batching is enabled and no explicit
+	 * task scheduler has been specified.
+	 * @return a single threaded task scheduler
+	 * @since 2.4
+	 */
+	protected TaskScheduler createDefaultTaskScheduler() {
+		ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+		threadPoolTaskScheduler.setThreadNamePrefix("QueueMessagingTemplate-scheduler-");
+		threadPoolTaskScheduler.initialize();
+		return threadPoolTaskScheduler;
+	}
+
+	/**
+	 * Sends a message to the given destination without blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param message the message to send
+	 * @return a future completed with the result of the message, or completed
+	 * exceptionally with a {@link MessageDeliveryException} if it could not be sent
+	 * @since 2.4
+	 */
+	public CompletableFuture<SendResult> sendAsync(String destinationName, Message<?> message) {
+		return resolveMessageChannelByLogicalName(destinationName).sendAsync(message);
+	}
+
+	/**
+	 * Sends a message to the default destination without blocking the calling thread.
+	 * @param message the message to send
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public CompletableFuture<SendResult> sendAsync(Message<?> message) {
+		return getRequiredDefaultDestination().sendAsync(message);
+	}
+
+	/**
+	 * Converts the payload into a message and sends it to the given destination without
+	 * blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param payload the payload to convert
+	 * @param <T> the payload type
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public <T> CompletableFuture<SendResult> convertAndSendAsync(String destinationName, T payload) {
+		return convertAndSendAsync(destinationName, payload, null);
+	}
+
+	/**
+	 * Converts the payload and headers into a message and sends it to the given
+	 * destination without blocking the calling thread.
+	 * @param destinationName the logical name of the destination
+	 * @param payload the payload to convert
+	 * @param headers the headers of the message, may be {@code null}
+	 * @param <T> the payload type
+	 * @return a future completed with the result of the message
+	 * @since 2.4
+	 * @see #sendAsync(String, Message)
+	 */
+	public <T> CompletableFuture<SendResult> convertAndSendAsync(String destinationName, T payload,
+			Map<String, Object> headers) {
+		return sendAsync(destinationName, doConvert(payload, headers, null));
 	}
 
 	@Override
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.sqs.model.Message;
+import io.awspring.cloud.core.io.s3.SimpleStorageResource;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Stores message payloads that exceed a size threshold in an S3 bucket, so that only a
+ * reference to the payload is sent through SQS or SNS (claim-check pattern). Messages
+ * carrying such a reference are marked with the {@link #PAYLOAD_SIZE_HEADER} message
+ * attribute and have the {@code s3://bucket/key} location of the payload as body.
+ * <p>
+ * A payload store configured on the {@link QueueMessagingTemplate} or
+ * {@link NotificationMessagingTemplate} offloads large payloads when sending, a payload
+ * store configured on the
+ * {@link io.awspring.cloud.messaging.listener.SimpleMessageListenerContainer} replaces
+ * the references of received messages with the stored payloads before they are converted.
+ * Notifications delivered to a queue must use raw message delivery to be resolved by the
+ * listener container.
+ *
+ * @since 2.4
+ */
+public class S3PayloadStore {
+
+	/**
+	 * Message attribute marking a message whose payload is stored in S3. The value is the
+	 * size of the stored payload in bytes.
+	 */
+	public static final String PAYLOAD_SIZE_HEADER = "S3PayloadSize";
+
+	/**
+	 * Default threshold, which is the maximum message size of SQS and SNS.
+	 */
+	static final int DEFAULT_THRESHOLD = 262_144;
+
+	private static final String S3_URI_PREFIX = "s3://";
+
+	private final AmazonS3 amazonS3;
+
+	private final String bucketName;
+
+	private int threshold = DEFAULT_THRESHOLD;
+
+	private String keyPrefix = "";
+
+	private boolean deleteAfterReceipt;
+
+	private TaskExecutor taskExecutor = new SyncTaskExecutor();
+
+	public S3PayloadStore(AmazonS3 amazonS3, String bucketName) {
+		Assert.notNull(amazonS3, "amazonS3 must not be null");
+		Assert.hasText(bucketName, "bucketName must not be empty");
+		this.amazonS3 = amazonS3;
+		this.bucketName = bucketName;
+	}
+
+	public String getBucketName() {
+		return this.bucketName;
+	}
+
+	public int getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * Configures the payload size in bytes above which payloads are stored in S3. The
+	 * size of the message attributes is not taken into account. Default is 262144 bytes
+	 * (256 KB).
+	 * @param threshold the payload size threshold in bytes
+	 */
+	public void setThreshold(int threshold) {
+		Assert.isTrue(threshold >= 0, "threshold must not be negative");
+		this.threshold = threshold;
+	}
+
+	public String getKeyPrefix() {
+		return this.keyPrefix;
+	}
+
+	/**
+	 * Configures the prefix of the keys the payloads are stored with, e.g.
+	 * {@code "payloads/"}. Default is no prefix.
+	 * @param keyPrefix the key prefix
+	 */
+	public void setKeyPrefix(String keyPrefix) {
+		Assert.notNull(keyPrefix, "keyPrefix must not be null");
+		this.keyPrefix = keyPrefix;
+	}
+
+	public boolean isDeleteAfterReceipt() {
+		return this.deleteAfterReceipt;
+	}
+
+	/**
+	 * Configures if the listener container deletes a stored payload once the message
+	 * referencing it has been successfully deleted from the queue. Must only be enabled
+	 * if every stored payload is received by a single queue. Default is {@code false}.
+	 * @param deleteAfterReceipt {@code true} to delete the stored payloads after receipt
+	 */
+	public void setDeleteAfterReceipt(boolean deleteAfterReceipt) {
+		this.deleteAfterReceipt = deleteAfterReceipt;
+	}
+
+	/**
+	 * Configures the executor used to upload the parts of payloads larger than 5 MB in
+	 * parallel. Default is a {@link SyncTaskExecutor}, which uploads them on the sending
+	 * thread.
+	 * @param taskExecutor the executor to use
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		Assert.notNull(taskExecutor, "taskExecutor must not be null");
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Checks if the given payload exceeds the threshold and must be stored. The UTF-8
+	 * encoded size is only computed if it cannot be decided on the number of characters.
+	 * @param payload the payload
+	 * @return {@code true} if the payload must be stored
+	 */
+	boolean exceedsThreshold(String payload) {
+		if (payload.length() > this.threshold) {
+			return true;
+		}
+		if ((long) payload.length() * 3 <= this.threshold) {
+			return false;
+		}
+		return payload.getBytes(StandardCharsets.UTF_8).length > this.threshold;
+	}
+
+	/**
+	 * Stores the given payload under a random key.
+	 * @param payload the UTF-8 encoded payload to store
+	 * @return the location of the stored payload
+	 * @throws IOException if the payload could not be stored
+	 */
+	String store(byte[] payload) throws IOException {
+		String key = this.keyPrefix + UUID.randomUUID();
+		SimpleStorageResource resource = new SimpleStorageResource(this.amazonS3, this.bucketName, key,
+				this.taskExecutor);
+		try (OutputStream outputStream = resource.getOutputStream()) {
+			outputStream.write(payload);
+		}
+		return S3_URI_PREFIX + this.bucketName + "/" + key;
+	}
+
+	/**
+	 * Checks if the payload of the given message is stored in S3.
+	 * @param message the received message
+	 * @return {@code true} if the body of the message is the location of a stored payload
+	 */
+	public boolean isStored(Message message) {
+		return message.getMessageAttributes().containsKey(PAYLOAD_SIZE_HEADER);
+	}
+
+	/**
+	 * Checks if the given location references a payload of this store, which is an object
+	 * of its bucket whose key starts with its key prefix. The location is read from the
+	 * body of received messages and must be validated before S3 is accessed, as anyone
+	 * allowed to send messages could otherwise make the consumer read or delete arbitrary
+	 * objects.
+	 * @param location the location of a stored payload
+	 * @return {@code true} if the location references a payload of this store
+	 */
+	public boolean isValidLocation(String location) {
+		String bucketPrefix = S3_URI_PREFIX + this.bucketName + "/";
+		return location != null && location.startsWith(bucketPrefix)
+				&& location.length() > bucketPrefix.length() + this.keyPrefix.length()
+				&& location.startsWith(this.keyPrefix, bucketPrefix.length());
+	}
+
+	/**
+	 * Replaces the location of a stored payload with the payload itself.
+	 * @param message the received message
+	 * @return a copy of the message with the stored payload as body, or the given message
+	 * if its payload is not stored
+	 * @throws IOException if the payload could not be retrieved
+	 * @throws IllegalArgumentException if the body of the message is not a valid location
+	 * of this store
+	 */
+	public Message resolve(Message message) throws IOException {
+		if (!isStored(message)) {
+			return message;
+		}
+		return message.clone().withBody(retrieve(message.getBody()));
+	}
+
+	/**
+	 * Retrieves a stored payload. The object content is decoded while it is streamed from
+	 * S3, without buffering the encoded payload first. The decoded payload is returned as
+	 * a whole, as it becomes the body of the received message.
+	 * @param location the location of the stored payload
+	 * @return the payload
+	 * @throws IOException if the payload could not be retrieved
+	 * @throws IllegalArgumentException if the location is not a valid location of this
+	 * store
+	 */
+	public String retrieve(String location) throws IOException {
+		try (InputStream inputStream = createResource(location).getInputStream()) {
+			return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Deletes a stored payload.
+	 * @param location the location of the stored payload
+	 * @throws IllegalArgumentException if the location is not a valid location of this
+	 * store
+	 */
+	public void delete(String location) {
+		this.amazonS3.deleteObject(this.bucketName, getKey(location));
+	}
+
+	private SimpleStorageResource createResource(String location) {
+		return new SimpleStorageResource(this.amazonS3, this.bucketName, getKey(location), this.taskExecutor);
+	}
+
+	private String getKey(String location) {
+		if (!isValidLocation(location)) {
+			throw new IllegalArgumentException("'" + location + "' is not a valid payload location of bucket '"
+					+ this.bucketName + "' and key prefix '" + this.keyPrefix + "'");
+		}
+		return location.substring(S3_URI_PREFIX.length() + this.bucketName.length() + 1);
+	}
+
+}
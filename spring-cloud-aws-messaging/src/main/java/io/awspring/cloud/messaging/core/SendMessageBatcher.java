@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.AmazonSQSException;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Coalesces the messages sent to a queue into {@code SendMessageBatch} requests instead
+ * of sending one {@code SendMessage} request per message.
+ *
+ * @since 2.4
+ */
+class SendMessageBatcher extends AbstractMessageBatcher<SendMessageRequest, SendMessageResult> {
+
+	private final AmazonSQSAsync amazonSqs;
+
+	private final MessagingMetrics metrics;
+
+	SendMessageBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long batchWindow) {
+		this(amazonSqs, taskScheduler, batchWindow, MessagingMetrics.NONE);
+	}
+
+	SendMessageBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long batchWindow,
+			MessagingMetrics metrics) {
+		super(taskScheduler, batchWindow);
+		this.amazonSqs = amazonSqs;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Schedules the sending of a message.
+	 * @param sendMessageRequest the request of the message to send
+	 * @return a future completed with the result of the message once it was sent
+	 */
+	CompletableFuture<SendMessageResult> send(SendMessageRequest sendMessageRequest) {
+		return submit(sendMessageRequest.getQueueUrl(), sendMessageRequest);
+	}
+
+	@Override
+	protected void sendBatch(String queueUrl,
+			Map<String, BatchEntry<SendMessageRequest, SendMessageResult>> entriesById) {
+		this.metrics.recordSendBatch(queueUrl, entriesById.size());
+		List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(entriesById.size());
+		for (Map.Entry<String, BatchEntry<SendMessageRequest, SendMessageResult>> entry : entriesById.entrySet()) {
+			requestEntries.add(createRequestEntry(entry.getKey(), entry.getValue().getRequest()));
+		}
+
+		this.amazonSqs.sendMessageBatchAsync(new SendMessageBatchRequest(queueUrl, requestEntries),
+				new AsyncHandler<SendMessageBatchRequest, SendMessageBatchResult>() {
+
+					@Override
+					public void onError(Exception exception) {
+						handleBatchFailure(queueUrl, entriesById.values(), exception);
+					}
+
+					@Override
+					public void onSuccess(SendMessageBatchRequest request, SendMessageBatchResult result) {
+						handleBatchResult(queueUrl, entriesById, result);
+					}
+
+				});
+	}
+
+	@Override
+	protected void sendSingle(BatchEntry<SendMessageRequest, SendMessageResult> entry) {
+		this.amazonSqs.sendMessageAsync(entry.getRequest(), new AsyncHandler<SendMessageRequest, SendMessageResult>() {
+
+			@Override
+			public void onError(Exception exception) {
+				entry.getResult().completeExceptionally(exception);
+			}
+
+			@Override
+			public void onSuccess(SendMessageRequest request, SendMessageResult result) {
+				entry.getResult().complete(result);
+			}
+
+		});
+	}
+
+	private void handleBatchResult(String queueUrl,
+			Map<String, BatchEntry<SendMessageRequest, SendMessageResult>> entriesById, SendMessageBatchResult result) {
+		for (SendMessageBatchResultEntry successfulEntry : result.getSuccessful()) {
+			BatchEntry<SendMessageRequest, SendMessageResult> entry = entriesById.get(successfulEntry.getId());
+			if (entry != null) {
+				handleEntryResult(entry,
+						new SendMessageResult().withMessageId(successfulEntry.getMessageId())
+								.withMD5OfMessageBody(successfulEntry.getMD5OfMessageBody())
+								.withMD5OfMessageAttributes(successfulEntry.getMD5OfMessageAttributes())
+								.withMD5OfMessageSystemAttributes(successfulEntry.getMD5OfMessageSystemAttributes())
+								.withSequenceNumber(successfulEntry.getSequenceNumber()));
+			}
+		}
+
+		for (BatchResultErrorEntry failedEntry : result.getFailed()) {
+			BatchEntry<SendMessageRequest, SendMessageResult> entry = entriesById.get(failedEntry.getId());
+			if (entry != null) {
+				AmazonSQSException exception = new AmazonSQSException(failedEntry.getMessage());
+				exception.setErrorCode(failedEntry.getCode());
+				exception.setErrorType(failedEntry.isSenderFault() ? AmazonServiceException.ErrorType.Client
+						: AmazonServiceException.ErrorType.Service);
+				exception.setServiceName("AmazonSQS");
+				handleEntryFailure(queueUrl, entry, failedEntry.isSenderFault(), exception);
+			}
+		}
+	}
+
+	private static SendMessageBatchRequestEntry createRequestEntry(String id, SendMessageRequest request) {
+		SendMessageBatchRequestEntry requestEntry = new SendMessageBatchRequestEntry(id, request.getMessageBody())
+				.withDelaySeconds(request.getDelaySeconds()).withMessageGroupId(request.getMessageGroupId())
+				.withMessageDeduplicationId(request.getMessageDeduplicationId());
+		if (!request.getMessageAttributes().isEmpty()) {
+			requestEntry.setMessageAttributes(request.getMessageAttributes());
+		}
+		return requestEntry;
+	}
+
+	/**
+	 * Computes the payload size of a message as accounted by SQS, which is the size of
+	 * the message body and the names, types and values of its message attributes.
+	 */
+	@Override
+	protected int getPayloadSize(SendMessageRequest request) {
+		int payloadSize = getSize(request.getMessageBody());
+		for (Map.Entry<String, MessageAttributeValue> messageAttribute : request.getMessageAttributes().entrySet()) {
+			MessageAttributeValue value = messageAttribute.getValue();
+			payloadSize += getSize(messageAttribute.getKey()) + getSize(value.getDataType())
+					+ getSize(value.getStringValue());
+			if (value.getBinaryValue() != null) {
+				payloadSize += value.getBinaryValue().remaining();
+			}
+		}
+		return payloadSize;
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+/**
+ * The result of a message sent to an SQS queue or published to an SNS topic.
+ *
+ * @since 2.4
+ */
+public final class SendResult {
+
+	private final String messageId;
+
+	private final String sequenceNumber;
+
+	public SendResult(String messageId, String sequenceNumber) {
+		this.messageId = messageId;
+		this.sequenceNumber = sequenceNumber;
+	}
+
+	/**
+	 * @return the id assigned to the message by SQS or SNS
+	 */
+	public String getMessageId() {
+		return this.messageId;
+	}
+
+	/**
+	 * @return the sequence number assigned to the message by a FIFO queue or topic,
+	 * {@code null} for standard queues and topics
+	 */
+	public String getSequenceNumber() {
+		return this.sequenceNumber;
+	}
+
+	@Override
+	public String toString() {
+		return "SendResult{messageId='" + this.messageId + "', sequenceNumber='" + this.sequenceNumber + "'}";
+	}
+
+}
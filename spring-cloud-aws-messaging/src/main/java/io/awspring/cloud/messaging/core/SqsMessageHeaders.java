@@ -67,6 +67,17 @@ public class SqsMessageHeaders extends MessageHeaders {
 		super(headers, getId(headers), getTimestamp(headers));
 	}
 
+	/**
+	 * Constructor for subclasses that resolve the id and timestamp themselves.
+	 * @param headers the headers to copy
+	 * @param id the id, or {@code null} to generate one
+	 * @param timestamp the timestamp, or {@code null} to use the current time
+	 * @since 2.4
+	 */
+	protected SqsMessageHeaders(Map<String, Object> headers, UUID id, Long timestamp) {
+		super(headers, id, timestamp);
+	}
+
 	public Long getApproximateFirstReceiveTimestamp() {
 		return containsKey(SQS_APPROXIMATE_FIRST_RECEIVE_TIMESTAMP)
 				? Long.parseLong(Objects.requireNonNull(get(SQS_APPROXIMATE_FIRST_RECEIVE_TIMESTAMP, String.class)))
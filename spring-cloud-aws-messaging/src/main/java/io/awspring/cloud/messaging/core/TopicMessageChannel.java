@@ -16,18 +16,28 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
 import com.amazonaws.services.sns.model.MessageAttributeValue;
 import com.amazonaws.services.sns.model.PublishRequest;
+import com.amazonaws.services.sns.model.PublishResult;
 import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.AbstractMessageChannel;
 import org.springframework.util.Assert;
@@ -47,17 +57,87 @@ public class TopicMessageChannel extends AbstractMessageChannel {
 	 */
 	public static final String NOTIFICATION_SUBJECT_HEADER = "NOTIFICATION_SUBJECT_HEADER";
 
+	/**
+	 * Message group id header for notifications published to FIFO topics.
+	 * @since 2.4
+	 */
+	public static final String MESSAGE_GROUP_ID_HEADER = SqsMessageHeaders.SQS_GROUP_ID_HEADER;
+
+	/**
+	 * Message deduplication id header for notifications published to FIFO topics.
+	 * @since 2.4
+	 */
+	public static final String MESSAGE_DEDUPLICATION_ID_HEADER = SqsMessageHeaders.SQS_DEDUPLICATION_ID_HEADER;
+
 	private final JsonStringEncoder jsonStringEncoder = JsonStringEncoder.getInstance();
 
 	private final AmazonSNS amazonSns;
 
 	private final String topicArn;
 
+	private PublishBatcher publishBatcher;
+
+	private S3PayloadStore payloadStore;
+
+	private PayloadCompressor payloadCompressor;
+
+	private MessagingMetrics metrics = MessagingMetrics.NONE;
+
 	public TopicMessageChannel(AmazonSNS amazonSns, String topicArn) {
 		this.amazonSns = amazonSns;
 		this.topicArn = topicArn;
 	}
 
+	/**
+	 * Configures the batcher coalescing the published notifications into batch requests.
+	 * By default every notification is published with its own request.
+	 * @param publishBatcher the batcher, or {@code null} to publish every notification
+	 * with its own request
+	 * @since 2.4
+	 */
+	void setPublishBatcher(PublishBatcher publishBatcher) {
+		this.publishBatcher = publishBatcher;
+	}
+
+	/**
+	 * Configures the store for payloads exceeding its threshold. By default the payloads
+	 * are always published with the notifications.
+	 * @param payloadStore the payload store, or {@code null} to always publish the
+	 * payloads with the notifications
+	 * @since 2.4
+	 */
+	void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * Configures the compressor of the payloads. By default the payloads are published
+	 * uncompressed.
+	 * @param payloadCompressor the compressor, or {@code null} to publish the payloads
+	 * uncompressed
+	 * @since 2.4
+	 */
+	void setPayloadCompressor(PayloadCompressor payloadCompressor) {
+		this.payloadCompressor = payloadCompressor;
+	}
+
+	/**
+	 * Configures the metrics recording the published notifications. Default is
+	 * {@link MessagingMetrics#NONE}.
+	 * @param metrics the metrics
+	 * @since 2.4
+	 */
+	void setMetrics(MessagingMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null");
+		this.metrics = metrics;
+	}
+
+	private static boolean isSkipHeader(String headerName) {
+		return MESSAGE_GROUP_ID_HEADER.equals(headerName) || MESSAGE_DEDUPLICATION_ID_HEADER.equals(headerName)
+				|| S3PayloadStore.PAYLOAD_SIZE_HEADER.equals(headerName)
+				|| PayloadCompressor.CONTENT_ENCODING_HEADER.equals(headerName);
+	}
+
 	private static String findNotificationSubject(Message<?> message) {
 		return message.getHeaders().containsKey(NOTIFICATION_SUBJECT_HEADER)
 				? message.getHeaders().get(NOTIFICATION_SUBJECT_HEADER).toString() : null;
@@ -65,15 +145,131 @@ public class TopicMessageChannel extends AbstractMessageChannel {
 
 	@Override
 	protected boolean sendInternal(Message<?> message, long timeout) {
-		PublishRequest publishRequest = new PublishRequest(this.topicArn, message.getPayload().toString(),
-				findNotificationSubject(message));
+		long startTime = System.nanoTime();
+		boolean successful = false;
+		try {
+			if (this.publishBatcher != null) {
+				this.publishBatcher.publish(preparePublishRequest(message)).get();
+			}
+			else {
+				this.amazonSns.publish(preparePublishRequest(message));
+			}
+			successful = true;
+		}
+		catch (ExecutionException e) {
+			throw new MessageDeliveryException(message, e.getCause().getMessage(), e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		finally {
+			this.metrics.recordPublish(this.topicArn, System.nanoTime() - startTime, successful);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Publishes the message without blocking the calling thread if the SNS client is an
+	 * {@link AmazonSNSAsync}, otherwise the message is published synchronously. Unlike
+	 * {@link #send(Message)}, channel interceptors are not applied.
+	 * @param message the message to publish
+	 * @return a future completed with the result of the message once it was published, or
+	 * completed exceptionally with a {@link MessageDeliveryException} if publishing
+	 * failed
+	 * @since 2.4
+	 */
+	public CompletableFuture<SendResult> sendAsync(Message<?> message) {
+		long startTime = System.nanoTime();
+		PublishRequest publishRequest = preparePublishRequest(message);
+		CompletableFuture<SendResult> sendResultFuture = new CompletableFuture<>();
+		sendResultFuture.whenComplete((sendResult, throwable) -> this.metrics.recordPublish(this.topicArn,
+				System.nanoTime() - startTime, throwable == null));
+		try {
+			if (this.publishBatcher != null) {
+				this.publishBatcher.publish(publishRequest).whenComplete((publishResult, throwable) -> {
+					if (throwable != null) {
+						sendResultFuture.completeExceptionally(
+								new MessageDeliveryException(message, throwable.getMessage(), throwable));
+					}
+					else {
+						sendResultFuture.complete(
+								new SendResult(publishResult.getMessageId(), publishResult.getSequenceNumber()));
+					}
+				});
+			}
+			else if (this.amazonSns instanceof AmazonSNSAsync) {
+				((AmazonSNSAsync) this.amazonSns).publishAsync(publishRequest,
+						new AsyncHandler<PublishRequest, PublishResult>() {
+
+							@Override
+							public void onError(Exception exception) {
+								sendResultFuture.completeExceptionally(
+										new MessageDeliveryException(message, exception.getMessage(), exception));
+							}
+
+							@Override
+							public void onSuccess(PublishRequest request, PublishResult result) {
+								sendResultFuture
+										.complete(new SendResult(result.getMessageId(), result.getSequenceNumber()));
+							}
+
+						});
+			}
+			else {
+				PublishResult publishResult = this.amazonSns.publish(publishRequest);
+				sendResultFuture
+						.complete(new SendResult(publishResult.getMessageId(), publishResult.getSequenceNumber()));
+			}
+		}
+		catch (RuntimeException e) {
+			sendResultFuture.completeExceptionally(new MessageDeliveryException(message, e.getMessage(), e));
+		}
+		return sendResultFuture;
+	}
+
+	private PublishRequest preparePublishRequest(Message<?> message) {
+		String notificationMessage = message.getPayload().toString();
 		Map<String, MessageAttributeValue> messageAttributes = getMessageAttributes(message);
+		if (this.payloadCompressor != null) {
+			String compressedNotificationMessage = this.payloadCompressor.compress(notificationMessage);
+			if (compressedNotificationMessage != null) {
+				notificationMessage = compressedNotificationMessage;
+				messageAttributes.put(PayloadCompressor.CONTENT_ENCODING_HEADER,
+						getStringMessageAttribute(this.payloadCompressor.getContentEncoding()));
+			}
+		}
+		if (this.payloadStore != null && this.payloadStore.exceedsThreshold(notificationMessage)) {
+			byte[] payload = notificationMessage.getBytes(StandardCharsets.UTF_8);
+			notificationMessage = storePayload(message, payload);
+			messageAttributes.put(S3PayloadStore.PAYLOAD_SIZE_HEADER, getNumberMessageAttribute(payload.length));
+		}
+		PublishRequest publishRequest = new PublishRequest(this.topicArn, notificationMessage,
+				findNotificationSubject(message));
+		if (message.getHeaders().containsKey(MESSAGE_GROUP_ID_HEADER)) {
+			publishRequest.setMessageGroupId(message.getHeaders().get(MESSAGE_GROUP_ID_HEADER, String.class));
+		}
+		if (message.getHeaders().containsKey(MESSAGE_DEDUPLICATION_ID_HEADER)) {
+			publishRequest
+					.setMessageDeduplicationId(message.getHeaders().get(MESSAGE_DEDUPLICATION_ID_HEADER, String.class));
+		}
 		if (!messageAttributes.isEmpty()) {
 			publishRequest.withMessageAttributes(messageAttributes);
 		}
-		this.amazonSns.publish(publishRequest);
+		return publishRequest;
+	}
 
-		return true;
+	private String storePayload(Message<?> message, byte[] payload) {
+		try {
+			return this.payloadStore.store(payload);
+		}
+		catch (IOException | AmazonClientException e) {
+			throw new MessageDeliveryException(message,
+					"The payload of the notification could not be stored in bucket '"
+							+ this.payloadStore.getBucketName() + "'",
+					e);
+		}
 	}
 
 	private Map<String, MessageAttributeValue> getMessageAttributes(Message<?> message) {
@@ -82,6 +278,10 @@ public class TopicMessageChannel extends AbstractMessageChannel {
 			String messageHeaderName = messageHeader.getKey();
 			Object messageHeaderValue = messageHeader.getValue();
 
+			if (isSkipHeader(messageHeaderName)) {
+				continue;
+			}
+
 			if (MessageHeaders.CONTENT_TYPE.equals(messageHeaderName) && messageHeaderValue != null) {
 				messageAttributes.put(messageHeaderName, getContentTypeMessageAttribute(messageHeaderValue));
 			}
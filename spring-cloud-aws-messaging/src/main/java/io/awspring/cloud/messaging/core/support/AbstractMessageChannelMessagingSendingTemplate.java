@@ -45,7 +45,21 @@ public abstract class AbstractMessageChannelMessagingSendingTemplate<D extends M
 	private final DestinationResolver<String> destinationResolver;
 
 	protected AbstractMessageChannelMessagingSendingTemplate(DestinationResolver<String> destinationResolver) {
-		this.destinationResolver = new CachingDestinationResolverProxy<>(destinationResolver);
+		this(destinationResolver, true);
+	}
+
+	/**
+	 * Creates a template resolving destination names with the given resolver.
+	 * @param destinationResolver the resolver of destination names
+	 * @param cacheDestinations {@code true} to wrap the resolver into a
+	 * {@link CachingDestinationResolverProxy}, {@code false} if the resolver already
+	 * caches its destinations itself
+	 * @since 2.4
+	 */
+	protected AbstractMessageChannelMessagingSendingTemplate(DestinationResolver<String> destinationResolver,
+			boolean cacheDestinations) {
+		this.destinationResolver = cacheDestinations ? new CachingDestinationResolverProxy<>(destinationResolver)
+				: destinationResolver;
 	}
 
 	public void setDefaultDestinationName(String defaultDestination) {
@@ -16,17 +16,23 @@
 
 package io.awspring.cloud.messaging.endpoint;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.servlet.http.HttpServletRequest;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.messaging.support.converter.NotificationEnvelope;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.RequestAttributes;
@@ -34,6 +40,10 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 /**
+ * Base class for argument resolvers of SNS HTTP endpoints. The SNS message envelope is
+ * read once per request with a streaming parser and shared by all resolvers of the
+ * request.
+ *
  * @author Agim Emruli
  */
 public abstract class AbstractNotificationMessageHandlerMethodArgumentResolver
@@ -41,31 +51,103 @@ public abstract class AbstractNotificationMessageHandlerMethodArgumentResolver
 
 	private static final String NOTIFICATION_REQUEST_ATTRIBUTE_NAME = "NOTIFICATION_REQUEST";
 
-	private final MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
+	private final ObjectMapper objectMapper = new ObjectMapper();
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
 			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 		Assert.notNull(parameter, "Parameter must not be null");
-		if (webRequest.getAttribute(NOTIFICATION_REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST) == null) {
-			webRequest.setAttribute(NOTIFICATION_REQUEST_ATTRIBUTE_NAME,
-					this.messageConverter.read(JsonNode.class, createInputMessage(webRequest)),
+		NotificationRequest notificationRequest = (NotificationRequest) webRequest
+				.getAttribute(NOTIFICATION_REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+		if (notificationRequest == null) {
+			notificationRequest = createNotificationRequest(webRequest);
+			webRequest.setAttribute(NOTIFICATION_REQUEST_ATTRIBUTE_NAME, notificationRequest,
 					RequestAttributes.SCOPE_REQUEST);
 		}
 
-		JsonNode content = (JsonNode) webRequest.getAttribute(NOTIFICATION_REQUEST_ATTRIBUTE_NAME,
-				RequestAttributes.SCOPE_REQUEST);
-		return doResolveArgumentFromNotificationMessage(content, createInputMessage(webRequest),
+		return doResolveArgumentFromNotificationEnvelope(notificationRequest.envelope, notificationRequest,
 				parameter.getParameterType());
 	}
 
-	protected abstract Object doResolveArgumentFromNotificationMessage(JsonNode content, HttpInputMessage request,
-			Class<?> parameterType);
+	/**
+	 * Resolves the argument from the envelope of the SNS message. The default
+	 * implementation parses the SNS message into a JSON tree and delegates to
+	 * {@link #doResolveArgumentFromNotificationMessage(JsonNode, HttpInputMessage, Class)}.
+	 * @param envelope the envelope of the SNS message
+	 * @param request the request, whose body is the SNS message
+	 * @param parameterType the type of the parameter to resolve
+	 * @return the resolved argument
+	 * @since 2.4
+	 */
+	protected Object doResolveArgumentFromNotificationEnvelope(NotificationEnvelope envelope, HttpInputMessage request,
+			Class<?> parameterType) {
+		JsonNode content;
+		try {
+			content = this.objectMapper.readTree(request.getBody());
+		}
+		catch (IOException e) {
+			throw new HttpMessageNotReadableException("Could not read notification message", e, request);
+		}
+		return doResolveArgumentFromNotificationMessage(content, request, parameterType);
+	}
+
+	/**
+	 * Resolves the argument from the SNS message parsed into a JSON tree.
+	 * @param content the SNS message
+	 * @param request the request, whose body is the SNS message
+	 * @param parameterType the type of the parameter to resolve
+	 * @return the resolved argument
+	 * @deprecated in favor of
+	 * {@link #doResolveArgumentFromNotificationEnvelope(NotificationEnvelope, HttpInputMessage, Class)},
+	 * which does not require the SNS message to be parsed into a tree
+	 */
+	@Deprecated
+	protected Object doResolveArgumentFromNotificationMessage(JsonNode content, HttpInputMessage request,
+			Class<?> parameterType) {
+		throw new UnsupportedOperationException(
+				"Either doResolveArgumentFromNotificationEnvelope or doResolveArgumentFromNotificationMessage must be implemented");
+	}
 
-	private HttpInputMessage createInputMessage(NativeWebRequest webRequest) throws IOException {
+	private static NotificationRequest createNotificationRequest(NativeWebRequest webRequest) throws IOException {
 		HttpServletRequest servletRequest = webRequest.getNativeRequest(HttpServletRequest.class);
-		return new ServletServerHttpRequest(servletRequest);
+		ServletServerHttpRequest request = new ServletServerHttpRequest(servletRequest);
+		NotificationRequest notificationRequest = new NotificationRequest(request.getHeaders(),
+				StreamUtils.copyToByteArray(request.getBody()));
+		try {
+			notificationRequest.envelope = NotificationEnvelope.read(notificationRequest.content);
+		}
+		catch (IOException e) {
+			throw new HttpMessageNotReadableException("Could not read notification message", e, notificationRequest);
+		}
+		return notificationRequest;
+	}
+
+	/**
+	 * The SNS message of a request, which can be read multiple times.
+	 */
+	private static final class NotificationRequest implements HttpInputMessage {
+
+		private final HttpHeaders headers;
+
+		private final byte[] content;
+
+		private NotificationEnvelope envelope;
+
+		private NotificationRequest(HttpHeaders headers, byte[] content) {
+			this.headers = headers;
+			this.content = content;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.content);
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
 	}
 
 }
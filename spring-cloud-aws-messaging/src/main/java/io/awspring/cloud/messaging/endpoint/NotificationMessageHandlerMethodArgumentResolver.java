@@ -24,8 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.awspring.cloud.messaging.config.annotation.NotificationMessage;
+import io.awspring.cloud.messaging.support.converter.NotificationEnvelope;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpHeaders;
@@ -53,13 +53,10 @@ public class NotificationMessageHandlerMethodArgumentResolver
 		this.messageConverter = messageConverter;
 	}
 
-	private static MediaType getMediaType(JsonNode content) {
-		JsonNode contentTypeNode = content.findPath("MessageAttributes").findPath("contentType");
-		if (contentTypeNode.isObject()) {
-			String contentType = contentTypeNode.findPath("Value").asText();
-			if (StringUtils.hasText(contentType)) {
-				return MediaType.parseMediaType(contentType);
-			}
+	private static MediaType getMediaType(NotificationEnvelope envelope) {
+		NotificationEnvelope.MessageAttribute contentType = envelope.getMessageAttributes().get("contentType");
+		if (contentType != null && StringUtils.hasText(contentType.getValue())) {
+			return MediaType.parseMediaType(contentType.getValue());
 		}
 
 		return MediaType.TEXT_PLAIN;
@@ -72,15 +69,15 @@ public class NotificationMessageHandlerMethodArgumentResolver
 
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	protected Object doResolveArgumentFromNotificationMessage(JsonNode content, HttpInputMessage request,
+	protected Object doResolveArgumentFromNotificationEnvelope(NotificationEnvelope envelope, HttpInputMessage request,
 			Class<?> parameterType) {
-		if (!"Notification".equals(content.get("Type").asText())) {
+		if (!"Notification".equals(envelope.getType())) {
 			throw new IllegalArgumentException(
 					"@NotificationMessage annotated parameters are only allowed for method that receive a notification message.");
 		}
 
-		MediaType mediaType = getMediaType(content);
-		String messageContent = content.findPath("Message").asText();
+		MediaType mediaType = getMediaType(envelope);
+		String messageContent = envelope.getMessage() != null ? envelope.getMessage() : "";
 
 		for (HttpMessageConverter<?> converter : this.messageConverter) {
 			if (converter.canRead(parameterType, mediaType)) {
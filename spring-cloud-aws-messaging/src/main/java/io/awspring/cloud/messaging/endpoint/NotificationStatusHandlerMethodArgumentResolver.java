@@ -17,7 +17,7 @@
 package io.awspring.cloud.messaging.endpoint;
 
 import com.amazonaws.services.sns.AmazonSNS;
-import com.fasterxml.jackson.databind.JsonNode;
+import io.awspring.cloud.messaging.support.converter.NotificationEnvelope;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpInputMessage;
@@ -40,15 +40,14 @@ public class NotificationStatusHandlerMethodArgumentResolver
 	}
 
 	@Override
-	protected Object doResolveArgumentFromNotificationMessage(JsonNode content, HttpInputMessage request,
+	protected Object doResolveArgumentFromNotificationEnvelope(NotificationEnvelope envelope, HttpInputMessage request,
 			Class<?> parameterType) {
-		if (!"SubscriptionConfirmation".equals(content.get("Type").asText())
-				&& !"UnsubscribeConfirmation".equals(content.get("Type").asText())) {
+		if (!"SubscriptionConfirmation".equals(envelope.getType())
+				&& !"UnsubscribeConfirmation".equals(envelope.getType())) {
 			throw new IllegalArgumentException(
 					"NotificationStatus is only available for subscription and unsubscription requests");
 		}
-		return new AmazonSnsNotificationStatus(this.amazonSns, content.get("TopicArn").asText(),
-				content.get("Token").asText());
+		return new AmazonSnsNotificationStatus(this.amazonSns, envelope.getTopicArn(), envelope.getToken());
 	}
 
 	private static final class AmazonSnsNotificationStatus implements NotificationStatus {
@@ -16,8 +16,8 @@
 
 package io.awspring.cloud.messaging.endpoint;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.awspring.cloud.messaging.config.annotation.NotificationSubject;
+import io.awspring.cloud.messaging.support.converter.NotificationEnvelope;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpInputMessage;
@@ -36,13 +36,13 @@ public class NotificationSubjectHandlerMethodArgumentResolver
 	}
 
 	@Override
-	protected Object doResolveArgumentFromNotificationMessage(JsonNode content, HttpInputMessage request,
+	protected Object doResolveArgumentFromNotificationEnvelope(NotificationEnvelope envelope, HttpInputMessage request,
 			Class<?> parameterType) {
-		if (!"Notification".equals(content.get("Type").asText())) {
+		if (!"Notification".equals(envelope.getType())) {
 			throw new IllegalArgumentException(
 					"@NotificationMessage annotated parameters are only allowed for method that receive a notification message.");
 		}
-		return content.findPath("Subject").asText();
+		return envelope.getSubject() != null ? envelope.getSubject() : "";
 	}
 
 }
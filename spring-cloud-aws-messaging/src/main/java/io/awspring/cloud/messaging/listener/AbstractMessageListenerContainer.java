@@ -16,9 +16,22 @@
 
 package io.awspring.cloud.messaging.listener;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
@@ -29,6 +42,7 @@ import com.amazonaws.services.sqs.model.QueueAttributeName;
 import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import io.awspring.cloud.core.support.documentation.RuntimeUse;
+import io.awspring.cloud.messaging.core.QueueMessageUtils;
 import io.awspring.cloud.messaging.support.destination.DynamicQueueUrlDestinationResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +54,7 @@ import org.springframework.context.SmartLifecycle;
 import org.springframework.messaging.core.CachingDestinationResolverProxy;
 import org.springframework.messaging.core.DestinationResolutionException;
 import org.springframework.messaging.core.DestinationResolver;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -55,21 +70,20 @@ import org.springframework.util.Assert;
 abstract class AbstractMessageListenerContainer
 		implements InitializingBean, DisposableBean, SmartLifecycle, BeanNameAware {
 
-	private static final String RECEIVING_ATTRIBUTES = "All";
-
-	private static final String RECEIVING_MESSAGE_ATTRIBUTES = "All";
-
 	// Visible to child classes for thread pool sizing
 	protected static final int DEFAULT_MAX_NUMBER_OF_MESSAGES = 10;
 
 	private static final int DEFAULT_WAIT_TIME_IN_SECONDS = 20;
 
+	private static final int DEFAULT_QUEUE_RESOLUTION_CONCURRENCY = 8;
+
+	private static final long DEFAULT_QUEUE_RESOLUTION_TIMEOUT = 60_000;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private final Object lifecycleMonitor = new Object();
 
-	@SuppressWarnings("FieldAccessedSynchronizedAndUnsynchronized")
-	private final Map<String, QueueAttributes> registeredQueues = new HashMap<>();
+	private final Map<String, QueueAttributes> registeredQueues = new ConcurrentHashMap<>();
 
 	// Mandatory settings, the container synchronizes this fields after calling the
 	// setters hence there is no further synchronization
@@ -104,6 +118,19 @@ abstract class AbstractMessageListenerContainer
 
 	private int phase = Integer.MAX_VALUE;
 
+	private int queueResolutionConcurrency = DEFAULT_QUEUE_RESOLUTION_CONCURRENCY;
+
+	private long queueResolutionTimeout = DEFAULT_QUEUE_RESOLUTION_TIMEOUT;
+
+	private boolean deferredQueueResolution;
+
+	private boolean ignoreUnresolvedQueues;
+
+	private boolean deriveAttributeNames;
+
+	// Queues resolved after the initialization if the queue resolution is deferred
+	private Map<String, QueueMessageHandler.MappingInformation> deferredQueues;
+
 	// Settings that are changed at runtime
 	private boolean active;
 
@@ -257,6 +284,124 @@ abstract class AbstractMessageListenerContainer
 		this.phase = phase;
 	}
 
+	/**
+	 * @return the maximum number of concurrently resolved queues
+	 * @since 2.4
+	 */
+	protected int getQueueResolutionConcurrency() {
+		return this.queueResolutionConcurrency;
+	}
+
+	/**
+	 * Configures the maximum number of queues whose url and attributes are resolved
+	 * concurrently when the container is initialized. The default value is 8.
+	 * @param queueResolutionConcurrency the maximum number of concurrently resolved
+	 * queues
+	 * @since 2.4
+	 */
+	public void setQueueResolutionConcurrency(int queueResolutionConcurrency) {
+		Assert.isTrue(queueResolutionConcurrency > 0, "queueResolutionConcurrency must be a positive number");
+		this.queueResolutionConcurrency = queueResolutionConcurrency;
+	}
+
+	/**
+	 * @return the queue resolution timeout in milliseconds
+	 * @since 2.4
+	 */
+	protected long getQueueResolutionTimeout() {
+		return this.queueResolutionTimeout;
+	}
+
+	/**
+	 * Configures the time (in milliseconds) the queues of the listener methods are
+	 * resolved for, starting with the initialization of the container. If a queue could
+	 * not be resolved in time, the initialization fails unless
+	 * {@link #setIgnoreUnresolvedQueues(boolean) unresolved queues are ignored}. The
+	 * default value is 60000 (1 minute).
+	 * @param queueResolutionTimeout the queue resolution timeout in milliseconds
+	 * @since 2.4
+	 */
+	public void setQueueResolutionTimeout(long queueResolutionTimeout) {
+		Assert.isTrue(queueResolutionTimeout > 0, "queueResolutionTimeout must be a positive number");
+		this.queueResolutionTimeout = queueResolutionTimeout;
+	}
+
+	/**
+	 * @return {@code true} if the queues are resolved in the background
+	 * @since 2.4
+	 */
+	protected boolean isDeferredQueueResolution() {
+		return this.deferredQueueResolution;
+	}
+
+	/**
+	 * Configures if the queues are resolved in the background after the container has
+	 * been initialized, instead of during its initialization. Queues are then registered,
+	 * and started if the container is running, as soon as they have been resolved, so
+	 * that a slow or failing queue does not delay the other queues. The default value is
+	 * {@code false}.
+	 * @param deferredQueueResolution {@code true} to resolve the queues in the background
+	 * @since 2.4
+	 */
+	public void setDeferredQueueResolution(boolean deferredQueueResolution) {
+		this.deferredQueueResolution = deferredQueueResolution;
+	}
+
+	/**
+	 * @return {@code true} if queues that could not be resolved are ignored
+	 * @since 2.4
+	 */
+	protected boolean isIgnoreUnresolvedQueues() {
+		return this.ignoreUnresolvedQueues;
+	}
+
+	/**
+	 * Configures if queues whose attributes could not be retrieved, or that could not be
+	 * resolved within the {@link #setQueueResolutionTimeout(long) queue resolution
+	 * timeout}, are ignored with a warning. By default the initialization of the
+	 * container fails with the first of these failures once all queues have been resolved
+	 * or the timeout elapsed. Queues that do not exist are always ignored with a warning.
+	 * With {@link #setDeferredQueueResolution(boolean) deferred queue resolution}
+	 * unresolved queues are always ignored, as the container has already been
+	 * initialized.
+	 * @param ignoreUnresolvedQueues {@code true} to ignore queues that could not be
+	 * resolved
+	 * @since 2.4
+	 */
+	public void setIgnoreUnresolvedQueues(boolean ignoreUnresolvedQueues) {
+		this.ignoreUnresolvedQueues = ignoreUnresolvedQueues;
+	}
+
+	/**
+	 * @return {@code true} if only the attributes read by the listener methods are
+	 * requested
+	 * @since 2.4
+	 */
+	protected boolean isDeriveAttributeNames() {
+		return this.deriveAttributeNames;
+	}
+
+	/**
+	 * Configures if only the system and message attributes read by the listener methods
+	 * are requested with the received messages, instead of all of them. The attribute
+	 * names are derived from the
+	 * {@link org.springframework.messaging.handler.annotation.Header} annotated
+	 * parameters of the listener methods and their exception handler methods, all
+	 * attributes are still requested for listener methods with parameters that may read
+	 * any header, like {@link org.springframework.messaging.Message} parameters.
+	 * Attribute names configured on
+	 * {@link io.awspring.cloud.messaging.listener.annotation.SqsListener} take
+	 * precedence, and the attributes the container relies on are always requested. Must
+	 * not be enabled if message converters or argument resolvers read headers that are
+	 * not declared on the listener methods. The default value is {@code false}.
+	 * @param deriveAttributeNames {@code true} to only request the attributes read by the
+	 * listener methods
+	 * @since 2.4
+	 */
+	public void setDeriveAttributeNames(boolean deriveAttributeNames) {
+		this.deriveAttributeNames = deriveAttributeNames;
+	}
+
 	public boolean isActive() {
 		synchronized (this.getLifecycleMonitor()) {
 			return this.active;
@@ -268,6 +413,7 @@ abstract class AbstractMessageListenerContainer
 		validateConfiguration();
 		initialize();
 		validateFifoConfiguration();
+		resolveDeferredQueues();
 	}
 
 	private void validateConfiguration() {
@@ -284,6 +430,7 @@ abstract class AbstractMessageListenerContainer
 	}
 
 	protected void initialize() {
+		Map<String, QueueMessageHandler.MappingInformation> queues = new LinkedHashMap<>();
 		synchronized (this.getLifecycleMonitor()) {
 			if (this.destinationResolver == null) {
 				if (this.resourceIdResolver == null) {
@@ -299,14 +446,21 @@ abstract class AbstractMessageListenerContainer
 			for (QueueMessageHandler.MappingInformation mappingInformation : this.messageHandler.getHandlerMethods()
 					.keySet()) {
 				for (String queue : mappingInformation.getLogicalResourceIds()) {
-					QueueAttributes queueAttributes = queueAttributes(queue, mappingInformation.getDeletionPolicy());
-
-					if (queueAttributes != null) {
-						this.registeredQueues.put(queue, queueAttributes);
-					}
+					queues.put(queue, mappingInformation);
 				}
 			}
+		}
+
+		// Resolves the queues without holding the lifecycle monitor, as that may take
+		// up to the queue resolution timeout
+		Map<String, QueueAttributes> resolvedQueues = this.deferredQueueResolution ? Collections.emptyMap()
+				: resolveQueues(queues);
 
+		synchronized (this.getLifecycleMonitor()) {
+			if (this.deferredQueueResolution) {
+				this.deferredQueues = queues;
+			}
+			this.registeredQueues.putAll(resolvedQueues);
 			this.active = true;
 			this.getLifecycleMonitor().notifyAll();
 		}
@@ -322,7 +476,143 @@ abstract class AbstractMessageListenerContainer
 		doStart();
 	}
 
-	private QueueAttributes queueAttributes(String queue, SqsMessageDeletionPolicy deletionPolicy) {
+	/**
+	 * Resolves the given queues concurrently and returns the resolved queues once all
+	 * queues have been resolved or the queue resolution timeout elapsed. Unless
+	 * unresolved queues are ignored, the first failure is thrown afterwards.
+	 */
+	private Map<String, QueueAttributes> resolveQueues(Map<String, QueueMessageHandler.MappingInformation> queues) {
+		if (queues.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		long deadline = System.currentTimeMillis() + this.queueResolutionTimeout;
+		ExecutorService executor = createQueueResolutionExecutor(queues.size());
+		Map<String, CompletableFuture<QueueAttributes>> resolutions = new LinkedHashMap<>();
+		try {
+			for (Map.Entry<String, QueueMessageHandler.MappingInformation> queue : queues.entrySet()) {
+				resolutions.put(queue.getKey(), CompletableFuture
+						.supplyAsync(() -> queueAttributes(queue.getKey(), queue.getValue()), executor));
+			}
+			CompletableFuture.allOf(resolutions.values().toArray(new CompletableFuture<?>[0]))
+					.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException | TimeoutException e) {
+			// Failed and unresolved queues are reported below
+		}
+		finally {
+			// Fixes the outcome of the pending resolutions before interrupting them
+			resolutions.values().forEach(resolution -> resolution.cancel(false));
+			executor.shutdownNow();
+		}
+
+		Map<String, QueueAttributes> resolvedQueues = new LinkedHashMap<>(resolutions.size());
+		for (Map.Entry<String, CompletableFuture<QueueAttributes>> resolution : resolutions.entrySet()) {
+			try {
+				QueueAttributes queueAttributes = resolution.getValue().join();
+				if (queueAttributes != null) {
+					resolvedQueues.put(resolution.getKey(), queueAttributes);
+				}
+			}
+			catch (CancellationException e) {
+				if (!this.ignoreUnresolvedQueues) {
+					throw new IllegalStateException("Queue with name '" + resolution.getKey()
+							+ "' could not be resolved within " + this.queueResolutionTimeout + " milliseconds");
+				}
+				getLogger().warn("Ignoring queue with name '{}' as it could not be resolved within {} milliseconds",
+						resolution.getKey(), this.queueResolutionTimeout);
+			}
+			catch (CompletionException e) {
+				if (!this.ignoreUnresolvedQueues) {
+					throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				}
+				getLogger().warn("Ignoring queue with name '{}' as its attributes could not be retrieved",
+						resolution.getKey(), e.getCause());
+			}
+		}
+		return resolvedQueues;
+	}
+
+	/**
+	 * Resolves the queues of a container with deferred queue resolution in the
+	 * background. Every queue is registered as soon as it has been resolved.
+	 */
+	private void resolveDeferredQueues() {
+		Map<String, QueueMessageHandler.MappingInformation> queues = this.deferredQueues;
+		this.deferredQueues = null;
+		if (queues == null || queues.isEmpty()) {
+			return;
+		}
+
+		long deadline = System.currentTimeMillis() + this.queueResolutionTimeout;
+		ExecutorService executor = createQueueResolutionExecutor(queues.size());
+		List<CompletableFuture<Void>> resolutions = new ArrayList<>(queues.size());
+		for (Map.Entry<String, QueueMessageHandler.MappingInformation> queue : queues.entrySet()) {
+			resolutions.add(CompletableFuture.runAsync(() -> {
+				QueueAttributes queueAttributes = resolveDeferredQueue(queue.getKey(), queue.getValue(), deadline);
+				if (queueAttributes != null) {
+					synchronized (this.getLifecycleMonitor()) {
+						if (this.active) {
+							this.registeredQueues.put(queue.getKey(), queueAttributes);
+							try {
+								queueRegistered(queue.getKey(), queueAttributes);
+							}
+							catch (RuntimeException e) {
+								this.registeredQueues.remove(queue.getKey());
+								getLogger().warn("Ignoring queue with name '{}' as it could not be registered",
+										queue.getKey(), e);
+							}
+						}
+					}
+				}
+			}, executor));
+		}
+		// Lets the resolution threads terminate once all queues have been resolved
+		executor.shutdown();
+		CompletableFuture.allOf(resolutions.toArray(new CompletableFuture<?>[0]))
+				.whenComplete((result, throwable) -> validateFifoConfiguration());
+	}
+
+	private ExecutorService createQueueResolutionExecutor(int queues) {
+		String beanName = getBeanName();
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				(beanName != null ? beanName : getClass().getSimpleName()) + "-queue-resolution-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(Math.min(queues, this.queueResolutionConcurrency), threadFactory);
+	}
+
+	private QueueAttributes resolveDeferredQueue(String queue,
+			QueueMessageHandler.MappingInformation mappingInformation, long deadline) {
+		if (System.currentTimeMillis() >= deadline) {
+			getLogger().warn("Ignoring queue with name '{}' as it could not be resolved within {} milliseconds", queue,
+					this.queueResolutionTimeout);
+			return null;
+		}
+		try {
+			return queueAttributes(queue, mappingInformation);
+		}
+		catch (RuntimeException e) {
+			getLogger().warn("Ignoring queue with name '{}' as its attributes could not be retrieved", queue, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Called when a queue has been registered after the container has been initialized,
+	 * which is the case if the queue resolution is
+	 * {@link #setDeferredQueueResolution(boolean) deferred}. The default implementation
+	 * does nothing.
+	 * @param logicalQueueName the name of the queue as defined on the listener method
+	 * @param queueAttributes the attributes of the registered queue
+	 * @since 2.4
+	 */
+	protected void queueRegistered(String logicalQueueName, QueueAttributes queueAttributes) {
+	}
+
+	private QueueAttributes queueAttributes(String queue, QueueMessageHandler.MappingInformation mappingInformation) {
 		String destinationUrl;
 		try {
 			destinationUrl = getDestinationResolver().resolveDestination(queue);
@@ -343,8 +633,22 @@ abstract class AbstractMessageListenerContainer
 				.containsKey(QueueAttributeName.RedrivePolicy.toString());
 		boolean isFifo = queue.endsWith(".fifo");
 
-		return new QueueAttributes(hasRedrivePolicy, deletionPolicy, destinationUrl, getMaxNumberOfMessages(),
-				getVisibilityTimeout(), getWaitTimeOut(), isFifo);
+		return new QueueAttributes.Builder(destinationUrl, mappingInformation.getDeletionPolicy())
+				.withRedrivePolicy(hasRedrivePolicy).withMaxNumberOfMessages(getMaxNumberOfMessages())
+				.withVisibilityTimeout(getVisibilityTimeout()).withWaitTimeOut(getWaitTimeOut()).withFifo(isFifo)
+				.withPollers(mappingInformation.getPollers())
+				.withMaxConcurrentMessages(mappingInformation.getMaxConcurrentMessages())
+				.withBatch(mappingInformation.isBatch())
+				.withMaxEmptyReceiveBackOffTime(mappingInformation.getMaxEmptyReceiveBackOffTime())
+				.withErrorVisibilityTimeout(mappingInformation.getErrorVisibilityTimeout())
+				.withMaxErrorVisibilityTimeout(mappingInformation.getMaxErrorVisibilityTimeout())
+				.withAttributeNames(
+						mappingInformation.getAttributeNames() != null ? mappingInformation.getAttributeNames()
+								: this.deriveAttributeNames ? mappingInformation.getDerivedAttributeNames() : null)
+				.withMessageAttributeNames(mappingInformation.getMessageAttributeNames() != null
+						? mappingInformation.getMessageAttributeNames()
+						: this.deriveAttributeNames ? mappingInformation.getDerivedMessageAttributeNames() : null)
+				.build();
 	}
 
 	@Override
@@ -397,15 +701,46 @@ abstract class AbstractMessageListenerContainer
 
 		private final boolean fifo;
 
+		private final Integer pollers;
+
+		private final Integer maxConcurrentMessages;
+
+		private final boolean batch;
+
+		private final Integer maxEmptyReceiveBackOffTime;
+
+		private final Integer errorVisibilityTimeout;
+
+		private final Integer maxErrorVisibilityTimeout;
+
+		private final Set<String> attributeNames;
+
+		private final Set<String> messageAttributeNames;
+
 		public QueueAttributes(boolean hasRedrivePolicy, SqsMessageDeletionPolicy deletionPolicy, String destinationUrl,
 				Integer maxNumberOfMessages, Integer visibilityTimeout, Integer waitTimeOut, boolean fifo) {
-			this.hasRedrivePolicy = hasRedrivePolicy;
-			this.deletionPolicy = deletionPolicy;
-			this.destinationUrl = destinationUrl;
-			this.maxNumberOfMessages = maxNumberOfMessages;
-			this.visibilityTimeout = visibilityTimeout;
-			this.waitTimeOut = waitTimeOut;
-			this.fifo = fifo;
+			this(new Builder(destinationUrl, deletionPolicy).withRedrivePolicy(hasRedrivePolicy)
+					.withMaxNumberOfMessages(maxNumberOfMessages).withVisibilityTimeout(visibilityTimeout)
+					.withWaitTimeOut(waitTimeOut).withFifo(fifo));
+		}
+
+		private QueueAttributes(Builder builder) {
+			this.hasRedrivePolicy = builder.hasRedrivePolicy;
+			this.deletionPolicy = builder.deletionPolicy;
+			this.destinationUrl = builder.destinationUrl;
+			this.maxNumberOfMessages = builder.maxNumberOfMessages;
+			this.visibilityTimeout = builder.visibilityTimeout;
+			this.waitTimeOut = builder.waitTimeOut;
+			this.fifo = builder.fifo;
+			this.pollers = builder.pollers;
+			this.maxConcurrentMessages = builder.maxConcurrentMessages;
+			this.batch = builder.batch;
+			this.maxEmptyReceiveBackOffTime = builder.maxEmptyReceiveBackOffTime;
+			this.errorVisibilityTimeout = builder.errorVisibilityTimeout;
+			this.maxErrorVisibilityTimeout = builder.maxErrorVisibilityTimeout;
+			this.attributeNames = QueueMessageUtils.getReceiveAttributeNames(builder.attributeNames);
+			this.messageAttributeNames = QueueMessageUtils
+					.getReceiveMessageAttributeNames(builder.messageAttributeNames);
 		}
 
 		public boolean hasRedrivePolicy() {
@@ -414,7 +749,7 @@ abstract class AbstractMessageListenerContainer
 
 		public ReceiveMessageRequest getReceiveMessageRequest() {
 			ReceiveMessageRequest receiveMessageRequest = new ReceiveMessageRequest(this.destinationUrl)
-					.withAttributeNames(RECEIVING_ATTRIBUTES).withMessageAttributeNames(RECEIVING_MESSAGE_ATTRIBUTES);
+					.withAttributeNames(this.attributeNames).withMessageAttributeNames(this.messageAttributeNames);
 
 			if (this.maxNumberOfMessages != null) {
 				receiveMessageRequest.withMaxNumberOfMessages(this.maxNumberOfMessages);
@@ -442,6 +777,191 @@ abstract class AbstractMessageListenerContainer
 			return fifo;
 		}
 
+		/**
+		 * @return the number of pollers configured for this queue or {@code null} if the
+		 * container default applies
+		 * @since 2.4
+		 */
+		public Integer getPollers() {
+			return this.pollers;
+		}
+
+		/**
+		 * @return the maximum number of concurrently processed messages configured for
+		 * this queue or {@code null} if the container default applies
+		 * @since 2.4
+		 */
+		public Integer getMaxConcurrentMessages() {
+			return this.maxConcurrentMessages;
+		}
+
+		/**
+		 * @return {@code true} if the messages of a receive result are handed over to the
+		 * listener as one batch
+		 * @since 2.4
+		 */
+		public boolean isBatch() {
+			return this.batch;
+		}
+
+		/**
+		 * @return the maximum back off time in milliseconds for idle pollers configured
+		 * for this queue or {@code null} if the container default applies
+		 * @since 2.4
+		 */
+		public Integer getMaxEmptyReceiveBackOffTime() {
+			return this.maxEmptyReceiveBackOffTime;
+		}
+
+		/**
+		 * @return the initial visibility timeout in seconds of failed messages configured
+		 * for this queue or {@code null} if the container default applies
+		 * @since 2.4
+		 */
+		public Integer getErrorVisibilityTimeout() {
+			return this.errorVisibilityTimeout;
+		}
+
+		/**
+		 * @return the maximum visibility timeout in seconds of failed messages configured
+		 * for this queue or {@code null} if the container default applies
+		 * @since 2.4
+		 */
+		public Integer getMaxErrorVisibilityTimeout() {
+			return this.maxErrorVisibilityTimeout;
+		}
+
+		/**
+		 * @return the names of the system attributes requested with the messages of this
+		 * queue
+		 * @since 2.4
+		 */
+		public Set<String> getAttributeNames() {
+			return this.attributeNames;
+		}
+
+		/**
+		 * @return the names of the message attributes requested with the messages of this
+		 * queue
+		 * @since 2.4
+		 */
+		public Set<String> getMessageAttributeNames() {
+			return this.messageAttributeNames;
+		}
+
+		/**
+		 * Builder for the attributes of a registered queue.
+		 *
+		 * @since 2.4
+		 */
+		protected static class Builder {
+
+			private final String destinationUrl;
+
+			private final SqsMessageDeletionPolicy deletionPolicy;
+
+			private boolean hasRedrivePolicy;
+
+			private Integer maxNumberOfMessages;
+
+			private Integer visibilityTimeout;
+
+			private Integer waitTimeOut;
+
+			private boolean fifo;
+
+			private Integer pollers;
+
+			private Integer maxConcurrentMessages;
+
+			private boolean batch;
+
+			private Integer maxEmptyReceiveBackOffTime;
+
+			private Integer errorVisibilityTimeout;
+
+			private Integer maxErrorVisibilityTimeout;
+
+			private Collection<String> attributeNames;
+
+			private Collection<String> messageAttributeNames;
+
+			public Builder(String destinationUrl, SqsMessageDeletionPolicy deletionPolicy) {
+				this.destinationUrl = destinationUrl;
+				this.deletionPolicy = deletionPolicy;
+			}
+
+			public Builder withRedrivePolicy(boolean hasRedrivePolicy) {
+				this.hasRedrivePolicy = hasRedrivePolicy;
+				return this;
+			}
+
+			public Builder withMaxNumberOfMessages(Integer maxNumberOfMessages) {
+				this.maxNumberOfMessages = maxNumberOfMessages;
+				return this;
+			}
+
+			public Builder withVisibilityTimeout(Integer visibilityTimeout) {
+				this.visibilityTimeout = visibilityTimeout;
+				return this;
+			}
+
+			public Builder withWaitTimeOut(Integer waitTimeOut) {
+				this.waitTimeOut = waitTimeOut;
+				return this;
+			}
+
+			public Builder withFifo(boolean fifo) {
+				this.fifo = fifo;
+				return this;
+			}
+
+			public Builder withPollers(Integer pollers) {
+				this.pollers = pollers;
+				return this;
+			}
+
+			public Builder withMaxConcurrentMessages(Integer maxConcurrentMessages) {
+				this.maxConcurrentMessages = maxConcurrentMessages;
+				return this;
+			}
+
+			public Builder withBatch(boolean batch) {
+				this.batch = batch;
+				return this;
+			}
+
+			public Builder withMaxEmptyReceiveBackOffTime(Integer maxEmptyReceiveBackOffTime) {
+				this.maxEmptyReceiveBackOffTime = maxEmptyReceiveBackOffTime;
+				return this;
+			}
+
+			public Builder withErrorVisibilityTimeout(Integer errorVisibilityTimeout) {
+				this.errorVisibilityTimeout = errorVisibilityTimeout;
+				return this;
+			}
+
+			public Builder withMaxErrorVisibilityTimeout(Integer maxErrorVisibilityTimeout) {
+				this.maxErrorVisibilityTimeout = maxErrorVisibilityTimeout;
+				return this;
+			}
+
+			public Builder withAttributeNames(Collection<String> attributeNames) {
+				this.attributeNames = attributeNames;
+				return this;
+			}
+
+			public Builder withMessageAttributeNames(Collection<String> messageAttributeNames) {
+				this.messageAttributeNames = messageAttributeNames;
+				return this;
+			}
+
+			public QueueAttributes build() {
+				return new QueueAttributes(this);
+			}
+
+		}
+
 	}
 
 }
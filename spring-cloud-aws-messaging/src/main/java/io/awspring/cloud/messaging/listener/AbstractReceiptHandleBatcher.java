@@ -0,0 +1,240 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import io.awspring.cloud.messaging.core.BatchRetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Base class for components that coalesce operations on received messages into SQS batch
+ * requests. Entries are collected per queue url and sent as one batch request as soon as
+ * {@link #MAX_BATCH_SIZE} entries are pending or once the flush interval elapsed after
+ * the first pending entry was added. Failed entries are retried as defined by the
+ * {@link BatchRetryPolicy}.
+ *
+ * @param <E> the type of the batch entries
+ * @since 2.4
+ */
+abstract class AbstractReceiptHandleBatcher<E extends AbstractReceiptHandleBatcher.BatchEntry> {
+
+	/**
+	 * Maximum number of entries supported by the SQS batch APIs.
+	 */
+	static final int MAX_BATCH_SIZE = 10;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ConcurrentHashMap<String, List<E>> pendingEntriesByQueueUrl = new ConcurrentHashMap<>();
+
+	private final TaskScheduler taskScheduler;
+
+	private final long flushInterval;
+
+	protected AbstractReceiptHandleBatcher(TaskScheduler taskScheduler, long flushInterval) {
+		this.taskScheduler = taskScheduler;
+		this.flushInterval = flushInterval;
+	}
+
+	protected Logger getLogger() {
+		return this.logger;
+	}
+
+	/**
+	 * Adds an entry to the pending batch of the given queue.
+	 * @param queueUrl the url of the queue the entry belongs to
+	 * @param entry the entry to add
+	 * @return a future completed once the entry was processed by SQS
+	 */
+	protected CompletableFuture<Void> enqueue(String queueUrl, E entry) {
+		List<E> pendingEntries = this.pendingEntriesByQueueUrl.computeIfAbsent(queueUrl, key -> new ArrayList<>());
+		List<E> fullBatch = null;
+		boolean scheduleFlush = false;
+		synchronized (pendingEntries) {
+			entry.incrementAttempts();
+			pendingEntries.add(entry);
+			if (pendingEntries.size() >= MAX_BATCH_SIZE) {
+				fullBatch = new ArrayList<>(pendingEntries);
+				pendingEntries.clear();
+			}
+			else {
+				scheduleFlush = pendingEntries.size() == 1;
+			}
+		}
+
+		if (fullBatch != null) {
+			send(queueUrl, fullBatch);
+		}
+		else if (scheduleFlush) {
+			try {
+				this.taskScheduler.schedule(() -> flush(queueUrl), Instant.now().plusMillis(this.flushInterval));
+			}
+			catch (RejectedExecutionException e) {
+				flush(queueUrl);
+			}
+		}
+		return entry.getResult();
+	}
+
+	/**
+	 * Immediately sends all pending entries of all queues.
+	 */
+	public void flush() {
+		for (String queueUrl : this.pendingEntriesByQueueUrl.keySet()) {
+			flush(queueUrl);
+		}
+	}
+
+	private void flush(String queueUrl) {
+		List<E> pendingEntries = this.pendingEntriesByQueueUrl.get(queueUrl);
+		List<E> batch;
+		synchronized (pendingEntries) {
+			if (pendingEntries.isEmpty()) {
+				return;
+			}
+			batch = new ArrayList<>(pendingEntries);
+			pendingEntries.clear();
+		}
+		send(queueUrl, batch);
+	}
+
+	private void send(String queueUrl, List<E> batch) {
+		Map<String, E> entriesById = new LinkedHashMap<>(batch.size());
+		for (E entry : batch) {
+			entriesById.put(String.valueOf(entriesById.size()), entry);
+		}
+
+		try {
+			sendBatch(queueUrl, entriesById);
+		}
+		catch (RuntimeException e) {
+			handleBatchFailure(queueUrl, entriesById.values(), e);
+		}
+	}
+
+	/**
+	 * Sends the batch request for the given entries. Implementations must report the
+	 * outcome asynchronously by calling either
+	 * {@link #handleBatchResult(String, Map, Collection, List)} or
+	 * {@link #handleBatchFailure(String, Collection, Exception)}.
+	 * @param queueUrl the url of the queue
+	 * @param entriesById the entries of the batch indexed by their batch entry id
+	 */
+	protected abstract void sendBatch(String queueUrl, Map<String, E> entriesById);
+
+	protected void handleBatchResult(String queueUrl, Map<String, E> entriesById, Collection<String> successfulIds,
+			List<BatchResultErrorEntry> failedEntries) {
+		for (String successfulId : successfulIds) {
+			E entry = entriesById.get(successfulId);
+			if (entry != null) {
+				entry.getResult().complete(null);
+			}
+		}
+
+		for (BatchResultErrorEntry failedEntry : failedEntries) {
+			E entry = entriesById.get(failedEntry.getId());
+			if (entry == null) {
+				continue;
+			}
+
+			if (BatchRetryPolicy.isRetryable(entry.getAttempts(), failedEntry.isSenderFault())) {
+				retry(queueUrl, entry);
+			}
+			else {
+				logEntryFailure(entry, failedEntry);
+				entry.getResult().completeExceptionally(new IllegalStateException(
+						"Batch entry failed with code '" + failedEntry.getCode() + "': " + failedEntry.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Logs a batch entry that failed permanently. Subclasses may override this method to
+	 * lower the log level of expected failures.
+	 * @param entry the failed entry
+	 * @param failedEntry the error reported by SQS
+	 */
+	protected void logEntryFailure(E entry, BatchResultErrorEntry failedEntry) {
+		this.logger.warn("Batch entry for receipt handle '{}' failed with code '{}': {}", entry.getReceiptHandle(),
+				failedEntry.getCode(), failedEntry.getMessage());
+	}
+
+	protected void handleBatchFailure(String queueUrl, Collection<E> entries, Exception exception) {
+		for (E entry : entries) {
+			if (BatchRetryPolicy.isRetryable(entry.getAttempts(), exception)) {
+				retry(queueUrl, entry);
+			}
+			else {
+				this.logger.warn("An exception occurred while processing receipt handle '{}'", entry.getReceiptHandle(),
+						exception);
+				entry.getResult().completeExceptionally(exception);
+			}
+		}
+	}
+
+	private void retry(String queueUrl, E entry) {
+		BatchRetryPolicy.scheduleRetry(this.taskScheduler, entry.getAttempts(), () -> enqueue(queueUrl, entry));
+	}
+
+	/**
+	 * A single entry of a batch request, bound to the receipt handle of a received
+	 * message.
+	 */
+	static class BatchEntry {
+
+		private final String receiptHandle;
+
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+		private int attempts;
+
+		BatchEntry(String receiptHandle) {
+			this.receiptHandle = receiptHandle;
+		}
+
+		String getReceiptHandle() {
+			return this.receiptHandle;
+		}
+
+		CompletableFuture<Void> getResult() {
+			return this.result;
+		}
+
+		int getAttempts() {
+			return this.attempts;
+		}
+
+		void incrementAttempts() {
+			this.attempts++;
+		}
+
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.Assert;
+
+/**
+ * Controls the poll rate of the pollers of one queue based on the receive results. Empty
+ * receives make the polling poller back off exponentially with jitter, up to a maximum
+ * back off time. Pollers are ramped up one by one while the receives return complete
+ * batches and ramped down to a single poller as soon as a receive comes back empty.
+ *
+ * @since 2.4
+ */
+final class AdaptivePollingController {
+
+	static final long INITIAL_BACK_OFF_TIME = 1000;
+
+	private final Object monitor = new Object();
+
+	private final int maxPollers;
+
+	private final long maxBackOffTime;
+
+	private int activePollers = 1;
+
+	private int emptyReceives;
+
+	private boolean stopped;
+
+	AdaptivePollingController(int maxPollers, long maxBackOffTime) {
+		Assert.isTrue(maxPollers > 0, "maxPollers must be a positive number");
+		Assert.isTrue(maxBackOffTime > 0, "maxBackOffTime must be a positive number");
+		this.maxPollers = maxPollers;
+		this.maxBackOffTime = maxBackOffTime;
+	}
+
+	/**
+	 * Waits until the poller with the given index is allowed to poll.
+	 * @param pollerIndex the zero based index of the poller
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return {@code true} if the poller is allowed to poll
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	boolean awaitActivation(int pollerIndex, long timeout) throws InterruptedException {
+		synchronized (this.monitor) {
+			if (pollerIndex >= this.activePollers && !this.stopped) {
+				this.monitor.wait(timeout);
+			}
+			return pollerIndex < this.activePollers;
+		}
+	}
+
+	/**
+	 * Records the result of a receive and adapts the number of active pollers.
+	 * @param requestedMessages the maximum number of messages requested
+	 * @param receivedMessages the number of messages received
+	 * @return the time in milliseconds the poller must back off before polling again
+	 */
+	long receiveCompleted(int requestedMessages, int receivedMessages) {
+		synchronized (this.monitor) {
+			if (receivedMessages == 0) {
+				this.emptyReceives++;
+				this.activePollers = 1;
+				return getBackOffTime();
+			}
+
+			this.emptyReceives = 0;
+			if (receivedMessages >= requestedMessages && this.activePollers < this.maxPollers) {
+				this.activePollers++;
+				this.monitor.notifyAll();
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * Waits for the given back off time or until the controller is stopped.
+	 * @param backOffTime the back off time in milliseconds
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	void backOff(long backOffTime) throws InterruptedException {
+		if (backOffTime <= 0) {
+			return;
+		}
+		synchronized (this.monitor) {
+			if (!this.stopped) {
+				this.monitor.wait(backOffTime);
+			}
+		}
+	}
+
+	/**
+	 * Stops the controller and wakes up all waiting pollers.
+	 */
+	void stop() {
+		synchronized (this.monitor) {
+			this.stopped = true;
+			this.monitor.notifyAll();
+		}
+	}
+
+	int getActivePollers() {
+		synchronized (this.monitor) {
+			return this.activePollers;
+		}
+	}
+
+	private long getBackOffTime() {
+		long backOffTime = Math.min(this.maxBackOffTime, INITIAL_BACK_OFF_TIME << Math.min(this.emptyReceives - 1, 20));
+		long halfBackOffTime = backOffTime / 2;
+		return halfBackOffTime + ThreadLocalRandom.current().nextLong(backOffTime - halfBackOffTime + 1);
+	}
+
+}
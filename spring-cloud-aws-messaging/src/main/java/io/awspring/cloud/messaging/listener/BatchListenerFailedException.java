@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Exception thrown by batch listener methods to report that only some messages of the
+ * batch failed. The failed messages are identified by their index in the list passed to
+ * the listener method. Messages that are not reported as failed are treated as
+ * successfully processed, and the deletion policy of the listener is applied to every
+ * message according to its outcome.
+ *
+ * @since 2.4
+ * @see io.awspring.cloud.messaging.listener.annotation.SqsListener#batch()
+ */
+public class BatchListenerFailedException extends RuntimeException {
+
+	private final Set<Integer> failedIndexes;
+
+	public BatchListenerFailedException(String message, Collection<Integer> failedIndexes) {
+		this(message, null, failedIndexes);
+	}
+
+	public BatchListenerFailedException(String message, Throwable cause, Collection<Integer> failedIndexes) {
+		super(message, cause);
+		this.failedIndexes = Collections.unmodifiableSet(new LinkedHashSet<>(failedIndexes));
+	}
+
+	/**
+	 * @return the indexes of the failed messages in the batch passed to the listener
+	 * method
+	 */
+	public Set<Integer> getFailedIndexes() {
+		return this.failedIndexes;
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchResult;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Coalesces visibility timeout changes per queue into
+ * {@code ChangeMessageVisibilityBatch} requests instead of sending one
+ * {@code ChangeMessageVisibility} request per message.
+ *
+ * @since 2.4
+ */
+class ChangeMessageVisibilityBatcher
+		extends AbstractReceiptHandleBatcher<ChangeMessageVisibilityBatcher.VisibilityEntry> {
+
+	private final AmazonSQSAsync amazonSqs;
+
+	private final MessagingMetrics metrics;
+
+	ChangeMessageVisibilityBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long flushInterval) {
+		this(amazonSqs, taskScheduler, flushInterval, MessagingMetrics.NONE);
+	}
+
+	ChangeMessageVisibilityBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long flushInterval,
+			MessagingMetrics metrics) {
+		super(taskScheduler, flushInterval);
+		this.amazonSqs = amazonSqs;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Schedules the change of the visibility timeout of the message with the given
+	 * receipt handle.
+	 * @param queueUrl the url of the queue the message was received from
+	 * @param receiptHandle the receipt handle of the message
+	 * @param visibilityTimeout the new visibility timeout in seconds
+	 * @return a future completed once the visibility timeout has been changed
+	 */
+	CompletableFuture<Void> changeVisibility(String queueUrl, String receiptHandle, int visibilityTimeout) {
+		return enqueue(queueUrl, new VisibilityEntry(receiptHandle, visibilityTimeout));
+	}
+
+	@Override
+	protected void sendBatch(String queueUrl, Map<String, VisibilityEntry> entriesById) {
+		List<ChangeMessageVisibilityBatchRequestEntry> requestEntries = new ArrayList<>(entriesById.size());
+		for (Map.Entry<String, VisibilityEntry> entry : entriesById.entrySet()) {
+			requestEntries.add(
+					new ChangeMessageVisibilityBatchRequestEntry(entry.getKey(), entry.getValue().getReceiptHandle())
+							.withVisibilityTimeout(entry.getValue().getVisibilityTimeout()));
+		}
+
+		long startTime = System.nanoTime();
+		this.amazonSqs.changeMessageVisibilityBatchAsync(
+				new ChangeMessageVisibilityBatchRequest(queueUrl, requestEntries),
+				new AsyncHandler<ChangeMessageVisibilityBatchRequest, ChangeMessageVisibilityBatchResult>() {
+
+					@Override
+					public void onError(Exception exception) {
+						ChangeMessageVisibilityBatcher.this.metrics.recordVisibilityChange(queueUrl,
+								System.nanoTime() - startTime, entriesById.size(), entriesById.size());
+						handleBatchFailure(queueUrl, entriesById.values(), exception);
+					}
+
+					@Override
+					public void onSuccess(ChangeMessageVisibilityBatchRequest request,
+							ChangeMessageVisibilityBatchResult result) {
+						ChangeMessageVisibilityBatcher.this.metrics.recordVisibilityChange(queueUrl,
+								System.nanoTime() - startTime, entriesById.size(), result.getFailed().size());
+						handleBatchResult(queueUrl, entriesById, result.getSuccessful().stream()
+								.map(ChangeMessageVisibilityBatchResultEntry::getId).collect(Collectors.toList()),
+								result.getFailed());
+					}
+
+				});
+	}
+
+	@Override
+	protected void logEntryFailure(VisibilityEntry entry, BatchResultErrorEntry failedEntry) {
+		// Messages can be deleted while their visibility change is pending
+		getLogger().debug("Changing the visibility of receipt handle '{}' failed with code '{}': {}",
+				entry.getReceiptHandle(), failedEntry.getCode(), failedEntry.getMessage());
+	}
+
+	static final class VisibilityEntry extends AbstractReceiptHandleBatcher.BatchEntry {
+
+		private final int visibilityTimeout;
+
+		VisibilityEntry(String receiptHandle, int visibilityTimeout) {
+			super(receiptHandle);
+			this.visibilityTimeout = visibilityTimeout;
+		}
+
+		int getVisibilityTimeout() {
+			return this.visibilityTimeout;
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResultEntry;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Coalesces message deletions (acknowledgments) per queue into {@code DeleteMessageBatch}
+ * requests instead of sending one {@code DeleteMessage} request per message.
+ *
+ * @since 2.4
+ */
+class DeleteMessageBatcher extends AbstractReceiptHandleBatcher<AbstractReceiptHandleBatcher.BatchEntry> {
+
+	private final AmazonSQSAsync amazonSqs;
+
+	private final MessagingMetrics metrics;
+
+	DeleteMessageBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long flushInterval) {
+		this(amazonSqs, taskScheduler, flushInterval, MessagingMetrics.NONE);
+	}
+
+	DeleteMessageBatcher(AmazonSQSAsync amazonSqs, TaskScheduler taskScheduler, long flushInterval,
+			MessagingMetrics metrics) {
+		super(taskScheduler, flushInterval);
+		this.amazonSqs = amazonSqs;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Schedules the deletion of the message with the given receipt handle.
+	 * @param queueUrl the url of the queue the message was received from
+	 * @param receiptHandle the receipt handle of the message
+	 * @return a future completed once the message has been deleted
+	 */
+	CompletableFuture<Void> delete(String queueUrl, String receiptHandle) {
+		return enqueue(queueUrl, new BatchEntry(receiptHandle));
+	}
+
+	@Override
+	protected void sendBatch(String queueUrl, Map<String, BatchEntry> entriesById) {
+		List<DeleteMessageBatchRequestEntry> requestEntries = new ArrayList<>(entriesById.size());
+		for (Map.Entry<String, BatchEntry> entry : entriesById.entrySet()) {
+			requestEntries.add(new DeleteMessageBatchRequestEntry(entry.getKey(), entry.getValue().getReceiptHandle()));
+		}
+
+		long startTime = System.nanoTime();
+		this.amazonSqs.deleteMessageBatchAsync(new DeleteMessageBatchRequest(queueUrl, requestEntries),
+				new AsyncHandler<DeleteMessageBatchRequest, DeleteMessageBatchResult>() {
+
+					@Override
+					public void onError(Exception exception) {
+						DeleteMessageBatcher.this.metrics.recordDelete(queueUrl, System.nanoTime() - startTime,
+								entriesById.size(), entriesById.size());
+						handleBatchFailure(queueUrl, entriesById.values(), exception);
+					}
+
+					@Override
+					public void onSuccess(DeleteMessageBatchRequest request, DeleteMessageBatchResult result) {
+						DeleteMessageBatcher.this.metrics.recordDelete(queueUrl, System.nanoTime() - startTime,
+								entriesById.size(), result.getFailed().size());
+						handleBatchResult(
+								queueUrl, entriesById, result.getSuccessful().stream()
+										.map(DeleteMessageBatchResultEntry::getId).collect(Collectors.toList()),
+								result.getFailed());
+					}
+
+				});
+	}
+
+}
@@ -19,6 +19,7 @@ package io.awspring.cloud.messaging.listener;
 import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.DeleteMessageResult;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,18 +34,56 @@ class DeleteMessageHandler implements AsyncHandler<DeleteMessageRequest, DeleteM
 
 	private final String receiptHandle;
 
+	private final Runnable deletionCallback;
+
+	private final String queueUrl;
+
+	private final MessagingMetrics metrics;
+
+	private final long startTime = System.nanoTime();
+
 	DeleteMessageHandler(String receiptHandle) {
+		this(receiptHandle, null);
+	}
+
+	/**
+	 * @param receiptHandle the receipt handle of the deleted message
+	 * @param deletionCallback the callback to run once the message has been deleted, or
+	 * {@code null}
+	 * @since 2.4
+	 */
+	DeleteMessageHandler(String receiptHandle, Runnable deletionCallback) {
+		this(receiptHandle, deletionCallback, null, MessagingMetrics.NONE);
+	}
+
+	/**
+	 * @param receiptHandle the receipt handle of the deleted message
+	 * @param deletionCallback the callback to run once the message has been deleted, or
+	 * {@code null}
+	 * @param queueUrl the url of the queue the message is deleted from
+	 * @param metrics the metrics recording the deletion
+	 * @since 2.4
+	 */
+	DeleteMessageHandler(String receiptHandle, Runnable deletionCallback, String queueUrl, MessagingMetrics metrics) {
 		this.receiptHandle = receiptHandle;
+		this.deletionCallback = deletionCallback;
+		this.queueUrl = queueUrl;
+		this.metrics = metrics;
 	}
 
 	@Override
 	public void onError(Exception exception) {
+		this.metrics.recordDelete(this.queueUrl, System.nanoTime() - this.startTime, 1, 1);
 		logger.warn("An exception occurred while deleting '{}' receiptHandle", receiptHandle, exception);
 	}
 
 	@Override
 	public void onSuccess(DeleteMessageRequest request, DeleteMessageResult deleteMessageResult) {
+		this.metrics.recordDelete(this.queueUrl, System.nanoTime() - this.startTime, 1, 0);
 		logger.trace("'{}' receiptHandle is deleted successfully", request.getReceiptHandle());
+		if (this.deletionCallback != null) {
+			this.deletionCallback.run();
+		}
 	}
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import org.springframework.util.Assert;
+
+/**
+ * Exponential back off of the visibility timeout of messages whose processing failed.
+ * Instead of becoming visible again once the visibility timeout of the queue expired, a
+ * failed message becomes visible again after a visibility timeout that grows with the
+ * number of times the message has been received: the initial visibility timeout for the
+ * first receive, multiplied by the multiplier for every further receive, up to the
+ * maximum visibility timeout.
+ *
+ * @since 2.4
+ * @see SimpleMessageListenerContainer#setErrorVisibilityBackOff(ErrorVisibilityBackOff)
+ */
+public final class ErrorVisibilityBackOff {
+
+	/**
+	 * The default multiplier applied for every further receive of a message.
+	 */
+	public static final double DEFAULT_MULTIPLIER = 2;
+
+	/**
+	 * The maximum visibility timeout supported by SQS (12 hours), used as default
+	 * maximum.
+	 */
+	public static final int MAX_VISIBILITY_TIMEOUT = 43200;
+
+	private final int initialVisibilityTimeout;
+
+	private final double multiplier;
+
+	private final int maxVisibilityTimeout;
+
+	/**
+	 * Creates a back off with the {@link #DEFAULT_MULTIPLIER default multiplier} and the
+	 * {@link #MAX_VISIBILITY_TIMEOUT maximum visibility timeout of SQS}.
+	 * @param initialVisibilityTimeout the visibility timeout in seconds after the first
+	 * failed receive, {@code 0} to retry immediately
+	 */
+	public ErrorVisibilityBackOff(int initialVisibilityTimeout) {
+		this(initialVisibilityTimeout, DEFAULT_MULTIPLIER, MAX_VISIBILITY_TIMEOUT);
+	}
+
+	/**
+	 * Creates a back off.
+	 * @param initialVisibilityTimeout the visibility timeout in seconds after the first
+	 * failed receive, {@code 0} to retry immediately
+	 * @param multiplier the multiplier applied for every further receive, at least
+	 * {@code 1}
+	 * @param maxVisibilityTimeout the maximum visibility timeout in seconds
+	 */
+	public ErrorVisibilityBackOff(int initialVisibilityTimeout, double multiplier, int maxVisibilityTimeout) {
+		Assert.isTrue(initialVisibilityTimeout >= 0, "initialVisibilityTimeout must not be negative");
+		Assert.isTrue(multiplier >= 1, "multiplier must be greater than or equal to 1");
+		Assert.isTrue(maxVisibilityTimeout >= initialVisibilityTimeout,
+				"maxVisibilityTimeout must be greater than or equal to initialVisibilityTimeout");
+		Assert.isTrue(maxVisibilityTimeout <= MAX_VISIBILITY_TIMEOUT,
+				"maxVisibilityTimeout must not be greater than " + MAX_VISIBILITY_TIMEOUT);
+		this.initialVisibilityTimeout = initialVisibilityTimeout;
+		this.multiplier = multiplier;
+		this.maxVisibilityTimeout = maxVisibilityTimeout;
+	}
+
+	public int getInitialVisibilityTimeout() {
+		return this.initialVisibilityTimeout;
+	}
+
+	public double getMultiplier() {
+		return this.multiplier;
+	}
+
+	public int getMaxVisibilityTimeout() {
+		return this.maxVisibilityTimeout;
+	}
+
+	/**
+	 * Returns the visibility timeout of a failed message.
+	 * @param receiveCount the number of times the message has been received, as reported
+	 * by its {@code ApproximateReceiveCount} attribute
+	 * @return the visibility timeout in seconds
+	 */
+	public int getVisibilityTimeout(int receiveCount) {
+		double visibilityTimeout = this.initialVisibilityTimeout
+				* Math.pow(this.multiplier, Math.max(receiveCount, 1) - 1);
+		return (int) Math.min(visibilityTimeout, this.maxVisibilityTimeout);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.sqs.model.Message;
+
+/**
+ * Ordered lanes of the messages of a FIFO queue, one lane per message group. A lane
+ * exists while the messages of its group are being processed, messages of the same group
+ * dispatched in the meantime are appended to the lane and processed in order by the same
+ * worker. Messages of distinct groups are processed concurrently in their own lanes.
+ *
+ * @since 2.4
+ */
+final class MessageGroupLanes {
+
+	private final Map<String, Deque<List<Message>>> lanes = new HashMap<>();
+
+	/**
+	 * Opens the lane of a message group or appends the messages to the already open lane.
+	 * @param messageGroupId the message group id
+	 * @param messages the messages of the group in receive order
+	 * @return {@code true} if the lane was opened and the caller must process the
+	 * messages, {@code false} if they were appended to a lane being processed
+	 */
+	synchronized boolean offer(String messageGroupId, List<Message> messages) {
+		Deque<List<Message>> lane = this.lanes.get(messageGroupId);
+		if (lane != null) {
+			lane.addLast(messages);
+			return false;
+		}
+		this.lanes.put(messageGroupId, new ArrayDeque<>());
+		return true;
+	}
+
+	/**
+	 * Returns the next messages of a lane, closing the lane if it has no more messages.
+	 * @param messageGroupId the message group id
+	 * @return the next messages of the group or {@code null} if the lane was closed
+	 */
+	synchronized List<Message> poll(String messageGroupId) {
+		Deque<List<Message>> lane = this.lanes.get(messageGroupId);
+		List<Message> messages = lane != null ? lane.pollFirst() : null;
+		if (messages == null) {
+			this.lanes.remove(messageGroupId);
+		}
+		return messages;
+	}
+
+	/**
+	 * Closes the lane of a message group, e.g. because a message of the group failed.
+	 * @param messageGroupId the message group id
+	 * @return the messages that were still waiting in the lane
+	 */
+	synchronized List<Message> close(String messageGroupId) {
+		Deque<List<Message>> lane = this.lanes.remove(messageGroupId);
+		if (lane == null) {
+			return Collections.emptyList();
+		}
+		List<Message> remainingMessages = new ArrayList<>();
+		lane.forEach(remainingMessages::addAll);
+		return remainingMessages;
+	}
+
+	synchronized int size() {
+		return this.lanes.size();
+	}
+
+}
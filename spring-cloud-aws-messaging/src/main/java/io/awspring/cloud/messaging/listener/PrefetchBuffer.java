@@ -0,0 +1,192 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.sqs.model.Message;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded buffer holding the messages received ahead for one queue. Pollers reserve
+ * capacity before receiving, so that the buffer never holds more than its capacity and
+ * polling pauses while the buffer is full. Messages that stayed in the buffer longer than
+ * their visibility timeout are discarded when taken, as they may already have been
+ * delivered to another consumer.
+ *
+ * @since 2.4
+ */
+final class PrefetchBuffer {
+
+	private final Object monitor = new Object();
+
+	private final Deque<BufferedMessage> messages = new ArrayDeque<>();
+
+	private final int capacity;
+
+	private final long visibilityTimeoutNanos;
+
+	private final LongSupplier nanoClock;
+
+	private int reservedCapacity;
+
+	private boolean closed;
+
+	/**
+	 * Creates a buffer.
+	 * @param capacity the maximum number of buffered messages
+	 * @param visibilityTimeout the visibility timeout of the received messages in
+	 * seconds, or {@code null} if messages never expire in the buffer
+	 */
+	PrefetchBuffer(int capacity, Integer visibilityTimeout) {
+		this(capacity, visibilityTimeout, System::nanoTime);
+	}
+
+	PrefetchBuffer(int capacity, Integer visibilityTimeout, LongSupplier nanoClock) {
+		Assert.isTrue(capacity > 0, "capacity must be a positive number");
+		this.capacity = capacity;
+		this.visibilityTimeoutNanos = visibilityTimeout != null ? TimeUnit.SECONDS.toNanos(visibilityTimeout)
+				: Long.MAX_VALUE;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Reserves capacity for the messages of a receive, waiting for free capacity if the
+	 * buffer is full.
+	 * @param maxMessages the maximum number of messages to reserve capacity for
+	 * @param timeout the maximum time to wait for free capacity in milliseconds
+	 * @return the number of reserved messages, {@code 0} if no capacity became available
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	int reserve(int maxMessages, long timeout) throws InterruptedException {
+		synchronized (this.monitor) {
+			if (getFreeCapacity() == 0 && !this.closed) {
+				this.monitor.wait(timeout);
+			}
+			if (this.closed) {
+				return 0;
+			}
+			int reserved = Math.min(getFreeCapacity(), maxMessages);
+			this.reservedCapacity += reserved;
+			return reserved;
+		}
+	}
+
+	/**
+	 * Adds received messages to the buffer and releases the capacity reserved for them.
+	 * @param receivedMessages the received messages
+	 * @param reserved the number of messages capacity was reserved for
+	 * @return {@code false} if the messages were not added because the buffer is closed
+	 */
+	boolean add(List<Message> receivedMessages, int reserved) {
+		Assert.isTrue(receivedMessages.size() <= reserved, "received more messages than reserved");
+		long receivedAt = this.nanoClock.getAsLong();
+		synchronized (this.monitor) {
+			this.reservedCapacity -= reserved;
+			if (this.closed) {
+				return false;
+			}
+			for (Message message : receivedMessages) {
+				this.messages.addLast(new BufferedMessage(message, receivedAt));
+			}
+			this.monitor.notifyAll();
+			return true;
+		}
+	}
+
+	/**
+	 * Takes buffered messages, waiting for a message if the buffer is empty. Expired
+	 * messages are discarded.
+	 * @param maxMessages the maximum number of messages to take
+	 * @param timeout the maximum time to wait for a message in milliseconds
+	 * @param expiredMessages receives the discarded expired messages
+	 * @return the taken messages, possibly empty
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	List<Message> take(int maxMessages, long timeout, List<Message> expiredMessages) throws InterruptedException {
+		synchronized (this.monitor) {
+			if (this.messages.isEmpty() && !this.closed) {
+				this.monitor.wait(timeout);
+			}
+			if (this.messages.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			long now = this.nanoClock.getAsLong();
+			List<Message> takenMessages = new ArrayList<>(Math.min(maxMessages, this.messages.size()));
+			while (takenMessages.size() < maxMessages && !this.messages.isEmpty()) {
+				BufferedMessage bufferedMessage = this.messages.removeFirst();
+				if (now - bufferedMessage.receivedAt >= this.visibilityTimeoutNanos) {
+					expiredMessages.add(bufferedMessage.message);
+				}
+				else {
+					takenMessages.add(bufferedMessage.message);
+				}
+			}
+			this.monitor.notifyAll();
+			return takenMessages;
+		}
+	}
+
+	/**
+	 * Closes the buffer, waking up all waiting threads.
+	 * @return the messages that were still buffered
+	 */
+	List<Message> close() {
+		synchronized (this.monitor) {
+			this.closed = true;
+			List<Message> remainingMessages = new ArrayList<>(this.messages.size());
+			for (BufferedMessage bufferedMessage : this.messages) {
+				remainingMessages.add(bufferedMessage.message);
+			}
+			this.messages.clear();
+			this.monitor.notifyAll();
+			return remainingMessages;
+		}
+	}
+
+	int size() {
+		synchronized (this.monitor) {
+			return this.messages.size();
+		}
+	}
+
+	private int getFreeCapacity() {
+		return this.capacity - this.messages.size() - this.reservedCapacity;
+	}
+
+	private static final class BufferedMessage {
+
+		private final Message message;
+
+		private final long receivedAt;
+
+		private BufferedMessage(Message message, long receivedAt) {
+			this.message = message;
+			this.receivedAt = receivedAt;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package io.awspring.cloud.messaging.listener;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import com.amazonaws.services.sqs.AmazonSQSAsync;
@@ -34,16 +35,34 @@ public class QueueMessageAcknowledgment implements Acknowledgment {
 
 	private final String receiptHandle;
 
+	private final DeleteMessageBatcher deleteMessageBatcher;
+
+	private final Runnable deletionCallback;
+
 	public QueueMessageAcknowledgment(AmazonSQSAsync amazonSqsAsync, String queueUrl, String receiptHandle) {
+		this(amazonSqsAsync, queueUrl, receiptHandle, null, null);
+	}
+
+	QueueMessageAcknowledgment(AmazonSQSAsync amazonSqsAsync, String queueUrl, String receiptHandle,
+			DeleteMessageBatcher deleteMessageBatcher, Runnable deletionCallback) {
 		this.amazonSqsAsync = amazonSqsAsync;
 		this.queueUrl = queueUrl;
 		this.receiptHandle = receiptHandle;
+		this.deleteMessageBatcher = deleteMessageBatcher;
+		this.deletionCallback = deletionCallback;
 	}
 
 	@Override
 	public Future<?> acknowledge() {
+		if (this.deleteMessageBatcher != null) {
+			CompletableFuture<Void> deletion = this.deleteMessageBatcher.delete(this.queueUrl, this.receiptHandle);
+			if (this.deletionCallback != null) {
+				deletion.thenRun(this.deletionCallback);
+			}
+			return deletion;
+		}
 		return this.amazonSqsAsync.deleteMessageAsync(new DeleteMessageRequest(this.queueUrl, this.receiptHandle),
-				new DeleteMessageHandler(this.receiptHandle));
+				new DeleteMessageHandler(this.receiptHandle, this.deletionCallback));
 	}
 
 }
@@ -21,31 +21,50 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
+import com.amazonaws.services.sqs.model.MessageSystemAttributeName;
+import io.awspring.cloud.messaging.core.PayloadCompressor;
 import io.awspring.cloud.messaging.listener.annotation.SqsListener;
 import io.awspring.cloud.messaging.listener.support.AcknowledgmentHandlerMethodArgumentResolver;
+import io.awspring.cloud.messaging.listener.support.BatchMessageMethodArgumentResolver;
 import io.awspring.cloud.messaging.listener.support.VisibilityHandlerMethodArgumentResolver;
 import io.awspring.cloud.messaging.support.NotificationMessageArgumentResolver;
 import io.awspring.cloud.messaging.support.NotificationSubjectArgumentResolver;
 import io.awspring.cloud.messaging.support.SqsHeadersMethodArgumentResolver;
+import io.awspring.cloud.messaging.support.converter.CborMessageConverter;
 import io.awspring.cloud.messaging.support.converter.ObjectMessageConverter;
 
 import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.BeanExpressionResolver;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.SynthesizingMethodParameter;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandlingException;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
 import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.converter.SimpleMessageConverter;
 import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
 import org.springframework.messaging.handler.HandlerMethod;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.support.AnnotationExceptionHandlerMethodResolver;
 import org.springframework.messaging.handler.annotation.support.HeaderMethodArgumentResolver;
@@ -54,9 +73,15 @@ import org.springframework.messaging.handler.annotation.support.PayloadArgumentR
 import org.springframework.messaging.handler.invocation.AbstractExceptionHandlerMethodResolver;
 import org.springframework.messaging.handler.invocation.AbstractMethodMessageHandler;
 import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolverComposite;
 import org.springframework.messaging.handler.invocation.HandlerMethodReturnValueHandler;
+import org.springframework.messaging.handler.invocation.HandlerMethodReturnValueHandlerComposite;
 import org.springframework.messaging.handler.invocation.InvocableHandlerMethod;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.util.comparator.ComparableComparator;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -75,10 +100,22 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 	static final String ACKNOWLEDGMENT = "Acknowledgment";
 	static final String VISIBILITY = "Visibility";
 
+	private static final CompletionStage<?> NO_ASYNC_RESULT = CompletableFuture.completedFuture(null);
+
 	private final SqsMessageDeletionPolicy sqsMessageDeletionPolicy;
 
 	private final List<MessageConverter> messageConverters;
 
+	private HandlerMethodArgumentResolverComposite argumentResolverComposite;
+
+	private HandlerMethodReturnValueHandlerComposite returnValueHandlerComposite;
+
+	private volatile Map<String, InvocableHandlerMethod> invocableHandlerMethodsByQueue;
+
+	private final ThreadLocal<CompletionStage<?>> asyncResult = new ThreadLocal<>();
+
+	private int maxDecompressedPayloadSize = PayloadCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE;
+
 	public QueueMessageHandler(List<MessageConverter> messageConverters,
 			SqsMessageDeletionPolicy sqsMessageDeletionPolicy) {
 		this.messageConverters = messageConverters;
@@ -94,6 +131,26 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 		this.sqsMessageDeletionPolicy = SqsMessageDeletionPolicy.NO_REDRIVE;
 	}
 
+	/**
+	 * @return the maximum number of bytes compressed payloads are decompressed to
+	 * @since 2.4
+	 */
+	public int getMaxDecompressedPayloadSize() {
+		return this.maxDecompressedPayloadSize;
+	}
+
+	/**
+	 * Configures the maximum number of bytes compressed payloads are decompressed to.
+	 * Messages whose payload exceeds it fail without being dispatched. Default is
+	 * {@link PayloadCompressor#DEFAULT_MAX_DECOMPRESSED_SIZE}.
+	 * @param maxDecompressedPayloadSize the maximum decompressed payload size in bytes
+	 * @since 2.4
+	 */
+	public void setMaxDecompressedPayloadSize(int maxDecompressedPayloadSize) {
+		Assert.isTrue(maxDecompressedPayloadSize > 0, "maxDecompressedPayloadSize must be greater than 0");
+		this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+	}
+
 	private static String[] wrapInStringArray(Object valueToWrap) {
 		return new String[] { valueToWrap.toString() };
 	}
@@ -110,6 +167,7 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 		resolvers.add(new VisibilityHandlerMethodArgumentResolver(VISIBILITY));
 
 		CompositeMessageConverter compositeMessageConverter = createPayloadArgumentCompositeConverter();
+		resolvers.add(new BatchMessageMethodArgumentResolver(compositeMessageConverter));
 		resolvers.add(new NotificationMessageArgumentResolver(compositeMessageConverter));
 		resolvers.add(new MessageMethodArgumentResolver(this.messageConverters.isEmpty() ? new StringMessageConverter()
 				: new CompositeMessageConverter(this.messageConverters)));
@@ -121,7 +179,199 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 
 	@Override
 	protected List<? extends HandlerMethodReturnValueHandler> initReturnValueHandlers() {
-		return new ArrayList<>(this.getCustomReturnValueHandlers());
+		List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(this.getCustomReturnValueHandlers());
+		handlers.add(new CompletionStageReturnValueHandler());
+		return handlers;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		this.argumentResolverComposite = new HandlerMethodArgumentResolverComposite()
+				.addResolvers(getArgumentResolvers());
+		this.returnValueHandlerComposite = new HandlerMethodReturnValueHandlerComposite()
+				.addHandlers(getReturnValueHandlers());
+		this.invocableHandlerMethodsByQueue = null;
+	}
+
+	@Override
+	protected void registerHandlerMethod(Object handler, Method method, MappingInformation mapping) {
+		super.registerHandlerMethod(handler, method, mapping);
+		this.invocableHandlerMethodsByQueue = null;
+	}
+
+	/**
+	 * Dispatches the message directly to the handler method bound to its queue, skipping
+	 * the mapping lookup and sorting of the {@link AbstractMethodMessageHandler}. The
+	 * invocable handler method of each queue is created once, with its bean and argument
+	 * resolvers already resolved. Messages without a directly bound handler method, e.g.
+	 * because several methods are mapped to the same queue or the handler bean is not a
+	 * singleton, are dispatched by the {@link AbstractMethodMessageHandler}. Payloads
+	 * compressed by a {@link PayloadCompressor} are decompressed before they are
+	 * dispatched.
+	 * @param message the message to handle
+	 */
+	@Override
+	public void handleMessage(Message<?> message) throws MessagingException {
+		message = decompressPayload(message);
+		Object logicalResourceId = message.getHeaders().get(LOGICAL_RESOURCE_ID);
+		String lookupDestination = logicalResourceId != null ? getLookupDestination(logicalResourceId.toString())
+				: null;
+		InvocableHandlerMethod handlerMethod = lookupDestination != null
+				? getInvocableHandlerMethodsByQueue().get(lookupDestination) : null;
+		if (handlerMethod == null) {
+			super.handleMessage(message);
+			return;
+		}
+
+		if (!lookupDestination
+				.equals(message.getHeaders().get(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER))) {
+			message = MessageBuilder.fromMessage(message)
+					.setHeader(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER, lookupDestination)
+					.build();
+		}
+		invokeHandlerMethod(handlerMethod, message);
+	}
+
+	/**
+	 * Runs the dispatch of a message to its listener method and returns the
+	 * {@link CompletionStage} returned by an asynchronous listener method. Only stages
+	 * returned on the dispatching thread are captured.
+	 * @param dispatch the dispatch of the message, which calls
+	 * {@link #handleMessage(Message)}
+	 * @return the stage returned by the listener method, or {@code null} if the listener
+	 * method completed with its invocation
+	 */
+	CompletionStage<?> captureAsyncResult(Runnable dispatch) {
+		this.asyncResult.set(NO_ASYNC_RESULT);
+		try {
+			dispatch.run();
+			CompletionStage<?> asyncResult = this.asyncResult.get();
+			return asyncResult != NO_ASYNC_RESULT ? asyncResult : null;
+		}
+		finally {
+			this.asyncResult.remove();
+		}
+	}
+
+	@Override
+	protected void handleMatch(MappingInformation mapping, HandlerMethod handlerMethod, String lookupDestination,
+			Message<?> message) {
+		invokeHandlerMethod(createInvocableHandlerMethod(handlerMethod), message);
+	}
+
+	private InvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod.createWithResolvedBean());
+		invocable.setMessageMethodArgumentResolvers(this.argumentResolverComposite);
+		return invocable;
+	}
+
+	/**
+	 * Invokes the handler method like
+	 * {@link AbstractMethodMessageHandler#handleMatch(Object, HandlerMethod, String, Message)},
+	 * except that a returned {@link CompletionStage} is handed over to
+	 * {@link #captureAsyncResult(Runnable)}, so that the listener container completes the
+	 * message once the stage completes, and its result to the return value handlers.
+	 */
+	private void invokeHandlerMethod(InvocableHandlerMethod handlerMethod, Message<?> message) {
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Invoking " + handlerMethod.getShortLogMessage());
+		}
+		try {
+			Object returnValue = handlerMethod.invoke(message);
+			MethodParameter returnType = handlerMethod.getReturnType();
+			if (void.class == returnType.getParameterType()) {
+				return;
+			}
+			if (returnValue instanceof CompletionStage && this.asyncResult.get() != null) {
+				this.asyncResult.set(handleAsyncReturnValue(handlerMethod, (CompletionStage<?>) returnValue, message));
+				return;
+			}
+			this.returnValueHandlerComposite.handleReturnValue(returnValue, returnType, message);
+		}
+		catch (Exception ex) {
+			processHandlerMethodException(handlerMethod, ex, message);
+		}
+		catch (Throwable ex) {
+			processHandlerMethodException(handlerMethod,
+					new MessageHandlingException(message, "Unexpected handler method invocation error", ex), message);
+		}
+	}
+
+	/**
+	 * Hands the result of the stage returned by an asynchronous listener method over to
+	 * the return value handlers once the stage completes, so that e.g. a
+	 * {@link org.springframework.messaging.handler.annotation.SendTo} annotated listener
+	 * method forwards it. The returned stage only completes once the result has been
+	 * handled and completes exceptionally if that fails.
+	 */
+	private CompletionStage<?> handleAsyncReturnValue(InvocableHandlerMethod handlerMethod,
+			CompletionStage<?> returnValue, Message<?> message) {
+		return returnValue.thenApply(result -> {
+			MethodParameter returnType = handlerMethod.getReturnValueType(result);
+			if (this.returnValueHandlerComposite.supportsReturnType(returnType)) {
+				try {
+					this.returnValueHandlerComposite.handleReturnValue(result, returnType, message);
+				}
+				catch (Exception ex) {
+					processHandlerMethodException(handlerMethod, ex, message);
+				}
+			}
+			return result;
+		});
+	}
+
+	private Message<?> decompressPayload(Message<?> message) {
+		try {
+			return PayloadCompressor.decompress(message, this.maxDecompressedPayloadSize);
+		}
+		catch (MessageConversionException e) {
+			this.logger.error("The payload of the message could not be decompressed", e);
+			throw e;
+		}
+	}
+
+	private Map<String, InvocableHandlerMethod> getInvocableHandlerMethodsByQueue() {
+		Map<String, InvocableHandlerMethod> invocableHandlerMethodsByQueue = this.invocableHandlerMethodsByQueue;
+		if (invocableHandlerMethodsByQueue == null) {
+			invocableHandlerMethodsByQueue = createInvocableHandlerMethodsByQueue();
+			this.invocableHandlerMethodsByQueue = invocableHandlerMethodsByQueue;
+		}
+		return invocableHandlerMethodsByQueue;
+	}
+
+	/**
+	 * Binds every lookup destination with exactly one mapped handler method of a
+	 * singleton bean to an invocable handler method, which is shared by all messages of
+	 * the queue.
+	 */
+	private Map<String, InvocableHandlerMethod> createInvocableHandlerMethodsByQueue() {
+		Map<String, HandlerMethod> handlerMethodsByQueue = new HashMap<>();
+		Set<String> ambiguousQueues = new HashSet<>();
+		for (Map.Entry<MappingInformation, HandlerMethod> handlerMethod : getHandlerMethods().entrySet()) {
+			for (String logicalResourceId : handlerMethod.getKey().getLogicalResourceIds()) {
+				if (handlerMethodsByQueue.putIfAbsent(logicalResourceId, handlerMethod.getValue()) != null) {
+					ambiguousQueues.add(logicalResourceId);
+				}
+			}
+		}
+		handlerMethodsByQueue.keySet().removeAll(ambiguousQueues);
+
+		Map<HandlerMethod, InvocableHandlerMethod> invocableHandlerMethods = new HashMap<>();
+		Map<String, InvocableHandlerMethod> invocableHandlerMethodsByQueue = new HashMap<>();
+		for (Map.Entry<String, HandlerMethod> handlerMethod : handlerMethodsByQueue.entrySet()) {
+			if (isSingletonHandler(handlerMethod.getValue())) {
+				invocableHandlerMethodsByQueue.put(handlerMethod.getKey(), invocableHandlerMethods
+						.computeIfAbsent(handlerMethod.getValue(), this::createInvocableHandlerMethod));
+			}
+		}
+		return invocableHandlerMethodsByQueue;
+	}
+
+	private boolean isSingletonHandler(HandlerMethod handlerMethod) {
+		Object bean = handlerMethod.getBean();
+		return !(bean instanceof String)
+				|| getApplicationContext() != null && getApplicationContext().isSingleton((String) bean);
 	}
 
 	@Override
@@ -136,13 +386,28 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 			SqsMessageDeletionPolicy tempDeletionPolicy = sqsListenerAnnotation
 					.deletionPolicy() == SqsMessageDeletionPolicy.DEFAULT ? sqsMessageDeletionPolicy
 							: sqsListenerAnnotation.deletionPolicy();
-			if (tempDeletionPolicy == SqsMessageDeletionPolicy.NEVER
+			if (tempDeletionPolicy == SqsMessageDeletionPolicy.NEVER && !sqsListenerAnnotation.batch()
 					&& hasNoAcknowledgmentParameter(method.getParameterTypes())) {
 				this.logger.warn("Listener method '" + method.getName() + "' in type '"
 						+ method.getDeclaringClass().getName()
 						+ "' has deletion policy 'NEVER' but does not have a parameter of type Acknowledgment.");
 			}
-			return new MappingInformation(resolveDestinationNames(sqsListenerAnnotation.value()), tempDeletionPolicy);
+			return new MappingInformation.Builder(resolveDestinationNames(sqsListenerAnnotation.value()),
+					tempDeletionPolicy)
+							.withPollers(resolvePositiveInteger(sqsListenerAnnotation.pollers(), "pollers"))
+							.withMaxConcurrentMessages(resolvePositiveInteger(
+									sqsListenerAnnotation.maxConcurrentMessages(), "maxConcurrentMessages"))
+							.withBatch(sqsListenerAnnotation.batch())
+							.withMaxEmptyReceiveBackOffTime(resolvePositiveInteger(
+									sqsListenerAnnotation.maxEmptyReceiveBackOffTime(), "maxEmptyReceiveBackOffTime"))
+							.withErrorVisibilityTimeout(resolveInteger(sqsListenerAnnotation.errorVisibilityTimeout(),
+									"errorVisibilityTimeout", 0))
+							.withMaxErrorVisibilityTimeout(resolveInteger(
+									sqsListenerAnnotation.maxErrorVisibilityTimeout(), "maxErrorVisibilityTimeout", 0))
+							.withAttributeNames(resolveAttributeNames(sqsListenerAnnotation.attributeNames()))
+							.withMessageAttributeNames(
+									resolveAttributeNames(sqsListenerAnnotation.messageAttributeNames()))
+							.withHeaderNames(getHeaderNames(method, handlerType)).build();
 		}
 
 		MessageMapping messageMappingAnnotation = AnnotationUtils.findAnnotation(method, MessageMapping.class);
@@ -174,6 +439,108 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 		return result;
 	}
 
+	private Set<String> resolveAttributeNames(String[] attributeNames) {
+		if (attributeNames.length == 0) {
+			return null;
+		}
+
+		Set<String> result = new LinkedHashSet<>(attributeNames.length);
+		for (String attributeName : attributeNames) {
+			result.addAll(Arrays.asList(resolveName(attributeName)));
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the names of the headers read by the listener method and the exception
+	 * handler methods of its type, through {@link Header} annotated parameters. Returns
+	 * {@code null} if one of the methods may read other headers, e.g. because it has a
+	 * {@link Message} parameter or a parameter resolved by a custom argument resolver.
+	 */
+	private Set<String> getHeaderNames(Method method, Class<?> handlerType) {
+		Set<String> headerNames = new LinkedHashSet<>();
+		if (!collectHeaderNames(method, headerNames)) {
+			return null;
+		}
+		Set<Method> exceptionHandlerMethods = MethodIntrospector.selectMethods(
+				handlerType != null ? handlerType : method.getDeclaringClass(),
+				(ReflectionUtils.MethodFilter) candidate -> AnnotatedElementUtils.hasAnnotation(candidate,
+						MessageExceptionHandler.class));
+		for (Method exceptionHandlerMethod : exceptionHandlerMethods) {
+			if (!collectHeaderNames(exceptionHandlerMethod, headerNames)) {
+				return null;
+			}
+		}
+		return headerNames;
+	}
+
+	private boolean collectHeaderNames(Method method, Set<String> headerNames) {
+		for (int i = 0; i < method.getParameterCount(); i++) {
+			MethodParameter parameter = new SynthesizingMethodParameter(method, i);
+			if (Throwable.class.isAssignableFrom(parameter.getParameterType())
+					|| HandlerMethod.class.isAssignableFrom(parameter.getParameterType())) {
+				// Provided by the exception handling
+				continue;
+			}
+			HandlerMethodArgumentResolver resolver = findArgumentResolver(parameter);
+			if (resolver instanceof HeaderMethodArgumentResolver) {
+				Header header = parameter.getParameterAnnotation(Header.class);
+				if (header == null || !StringUtils.hasText(header.name())) {
+					return false;
+				}
+				headerNames.add(header.name());
+			}
+			else if (!isHeaderIndependent(resolver, parameter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private HandlerMethodArgumentResolver findArgumentResolver(MethodParameter parameter) {
+		for (HandlerMethodArgumentResolver resolver : getArgumentResolvers()) {
+			if (resolver.supportsParameter(parameter)) {
+				return resolver;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isHeaderIndependent(HandlerMethodArgumentResolver resolver, MethodParameter parameter) {
+		if (resolver instanceof BatchMessageMethodArgumentResolver) {
+			Class<?> elementType = ResolvableType.forMethodParameter(parameter).asCollection().resolveGeneric(0);
+			return elementType != null && !Message.class.isAssignableFrom(elementType);
+		}
+		return resolver instanceof PayloadArgumentResolver || resolver instanceof NotificationMessageArgumentResolver
+				|| resolver instanceof NotificationSubjectArgumentResolver
+				|| resolver instanceof AcknowledgmentHandlerMethodArgumentResolver
+				|| resolver instanceof VisibilityHandlerMethodArgumentResolver;
+	}
+
+	private Integer resolvePositiveInteger(String value, String attributeName) {
+		return resolveInteger(value, attributeName, 1);
+	}
+
+	private Integer resolveInteger(String value, String attributeName, int minimum) {
+		if (!StringUtils.hasText(value)) {
+			return null;
+		}
+
+		String resolvedValue = resolveName(value)[0];
+		int result;
+		try {
+			result = Integer.parseInt(resolvedValue.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+					"@SqsListener attribute '" + attributeName + "' must be a number but was '" + resolvedValue + "'",
+					e);
+		}
+		Assert.isTrue(result >= minimum, "@SqsListener attribute '" + attributeName + "' must be "
+				+ (minimum > 0 ? "a positive number" : "a non-negative number"));
+		return result;
+	}
+
 	private String[] resolveName(String name) {
 		if (!(getApplicationContext() instanceof ConfigurableApplicationContext)) {
 			return wrapInStringArray(name);
@@ -250,6 +617,10 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 	private CompositeMessageConverter createPayloadArgumentCompositeConverter() {
 		List<MessageConverter> payloadArgumentConverters = new ArrayList<>(this.messageConverters);
 
+		CborMessageConverter cborMessageConverter = new CborMessageConverter();
+		cborMessageConverter.setStrictContentTypeMatch(true);
+		payloadArgumentConverters.add(cborMessageConverter);
+
 		ObjectMessageConverter objectMessageConverter = new ObjectMessageConverter();
 		objectMessageConverter.setStrictContentTypeMatch(true);
 		payloadArgumentConverters.add(objectMessageConverter);
@@ -266,9 +637,66 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 
 		private final SqsMessageDeletionPolicy deletionPolicy;
 
+		private final Integer pollers;
+
+		private final Integer maxConcurrentMessages;
+
+		private final boolean batch;
+
+		private final Integer maxEmptyReceiveBackOffTime;
+
+		private final Integer errorVisibilityTimeout;
+
+		private final Integer maxErrorVisibilityTimeout;
+
+		private final Set<String> attributeNames;
+
+		private final Set<String> messageAttributeNames;
+
+		private final Set<String> derivedAttributeNames;
+
+		private final Set<String> derivedMessageAttributeNames;
+
 		public MappingInformation(Set<String> logicalResourceIds, SqsMessageDeletionPolicy deletionPolicy) {
-			this.logicalResourceIds = Collections.unmodifiableSet(logicalResourceIds);
-			this.deletionPolicy = deletionPolicy;
+			this(new Builder(logicalResourceIds, deletionPolicy));
+		}
+
+		private MappingInformation(Builder builder) {
+			this.logicalResourceIds = Collections.unmodifiableSet(builder.logicalResourceIds);
+			this.deletionPolicy = builder.deletionPolicy;
+			this.pollers = builder.pollers;
+			this.maxConcurrentMessages = builder.maxConcurrentMessages;
+			this.batch = builder.batch;
+			this.maxEmptyReceiveBackOffTime = builder.maxEmptyReceiveBackOffTime;
+			this.errorVisibilityTimeout = builder.errorVisibilityTimeout;
+			this.maxErrorVisibilityTimeout = builder.maxErrorVisibilityTimeout;
+			this.attributeNames = builder.attributeNames;
+			this.messageAttributeNames = builder.messageAttributeNames;
+			if (builder.headerNames != null) {
+				this.derivedAttributeNames = new LinkedHashSet<>();
+				this.derivedMessageAttributeNames = new LinkedHashSet<>();
+				for (String headerName : builder.headerNames) {
+					if (isSystemAttributeName(headerName)) {
+						this.derivedAttributeNames.add(headerName);
+					}
+					else {
+						this.derivedMessageAttributeNames.add(headerName);
+					}
+				}
+			}
+			else {
+				this.derivedAttributeNames = null;
+				this.derivedMessageAttributeNames = null;
+			}
+		}
+
+		private static boolean isSystemAttributeName(String name) {
+			for (MessageSystemAttributeName attributeName : MessageSystemAttributeName.values()) {
+				if (attributeName.toString().equals(name)) {
+					return true;
+				}
+			}
+			return false;
 		}
 
 		public Set<String> getLogicalResourceIds() {
@@ -279,6 +707,96 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 			return this.deletionPolicy;
 		}
 
+		/**
+		 * @return the number of pollers per queue or {@code null} if the container
+		 * default must be used
+		 * @since 2.4
+		 */
+		public Integer getPollers() {
+			return this.pollers;
+		}
+
+		/**
+		 * @return the maximum number of concurrently processed messages per queue or
+		 * {@code null} if the container default must be used
+		 * @since 2.4
+		 */
+		public Integer getMaxConcurrentMessages() {
+			return this.maxConcurrentMessages;
+		}
+
+		/**
+		 * @return {@code true} if the listener method receives all messages of a poll as
+		 * one batch
+		 * @since 2.4
+		 */
+		public boolean isBatch() {
+			return this.batch;
+		}
+
+		/**
+		 * @return the maximum back off time in milliseconds for idle queues or
+		 * {@code null} if the container default must be used
+		 * @since 2.4
+		 */
+		public Integer getMaxEmptyReceiveBackOffTime() {
+			return this.maxEmptyReceiveBackOffTime;
+		}
+
+		/**
+		 * @return the initial visibility timeout in seconds of failed messages or
+		 * {@code null} if the container default must be used
+		 * @since 2.4
+		 */
+		public Integer getErrorVisibilityTimeout() {
+			return this.errorVisibilityTimeout;
+		}
+
+		/**
+		 * @return the maximum visibility timeout in seconds of failed messages or
+		 * {@code null} if the container default must be used
+		 * @since 2.4
+		 */
+		public Integer getMaxErrorVisibilityTimeout() {
+			return this.maxErrorVisibilityTimeout;
+		}
+
+		/**
+		 * @return the names of the system attributes configured on the listener method or
+		 * {@code null} if none are configured
+		 * @since 2.4
+		 */
+		public Set<String> getAttributeNames() {
+			return this.attributeNames;
+		}
+
+		/**
+		 * @return the names of the message attributes configured on the listener method
+		 * or {@code null} if none are configured
+		 * @since 2.4
+		 */
+		public Set<String> getMessageAttributeNames() {
+			return this.messageAttributeNames;
+		}
+
+		/**
+		 * @return the names of the system attributes read through the parameters of the
+		 * listener method or {@code null} if the listener method may read any of them
+		 * @since 2.4
+		 */
+		public Set<String> getDerivedAttributeNames() {
+			return this.derivedAttributeNames;
+		}
+
+		/**
+		 * @return the names of the message attributes read through the parameters of the
+		 * listener method or {@code null} if the listener method may read any of them
+		 * @since 2.4
+		 */
+		public Set<String> getDerivedMessageAttributeNames() {
+			return this.derivedMessageAttributeNames;
+		}
+
 		@SuppressWarnings("NullableProblems")
 		@Override
 		public int compareTo(MappingInformation o) {
@@ -290,6 +808,97 @@ public class QueueMessageHandler extends AbstractMethodMessageHandler<QueueMessa
 			return logicalResourceIds.stream().collect(Collectors.joining(", "));
 		}
 
+		/**
+		 * Builder for the mapping information of listener methods.
+		 *
+		 * @since 2.4
+		 */
+		protected static class Builder {
+
+			private final Set<String> logicalResourceIds;
+
+			private final SqsMessageDeletionPolicy deletionPolicy;
+
+			private Integer pollers;
+
+			private Integer maxConcurrentMessages;
+
+			private boolean batch;
+
+			private Integer maxEmptyReceiveBackOffTime;
+
+			private Integer errorVisibilityTimeout;
+
+			private Integer maxErrorVisibilityTimeout;
+
+			private Set<String> attributeNames;
+
+			private Set<String> messageAttributeNames;
+
+			private Set<String> headerNames;
+
+			public Builder(Set<String> logicalResourceIds, SqsMessageDeletionPolicy deletionPolicy) {
+				this.logicalResourceIds = logicalResourceIds;
+				this.deletionPolicy = deletionPolicy;
+			}
+
+			public Builder withPollers(Integer pollers) {
+				this.pollers = pollers;
+				return this;
+			}
+
+			public Builder withMaxConcurrentMessages(Integer maxConcurrentMessages) {
+				this.maxConcurrentMessages = maxConcurrentMessages;
+				return this;
+			}
+
+			public Builder withBatch(boolean batch) {
+				this.batch = batch;
+				return this;
+			}
+
+			public Builder withMaxEmptyReceiveBackOffTime(Integer maxEmptyReceiveBackOffTime) {
+				this.maxEmptyReceiveBackOffTime = maxEmptyReceiveBackOffTime;
+				return this;
+			}
+
+			public Builder withErrorVisibilityTimeout(Integer errorVisibilityTimeout) {
+				this.errorVisibilityTimeout = errorVisibilityTimeout;
+				return this;
+			}
+
+			public Builder withMaxErrorVisibilityTimeout(Integer maxErrorVisibilityTimeout) {
+				this.maxErrorVisibilityTimeout = maxErrorVisibilityTimeout;
+				return this;
+			}
+
+			public Builder withAttributeNames(Set<String> attributeNames) {
+				this.attributeNames = attributeNames;
+				return this;
+			}
+
+			public Builder withMessageAttributeNames(Set<String> messageAttributeNames) {
+				this.messageAttributeNames = messageAttributeNames;
+				return this;
+			}
+
+			/**
+			 * @param headerNames the names of the headers read through the parameters of
+			 * the listener method, or {@code null} if the listener method may read any
+			 * header
+			 * @return this builder
+			 */
+			public Builder withHeaderNames(Set<String> headerNames) {
+				this.headerNames = headerNames;
+				return this;
+			}
+
+			public MappingInformation build() {
+				return new MappingInformation(this);
+			}
+
+		}
+
 	}
 
 	private static final class NoOpValidator implements Validator {
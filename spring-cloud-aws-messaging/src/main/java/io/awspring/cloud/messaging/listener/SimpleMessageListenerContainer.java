@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2019 the original author or authors.
+ * Copyright 2013-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,26 +16,54 @@
 
 package io.awspring.cloud.messaging.listener;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchResult;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.Message;
 import com.amazonaws.services.sqs.model.MessageSystemAttributeName;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import io.awspring.cloud.messaging.core.S3PayloadStore;
+import io.awspring.cloud.messaging.core.SqsMessageHeaders;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -54,18 +82,76 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	private static final String DEFAULT_THREAD_NAME_PREFIX = ClassUtils
 			.getShortName(SimpleMessageListenerContainer.class) + "-";
 
+	private static final long IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT = 1000;
+
+	private static final long TASK_REJECTED_RETRY_DELAY = 10;
+
+	private static final int MAX_VISIBILITY_BATCH_SIZE = 10;
+
 	private boolean defaultTaskExecutor;
 
 	private long backOffTime = 10000;
 
 	private long queueStopTimeout = 20000;
 
+	private Integer maxInFlightMessagesPerQueue;
+
+	private int pollersPerQueue = 1;
+
+	private boolean deleteMessageBatching;
+
+	private long deleteMessageBatchWindow = 100;
+
+	private long changeMessageVisibilityBatchWindow = 100;
+
 	private AsyncTaskExecutor taskExecutor;
 
-	private ConcurrentHashMap<String, Future<?>> scheduledFutureByQueue;
+	private boolean defaultTaskScheduler;
+
+	private TaskScheduler taskScheduler;
+
+	private DeleteMessageBatcher deleteMessageBatcher;
+
+	private Integer visibilityHeartbeatInterval;
+
+	private int visibilityHeartbeatMaxDuration = 43200;
+
+	private ErrorVisibilityBackOff errorVisibilityBackOff;
+
+	private boolean virtualThreads;
+
+	private Long maxEmptyReceiveBackOffTime;
+
+	private Integer maxPrefetchedMessagesPerQueue;
+
+	private boolean fifoPipelinedPolling;
+
+	private S3PayloadStore payloadStore;
+
+	private MessagingMetrics messagingMetrics = MessagingMetrics.NONE;
+
+	private ChangeMessageVisibilityBatcher changeMessageVisibilityBatcher;
+
+	private VisibilityHeartbeat visibilityHeartbeat;
+
+	private ConcurrentHashMap<String, List<Future<?>>> scheduledFuturesByQueue;
 
 	private ConcurrentHashMap<String, Boolean> runningStateByQueue;
 
+	private ConcurrentHashMap<String, Semaphore> inFlightPermitsByQueue;
+
+	private ConcurrentHashMap<String, AdaptivePollingController> pollingControllersByQueue;
+
+	private ConcurrentHashMap<String, PrefetchBuffer> prefetchBuffersByQueue;
+
+	private ConcurrentHashMap<String, MessageGroupLanes> messageGroupLanesByQueue;
+
+	private ConcurrentHashMap<String, ErrorVisibilityBackOff> errorVisibilityBackOffsByQueue;
+
+	private final AtomicInteger inFlightMessages = new AtomicInteger();
+
+	private final Object inFlightMessagesMonitor = new Object();
+
 	protected AsyncTaskExecutor getTaskExecutor() {
 		return this.taskExecutor;
 	}
@@ -74,6 +160,26 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * @return the scheduler used for time based background tasks, or {@code null} if none
+	 * is needed
+	 * @since 2.4
+	 */
+	protected TaskScheduler getTaskScheduler() {
+		return this.taskScheduler;
+	}
+
+	/**
+	 * Configures the scheduler used for time based background tasks of the container,
+	 * like flushing batched message deletions. If not set, a single threaded scheduler is
+	 * created when one of these features is enabled.
+	 * @param taskScheduler the scheduler to use
+	 * @since 2.4
+	 */
+	public void setTaskScheduler(TaskScheduler taskScheduler) {
+		this.taskScheduler = taskScheduler;
+	}
+
 	/**
 	 * @return The number of milliseconds the polling thread must wait before trying to
 	 * recover when an error occurs (e.g. connection timeout)
@@ -104,13 +210,400 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	/**
 	 * The number of milliseconds the {@link SimpleMessageListenerContainer#stop(String)}
 	 * method waits for a queue to stop before interrupting the current thread. Default
-	 * value is 20000 milliseconds (20 seconds).
+	 * value is 20000 milliseconds (20 seconds). When the container is stopped, this is
+	 * also the time it waits for the messages that are still being processed by listener
+	 * methods before flushing the pending message deletions.
 	 * @param queueStopTimeout in milliseconds
 	 */
 	public void setQueueStopTimeout(long queueStopTimeout) {
 		this.queueStopTimeout = queueStopTimeout;
 	}
 
+	/**
+	 * @return the maximum number of messages per queue that can be processed at the same
+	 * time when pipelined polling is enabled, or {@code null} if every batch must be
+	 * completed before the next poll.
+	 * @since 2.4
+	 */
+	public Integer getMaxInFlightMessagesPerQueue() {
+		return this.maxInFlightMessagesPerQueue;
+	}
+
+	/**
+	 * Enables pipelined polling by configuring the maximum number of messages per queue
+	 * that can be in flight (received but not yet processed) at the same time. When set,
+	 * the polling thread of a queue issues the next receive request as soon as the
+	 * in-flight budget allows a new batch instead of waiting for all messages of the
+	 * previous batch to be processed. By default this value is {@code null} and each
+	 * batch is completely processed before the queue is polled again.
+	 * @param maxInFlightMessagesPerQueue the in-flight budget per queue, must be a
+	 * positive number or {@code null} to disable pipelined polling
+	 * @since 2.4
+	 */
+	public void setMaxInFlightMessagesPerQueue(Integer maxInFlightMessagesPerQueue) {
+		Assert.isTrue(maxInFlightMessagesPerQueue == null || maxInFlightMessagesPerQueue > 0,
+				"maxInFlightMessagesPerQueue must be a positive number");
+		this.maxInFlightMessagesPerQueue = maxInFlightMessagesPerQueue;
+	}
+
+	/**
+	 * @return the number of threads polling each queue concurrently
+	 * @since 2.4
+	 */
+	public int getPollersPerQueue() {
+		return this.pollersPerQueue;
+	}
+
+	/**
+	 * Configures the number of threads polling each queue concurrently. Multiple pollers
+	 * allow a single queue to receive more than one batch per long poll round trip. The
+	 * value can be overridden per listener with
+	 * {@link io.awspring.cloud.messaging.listener.annotation.SqsListener#pollers()}.
+	 * Default is 1.
+	 * @param pollersPerQueue the number of pollers per queue, must be a positive number
+	 * @since 2.4
+	 */
+	public void setPollersPerQueue(int pollersPerQueue) {
+		Assert.isTrue(pollersPerQueue > 0, "pollersPerQueue must be a positive number");
+		this.pollersPerQueue = pollersPerQueue;
+	}
+
+	/**
+	 * @return {@code true} if message deletions are sent as {@code DeleteMessageBatch}
+	 * requests
+	 * @since 2.4
+	 */
+	public boolean isDeleteMessageBatching() {
+		return this.deleteMessageBatching;
+	}
+
+	/**
+	 * Enables the batching of message deletions. When enabled, the receipt handles of
+	 * processed messages (as well as the ones acknowledged through an
+	 * {@link Acknowledgment}) are collected per queue and deleted with
+	 * {@code DeleteMessageBatch} requests of up to 10 entries, instead of one
+	 * {@code DeleteMessage} request per message. A batch is sent as soon as it is full or
+	 * when the {@link #setDeleteMessageBatchWindow(long) batch window} elapsed. Default
+	 * is {@code false}.
+	 * @param deleteMessageBatching {@code true} to batch message deletions
+	 * @since 2.4
+	 */
+	public void setDeleteMessageBatching(boolean deleteMessageBatching) {
+		this.deleteMessageBatching = deleteMessageBatching;
+	}
+
+	/**
+	 * @return the maximum number of milliseconds a message deletion is delayed to be
+	 * batched with other deletions
+	 * @since 2.4
+	 */
+	public long getDeleteMessageBatchWindow() {
+		return this.deleteMessageBatchWindow;
+	}
+
+	/**
+	 * The maximum number of milliseconds a message deletion is delayed to be batched with
+	 * other deletions of the same queue. Only used if
+	 * {@link #setDeleteMessageBatching(boolean) batching} is enabled. Default is 100
+	 * milliseconds.
+	 * @param deleteMessageBatchWindow in milliseconds
+	 * @since 2.4
+	 */
+	public void setDeleteMessageBatchWindow(long deleteMessageBatchWindow) {
+		Assert.isTrue(deleteMessageBatchWindow >= 0, "deleteMessageBatchWindow must not be negative");
+		this.deleteMessageBatchWindow = deleteMessageBatchWindow;
+	}
+
+	/**
+	 * @return the maximum number of milliseconds a visibility change is delayed to be
+	 * batched with other visibility changes
+	 * @since 2.4
+	 */
+	public long getChangeMessageVisibilityBatchWindow() {
+		return this.changeMessageVisibilityBatchWindow;
+	}
+
+	/**
+	 * The maximum number of milliseconds a visibility change of a failed message is
+	 * delayed to be batched with other visibility changes of the same queue. Extensions
+	 * of the {@link #setVisibilityHeartbeatInterval(Integer) visibility heartbeat} are
+	 * sent without delay. Default is 100 milliseconds.
+	 * @param changeMessageVisibilityBatchWindow in milliseconds
+	 * @since 2.4
+	 */
+	public void setChangeMessageVisibilityBatchWindow(long changeMessageVisibilityBatchWindow) {
+		Assert.isTrue(changeMessageVisibilityBatchWindow >= 0,
+				"changeMessageVisibilityBatchWindow must not be negative");
+		this.changeMessageVisibilityBatchWindow = changeMessageVisibilityBatchWindow;
+	}
+
+	/**
+	 * @return the number of seconds between two visibility timeout extensions of
+	 * in-flight messages, or {@code null} if the heartbeat is disabled
+	 * @since 2.4
+	 */
+	public Integer getVisibilityHeartbeatInterval() {
+		return this.visibilityHeartbeatInterval;
+	}
+
+	/**
+	 * Enables the visibility heartbeat. While a message is processed by a listener, its
+	 * visibility timeout is extended every {@code visibilityHeartbeatInterval} seconds,
+	 * so that long-running listeners do not cause the redelivery of the message. The
+	 * extensions of all in-flight messages are sent as
+	 * {@code ChangeMessageVisibilityBatch} requests. Each extension sets the visibility
+	 * timeout to the configured {@link #setVisibilityTimeout(Integer) visibility timeout}
+	 * or, if not set, to twice the heartbeat interval. The interval must be lower than
+	 * the visibility timeout of the queues. By default this value is {@code null} and the
+	 * heartbeat is disabled.
+	 * @param visibilityHeartbeatInterval the heartbeat interval in seconds, must be a
+	 * positive number or {@code null} to disable the heartbeat
+	 * @since 2.4
+	 */
+	public void setVisibilityHeartbeatInterval(Integer visibilityHeartbeatInterval) {
+		Assert.isTrue(visibilityHeartbeatInterval == null || visibilityHeartbeatInterval > 0,
+				"visibilityHeartbeatInterval must be a positive number");
+		this.visibilityHeartbeatInterval = visibilityHeartbeatInterval;
+	}
+
+	/**
+	 * @return the maximum number of seconds the visibility heartbeat extends the
+	 * visibility of a message
+	 * @since 2.4
+	 */
+	public int getVisibilityHeartbeatMaxDuration() {
+		return this.visibilityHeartbeatMaxDuration;
+	}
+
+	/**
+	 * The maximum number of seconds the {@link #setVisibilityHeartbeatInterval(Integer)
+	 * visibility heartbeat} extends the visibility of a message, counted from the moment
+	 * its processing started. Messages still processed after this duration are no longer
+	 * extended and become visible again once their last extension expired. Default is 12
+	 * hours, the maximum visibility timeout supported by SQS.
+	 * @param visibilityHeartbeatMaxDuration in seconds, must be a positive number
+	 * @since 2.4
+	 */
+	public void setVisibilityHeartbeatMaxDuration(int visibilityHeartbeatMaxDuration) {
+		Assert.isTrue(visibilityHeartbeatMaxDuration > 0, "visibilityHeartbeatMaxDuration must be a positive number");
+		this.visibilityHeartbeatMaxDuration = visibilityHeartbeatMaxDuration;
+	}
+
+	/**
+	 * @return the visibility back off of failed messages or {@code null} if failed
+	 * messages become visible again after the visibility timeout of their queue
+	 * @since 2.4
+	 */
+	public ErrorVisibilityBackOff getErrorVisibilityBackOff() {
+		return this.errorVisibilityBackOff;
+	}
+
+	/**
+	 * Enables the visibility back off of failed messages. When the processing of a
+	 * message failed and the message is not deleted by the deletion policy, its
+	 * visibility timeout is changed according to the back off and the
+	 * {@code ApproximateReceiveCount} of the message, so that it is retried after seconds
+	 * instead of once the visibility timeout of the queue expired. The visibility changes
+	 * are sent as {@code ChangeMessageVisibilityBatch} requests. The back off can be
+	 * overridden per listener with the {@code errorVisibilityTimeout} and
+	 * {@code maxErrorVisibilityTimeout} attributes of
+	 * {@link io.awspring.cloud.messaging.listener.annotation.SqsListener}. By default
+	 * this value is {@code null} and the visibility of failed messages is not changed.
+	 * @param errorVisibilityBackOff the back off or {@code null} to disable it
+	 * @since 2.4
+	 */
+	public void setErrorVisibilityBackOff(ErrorVisibilityBackOff errorVisibilityBackOff) {
+		this.errorVisibilityBackOff = errorVisibilityBackOff;
+	}
+
+	/**
+	 * @return {@code true} if the default task executor runs pollers and listeners on
+	 * virtual threads
+	 * @since 2.4
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+	/**
+	 * Configures the default task executor to run pollers and listener methods on virtual
+	 * threads instead of a pool of platform threads. Concurrency is then bounded by a
+	 * concurrency limit computed like the maximum pool size of the default thread pool.
+	 * Virtual threads require Java 21 or later; on older runtimes the default thread pool
+	 * is used. This setting has no effect if a {@link #setTaskExecutor(AsyncTaskExecutor)
+	 * task executor} is configured. Default is {@code false}.
+	 * @param virtualThreads {@code true} to use virtual threads
+	 * @since 2.4
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * @return the maximum time in milliseconds an idle poller backs off, or {@code null}
+	 * if adaptive polling is disabled
+	 * @since 2.4
+	 */
+	public Long getMaxEmptyReceiveBackOffTime() {
+		return this.maxEmptyReceiveBackOffTime;
+	}
+
+	/**
+	 * Enables adaptive polling. After consecutive empty receives the pollers of a queue
+	 * back off exponentially with jitter, starting at one second and up to
+	 * {@code maxEmptyReceiveBackOffTime}. A queue with multiple
+	 * {@link #setPollersPerQueue(int) pollers} starts with a single active poller and
+	 * activates one more poller each time a receive returns a complete batch; an empty
+	 * receive deactivates all pollers but one. This reduces the number of receive
+	 * requests sent for idle queues while busy queues are still polled by all pollers.
+	 * Can be overridden per queue with
+	 * {@link io.awspring.cloud.messaging.listener.annotation.SqsListener#maxEmptyReceiveBackOffTime()}.
+	 * By default this value is {@code null} and queues are polled continuously.
+	 * @param maxEmptyReceiveBackOffTime the maximum back off time in milliseconds, must
+	 * be a positive number or {@code null} to disable adaptive polling
+	 * @since 2.4
+	 */
+	public void setMaxEmptyReceiveBackOffTime(Long maxEmptyReceiveBackOffTime) {
+		Assert.isTrue(maxEmptyReceiveBackOffTime == null || maxEmptyReceiveBackOffTime > 0,
+				"maxEmptyReceiveBackOffTime must be a positive number");
+		this.maxEmptyReceiveBackOffTime = maxEmptyReceiveBackOffTime;
+	}
+
+	/**
+	 * @return the maximum number of messages per queue received ahead of processing, or
+	 * {@code null} if prefetching is disabled
+	 * @since 2.4
+	 */
+	public Integer getMaxPrefetchedMessagesPerQueue() {
+		return this.maxPrefetchedMessagesPerQueue;
+	}
+
+	/**
+	 * Enables prefetching by configuring the maximum number of messages per queue that
+	 * are received ahead of processing. The pollers of a queue then fill a bounded buffer
+	 * independently of the listeners, and a dispatcher hands the buffered messages over
+	 * to the listeners as soon as the in-flight budget of the queue allows it, so that no
+	 * receive round trip lies between two batches. Polling pauses while the buffer is
+	 * full. Buffered messages whose visibility timeout expired are discarded instead of
+	 * being processed; with the {@link #setVisibilityHeartbeatInterval(Integer)
+	 * visibility heartbeat} the visibility of buffered messages is extended as well. The
+	 * in-flight budget is the {@link #setMaxInFlightMessagesPerQueue(Integer) maximum
+	 * number of in-flight messages} or, if not set, the maximum number of messages per
+	 * receive. By default this value is {@code null} and messages are only received when
+	 * they can be processed.
+	 * @param maxPrefetchedMessagesPerQueue the prefetch buffer capacity per queue, must
+	 * be a positive number or {@code null} to disable prefetching
+	 * @since 2.4
+	 */
+	public void setMaxPrefetchedMessagesPerQueue(Integer maxPrefetchedMessagesPerQueue) {
+		Assert.isTrue(maxPrefetchedMessagesPerQueue == null || maxPrefetchedMessagesPerQueue > 0,
+				"maxPrefetchedMessagesPerQueue must be a positive number");
+		this.maxPrefetchedMessagesPerQueue = maxPrefetchedMessagesPerQueue;
+	}
+
+	/**
+	 * @return {@code true} if FIFO queues are polled while previous messages are
+	 * processed
+	 * @since 2.4
+	 */
+	public boolean isFifoPipelinedPolling() {
+		return this.fifoPipelinedPolling;
+	}
+
+	/**
+	 * Configures if FIFO queues are polled while the messages of previous polls are still
+	 * being processed. Messages of a message group received by later polls are then
+	 * appended to the ordered lane of the group and processed once the preceding messages
+	 * of the group completed. The number of messages being processed or waiting in lanes
+	 * is bounded by the {@link #setMaxInFlightMessagesPerQueue(Integer) maximum number of
+	 * in-flight messages} or, if not set, the maximum number of messages per receive. By
+	 * default FIFO queues are only polled again once all messages of the previous poll
+	 * were processed, unless a maximum number of in-flight messages is configured.
+	 * @param fifoPipelinedPolling {@code true} to keep polling FIFO queues while their
+	 * messages are processed
+	 * @since 2.4
+	 */
+	public void setFifoPipelinedPolling(boolean fifoPipelinedPolling) {
+		this.fifoPipelinedPolling = fifoPipelinedPolling;
+	}
+
+	/**
+	 * @return the store the payloads of received messages are retrieved from, or
+	 * {@code null} if payloads are always received with the messages
+	 * @since 2.4
+	 */
+	public S3PayloadStore getPayloadStore() {
+		return this.payloadStore;
+	}
+
+	/**
+	 * Configures the store of large payloads. The body of received messages whose payload
+	 * has been stored in S3 by a messaging template is replaced with the stored payload
+	 * before the message is handed over to the listener method. If the payload cannot be
+	 * retrieved, the message is handled as if the listener method failed. If the store
+	 * {@link S3PayloadStore#setDeleteAfterReceipt(boolean) deletes payloads after
+	 * receipt}, a stored payload is deleted once its message has been deleted from the
+	 * queue. By default no payload store is configured.
+	 * @param payloadStore the payload store to use
+	 * @since 2.4
+	 */
+	public void setPayloadStore(S3PayloadStore payloadStore) {
+		this.payloadStore = payloadStore;
+	}
+
+	/**
+	 * @return the metrics the receive, listener, delete and visibility operations are
+	 * reported to
+	 * @since 2.4
+	 */
+	public MessagingMetrics getMessagingMetrics() {
+		return this.messagingMetrics;
+	}
+
+	/**
+	 * Configures the metrics the container reports its operations to: the latency and
+	 * number of messages of the receive requests, the age of the received messages, the
+	 * number of messages in flight, the latency and outcome of the listener methods and
+	 * the latency and failures of the delete and visibility requests. Use
+	 * {@link io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics} to
+	 * record them with Micrometer. By default no metrics are recorded.
+	 * @param messagingMetrics the metrics to report to
+	 * @since 2.4
+	 */
+	public void setMessagingMetrics(MessagingMetrics messagingMetrics) {
+		Assert.notNull(messagingMetrics, "messagingMetrics must not be null");
+		this.messagingMetrics = messagingMetrics;
+	}
+
+	private int getPollers(QueueAttributes queueAttributes) {
+		return queueAttributes.getPollers() != null ? queueAttributes.getPollers() : this.pollersPerQueue;
+	}
+
+	private Integer getMaxInFlightMessages(QueueAttributes queueAttributes) {
+		return queueAttributes.getMaxConcurrentMessages() != null ? queueAttributes.getMaxConcurrentMessages()
+				: this.maxInFlightMessagesPerQueue;
+	}
+
+	private Long getMaxEmptyReceiveBackOffTime(QueueAttributes queueAttributes) {
+		return queueAttributes.getMaxEmptyReceiveBackOffTime() != null
+				? Long.valueOf(queueAttributes.getMaxEmptyReceiveBackOffTime()) : this.maxEmptyReceiveBackOffTime;
+	}
+
+	private boolean isPipelinedPolling(QueueAttributes queueAttributes) {
+		return getMaxInFlightMessages(queueAttributes) != null
+				|| (this.fifoPipelinedPolling && queueAttributes.isFifo());
+	}
+
+	private boolean isPrefetching() {
+		return this.maxPrefetchedMessagesPerQueue != null;
+	}
+
+	private int getInFlightBudget(QueueAttributes queueAttributes) {
+		Integer maxInFlightMessages = getMaxInFlightMessages(queueAttributes);
+		return maxInFlightMessages != null ? maxInFlightMessages
+				: queueAttributes.getReceiveMessageRequest().getMaxNumberOfMessages();
+	}
+
 	@Override
 	protected void initialize() {
 		super.initialize();
@@ -120,14 +613,109 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 			this.taskExecutor = createDefaultTaskExecutor();
 		}
 
-		initializeRunningStateByQueue();
-		this.scheduledFutureByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
-	}
+		boolean errorVisibilityBackOff = hasErrorVisibilityBackOff();
+		if (this.taskScheduler == null
+				&& (this.deleteMessageBatching || this.visibilityHeartbeatInterval != null || errorVisibilityBackOff)) {
+			this.defaultTaskScheduler = true;
+			this.taskScheduler = createDefaultTaskScheduler();
+		}
+
+		if (this.deleteMessageBatching) {
+			this.deleteMessageBatcher = new DeleteMessageBatcher(getAmazonSqs(), this.taskScheduler,
+					this.deleteMessageBatchWindow, this.messagingMetrics);
+		}
+
+		if (this.visibilityHeartbeatInterval != null) {
+			Integer visibilityTimeout = getVisibilityTimeout();
+			if (visibilityTimeout != null && visibilityTimeout <= this.visibilityHeartbeatInterval) {
+				getLogger().warn(
+						"The visibility heartbeat interval ({}s) should be lower than the visibility timeout ({}s)",
+						this.visibilityHeartbeatInterval, visibilityTimeout);
+			}
+			this.visibilityHeartbeat = new VisibilityHeartbeat(getChangeMessageVisibilityBatcher(), this.taskScheduler,
+					Duration.ofSeconds(this.visibilityHeartbeatInterval),
+					visibilityTimeout != null ? visibilityTimeout : this.visibilityHeartbeatInterval * 2,
+					Duration.ofSeconds(this.visibilityHeartbeatMaxDuration));
+			this.visibilityHeartbeat.start();
+		}
 
-	private void initializeRunningStateByQueue() {
 		this.runningStateByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
-		for (String queueName : getRegisteredQueues().keySet()) {
-			this.runningStateByQueue.put(queueName, false);
+		this.inFlightPermitsByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		this.scheduledFuturesByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		this.pollingControllersByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		this.prefetchBuffersByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		this.messageGroupLanesByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		this.errorVisibilityBackOffsByQueue = new ConcurrentHashMap<>(getRegisteredQueues().size());
+		if (errorVisibilityBackOff) {
+			getChangeMessageVisibilityBatcher();
+		}
+		for (Map.Entry<String, QueueAttributes> registeredQueue : getRegisteredQueues().entrySet()) {
+			initializeQueue(registeredQueue.getKey(), registeredQueue.getValue());
+		}
+	}
+
+	private void initializeQueue(String queueName, QueueAttributes queueAttributes) {
+		this.runningStateByQueue.put(queueName, false);
+		if (isPipelinedPolling(queueAttributes) || isPrefetching()) {
+			this.inFlightPermitsByQueue.put(queueName, new Semaphore(getInFlightBudget(queueAttributes)));
+		}
+		if (queueAttributes.isFifo()) {
+			this.messageGroupLanesByQueue.put(queueName, new MessageGroupLanes());
+		}
+		ErrorVisibilityBackOff queueErrorVisibilityBackOff = getErrorVisibilityBackOff(queueAttributes);
+		if (queueErrorVisibilityBackOff != null) {
+			this.errorVisibilityBackOffsByQueue.put(queueName, queueErrorVisibilityBackOff);
+		}
+	}
+
+	private ChangeMessageVisibilityBatcher getChangeMessageVisibilityBatcher() {
+		if (this.changeMessageVisibilityBatcher == null) {
+			this.changeMessageVisibilityBatcher = new ChangeMessageVisibilityBatcher(getAmazonSqs(), this.taskScheduler,
+					this.changeMessageVisibilityBatchWindow, this.messagingMetrics);
+		}
+		return this.changeMessageVisibilityBatcher;
+	}
+
+	/**
+	 * Checks if the failed messages of any listener method get a visibility back off,
+	 * also for queues that are resolved after the initialization.
+	 */
+	private boolean hasErrorVisibilityBackOff() {
+		if (this.errorVisibilityBackOff != null) {
+			return true;
+		}
+		return getMessageHandler().getHandlerMethods().keySet().stream()
+				.anyMatch(mappingInformation -> mappingInformation.getErrorVisibilityTimeout() != null);
+	}
+
+	private ErrorVisibilityBackOff getErrorVisibilityBackOff(QueueAttributes queueAttributes) {
+		Integer initialVisibilityTimeout = queueAttributes.getErrorVisibilityTimeout();
+		Integer maxVisibilityTimeout = queueAttributes.getMaxErrorVisibilityTimeout();
+		ErrorVisibilityBackOff defaultBackOff = this.errorVisibilityBackOff;
+		if (initialVisibilityTimeout == null && (defaultBackOff == null || maxVisibilityTimeout == null)) {
+			return defaultBackOff;
+		}
+
+		if (initialVisibilityTimeout == null) {
+			initialVisibilityTimeout = Math.min(defaultBackOff.getInitialVisibilityTimeout(), maxVisibilityTimeout);
+		}
+		if (maxVisibilityTimeout == null) {
+			maxVisibilityTimeout = Math.max(initialVisibilityTimeout, defaultBackOff != null
+					? defaultBackOff.getMaxVisibilityTimeout() : ErrorVisibilityBackOff.MAX_VISIBILITY_TIMEOUT);
+		}
+		return new ErrorVisibilityBackOff(initialVisibilityTimeout,
+				defaultBackOff != null ? defaultBackOff.getMultiplier() : ErrorVisibilityBackOff.DEFAULT_MULTIPLIER,
+				maxVisibilityTimeout);
+	}
+
+	@Override
+	protected void queueRegistered(String logicalQueueName, QueueAttributes queueAttributes) {
+		if (this.defaultTaskExecutor) {
+			configureDefaultTaskExecutorConcurrency(this.taskExecutor);
+		}
+		initializeQueue(logicalQueueName, queueAttributes);
+		if (isRunning()) {
+			startQueue(logicalQueueName, queueAttributes);
 		}
 	}
 
@@ -138,10 +726,67 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		}
 	}
 
+	/**
+	 * Stops polling all queues and drains the container: waits for the pollers and then
+	 * for the messages that are still being processed, both within the
+	 * {@link #setQueueStopTimeout(long) queue stop timeout}, and finally flushes the
+	 * pending message deletions. Received messages that will not be processed, like the
+	 * messages of the prefetch buffers, are made visible again right away instead of
+	 * after their visibility timeout.
+	 */
 	@Override
 	protected void doStop() {
+		long deadline = System.currentTimeMillis() + getQueueStopTimeout();
 		notifyRunningQueuesToStop();
 		waitForRunningQueuesToStop();
+		waitForInFlightMessages(deadline);
+		if (this.deleteMessageBatcher != null) {
+			this.deleteMessageBatcher.flush();
+		}
+		if (this.changeMessageVisibilityBatcher != null) {
+			this.changeMessageVisibilityBatcher.flush();
+		}
+	}
+
+	/**
+	 * Returns the number of messages that are being processed by listener methods,
+	 * including asynchronous listener methods whose result did not complete yet.
+	 * @return the number of in-flight messages
+	 * @since 2.4
+	 */
+	protected int getInFlightMessages() {
+		return this.inFlightMessages.get();
+	}
+
+	private void messagesStarted(int messages) {
+		this.inFlightMessages.addAndGet(messages);
+	}
+
+	private void messageCompleted() {
+		if (this.inFlightMessages.decrementAndGet() == 0) {
+			synchronized (this.inFlightMessagesMonitor) {
+				this.inFlightMessagesMonitor.notifyAll();
+			}
+		}
+	}
+
+	private void waitForInFlightMessages(long deadline) {
+		synchronized (this.inFlightMessagesMonitor) {
+			try {
+				while (this.inFlightMessages.get() > 0) {
+					long remainingTime = deadline - System.currentTimeMillis();
+					if (remainingTime <= 0) {
+						getLogger().warn("Stopped container with {} messages still being processed",
+								this.inFlightMessages.get());
+						return;
+					}
+					this.inFlightMessagesMonitor.wait(remainingTime);
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	private void notifyRunningQueuesToStop() {
@@ -155,11 +800,11 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	private void waitForRunningQueuesToStop() {
 		for (Map.Entry<String, Boolean> queueRunningState : this.runningStateByQueue.entrySet()) {
 			String logicalQueueName = queueRunningState.getKey();
-			Future<?> queueSpinningThread = this.scheduledFutureByQueue.get(logicalQueueName);
+			List<Future<?>> queueSpinningThreads = this.scheduledFuturesByQueue.get(logicalQueueName);
 
-			if (queueSpinningThread != null) {
+			if (queueSpinningThreads != null) {
 				try {
-					queueSpinningThread.get(getQueueStopTimeout(), TimeUnit.MILLISECONDS);
+					waitForSpinningThreads(queueSpinningThreads);
 				}
 				catch (ExecutionException | TimeoutException e) {
 					getLogger().warn("An exception occurred while stopping queue '" + logicalQueueName + "'", e);
@@ -171,11 +816,48 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		}
 	}
 
+	private void waitForSpinningThreads(List<Future<?>> spinningThreads)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		long deadline = System.currentTimeMillis() + getQueueStopTimeout();
+		for (Future<?> spinningThread : spinningThreads) {
+			spinningThread.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		}
+	}
+
 	@Override
 	protected void doDestroy() {
-		if (this.defaultTaskExecutor) {
+		if (this.deleteMessageBatcher != null) {
+			// Deletions of messages that completed after the container stopped
+			this.deleteMessageBatcher.flush();
+		}
+		if (this.changeMessageVisibilityBatcher != null) {
+			this.changeMessageVisibilityBatcher.flush();
+		}
+		if (this.defaultTaskExecutor && this.taskExecutor instanceof ThreadPoolTaskExecutor) {
 			((ThreadPoolTaskExecutor) this.taskExecutor).destroy();
 		}
+		if (this.visibilityHeartbeat != null) {
+			this.visibilityHeartbeat.stop();
+		}
+		if (this.defaultTaskScheduler) {
+			((ThreadPoolTaskScheduler) this.taskScheduler).destroy();
+		}
+	}
+
+	/**
+	 * Create a default TaskScheduler. Called if a feature requiring a scheduler is
+	 * enabled and no explicit TaskScheduler has been specified.
+	 * @return a single threaded {@link ThreadPoolTaskScheduler} using the bean name (or
+	 * the class name, if no bean name specified) as thread name prefix
+	 * @since 2.4
+	 */
+	protected TaskScheduler createDefaultTaskScheduler() {
+		String beanName = getBeanName();
+		ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+		threadPoolTaskScheduler
+				.setThreadNamePrefix((beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX) + "scheduler-");
+		threadPoolTaskScheduler.initialize();
+		return threadPoolTaskScheduler;
 	}
 
 	/**
@@ -185,33 +867,102 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	 * The default implementation builds a
 	 * {@link org.springframework.core.task.SimpleAsyncTaskExecutor} with the specified
 	 * bean name (or the class name, if no bean name specified) as thread name prefix.
+	 * When {@link #setVirtualThreads(boolean) virtual threads} are enabled and supported
+	 * by the runtime, the executor creates a virtual thread per task.
 	 * @return a {@link org.springframework.core.task.SimpleAsyncTaskExecutor} configured
 	 * with the thread name prefix
 	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#SimpleAsyncTaskExecutor(String)
 	 */
 	protected AsyncTaskExecutor createDefaultTaskExecutor() {
 		String beanName = getBeanName();
-		ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
-		threadPoolTaskExecutor.setThreadNamePrefix(beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX);
-		int spinningThreads = this.getRegisteredQueues().size();
-
-		if (spinningThreads > 0) {
-			threadPoolTaskExecutor.setCorePoolSize(spinningThreads * DEFAULT_WORKER_THREADS);
-
-			int maxNumberOfMessagePerBatch = getMaxNumberOfMessages() != null ? getMaxNumberOfMessages()
-					: DEFAULT_MAX_NUMBER_OF_MESSAGES;
-			threadPoolTaskExecutor.setMaxPoolSize(spinningThreads * (maxNumberOfMessagePerBatch + 1));
+		String threadNamePrefix = beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX;
+		if (this.virtualThreads) {
+			ThreadFactory virtualThreadFactory = createVirtualThreadFactory(threadNamePrefix);
+			if (virtualThreadFactory != null) {
+				SimpleAsyncTaskExecutor virtualThreadTaskExecutor = new SimpleAsyncTaskExecutor(virtualThreadFactory);
+				configureDefaultTaskExecutorConcurrency(virtualThreadTaskExecutor);
+				return virtualThreadTaskExecutor;
+			}
+			getLogger().warn("Virtual threads are not supported by the current Java runtime, "
+					+ "falling back to a thread pool for container '{}'", beanName);
 		}
 
+		ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+		threadPoolTaskExecutor.setThreadNamePrefix(threadNamePrefix);
+		configureDefaultTaskExecutorConcurrency(threadPoolTaskExecutor);
+
 		// No use of a thread pool executor queue to avoid retaining message to long in
 		// memory
 		threadPoolTaskExecutor.setQueueCapacity(0);
+		// Listener methods that did not complete while the container was stopped are not
+		// interrupted when the container is destroyed
+		threadPoolTaskExecutor.setWaitForTasksToCompleteOnShutdown(true);
 		threadPoolTaskExecutor.afterPropertiesSet();
 
 		return threadPoolTaskExecutor;
 
 	}
 
+	/**
+	 * Sizes the default task executor for the pollers and listener methods of the
+	 * registered queues. With {@link #setDeferredQueueResolution(boolean) deferred queue
+	 * resolution} no queue is registered when the executor is created, so it is sized
+	 * again every time a queue has been registered.
+	 * @param taskExecutor the default task executor
+	 */
+	private void configureDefaultTaskExecutorConcurrency(AsyncTaskExecutor taskExecutor) {
+		int maxNumberOfMessagePerBatch = getMaxNumberOfMessages() != null ? getMaxNumberOfMessages()
+				: DEFAULT_MAX_NUMBER_OF_MESSAGES;
+		int spinningThreads = 0;
+		int workerThreads = 0;
+		for (QueueAttributes queueAttributes : this.getRegisteredQueues().values()) {
+			int pollers = getPollers(queueAttributes);
+			spinningThreads += isPrefetching() ? pollers + 1 : pollers;
+			workerThreads += isPipelinedPolling(queueAttributes) || isPrefetching() ? getInFlightBudget(queueAttributes)
+					: pollers * maxNumberOfMessagePerBatch;
+		}
+		if (spinningThreads == 0) {
+			return;
+		}
+
+		if (taskExecutor instanceof SimpleAsyncTaskExecutor) {
+			((SimpleAsyncTaskExecutor) taskExecutor).setConcurrencyLimit(spinningThreads + workerThreads);
+		}
+		else if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+			ThreadPoolTaskExecutor threadPoolTaskExecutor = (ThreadPoolTaskExecutor) taskExecutor;
+			// The pool only grows with the registered queues, so the maximum pool size is
+			// raised before the core pool size
+			threadPoolTaskExecutor.setMaxPoolSize(spinningThreads + workerThreads);
+			threadPoolTaskExecutor.setCorePoolSize(
+					Math.min(spinningThreads * DEFAULT_WORKER_THREADS, spinningThreads + workerThreads));
+		}
+	}
+
+	/**
+	 * Creates a factory for virtual threads using reflection, as virtual threads are only
+	 * available on Java 21 and later.
+	 * @param threadNamePrefix the prefix of the thread names
+	 * @return the thread factory or {@code null} if virtual threads are not supported
+	 */
+	private static ThreadFactory createVirtualThreadFactory(String threadNamePrefix) {
+		Method ofVirtual = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+		if (ofVirtual == null) {
+			return null;
+		}
+
+		try {
+			Object builder = ofVirtual.invoke(null);
+			Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder",
+					SimpleMessageListenerContainer.class.getClassLoader());
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			// Virtual threads are a preview feature on Java 19 and 20
+			return null;
+		}
+	}
+
 	private void scheduleMessageListeners() {
 		for (Map.Entry<String, QueueAttributes> registeredQueue : getRegisteredQueues().entrySet()) {
 			startQueue(registeredQueue.getKey(), registeredQueue.getValue());
@@ -223,7 +974,37 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	}
 
 	/**
-	 * Stops and waits until the specified queue has stopped. If the wait timeout
+	 * Hands a batch of messages over to a batch listener method. The payload of the batch
+	 * message is the list of messages received for the queue.
+	 * @param batchMessage the message containing the batch
+	 * @since 2.4
+	 * @see io.awspring.cloud.messaging.listener.annotation.SqsListener#batch()
+	 */
+	protected void executeMessageBatch(
+			org.springframework.messaging.Message<List<org.springframework.messaging.Message<String>>> batchMessage) {
+		getMessageHandler().handleMessage(batchMessage);
+	}
+
+	/**
+	 * Continues the processing of messages once an asynchronous listener method
+	 * completed. The continuation runs on a thread of the task executor instead of the
+	 * thread that completed the stage, or on the latter if the task executor rejects it.
+	 */
+	private void executeContinuation(Runnable continuation) {
+		try {
+			getTaskExecutor().execute(continuation);
+		}
+		catch (TaskRejectedException e) {
+			continuation.run();
+		}
+	}
+
+	private static boolean isSuccessful(Boolean successful, Throwable exception) {
+		return exception == null && Boolean.TRUE.equals(successful);
+	}
+
+	/**
+	 * Stops and waits until the specified queue has stopped. If the wait timeout
 	 * specified by {@link SimpleMessageListenerContainer#getQueueStopTimeout()} is
 	 * reached, the current thread is interrupted.
 	 * @param logicalQueueName the name as defined on the listener method
@@ -233,9 +1014,9 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 
 		try {
 			if (isRunning(logicalQueueName)) {
-				Future<?> future = this.scheduledFutureByQueue.remove(logicalQueueName);
-				if (future != null) {
-					future.get(this.queueStopTimeout, TimeUnit.MILLISECONDS);
+				List<Future<?>> futures = this.scheduledFuturesByQueue.remove(logicalQueueName);
+				if (futures != null) {
+					waitForSpinningThreads(futures);
 				}
 			}
 		}
@@ -251,6 +1032,19 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		Assert.isTrue(this.runningStateByQueue.containsKey(logicalQueueName),
 				"Queue with name '" + logicalQueueName + "' does not exist");
 		this.runningStateByQueue.put(logicalQueueName, false);
+		AdaptivePollingController pollingController = this.pollingControllersByQueue.remove(logicalQueueName);
+		if (pollingController != null) {
+			pollingController.stop();
+		}
+		PrefetchBuffer prefetchBuffer = this.prefetchBuffersByQueue.remove(logicalQueueName);
+		if (prefetchBuffer != null) {
+			List<Message> prefetchedMessages = prefetchBuffer.close();
+			prefetchedMessages.forEach(message -> untrackVisibility(message.getReceiptHandle()));
+			QueueAttributes queueAttributes = getRegisteredQueues().get(logicalQueueName);
+			if (queueAttributes != null) {
+				resetVisibility(queueAttributes.getReceiveMessageRequest().getQueueUrl(), prefetchedMessages);
+			}
+		}
 	}
 
 	public void start(String logicalQueueName) {
@@ -262,15 +1056,15 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 	}
 
 	/**
-	 * Checks if the spinning thread for the specified queue {@code logicalQueueName} is
+	 * Checks if a spinning thread for the specified queue {@code logicalQueueName} is
 	 * still running (polling for new messages) or not.
 	 * @param logicalQueueName the name as defined on the listener method
-	 * @return {@code true} if the spinning thread for the specified queue is running
+	 * @return {@code true} if a spinning thread for the specified queue is running
 	 * otherwise {@code false}.
 	 */
 	public boolean isRunning(String logicalQueueName) {
-		Future<?> future = this.scheduledFutureByQueue.get(logicalQueueName);
-		return future != null && !future.isCancelled() && !future.isDone();
+		List<Future<?>> futures = this.scheduledFuturesByQueue.get(logicalQueueName);
+		return futures != null && futures.stream().anyMatch(future -> !future.isCancelled() && !future.isDone());
 	}
 
 	protected void startQueue(String queueName, QueueAttributes queueAttributes) {
@@ -279,8 +1073,29 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		}
 
 		this.runningStateByQueue.put(queueName, true);
-		Future<?> future = getTaskExecutor().submit(new AsynchronousMessageListener(queueName, queueAttributes));
-		this.scheduledFutureByQueue.put(queueName, future);
+		int pollers = getPollers(queueAttributes);
+		Long maxBackOffTime = getMaxEmptyReceiveBackOffTime(queueAttributes);
+		AdaptivePollingController pollingController = null;
+		if (maxBackOffTime != null) {
+			pollingController = new AdaptivePollingController(pollers, maxBackOffTime);
+			this.pollingControllersByQueue.put(queueName, pollingController);
+		}
+		PrefetchBuffer prefetchBuffer = null;
+		if (isPrefetching()) {
+			prefetchBuffer = new PrefetchBuffer(this.maxPrefetchedMessagesPerQueue,
+					this.visibilityHeartbeat == null ? getVisibilityTimeout() : null);
+			this.prefetchBuffersByQueue.put(queueName, prefetchBuffer);
+		}
+		List<Future<?>> futures = new ArrayList<>(pollers + 1);
+		for (int i = 0; i < pollers; i++) {
+			futures.add(getTaskExecutor().submit(
+					new AsynchronousMessageListener(queueName, queueAttributes, i, pollingController, prefetchBuffer)));
+		}
+		if (prefetchBuffer != null) {
+			futures.add(getTaskExecutor()
+					.submit(new PrefetchedMessageDispatcher(queueName, queueAttributes, prefetchBuffer)));
+		}
+		this.scheduledFuturesByQueue.put(queueName, futures);
 	}
 
 	protected boolean isQueueRunning(String logicalQueueName) {
@@ -293,24 +1108,181 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 		}
 	}
 
+	/**
+	 * Hands received messages that hold in-flight permits over to the task executor
+	 * without waiting for their completion. The messages of a FIFO queue are appended to
+	 * the lane of their message group, so that the groups are processed concurrently
+	 * while the messages of a group are processed in order, also across polls.
+	 */
+	private void dispatchMessages(String logicalQueueName, QueueAttributes queueAttributes, List<Message> messages,
+			Semaphore inFlightPermits) throws InterruptedException {
+		MessageGroupLanes messageGroupLanes = this.messageGroupLanesByQueue.get(logicalQueueName);
+		for (MessageGroup messageGroup : groupMessages(queueAttributes, messages)) {
+			if (!isQueueRunning(logicalQueueName)) {
+				releaseMessages(messageGroup.getMessages(), inFlightPermits);
+				resetVisibility(queueAttributes.getReceiveMessageRequest().getQueueUrl(), messageGroup.getMessages());
+				continue;
+			}
+
+			Runnable messageGroupExecutor;
+			String messageGroupId = null;
+			if (messageGroupLanes != null) {
+				messageGroupId = getMessageGroupId(messageGroup.getMessages().get(0));
+				String queueUrl = queueAttributes.getReceiveMessageRequest().getQueueUrl();
+				messageGroup.getMessages().forEach(message -> trackVisibility(queueUrl, message.getReceiptHandle()));
+				if (!messageGroupLanes.offer(messageGroupId, messageGroup.getMessages())) {
+					continue;
+				}
+				messageGroupExecutor = new MessageGroupLaneExecutor(logicalQueueName, messageGroupId, messageGroup,
+						queueAttributes, inFlightPermits, messageGroupLanes);
+			}
+			else {
+				messageGroupExecutor = new MessageGroupExecutor(logicalQueueName, messageGroup, queueAttributes,
+						inFlightPermits);
+			}
+
+			try {
+				executeInFlight(logicalQueueName, messageGroupExecutor);
+			}
+			catch (RuntimeException | InterruptedException e) {
+				releaseMessages(messageGroup.getMessages(), inFlightPermits);
+				if (messageGroupId != null) {
+					releaseMessages(messageGroupLanes.close(messageGroupId), inFlightPermits);
+				}
+				throw e;
+			}
+		}
+	}
+
+	private void releaseMessages(List<Message> messages, Semaphore inFlightPermits) {
+		messages.forEach(message -> untrackVisibility(message.getReceiptHandle()));
+		inFlightPermits.release(messages.size());
+	}
+
+	private static String getMessageGroupId(Message message) {
+		return message.getAttributes().get(MessageSystemAttributeName.MessageGroupId.name());
+	}
+
+	/**
+	 * Executes a task whose messages already hold in-flight permits. A message returns
+	 * its permit shortly before its worker thread becomes available again, so a rejected
+	 * task is retried until a worker thread is available or the queue is stopped.
+	 */
+	private void executeInFlight(String logicalQueueName, Runnable task) throws InterruptedException {
+		while (true) {
+			try {
+				getTaskExecutor().execute(task);
+				return;
+			}
+			catch (TaskRejectedException e) {
+				if (!isQueueRunning(logicalQueueName)) {
+					throw e;
+				}
+				// noinspection BusyWait
+				Thread.sleep(TASK_REJECTED_RETRY_DELAY);
+			}
+		}
+	}
+
+	private List<MessageGroup> groupMessages(QueueAttributes queueAttributes, List<Message> messages) {
+		if (queueAttributes.isFifo()) {
+			return groupByMessageGroupId(messages);
+		}
+		if (queueAttributes.isBatch()) {
+			return messages.isEmpty() ? Collections.emptyList() : Collections.singletonList(new MessageGroup(messages));
+		}
+		return groupByMessage(messages);
+	}
+
+	private static List<MessageGroup> groupByMessageGroupId(List<Message> messages) {
+		return messages
+				.stream().collect(Collectors.groupingBy(SimpleMessageListenerContainer::getMessageGroupId,
+						LinkedHashMap::new, Collectors.toList()))
+				.values().stream().map(MessageGroup::new).collect(Collectors.toList());
+	}
+
+	private static List<MessageGroup> groupByMessage(List<Message> messages) {
+		return messages.stream().map(MessageGroup::new).collect(Collectors.toList());
+	}
+
+	private void trackVisibility(String queueUrl, String receiptHandle) {
+		if (this.visibilityHeartbeat != null) {
+			this.visibilityHeartbeat.track(queueUrl, receiptHandle);
+		}
+	}
+
+	private void untrackVisibility(String receiptHandle) {
+		if (this.visibilityHeartbeat != null) {
+			this.visibilityHeartbeat.untrack(receiptHandle);
+		}
+	}
+
+	/**
+	 * Makes received messages that will not be processed because their queue has been
+	 * stopped visible again, so that they can be received by other consumers right away
+	 * instead of after their visibility timeout.
+	 */
+	private void resetVisibility(String queueUrl, List<Message> messages) {
+		for (int start = 0; start < messages.size(); start += MAX_VISIBILITY_BATCH_SIZE) {
+			List<Message> batch = messages.subList(start, Math.min(start + MAX_VISIBILITY_BATCH_SIZE, messages.size()));
+			List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(batch.size());
+			for (int i = 0; i < batch.size(); i++) {
+				entries.add(
+						new ChangeMessageVisibilityBatchRequestEntry(String.valueOf(i), batch.get(i).getReceiptHandle())
+								.withVisibilityTimeout(0));
+			}
+			long startTime = System.nanoTime();
+			getAmazonSqs().changeMessageVisibilityBatchAsync(new ChangeMessageVisibilityBatchRequest(queueUrl, entries),
+					new AsyncHandler<ChangeMessageVisibilityBatchRequest, ChangeMessageVisibilityBatchResult>() {
+
+						@Override
+						public void onError(Exception exception) {
+							getMessagingMetrics().recordVisibilityChange(queueUrl, System.nanoTime() - startTime,
+									entries.size(), entries.size());
+							getLogger().debug(
+									"The visibility of {} unprocessed messages of queue '{}' could not be " + "reset",
+									entries.size(), queueUrl, exception);
+						}
+
+						@Override
+						public void onSuccess(ChangeMessageVisibilityBatchRequest request,
+								ChangeMessageVisibilityBatchResult result) {
+							getMessagingMetrics().recordVisibilityChange(queueUrl, System.nanoTime() - startTime,
+									entries.size(), result.getFailed().size());
+						}
+
+					});
+		}
+	}
+
+	/**
+	 * Signals the completion of a message group, which for asynchronous listener methods
+	 * is when their stages completed, without waiting for it.
+	 */
 	private static final class SignalExecutingRunnable implements Runnable {
 
 		private final CountDownLatch countDownLatch;
 
-		private final Runnable runnable;
+		private final MessageGroupExecutor messageGroupExecutor;
 
-		private SignalExecutingRunnable(CountDownLatch endSignal, Runnable runnable) {
+		private SignalExecutingRunnable(CountDownLatch endSignal, MessageGroupExecutor messageGroupExecutor) {
 			this.countDownLatch = endSignal;
-			this.runnable = runnable;
+			this.messageGroupExecutor = messageGroupExecutor;
 		}
 
 		@Override
 		public void run() {
+			CompletableFuture<Boolean> completion = null;
 			try {
-				this.runnable.run();
+				completion = this.messageGroupExecutor.process();
 			}
 			finally {
-				this.countDownLatch.countDown();
+				if (completion != null) {
+					completion.whenComplete((successful, exception) -> this.countDownLatch.countDown());
+				}
+				else {
+					this.countDownLatch.countDown();
+				}
 			}
 		}
 
@@ -322,39 +1294,43 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 
 		private final String logicalQueueName;
 
-		private AsynchronousMessageListener(String logicalQueueName, QueueAttributes queueAttributes) {
+		private final int pollerIndex;
+
+		private final AdaptivePollingController pollingController;
+
+		private final PrefetchBuffer prefetchBuffer;
+
+		private AsynchronousMessageListener(String logicalQueueName, QueueAttributes queueAttributes, int pollerIndex,
+				AdaptivePollingController pollingController, PrefetchBuffer prefetchBuffer) {
 			this.logicalQueueName = logicalQueueName;
 			this.queueAttributes = queueAttributes;
+			this.pollerIndex = pollerIndex;
+			this.pollingController = pollingController;
+			this.prefetchBuffer = prefetchBuffer;
 		}
 
 		@Override
 		public void run() {
 			while (isQueueRunning(this.logicalQueueName)) {
 				try {
-					ReceiveMessageResult receiveMessageResult = getAmazonSqs()
-							.receiveMessage(this.queueAttributes.getReceiveMessageRequest());
-
-					final List<MessageGroup> messageGroups = queueAttributes.isFifo()
-							? groupByMessageGroupId(receiveMessageResult) : groupByMessage(receiveMessageResult);
-					CountDownLatch messageBatchLatch = new CountDownLatch(messageGroups.size());
-					for (MessageGroup messageGroup : messageGroups) {
-						if (isQueueRunning(this.logicalQueueName)) {
-							MessageGroupExecutor messageGroupExecutor = new MessageGroupExecutor(this.logicalQueueName,
-									messageGroup, this.queueAttributes);
-							getTaskExecutor()
-									.execute(new SignalExecutingRunnable(messageBatchLatch, messageGroupExecutor));
-						}
-						else {
-							messageBatchLatch.countDown();
-						}
+					if (this.pollingController != null && !this.pollingController.awaitActivation(this.pollerIndex,
+							IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT)) {
+						continue;
 					}
-					try {
-						messageBatchLatch.await();
+					if (this.prefetchBuffer != null) {
+						pollAndBuffer();
 					}
-					catch (InterruptedException e) {
-						Thread.currentThread().interrupt();
+					else if (isPipelinedPolling(this.queueAttributes)) {
+						pollAndDispatch();
+					}
+					else {
+						pollAndAwaitCompletion();
 					}
 				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
 				catch (Exception e) {
 					getLogger().warn("An Exception occurred while polling queue '{}'. The failing operation will be "
 							+ "retried in {} milliseconds", this.logicalQueueName, getBackOffTime(), e);
@@ -367,19 +1343,230 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 					}
 				}
 			}
+		}
+
+		private void pollAndAwaitCompletion() throws InterruptedException {
+			ReceiveMessageRequest receiveMessageRequest = this.queueAttributes.getReceiveMessageRequest();
+			ReceiveMessageResult receiveMessageResult = receiveMessages(receiveMessageRequest);
+			long backOffTime = receiveCompleted(receiveMessageRequest.getMaxNumberOfMessages(), receiveMessageResult);
+
+			final List<MessageGroup> messageGroups = groupMessages(this.queueAttributes,
+					receiveMessageResult.getMessages());
+			CountDownLatch messageBatchLatch = new CountDownLatch(messageGroups.size());
+			List<Message> unprocessedMessages = new ArrayList<>();
+			for (MessageGroup messageGroup : messageGroups) {
+				if (isQueueRunning(this.logicalQueueName)) {
+					MessageGroupExecutor messageGroupExecutor = new MessageGroupExecutor(this.logicalQueueName,
+							messageGroup, this.queueAttributes);
+					getTaskExecutor().execute(new SignalExecutingRunnable(messageBatchLatch, messageGroupExecutor));
+				}
+				else {
+					unprocessedMessages.addAll(messageGroup.getMessages());
+					messageBatchLatch.countDown();
+				}
+			}
+			resetVisibility(receiveMessageRequest.getQueueUrl(), unprocessedMessages);
+			try {
+				messageBatchLatch.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			backOff(backOffTime);
+		}
+
+		/**
+		 * Polls the queue once the in-flight budget allows a complete batch and hands the
+		 * received messages over to the task executor without waiting for their
+		 * completion. Each message returns its permit once processed, which for listener
+		 * methods returning a {@link CompletionStage} is when the stage completes. FIFO
+		 * queues are polled as soon as one permit is available, so that the messages of a
+		 * slow message group do not hold back the other groups.
+		 */
+		private void pollAndDispatch() throws InterruptedException {
+			Semaphore inFlightPermits = SimpleMessageListenerContainer.this.inFlightPermitsByQueue
+					.get(this.logicalQueueName);
+			ReceiveMessageRequest receiveMessageRequest = this.queueAttributes.getReceiveMessageRequest();
+			int maxMessages = Math.min(receiveMessageRequest.getMaxNumberOfMessages(),
+					getInFlightBudget(this.queueAttributes));
+			int requestedMessages = this.queueAttributes.isFifo() ? 1 : maxMessages;
+			if (!inFlightPermits.tryAcquire(requestedMessages, IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT,
+					TimeUnit.MILLISECONDS)) {
+				return;
+			}
+			while (requestedMessages < maxMessages && inFlightPermits.tryAcquire()) {
+				requestedMessages++;
+			}
+
+			ReceiveMessageResult receiveMessageResult;
+			try {
+				receiveMessageResult = receiveMessages(
+						receiveMessageRequest.clone().withMaxNumberOfMessages(requestedMessages));
+			}
+			catch (RuntimeException e) {
+				inFlightPermits.release(requestedMessages);
+				throw e;
+			}
+			inFlightPermits.release(requestedMessages - receiveMessageResult.getMessages().size());
+			long backOffTime = receiveCompleted(requestedMessages, receiveMessageResult);
+
+			dispatchMessages(this.logicalQueueName, this.queueAttributes, receiveMessageResult.getMessages(),
+					inFlightPermits);
+			backOff(backOffTime);
+		}
+
+		/**
+		 * Polls the queue once the prefetch buffer has free capacity and adds the
+		 * received messages to the buffer, from where the
+		 * {@link PrefetchedMessageDispatcher} hands them over to the listeners.
+		 */
+		private void pollAndBuffer() throws InterruptedException {
+			ReceiveMessageRequest receiveMessageRequest = this.queueAttributes.getReceiveMessageRequest();
+			int requestedMessages = this.prefetchBuffer.reserve(receiveMessageRequest.getMaxNumberOfMessages(),
+					IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT);
+			if (requestedMessages == 0) {
+				return;
+			}
+
+			ReceiveMessageResult receiveMessageResult;
+			try {
+				receiveMessageResult = receiveMessages(
+						receiveMessageRequest.clone().withMaxNumberOfMessages(requestedMessages));
+			}
+			catch (RuntimeException e) {
+				this.prefetchBuffer.add(Collections.emptyList(), requestedMessages);
+				throw e;
+			}
+			for (Message message : receiveMessageResult.getMessages()) {
+				trackVisibility(receiveMessageRequest.getQueueUrl(), message.getReceiptHandle());
+			}
+			if (!this.prefetchBuffer.add(receiveMessageResult.getMessages(), requestedMessages)) {
+				receiveMessageResult.getMessages().forEach(message -> untrackVisibility(message.getReceiptHandle()));
+				resetVisibility(receiveMessageRequest.getQueueUrl(), receiveMessageResult.getMessages());
+				return;
+			}
+			backOff(receiveCompleted(requestedMessages, receiveMessageResult));
+		}
 
-			SimpleMessageListenerContainer.this.scheduledFutureByQueue.remove(this.logicalQueueName);
+		private ReceiveMessageResult receiveMessages(ReceiveMessageRequest receiveMessageRequest) {
+			MessagingMetrics metrics = getMessagingMetrics();
+			String queueUrl = receiveMessageRequest.getQueueUrl();
+			long startTime = System.nanoTime();
+			ReceiveMessageResult receiveMessageResult;
+			try {
+				receiveMessageResult = getAmazonSqs().receiveMessage(receiveMessageRequest);
+			}
+			catch (RuntimeException e) {
+				metrics.recordReceive(queueUrl, System.nanoTime() - startTime, 0, false);
+				throw e;
+			}
+			List<Message> messages = receiveMessageResult.getMessages();
+			metrics.recordReceive(queueUrl, System.nanoTime() - startTime, messages.size(), true);
+			if (metrics != MessagingMetrics.NONE && !messages.isEmpty()) {
+				long receiveTime = System.currentTimeMillis();
+				for (Message message : messages) {
+					String timestamp = message.getAttributes().get(SqsMessageHeaders.SQS_SENT_TIMESTAMP);
+					if (timestamp == null) {
+						timestamp = message.getAttributes()
+								.get(SqsMessageHeaders.SQS_APPROXIMATE_FIRST_RECEIVE_TIMESTAMP);
+					}
+					if (timestamp != null) {
+						metrics.recordMessageAge(queueUrl, receiveTime - Long.parseLong(timestamp));
+					}
+				}
+			}
+			return receiveMessageResult;
 		}
 
-		private List<MessageGroup> groupByMessageGroupId(final ReceiveMessageResult receiveMessageResult) {
-			return receiveMessageResult.getMessages().stream()
-					.collect(Collectors.groupingBy(
-							message -> message.getAttributes().get(MessageSystemAttributeName.MessageGroupId.name())))
-					.values().stream().map(MessageGroup::new).collect(Collectors.toList());
+		private long receiveCompleted(int requestedMessages, ReceiveMessageResult receiveMessageResult) {
+			if (this.pollingController == null) {
+				return 0;
+			}
+			return this.pollingController.receiveCompleted(requestedMessages,
+					receiveMessageResult.getMessages().size());
 		}
 
-		private List<MessageGroup> groupByMessage(final ReceiveMessageResult receiveMessageResult) {
-			return receiveMessageResult.getMessages().stream().map(MessageGroup::new).collect(Collectors.toList());
+		private void backOff(long backOffTime) throws InterruptedException {
+			if (this.pollingController != null) {
+				this.pollingController.backOff(backOffTime);
+			}
+		}
+
+	}
+
+	/**
+	 * Hands the messages of a prefetch buffer over to the listeners, as many as the
+	 * in-flight budget of the queue allows.
+	 */
+	private final class PrefetchedMessageDispatcher implements Runnable {
+
+		private final String logicalQueueName;
+
+		private final QueueAttributes queueAttributes;
+
+		private final PrefetchBuffer prefetchBuffer;
+
+		private PrefetchedMessageDispatcher(String logicalQueueName, QueueAttributes queueAttributes,
+				PrefetchBuffer prefetchBuffer) {
+			this.logicalQueueName = logicalQueueName;
+			this.queueAttributes = queueAttributes;
+			this.prefetchBuffer = prefetchBuffer;
+		}
+
+		@Override
+		public void run() {
+			while (isQueueRunning(this.logicalQueueName)) {
+				try {
+					dispatch();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+				catch (RuntimeException e) {
+					getLogger().warn(
+							"An Exception occurred while dispatching prefetched messages of queue '{}'. "
+									+ "The failing operation will be retried in {} milliseconds",
+							this.logicalQueueName, getBackOffTime(), e);
+					try {
+						// noinspection BusyWait
+						Thread.sleep(getBackOffTime());
+					}
+					catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}
+
+		private void dispatch() throws InterruptedException {
+			Semaphore inFlightPermits = SimpleMessageListenerContainer.this.inFlightPermitsByQueue
+					.get(this.logicalQueueName);
+			if (!inFlightPermits.tryAcquire(IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+			int permits = 1;
+			int maxMessages = this.queueAttributes.getReceiveMessageRequest().getMaxNumberOfMessages();
+			while (permits < maxMessages && inFlightPermits.tryAcquire()) {
+				permits++;
+			}
+
+			List<Message> expiredMessages = new ArrayList<>();
+			List<Message> messages;
+			try {
+				messages = this.prefetchBuffer.take(permits, IN_FLIGHT_PERMITS_ACQUIRE_TIMEOUT, expiredMessages);
+			}
+			finally {
+				for (Message expiredMessage : expiredMessages) {
+					getLogger().debug(
+							"Discarding prefetched message '{}' of queue '{}' as its visibility timeout expired",
+							expiredMessage.getMessageId(), this.logicalQueueName);
+					untrackVisibility(expiredMessage.getReceiptHandle());
+				}
+			}
+			inFlightPermits.release(permits - messages.size());
+
+			dispatchMessages(this.logicalQueueName, this.queueAttributes, messages, inFlightPermits);
 		}
 
 	}
@@ -402,6 +1589,94 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 
 	}
 
+	/**
+	 * Processes the lane of a FIFO message group: the messages the lane was opened with
+	 * and then the messages appended to it, until the lane is empty or a message failed.
+	 * The remaining messages of a failed lane are released without being processed and
+	 * become visible again once their visibility timeout expired.
+	 */
+	private final class MessageGroupLaneExecutor implements Runnable {
+
+		private final String logicalQueueName;
+
+		private final String messageGroupId;
+
+		private final MessageGroup messageGroup;
+
+		private final QueueAttributes queueAttributes;
+
+		private final Semaphore inFlightPermits;
+
+		private final MessageGroupLanes messageGroupLanes;
+
+		private MessageGroupLaneExecutor(String logicalQueueName, String messageGroupId, MessageGroup messageGroup,
+				QueueAttributes queueAttributes, Semaphore inFlightPermits, MessageGroupLanes messageGroupLanes) {
+			this.logicalQueueName = logicalQueueName;
+			this.messageGroupId = messageGroupId;
+			this.messageGroup = messageGroup;
+			this.queueAttributes = queueAttributes;
+			this.inFlightPermits = inFlightPermits;
+			this.messageGroupLanes = messageGroupLanes;
+		}
+
+		@Override
+		public void run() {
+			processLane(this.messageGroup);
+		}
+
+		/**
+		 * Processes the message groups of the lane one after another. A message group
+		 * whose asynchronous listener methods did not complete yet is not waited for, the
+		 * lane is continued once they completed.
+		 */
+		private void processLane(MessageGroup messageGroup) {
+			MessageGroup nextMessageGroup = messageGroup;
+			while (nextMessageGroup != null) {
+				if (!isQueueRunning(this.logicalQueueName)) {
+					List<Message> unprocessedMessages = new ArrayList<>(nextMessageGroup.getMessages());
+					unprocessedMessages.addAll(this.messageGroupLanes.close(this.messageGroupId));
+					releaseMessages(unprocessedMessages, this.inFlightPermits);
+					resetVisibility(this.queueAttributes.getReceiveMessageRequest().getQueueUrl(), unprocessedMessages);
+					return;
+				}
+
+				CompletableFuture<Boolean> completion;
+				try {
+					completion = new MessageGroupExecutor(this.logicalQueueName, nextMessageGroup, this.queueAttributes,
+							this.inFlightPermits).process();
+				}
+				catch (RuntimeException e) {
+					releaseMessages(this.messageGroupLanes.close(this.messageGroupId), this.inFlightPermits);
+					throw e;
+				}
+				if (!completion.isDone()) {
+					completion.handleAsync(SimpleMessageListenerContainer::isSuccessful,
+							SimpleMessageListenerContainer.this::executeContinuation).thenAccept(successful -> {
+								MessageGroup next = nextMessageGroup(successful);
+								if (next != null) {
+									processLane(next);
+								}
+							});
+					return;
+				}
+				nextMessageGroup = nextMessageGroup(
+						completion.handle(SimpleMessageListenerContainer::isSuccessful).join());
+			}
+		}
+
+		private MessageGroup nextMessageGroup(boolean successful) {
+			if (!successful) {
+				getLogger().debug("Stopped processing message group '{}' of queue '{}' after a failed message",
+						this.messageGroupId, this.logicalQueueName);
+				releaseMessages(this.messageGroupLanes.close(this.messageGroupId), this.inFlightPermits);
+				return null;
+			}
+			List<Message> nextMessages = this.messageGroupLanes.poll(this.messageGroupId);
+			return nextMessages != null ? new MessageGroup(nextMessages) : null;
+		}
+
+	}
+
 	private final class MessageGroupExecutor implements Runnable {
 
 		private final MessageGroup messageGroup;
@@ -414,63 +1689,346 @@ public class SimpleMessageListenerContainer extends AbstractMessageListenerConta
 
 		private final SqsMessageDeletionPolicy deletionPolicy;
 
+		private final boolean batch;
+
+		private final boolean fifo;
+
+		private final Semaphore inFlightPermits;
+
 		private MessageGroupExecutor(String logicalQueueName, MessageGroup messageGroup,
 				QueueAttributes queueAttributes) {
+			this(logicalQueueName, messageGroup, queueAttributes, null);
+		}
+
+		/**
+		 * @param inFlightPermits the in-flight permits of the queue, one permit is
+		 * released as soon as the processing of a message completed, or {@code null} if
+		 * the queue is polled once the messages of the previous poll completed
+		 */
+		private MessageGroupExecutor(String logicalQueueName, MessageGroup messageGroup,
+				QueueAttributes queueAttributes, Semaphore inFlightPermits) {
 			this.logicalQueueName = logicalQueueName;
 			this.messageGroup = messageGroup;
 			this.queueUrl = queueAttributes.getReceiveMessageRequest().getQueueUrl();
 			this.hasRedrivePolicy = queueAttributes.hasRedrivePolicy();
 			this.deletionPolicy = queueAttributes.getDeletionPolicy();
+			this.batch = queueAttributes.isBatch();
+			this.fifo = queueAttributes.isFifo();
+			this.inFlightPermits = inFlightPermits;
 		}
 
 		@Override
 		public void run() {
-			for (Message message : this.messageGroup.getMessages()) {
-				String receiptHandle = message.getReceiptHandle();
-				org.springframework.messaging.Message<String> queueMessage = getMessageForExecution(message);
+			process();
+		}
+
+		/**
+		 * Processes the messages of the group without waiting for asynchronous listener
+		 * methods. The messages of a FIFO message group are processed in order, a failed
+		 * message stops the processing of the group and the following messages are
+		 * released without being processed.
+		 * @return the completion of the group, {@code false} if the processing of a
+		 * message of a FIFO message group failed
+		 */
+		CompletableFuture<Boolean> process() {
+			List<Message> messages = this.messageGroup.getMessages();
+			messagesStarted(messages.size());
+			trackVisibility();
+			if (this.batch) {
+				return processBatch();
+			}
+			if (this.fifo) {
+				return processInOrder(0);
+			}
+
+			CompletableFuture<?>[] completions = new CompletableFuture<?>[messages.size()];
+			int startedMessages = 0;
+			try {
+				for (Message message : messages) {
+					completions[startedMessages++] = processMessage(message);
+				}
+			}
+			finally {
+				releaseUnprocessedMessages(startedMessages);
+			}
+			return CompletableFuture.allOf(completions).thenApply(completed -> true);
+		}
+
+		/**
+		 * Processes the messages of a FIFO message group, starting with the message at
+		 * the given index. The next message is processed once the listener method of the
+		 * previous one completed successfully.
+		 */
+		private CompletableFuture<Boolean> processInOrder(int index) {
+			List<Message> messages = this.messageGroup.getMessages();
+			for (int i = index; i < messages.size(); i++) {
+				int nextIndex = i + 1;
+				CompletableFuture<Boolean> completion;
 				try {
-					executeMessage(queueMessage);
-					applyDeletionPolicyOnSuccess(receiptHandle);
+					completion = processMessage(messages.get(i));
+				}
+				catch (RuntimeException e) {
+					releaseUnprocessedMessages(nextIndex);
+					throw e;
+				}
+				if (!completion.isDone()) {
+					return completion
+							.handleAsync(SimpleMessageListenerContainer::isSuccessful,
+									SimpleMessageListenerContainer.this::executeContinuation)
+							.thenCompose(successful -> successful ? processInOrder(nextIndex) : stopInOrder(nextIndex));
+				}
+				if (!completion.handle(SimpleMessageListenerContainer::isSuccessful).join()) {
+					return stopInOrder(nextIndex);
+				}
+			}
+			return CompletableFuture.completedFuture(true);
+		}
+
+		private CompletableFuture<Boolean> stopInOrder(int nextIndex) {
+			releaseUnprocessedMessages(nextIndex);
+			return CompletableFuture.completedFuture(false);
+		}
+
+		private void releaseUnprocessedMessages(int fromIndex) {
+			List<Message> messages = this.messageGroup.getMessages();
+			for (int i = fromIndex; i < messages.size(); i++) {
+				releaseMessage(messages.get(i).getReceiptHandle());
+			}
+		}
+
+		private CompletableFuture<Boolean> processMessage(Message message) {
+			CompletionStage<?> asyncResult;
+			long startTime = handlerStarted(1);
+			try {
+				org.springframework.messaging.Message<String> queueMessage = getMessageForExecution(message);
+				asyncResult = getMessageHandler().captureAsyncResult(() -> executeMessage(queueMessage));
+			}
+			catch (MessagingException messagingException) {
+				handlerCompleted(startTime, 1, false);
+				return CompletableFuture.completedFuture(completeMessage(message, false));
+			}
+			catch (RuntimeException e) {
+				handlerCompleted(startTime, 1, false);
+				releaseMessage(message.getReceiptHandle());
+				throw e;
+			}
+
+			return whenCompleted(asyncResult, exception -> {
+				handlerCompleted(startTime, 1, exception == null);
+				return completeMessage(message, exception == null);
+			});
+		}
+
+		private CompletableFuture<Boolean> processBatch() {
+			List<Message> messages = this.messageGroup.getMessages();
+			List<org.springframework.messaging.Message<String>> queueMessages = new ArrayList<>(messages.size());
+			CompletionStage<?> asyncResult;
+			long startTime = handlerStarted(messages.size());
+			try {
+				for (Message message : messages) {
+					queueMessages.add(getMessageForExecution(message));
+				}
+				org.springframework.messaging.Message<List<org.springframework.messaging.Message<String>>> batchMessage = MessageBuilder
+						.withPayload(queueMessages)
+						.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, this.logicalQueueName).build();
+				asyncResult = getMessageHandler().captureAsyncResult(() -> executeMessageBatch(batchMessage));
+			}
+			catch (MessagingException messagingException) {
+				handlerCompleted(startTime, messages.size(), false);
+				return CompletableFuture.completedFuture(completeBatch(getFailedIndexes(messagingException)));
+			}
+			catch (RuntimeException e) {
+				handlerCompleted(startTime, messages.size(), false);
+				messages.forEach(message -> releaseMessage(message.getReceiptHandle()));
+				throw e;
+			}
+
+			return whenCompleted(asyncResult, exception -> {
+				handlerCompleted(startTime, messages.size(), exception == null);
+				return completeBatch(exception == null ? Collections.emptySet() : getFailedIndexes(exception));
+			});
+		}
+
+		private long handlerStarted(int messages) {
+			getMessagingMetrics().handlerStarted(this.queueUrl, messages);
+			return System.nanoTime();
+		}
+
+		private void handlerCompleted(long startTime, int messages, boolean successful) {
+			getMessagingMetrics().recordHandler(this.queueUrl, System.nanoTime() - startTime, messages, successful);
+		}
+
+		private CompletableFuture<Boolean> whenCompleted(CompletionStage<?> asyncResult,
+				Function<Throwable, Boolean> completionCallback) {
+			if (asyncResult == null) {
+				return CompletableFuture.completedFuture(completionCallback.apply(null));
+			}
+
+			return asyncResult.handle((result, exception) -> {
+				if (exception != null) {
+					getLogger().error("An exception occurred while completing the asynchronous listener method "
+							+ "of queue '{}'", this.logicalQueueName, exception);
+				}
+				return completionCallback.apply(exception);
+			}).toCompletableFuture();
+		}
+
+		private boolean completeBatch(Set<Integer> failedIndexes) {
+			List<Message> messages = this.messageGroup.getMessages();
+			for (int i = 0; i < messages.size(); i++) {
+				completeMessage(messages.get(i), !failedIndexes.contains(i));
+			}
+			return failedIndexes.isEmpty();
+		}
+
+		private boolean completeMessage(Message message, boolean successful) {
+			try {
+				if (successful) {
+					applyDeletionPolicyOnSuccess(message);
 				}
-				catch (MessagingException messagingException) {
-					applyDeletionPolicyOnError(receiptHandle);
+				else if (!applyDeletionPolicyOnError(message)) {
+					backOffVisibility(message);
 				}
 			}
+			finally {
+				releaseMessage(message.getReceiptHandle());
+			}
+			return successful;
+		}
+
+		private void releaseMessage(String receiptHandle) {
+			untrackVisibility(receiptHandle);
+			if (this.inFlightPermits != null) {
+				this.inFlightPermits.release();
+			}
+			messageCompleted();
 		}
 
-		private void applyDeletionPolicyOnSuccess(String receiptHandle) {
+		private Set<Integer> getFailedIndexes(Throwable exception) {
+			for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+				if (cause instanceof BatchListenerFailedException) {
+					return ((BatchListenerFailedException) cause).getFailedIndexes();
+				}
+			}
+			return IntStream.range(0, this.messageGroup.getMessages().size()).boxed().collect(Collectors.toSet());
+		}
+
+		private void trackVisibility() {
+			for (Message message : this.messageGroup.getMessages()) {
+				SimpleMessageListenerContainer.this.trackVisibility(this.queueUrl, message.getReceiptHandle());
+			}
+		}
+
+		private void applyDeletionPolicyOnSuccess(Message message) {
 			if (this.deletionPolicy == SqsMessageDeletionPolicy.ON_SUCCESS
 					|| this.deletionPolicy == SqsMessageDeletionPolicy.ALWAYS
 					|| this.deletionPolicy == SqsMessageDeletionPolicy.NO_REDRIVE) {
-				deleteMessage(receiptHandle);
+				deleteMessage(message);
 			}
 		}
 
-		private void applyDeletionPolicyOnError(String receiptHandle) {
+		private boolean applyDeletionPolicyOnError(Message message) {
 			if (this.deletionPolicy == SqsMessageDeletionPolicy.ALWAYS
 					|| (this.deletionPolicy == SqsMessageDeletionPolicy.NO_REDRIVE && !this.hasRedrivePolicy)) {
-				deleteMessage(receiptHandle);
+				deleteMessage(message);
+				return true;
 			}
+			return false;
 		}
 
-		private void deleteMessage(String receiptHandle) {
+		/**
+		 * Changes the visibility timeout of a failed message that is not deleted
+		 * according to the error visibility back off of its queue, if any.
+		 */
+		private void backOffVisibility(Message message) {
+			ErrorVisibilityBackOff backOff = SimpleMessageListenerContainer.this.errorVisibilityBackOffsByQueue
+					.get(this.logicalQueueName);
+			if (backOff == null) {
+				return;
+			}
+			String receiveCount = message.getAttributes()
+					.get(MessageSystemAttributeName.ApproximateReceiveCount.toString());
+			int visibilityTimeout = backOff
+					.getVisibilityTimeout(receiveCount != null ? Integer.parseInt(receiveCount) : 1);
+			// The heartbeat must not extend the visibility of the message again
+			untrackVisibility(message.getReceiptHandle());
+			SimpleMessageListenerContainer.this.changeMessageVisibilityBatcher.changeVisibility(this.queueUrl,
+					message.getReceiptHandle(), visibilityTimeout);
+		}
+
+		private void deleteMessage(Message message) {
+			String receiptHandle = message.getReceiptHandle();
+			Runnable deletionCallback = getPayloadDeletion(message);
+			if (SimpleMessageListenerContainer.this.deleteMessageBatcher != null) {
+				CompletableFuture<Void> deletion = SimpleMessageListenerContainer.this.deleteMessageBatcher
+						.delete(this.queueUrl, receiptHandle);
+				if (deletionCallback != null) {
+					deletion.thenRun(deletionCallback);
+				}
+				return;
+			}
 			getAmazonSqs().deleteMessageAsync(new DeleteMessageRequest(this.queueUrl, receiptHandle),
-					new DeleteMessageHandler(receiptHandle));
+					new DeleteMessageHandler(receiptHandle, deletionCallback, this.queueUrl, getMessagingMetrics()));
+		}
+
+		/**
+		 * Returns the deletion of the stored payload of the given message, to be run once
+		 * the message itself has been deleted.
+		 * @param message the received message
+		 * @return the payload deletion or {@code null} if there is no stored payload to
+		 * delete
+		 */
+		private Runnable getPayloadDeletion(Message message) {
+			S3PayloadStore payloadStore = SimpleMessageListenerContainer.this.payloadStore;
+			if (payloadStore == null || !payloadStore.isDeleteAfterReceipt() || !payloadStore.isStored(message)) {
+				return null;
+			}
+			String location = message.getBody();
+			if (!payloadStore.isValidLocation(location)) {
+				getLogger().warn("Not deleting the stored payload of message '{}' as '{}' is not a valid location",
+						message.getMessageId(), location);
+				return null;
+			}
+			return () -> {
+				try {
+					payloadStore.delete(location);
+				}
+				catch (RuntimeException e) {
+					getLogger().warn("The stored payload '{}' could not be deleted", location, e);
+				}
+			};
+		}
+
+		private Message resolvePayload(Message message) {
+			S3PayloadStore payloadStore = SimpleMessageListenerContainer.this.payloadStore;
+			if (payloadStore == null) {
+				return message;
+			}
+			try {
+				return payloadStore.resolve(message);
+			}
+			catch (IOException | AmazonClientException | IllegalArgumentException e) {
+				getLogger().warn("The payload of message '{}' could not be retrieved from '{}'", message.getMessageId(),
+						message.getBody(), e);
+				throw new MessagingException("The payload of the message could not be retrieved", e);
+			}
 		}
 
 		private org.springframework.messaging.Message<String> getMessageForExecution(final Message message) {
 			HashMap<String, Object> additionalHeaders = new HashMap<>();
 			additionalHeaders.put(QueueMessageHandler.LOGICAL_RESOURCE_ID, this.logicalQueueName);
+			additionalHeaders.put(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER, this.logicalQueueName);
 			if (this.deletionPolicy == SqsMessageDeletionPolicy.NEVER) {
 				String receiptHandle = message.getReceiptHandle();
 				QueueMessageAcknowledgment acknowledgment = new QueueMessageAcknowledgment(
-						SimpleMessageListenerContainer.this.getAmazonSqs(), this.queueUrl, receiptHandle);
+						SimpleMessageListenerContainer.this.getAmazonSqs(), this.queueUrl, receiptHandle,
+						SimpleMessageListenerContainer.this.deleteMessageBatcher, getPayloadDeletion(message));
 				additionalHeaders.put(QueueMessageHandler.ACKNOWLEDGMENT, acknowledgment);
 			}
 			additionalHeaders.put(QueueMessageHandler.VISIBILITY, new QueueMessageVisibility(
 					SimpleMessageListenerContainer.this.getAmazonSqs(), this.queueUrl, message.getReceiptHandle()));
 
-			return createMessage(message, additionalHeaders);
+			return createMessage(resolvePayload(message), additionalHeaders);
 		}
 
 	}
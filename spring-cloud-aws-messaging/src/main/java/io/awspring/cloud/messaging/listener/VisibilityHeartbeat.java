@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Periodically extends the visibility timeout of the messages that are currently being
+ * processed, so that slow listeners do not cause the redelivery of their messages. The
+ * extensions of all in-flight messages are sent as {@code ChangeMessageVisibilityBatch}
+ * requests. A message is no longer extended once it has been tracked for the maximum
+ * duration, so that a stuck listener cannot hide its message forever.
+ *
+ * @since 2.4
+ */
+class VisibilityHeartbeat {
+
+	private final Map<String, InFlightMessage> inFlightMessagesByReceiptHandle = new ConcurrentHashMap<>();
+
+	private final ChangeMessageVisibilityBatcher changeMessageVisibilityBatcher;
+
+	private final TaskScheduler taskScheduler;
+
+	private final Duration interval;
+
+	private final int visibilityTimeout;
+
+	private final Duration maxDuration;
+
+	private ScheduledFuture<?> scheduledHeartbeat;
+
+	/**
+	 * @param changeMessageVisibilityBatcher the batcher used to send the extensions
+	 * @param taskScheduler the scheduler running the heartbeat
+	 * @param interval the interval between two extensions of an in-flight message
+	 * @param visibilityTimeout the visibility timeout in seconds set by each extension
+	 * @param maxDuration the maximum duration the visibility of a message is extended
+	 * for, counted from the moment it was tracked
+	 */
+	VisibilityHeartbeat(ChangeMessageVisibilityBatcher changeMessageVisibilityBatcher, TaskScheduler taskScheduler,
+			Duration interval, int visibilityTimeout, Duration maxDuration) {
+		this.changeMessageVisibilityBatcher = changeMessageVisibilityBatcher;
+		this.taskScheduler = taskScheduler;
+		this.interval = interval;
+		this.visibilityTimeout = visibilityTimeout;
+		this.maxDuration = maxDuration;
+	}
+
+	synchronized void start() {
+		if (this.scheduledHeartbeat == null) {
+			this.scheduledHeartbeat = this.taskScheduler.scheduleAtFixedRate(this::extendVisibility,
+					Instant.now().plus(this.interval), this.interval);
+		}
+	}
+
+	synchronized void stop() {
+		if (this.scheduledHeartbeat != null) {
+			this.scheduledHeartbeat.cancel(false);
+			this.scheduledHeartbeat = null;
+		}
+	}
+
+	/**
+	 * Starts extending the visibility of a message. Tracking a message that is already
+	 * tracked keeps its original tracking time, so that the maximum duration is counted
+	 * from the first call, e.g. the receipt of a prefetched message.
+	 * @param queueUrl the url of the queue the message was received from
+	 * @param receiptHandle the receipt handle of the message
+	 */
+	void track(String queueUrl, String receiptHandle) {
+		this.inFlightMessagesByReceiptHandle.putIfAbsent(receiptHandle, new InFlightMessage(queueUrl, Instant.now()));
+	}
+
+	void untrack(String receiptHandle) {
+		this.inFlightMessagesByReceiptHandle.remove(receiptHandle);
+	}
+
+	void extendVisibility() {
+		if (this.inFlightMessagesByReceiptHandle.isEmpty()) {
+			return;
+		}
+
+		Instant now = Instant.now();
+		for (Map.Entry<String, InFlightMessage> inFlightMessage : this.inFlightMessagesByReceiptHandle.entrySet()) {
+			long remainingSeconds = Duration.between(now, inFlightMessage.getValue().trackedAt.plus(this.maxDuration))
+					.getSeconds();
+			if (remainingSeconds <= 0) {
+				// Leave the message to its current visibility timeout
+				this.inFlightMessagesByReceiptHandle.remove(inFlightMessage.getKey(), inFlightMessage.getValue());
+				continue;
+			}
+			this.changeMessageVisibilityBatcher.changeVisibility(inFlightMessage.getValue().queueUrl,
+					inFlightMessage.getKey(), (int) Math.min(this.visibilityTimeout, remainingSeconds));
+		}
+		this.changeMessageVisibilityBatcher.flush();
+	}
+
+	private static final class InFlightMessage {
+
+		private final String queueUrl;
+
+		private final Instant trackedAt;
+
+		private InFlightMessage(String queueUrl, Instant trackedAt) {
+			this.queueUrl = queueUrl;
+			this.trackedAt = trackedAt;
+		}
+
+	}
+
+}
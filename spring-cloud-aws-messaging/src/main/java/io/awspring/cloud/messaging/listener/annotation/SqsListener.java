@@ -64,7 +64,9 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
  * By default the return value is wrapped as a message and sent to the destination
  * specified with an
  * {@link org.springframework.messaging.handler.annotation.SendTo @SendTo} method-level
- * annotation.
+ * annotation. Without such an annotation, listener methods may return a
+ * {@link java.util.concurrent.CompletionStage} to process the message asynchronously; the
+ * deletion policy is then applied once the stage completes.
  *
  * @author Alain Sahli
  * @author Matej Nedic
@@ -89,4 +91,94 @@ public @interface SqsListener {
 	 */
 	SqsMessageDeletionPolicy deletionPolicy() default SqsMessageDeletionPolicy.DEFAULT;
 
+	/**
+	 * Defines the number of threads polling the queues of this listener concurrently.
+	 * Placeholders and expressions are supported. If not set, the number of pollers per
+	 * queue configured on the container is used.
+	 * @return number of pollers per queue
+	 * @since 2.4
+	 */
+	String pollers() default "";
+
+	/**
+	 * Defines the maximum number of messages of the queues of this listener that can be
+	 * processed concurrently. Setting this value enables pipelined polling for the queues
+	 * and overrides the in-flight budget configured on the container. Placeholders and
+	 * expressions are supported.
+	 * @return maximum number of concurrently processed messages per queue
+	 * @since 2.4
+	 */
+	String maxConcurrentMessages() default "";
+
+	/**
+	 * Defines if the listener method receives all messages of a poll (or of a FIFO
+	 * message group) with one invocation. Batch listener methods declare a
+	 * {@link java.util.List} parameter of either payloads ({@code List<T>}) or messages
+	 * ({@code List<Message<T>>}). Returning normally marks every message as successfully
+	 * processed, throwing an exception marks every message as failed. Individual messages
+	 * can be reported as failed by throwing a
+	 * {@link io.awspring.cloud.messaging.listener.BatchListenerFailedException}. The
+	 * deletion policy is applied to every message according to its outcome.
+	 * @return {@code true} if the listener method receives messages in batches
+	 * @since 2.4
+	 */
+	boolean batch() default false;
+
+	/**
+	 * Defines the maximum time in milliseconds the pollers of the queues of this listener
+	 * back off after consecutive empty receives. Setting this value enables adaptive
+	 * polling for the queues and overrides the maximum back off time configured on the
+	 * container. Placeholders and expressions are supported.
+	 * @return maximum back off time for idle queues in milliseconds
+	 * @since 2.4
+	 */
+	String maxEmptyReceiveBackOffTime() default "";
+
+	/**
+	 * Defines the visibility timeout in seconds of a message whose processing failed for
+	 * the first time, {@code 0} to retry it immediately. The visibility timeout doubles
+	 * with every further receive of the message, up to the maximum error visibility
+	 * timeout. Setting this value enables the error visibility back off for the queues
+	 * and overrides the initial visibility timeout configured on the container.
+	 * Placeholders and expressions are supported.
+	 * @return initial visibility timeout of failed messages in seconds
+	 * @since 2.4
+	 * @see io.awspring.cloud.messaging.listener.ErrorVisibilityBackOff
+	 */
+	String errorVisibilityTimeout() default "";
+
+	/**
+	 * Defines the maximum visibility timeout in seconds of a message whose processing
+	 * failed. Overrides the maximum error visibility timeout configured on the container.
+	 * Placeholders and expressions are supported.
+	 * @return maximum visibility timeout of failed messages in seconds
+	 * @since 2.4
+	 * @see #errorVisibilityTimeout()
+	 */
+	String maxErrorVisibilityTimeout() default "";
+
+	/**
+	 * Defines the names of the system attributes (e.g. {@code SenderId}) requested with
+	 * the received messages, {@code All} to request all of them. If not set, all system
+	 * attributes are requested, or only those read by the listener method if the
+	 * container derives the attribute names from the listener methods. The attributes the
+	 * container relies on are always requested. Placeholders and expressions are
+	 * supported.
+	 * @return names of the requested system attributes
+	 * @since 2.4
+	 */
+	String[] attributeNames() default {};
+
+	/**
+	 * Defines the names of the message attributes requested with the received messages,
+	 * {@code All} to request all of them. If not set, all message attributes are
+	 * requested, or only those read by the listener method if the container derives the
+	 * attribute names from the listener methods. The message attributes the container
+	 * relies on, like the content type, are always requested. Placeholders and
+	 * expressions are supported.
+	 * @return names of the requested message attributes
+	 * @since 2.4
+	 */
+	String[] messageAttributeNames() default {};
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.awspring.cloud.messaging.core.QueueMessageUtils;
+import io.awspring.cloud.messaging.listener.annotation.SqsListener;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Resolves the {@link List} parameter of batch listener methods (see
+ * {@link SqsListener#batch()}). The payload of the handled message is the list of
+ * messages of the batch. Depending on the declared element type, the parameter receives
+ * the messages ({@code List<Message<T>>}), the converted payloads ({@code List<T>}) or
+ * the original SQS messages ({@code List<com.amazonaws.services.sqs.model.Message>}).
+ *
+ * @since 2.4
+ */
+public class BatchMessageMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+	private final MessageConverter messageConverter;
+
+	public BatchMessageMethodArgumentResolver(MessageConverter messageConverter) {
+		this.messageConverter = messageConverter;
+	}
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		if (!parameter.getParameterType().isAssignableFrom(List.class) || parameter.getMethod() == null) {
+			return false;
+		}
+		SqsListener sqsListener = AnnotatedElementUtils.findMergedAnnotation(parameter.getMethod(), SqsListener.class);
+		return sqsListener != null && sqsListener.batch();
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, Message<?> message) throws Exception {
+		if (!(message.getPayload() instanceof List)) {
+			throw new IllegalArgumentException(
+					"Batch listener method '" + parameter.getMethod() + "' must be invoked with a list of messages");
+		}
+
+		List<?> messages = (List<?>) message.getPayload();
+		ResolvableType elementType = ResolvableType.forMethodParameter(parameter).asCollection().getGeneric(0);
+		Class<?> elementClass = elementType.resolve(Object.class);
+		List<Object> result = new ArrayList<>(messages.size());
+		for (Object element : messages) {
+			Message<?> elementMessage = (Message<?>) element;
+			if (Message.class.isAssignableFrom(elementClass)) {
+				result.add(convertMessage(elementMessage, elementType.getGeneric(0).resolve(Object.class)));
+			}
+			else if (com.amazonaws.services.sqs.model.Message.class.isAssignableFrom(elementClass)) {
+				result.add(QueueMessageUtils.getSourceData(elementMessage));
+			}
+			else {
+				result.add(convertPayload(elementMessage, elementClass));
+			}
+		}
+		return result;
+	}
+
+	private Message<?> convertMessage(Message<?> message, Class<?> targetClass) {
+		if (ClassUtils.isAssignableValue(targetClass, message.getPayload())) {
+			return message;
+		}
+		return MessageBuilder.createMessage(convertPayload(message, targetClass), message.getHeaders());
+	}
+
+	private Object convertPayload(Message<?> message, Class<?> targetClass) {
+		if (ClassUtils.isAssignableValue(targetClass, message.getPayload())) {
+			return message.getPayload();
+		}
+
+		Object payload = this.messageConverter.fromMessage(message, targetClass);
+		if (payload == null) {
+			throw new MessageConversionException(message,
+					"Cannot convert from [" + message.getPayload().getClass().getName() + "] to ["
+							+ targetClass.getName() + "] for " + message);
+		}
+		return payload;
+	}
+
+}
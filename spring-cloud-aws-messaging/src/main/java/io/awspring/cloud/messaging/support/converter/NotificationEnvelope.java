@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.converter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The fields of an SNS message envelope that are needed to process notifications and
+ * subscription requests. The envelope is read with a streaming parser, which only keeps
+ * the values of these fields and skips all other fields (e.g. the signature) without
+ * building a JSON tree.
+ *
+ * @since 2.4
+ */
+public final class NotificationEnvelope {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private String type;
+
+	private String subject;
+
+	private String message;
+
+	private String topicArn;
+
+	private String token;
+
+	private Map<String, MessageAttribute> messageAttributes = Collections.emptyMap();
+
+	private NotificationEnvelope() {
+	}
+
+	/**
+	 * Reads the envelope of an SNS message.
+	 * @param content the JSON content of the SNS message
+	 * @return the envelope, whose fields are {@code null} if the content is not a JSON
+	 * object or does not contain them
+	 * @throws IOException if the content is not valid JSON
+	 */
+	public static NotificationEnvelope read(String content) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+			return read(parser);
+		}
+	}
+
+	/**
+	 * Reads the envelope of an SNS message.
+	 * @param content the UTF-8 encoded JSON content of the SNS message
+	 * @return the envelope, whose fields are {@code null} if the content is not a JSON
+	 * object or does not contain them
+	 * @throws IOException if the content is not valid JSON
+	 */
+	public static NotificationEnvelope read(byte[] content) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+			return read(parser);
+		}
+	}
+
+	private static NotificationEnvelope read(JsonParser parser) throws IOException {
+		NotificationEnvelope envelope = new NotificationEnvelope();
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			return envelope;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			switch (fieldName) {
+			case "Type":
+				envelope.type = readText(parser);
+				break;
+			case "Subject":
+				envelope.subject = readText(parser);
+				break;
+			case "Message":
+				envelope.message = readText(parser);
+				break;
+			case "TopicArn":
+				envelope.topicArn = readText(parser);
+				break;
+			case "Token":
+				envelope.token = readText(parser);
+				break;
+			case "MessageAttributes":
+				envelope.messageAttributes = readMessageAttributes(parser);
+				break;
+			default:
+				parser.skipChildren();
+			}
+		}
+		return envelope;
+	}
+
+	private static Map<String, MessageAttribute> readMessageAttributes(JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return Collections.emptyMap();
+		}
+		Map<String, MessageAttribute> messageAttributes = new LinkedHashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				continue;
+			}
+			String type = "";
+			String value = "";
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = parser.getCurrentName();
+				parser.nextToken();
+				if ("Type".equals(fieldName)) {
+					type = readText(parser);
+				}
+				else if ("Value".equals(fieldName)) {
+					value = readText(parser);
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+			messageAttributes.put(name, new MessageAttribute(type, value));
+		}
+		return messageAttributes;
+	}
+
+	/**
+	 * Reads the current value as text, like
+	 * {@link com.fasterxml.jackson.databind.JsonNode#asText()} would, i.e. the text of
+	 * scalar values and an empty string for objects and arrays.
+	 */
+	private static String readText(JsonParser parser) throws IOException {
+		if (parser.currentToken().isScalarValue()) {
+			return parser.getText();
+		}
+		parser.skipChildren();
+		return "";
+	}
+
+	/**
+	 * Returns the type of the SNS message, e.g. {@code Notification} or
+	 * {@code SubscriptionConfirmation}.
+	 * @return the type or {@code null} if the envelope does not contain a type
+	 */
+	public String getType() {
+		return this.type;
+	}
+
+	public String getSubject() {
+		return this.subject;
+	}
+
+	public String getMessage() {
+		return this.message;
+	}
+
+	public String getTopicArn() {
+		return this.topicArn;
+	}
+
+	public String getToken() {
+		return this.token;
+	}
+
+	public Map<String, MessageAttribute> getMessageAttributes() {
+		return Collections.unmodifiableMap(this.messageAttributes);
+	}
+
+	/**
+	 * A message attribute of a notification.
+	 */
+	public static final class MessageAttribute {
+
+		private final String type;
+
+		private final String value;
+
+		private MessageAttribute(String type, String value) {
+			this.type = type;
+			this.value = value;
+		}
+
+		public String getType() {
+			return this.type;
+		}
+
+		public String getValue() {
+			return this.value;
+		}
+
+	}
+
+}
@@ -16,14 +16,12 @@
 
 package io.awspring.cloud.messaging.support.converter;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.messaging.core.MessageAttributeDataTypes;
 import io.awspring.cloud.messaging.core.QueueMessageUtils;
 
@@ -42,21 +40,19 @@ import org.springframework.util.MimeType;
  */
 public class NotificationRequestConverter implements MessageConverter {
 
-	private final ObjectMapper jsonMapper = new ObjectMapper();
-
 	private final MessageConverter payloadConverter;
 
 	public NotificationRequestConverter(MessageConverter payloadConverter) {
 		this.payloadConverter = payloadConverter;
 	}
 
-	private static Map<String, Object> getMessageAttributesAsMessageHeaders(JsonNode message) {
+	private static Map<String, Object> getMessageAttributesAsMessageHeaders(
+			Map<String, NotificationEnvelope.MessageAttribute> messageAttributes) {
 		Map<String, Object> messageHeaders = new HashMap<>();
-		Iterator<String> fieldNames = message.fieldNames();
-		while (fieldNames.hasNext()) {
-			String attributeName = fieldNames.next();
-			String attributeValue = message.get(attributeName).get("Value").asText();
-			String attributeType = message.get(attributeName).get("Type").asText();
+		for (Map.Entry<String, NotificationEnvelope.MessageAttribute> messageAttribute : messageAttributes.entrySet()) {
+			String attributeName = messageAttribute.getKey();
+			String attributeValue = messageAttribute.getValue().getValue();
+			String attributeType = messageAttribute.getValue().getType();
 			if (MessageHeaders.CONTENT_TYPE.equals(attributeName)) {
 				messageHeaders.put(MessageHeaders.CONTENT_TYPE, MimeType.valueOf(attributeValue));
 			}
@@ -84,32 +80,31 @@ public class NotificationRequestConverter implements MessageConverter {
 		Assert.notNull(message, "message must not be null");
 		Assert.notNull(targetClass, "target class must not be null");
 
-		JsonNode jsonNode;
+		NotificationEnvelope envelope;
 		try {
-			jsonNode = this.jsonMapper.readTree(message.getPayload().toString());
+			envelope = NotificationEnvelope.read(message.getPayload().toString());
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			throw new MessageConversionException("Could not read JSON", e);
 		}
-		if (!jsonNode.has("Type")) {
+		if (envelope.getType() == null) {
 			throw new MessageConversionException(
 					"Payload: '" + message.getPayload() + "' does not contain a Type attribute", null);
 		}
 
-		if (!"Notification".equals(jsonNode.get("Type").asText())) {
+		if (!"Notification".equals(envelope.getType())) {
 			throw new MessageConversionException("Payload: '" + message.getPayload() + "' is not a valid notification",
 					null);
 		}
 
-		if (!jsonNode.has("Message")) {
+		if (envelope.getMessage() == null) {
 			throw new MessageConversionException("Payload: '" + message.getPayload() + "' does not contain a message",
 					null);
 		}
 
-		String messagePayload = jsonNode.get("Message").asText();
-		GenericMessage<String> genericMessage = new GenericMessage<>(messagePayload,
-				getMessageAttributesAsMessageHeaders(jsonNode.path("MessageAttributes")));
-		return new NotificationRequest(jsonNode.path("Subject").asText(),
+		GenericMessage<String> genericMessage = new GenericMessage<>(envelope.getMessage(),
+				getMessageAttributesAsMessageHeaders(envelope.getMessageAttributes()));
+		return new NotificationRequest(envelope.getSubject() != null ? envelope.getSubject() : "",
 				this.payloadConverter.fromMessage(genericMessage, targetClass));
 	}
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.destination;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.util.Assert;
+
+/**
+ * Caches resolved destinations for a limited time. Expired destinations are still
+ * returned while they are resolved again in the background, so that only the very first
+ * resolution of a destination blocks the caller. Destinations that do not exist are
+ * cached as well, for a shorter time, to avoid repeated lookups for the same unknown
+ * name.
+ *
+ * @since 2.4
+ */
+class DestinationCache {
+
+	static final long DEFAULT_TIME_TO_LIVE = 300_000;
+
+	static final long DEFAULT_NEGATIVE_TIME_TO_LIVE = 30_000;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DestinationCache.class);
+
+	private final ConcurrentHashMap<String, CachedDestination> cachedDestinations = new ConcurrentHashMap<>();
+
+	private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	private long negativeTimeToLive = DEFAULT_NEGATIVE_TIME_TO_LIVE;
+
+	private TaskExecutor taskExecutor;
+
+	DestinationCache(String threadNamePrefix) {
+		SimpleAsyncTaskExecutor simpleAsyncTaskExecutor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+		simpleAsyncTaskExecutor.setDaemon(true);
+		this.taskExecutor = simpleAsyncTaskExecutor;
+	}
+
+	long getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	void setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive > 0, "timeToLive must be a positive number");
+		this.timeToLive = timeToLive;
+	}
+
+	void setNegativeTimeToLive(long negativeTimeToLive) {
+		Assert.isTrue(negativeTimeToLive >= 0, "negativeTimeToLive must not be negative");
+		this.negativeTimeToLive = negativeTimeToLive;
+	}
+
+	void setTaskExecutor(TaskExecutor taskExecutor) {
+		Assert.notNull(taskExecutor, "taskExecutor must not be null");
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Returns the cached destination for the given name or resolves it with the given
+	 * resolver. Failures of the resolver are cached if they are a
+	 * {@link DestinationResolutionException} or an {@link IllegalArgumentException},
+	 * which both signal a destination that does not exist.
+	 * @param name the name of the destination
+	 * @param resolver the resolver to call if the destination is not cached
+	 * @return the resolved destination
+	 */
+	String get(String name, Function<String, String> resolver) {
+		CachedDestination cachedDestination = this.cachedDestinations.get(name);
+		if (cachedDestination != null) {
+			if (cachedDestination.failure != null) {
+				if (!cachedDestination.isExpired()) {
+					throw cachedDestination.failure;
+				}
+			}
+			else {
+				if (cachedDestination.isExpired()) {
+					refresh(name, cachedDestination, resolver);
+				}
+				return cachedDestination.destination;
+			}
+		}
+		return resolve(name, resolver);
+	}
+
+	private String resolve(String name, Function<String, String> resolver) {
+		try {
+			String destination = resolver.apply(name);
+			this.cachedDestinations.put(name,
+					new CachedDestination(destination, null, System.currentTimeMillis() + this.timeToLive));
+			return destination;
+		}
+		catch (DestinationResolutionException | IllegalArgumentException e) {
+			if (this.negativeTimeToLive > 0) {
+				this.cachedDestinations.put(name,
+						new CachedDestination(null, e, System.currentTimeMillis() + this.negativeTimeToLive));
+			}
+			else {
+				this.cachedDestinations.remove(name);
+			}
+			throw e;
+		}
+	}
+
+	private void refresh(String name, CachedDestination cachedDestination, Function<String, String> resolver) {
+		if (!cachedDestination.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.taskExecutor.execute(() -> {
+				try {
+					resolve(name, resolver);
+				}
+				catch (RuntimeException e) {
+					LOGGER.debug("Refreshing destination '{}' failed, keeping the cached destination", name, e);
+					cachedDestination.refreshing.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			cachedDestination.refreshing.set(false);
+		}
+	}
+
+	private static final class CachedDestination {
+
+		private final String destination;
+
+		private final RuntimeException failure;
+
+		private final long expiresAt;
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		private CachedDestination(String destination, RuntimeException failure, long expiresAt) {
+			this.destination = destination;
+			this.failure = failure;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= this.expiresAt;
+		}
+
+	}
+
+}
@@ -27,6 +27,7 @@ import com.amazonaws.services.sqs.model.GetQueueUrlResult;
 import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.messaging.core.DestinationResolutionException;
 import org.springframework.messaging.core.DestinationResolver;
 import org.springframework.util.Assert;
@@ -41,6 +42,8 @@ public class DynamicQueueUrlDestinationResolver implements DestinationResolver<S
 
 	private final ResourceIdResolver resourceIdResolver;
 
+	private final DestinationCache destinationCache = new DestinationCache("DynamicQueueUrlDestinationResolver-");
+
 	private boolean autoCreate;
 
 	public DynamicQueueUrlDestinationResolver(AmazonSQS amazonSqs, ResourceIdResolver resourceIdResolver) {
@@ -68,8 +71,44 @@ public class DynamicQueueUrlDestinationResolver implements DestinationResolver<S
 		this.autoCreate = autoCreate;
 	}
 
+	/**
+	 * Configures how long resolved queue urls are cached. Expired queue urls are resolved
+	 * again in the background while the cached url is still returned. Default is 5
+	 * minutes.
+	 * @param cacheTimeToLive in milliseconds
+	 * @since 2.4
+	 */
+	public void setCacheTimeToLive(long cacheTimeToLive) {
+		this.destinationCache.setTimeToLive(cacheTimeToLive);
+	}
+
+	/**
+	 * Configures how long queue names that do not exist are cached. A queue created after
+	 * its name was looked up is only found once this time elapsed. Default is 30 seconds,
+	 * {@code 0} disables the caching of unknown queues.
+	 * @param negativeCacheTimeToLive in milliseconds
+	 * @since 2.4
+	 */
+	public void setNegativeCacheTimeToLive(long negativeCacheTimeToLive) {
+		this.destinationCache.setNegativeTimeToLive(negativeCacheTimeToLive);
+	}
+
+	/**
+	 * Configures the executor used to refresh expired queue urls in the background. If
+	 * not set, a new daemon thread is started for every refresh.
+	 * @param taskExecutor the executor to use
+	 * @since 2.4
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.destinationCache.setTaskExecutor(taskExecutor);
+	}
+
 	@Override
 	public String resolveDestination(String name) throws DestinationResolutionException {
+		return this.destinationCache.get(name, this::doResolveDestination);
+	}
+
+	private String doResolveDestination(String name) {
 		String queueName = name;
 
 		if (this.resourceIdResolver != null) {
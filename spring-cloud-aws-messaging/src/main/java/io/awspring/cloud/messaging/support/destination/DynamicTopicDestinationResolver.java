@@ -16,6 +16,9 @@
 
 package io.awspring.cloud.messaging.support.destination;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.amazonaws.services.sns.AmazonSNS;
 import com.amazonaws.services.sns.model.CreateTopicRequest;
 import com.amazonaws.services.sns.model.ListTopicsRequest;
@@ -24,6 +27,7 @@ import com.amazonaws.services.sns.model.Topic;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import io.awspring.cloud.core.naming.AmazonResourceName;
 
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.messaging.core.DestinationResolutionException;
 import org.springframework.messaging.core.DestinationResolver;
 import org.springframework.util.StringUtils;
@@ -39,8 +43,12 @@ public class DynamicTopicDestinationResolver implements DestinationResolver<Stri
 
 	private final ResourceIdResolver resourceIdResolver;
 
+	private final DestinationCache destinationCache = new DestinationCache("DynamicTopicDestinationResolver-");
+
 	private boolean autoCreate;
 
+	private volatile TopicIndex topicIndex;
+
 	public DynamicTopicDestinationResolver(AmazonSNS amazonSns, ResourceIdResolver resourceIdResolver) {
 		this.amazonSns = amazonSns;
 		this.resourceIdResolver = resourceIdResolver;
@@ -54,8 +62,44 @@ public class DynamicTopicDestinationResolver implements DestinationResolver<Stri
 		this.autoCreate = autoCreate;
 	}
 
+	/**
+	 * Configures how long resolved topic arns and the index of all topic arns are cached.
+	 * Expired topic arns are resolved again in the background while the cached arn is
+	 * still returned. Default is 5 minutes.
+	 * @param cacheTimeToLive in milliseconds
+	 * @since 2.4
+	 */
+	public void setCacheTimeToLive(long cacheTimeToLive) {
+		this.destinationCache.setTimeToLive(cacheTimeToLive);
+	}
+
+	/**
+	 * Configures how long topic names that could not be found are cached. A topic created
+	 * after its name was looked up is only found once this time elapsed. Default is 30
+	 * seconds, {@code 0} disables the caching of unknown topics.
+	 * @param negativeCacheTimeToLive in milliseconds
+	 * @since 2.4
+	 */
+	public void setNegativeCacheTimeToLive(long negativeCacheTimeToLive) {
+		this.destinationCache.setNegativeTimeToLive(negativeCacheTimeToLive);
+	}
+
+	/**
+	 * Configures the executor used to refresh expired topic arns in the background. If
+	 * not set, a new daemon thread is started for every refresh.
+	 * @param taskExecutor the executor to use
+	 * @since 2.4
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.destinationCache.setTaskExecutor(taskExecutor);
+	}
+
 	@Override
 	public String resolveDestination(String name) throws DestinationResolutionException {
+		return this.destinationCache.get(name, this::doResolveDestination);
+	}
+
+	private String doResolveDestination(String name) {
 		if (this.autoCreate) {
 			return this.amazonSns.createTopic(new CreateTopicRequest(name)).getTopicArn();
 		}
@@ -69,30 +113,74 @@ public class DynamicTopicDestinationResolver implements DestinationResolver<Stri
 				return physicalTopicName;
 			}
 
-			String topicArn = getTopicResourceName(null, physicalTopicName);
-			if (topicArn == null) {
-				throw new IllegalArgumentException("No Topic with name: '" + name + "' found. Please use "
-						+ "the right topic name or enable auto creation of topics for this DestinationResolver");
-			}
-			return topicArn;
+			return getTopicResourceName(physicalTopicName);
 		}
 	}
 
-	private String getTopicResourceName(String marker, String topicName) {
-		ListTopicsResult listTopicsResult = this.amazonSns.listTopics(new ListTopicsRequest(marker));
-		for (Topic topic : listTopicsResult.getTopics()) {
-			AmazonResourceName resourceName = AmazonResourceName.fromString(topic.getTopicArn());
-			if (resourceName.getResourceType().equals(topicName)) {
-				return topic.getTopicArn();
-			}
+	private String getTopicResourceName(String topicName) {
+		TopicIndex topicIndex = this.topicIndex;
+		boolean loaded = false;
+		if (topicIndex == null || topicIndex.isExpired(this.destinationCache.getTimeToLive())) {
+			topicIndex = loadTopicIndex(topicIndex);
+			loaded = true;
 		}
 
-		if (StringUtils.hasText(listTopicsResult.getNextToken())) {
-			return getTopicResourceName(listTopicsResult.getNextToken(), topicName);
+		String topicArn = topicIndex.getTopicArn(topicName);
+		if (topicArn == null && !loaded) {
+			// The topic might have been created after the index was loaded
+			topicArn = loadTopicIndex(topicIndex).getTopicArn(topicName);
 		}
-		else {
+
+		if (topicArn == null) {
 			throw new IllegalArgumentException("No topic found for name :'" + topicName + "'");
 		}
+		return topicArn;
+	}
+
+	/**
+	 * Lists all topics with one pass over all pages and indexes their arns by topic name.
+	 * Concurrent callers that observed the same outdated index share one reload.
+	 */
+	private synchronized TopicIndex loadTopicIndex(TopicIndex outdatedTopicIndex) {
+		if (this.topicIndex != outdatedTopicIndex) {
+			return this.topicIndex;
+		}
+
+		Map<String, String> topicArnsByName = new HashMap<>();
+		String nextToken = null;
+		do {
+			ListTopicsResult listTopicsResult = this.amazonSns.listTopics(new ListTopicsRequest(nextToken));
+			for (Topic topic : listTopicsResult.getTopics()) {
+				String topicArn = topic.getTopicArn();
+				topicArnsByName.put(topicArn.substring(topicArn.lastIndexOf(':') + 1), topicArn);
+			}
+			nextToken = listTopicsResult.getNextToken();
+		}
+		while (StringUtils.hasText(nextToken));
+
+		TopicIndex topicIndex = new TopicIndex(topicArnsByName);
+		this.topicIndex = topicIndex;
+		return topicIndex;
+	}
+
+	private static final class TopicIndex {
+
+		private final Map<String, String> topicArnsByName;
+
+		private final long loadedAt = System.currentTimeMillis();
+
+		private TopicIndex(Map<String, String> topicArnsByName) {
+			this.topicArnsByName = topicArnsByName;
+		}
+
+		private String getTopicArn(String topicName) {
+			return this.topicArnsByName.get(topicName);
+		}
+
+		private boolean isExpired(long timeToLive) {
+			return System.currentTimeMillis() - this.loadedAt >= timeToLive;
+		}
+
 	}
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.metrics;
+
+/**
+ * Callback interface through which the listener container and the messaging templates
+ * report the latency and outcome of their SQS and SNS operations. All methods are no-ops
+ * by default, so that implementations only need to override the operations they are
+ * interested in. Implementations must be thread-safe and must not block, as they are
+ * called on the polling, listener and SDK callback threads.
+ * <p>
+ * The interface does not depend on a metrics library, {@link MicrometerMessagingMetrics}
+ * records the operations with Micrometer.
+ *
+ * @since 2.4
+ * @see MicrometerMessagingMetrics
+ */
+public interface MessagingMetrics {
+
+	/**
+	 * Metrics that do not record anything, used if no metrics are configured.
+	 */
+	MessagingMetrics NONE = new MessagingMetrics() {
+	};
+
+	/**
+	 * Records a {@code ReceiveMessage} request of the listener container.
+	 * @param queueUrl the url of the polled queue
+	 * @param durationNanos the duration of the request in nanoseconds
+	 * @param messages the number of received messages
+	 * @param successful {@code false} if the request failed
+	 */
+	default void recordReceive(String queueUrl, long durationNanos, int messages, boolean successful) {
+	}
+
+	/**
+	 * Records the time a received message spent in the queue, measured from the time it
+	 * was sent or, if the sent timestamp was not received, from the time it was received
+	 * for the first time.
+	 * @param queueUrl the url of the queue the message was received from
+	 * @param ageMillis the age of the message in milliseconds
+	 */
+	default void recordMessageAge(String queueUrl, long ageMillis) {
+	}
+
+	/**
+	 * Signals that a listener method started to process messages. Every call is followed
+	 * by exactly one call of {@link #recordHandler(String, long, int, boolean)} with the
+	 * same number of messages once the processing completed.
+	 * @param queueUrl the url of the queue the messages were received from
+	 * @param messages the number of messages, more than one for batch listeners
+	 */
+	default void handlerStarted(String queueUrl, int messages) {
+	}
+
+	/**
+	 * Records the processing of messages by a listener method, including the completion
+	 * of the {@link java.util.concurrent.CompletionStage} returned by asynchronous
+	 * listener methods.
+	 * @param queueUrl the url of the queue the messages were received from
+	 * @param durationNanos the processing duration in nanoseconds
+	 * @param messages the number of processed messages
+	 * @param successful {@code false} if the listener method failed for at least one of
+	 * the messages
+	 */
+	default void recordHandler(String queueUrl, long durationNanos, int messages, boolean successful) {
+	}
+
+	/**
+	 * Records a {@code DeleteMessage} or {@code DeleteMessageBatch} request of the
+	 * listener container.
+	 * @param queueUrl the url of the queue
+	 * @param durationNanos the duration of the request in nanoseconds
+	 * @param messages the number of messages to delete
+	 * @param failedMessages the number of messages that could not be deleted
+	 */
+	default void recordDelete(String queueUrl, long durationNanos, int messages, int failedMessages) {
+	}
+
+	/**
+	 * Records a {@code ChangeMessageVisibilityBatch} request of the listener container.
+	 * @param queueUrl the url of the queue
+	 * @param durationNanos the duration of the request in nanoseconds
+	 * @param messages the number of messages whose visibility timeout is changed
+	 * @param failedMessages the number of messages whose visibility timeout could not be
+	 * changed
+	 */
+	default void recordVisibilityChange(String queueUrl, long durationNanos, int messages, int failedMessages) {
+	}
+
+	/**
+	 * Records the sending of a message by the {@code QueueMessagingTemplate}, including
+	 * the conversion of the message and the time it waited for its batch request.
+	 * @param queueUrl the url of the destination queue
+	 * @param durationNanos the duration of the send operation in nanoseconds
+	 * @param successful {@code false} if the message could not be sent
+	 */
+	default void recordSend(String queueUrl, long durationNanos, boolean successful) {
+	}
+
+	/**
+	 * Records a {@code SendMessageBatch} request of the {@code QueueMessagingTemplate}.
+	 * @param queueUrl the url of the destination queue
+	 * @param messages the number of messages of the batch
+	 */
+	default void recordSendBatch(String queueUrl, int messages) {
+	}
+
+	/**
+	 * Records the publishing of a notification by the
+	 * {@code NotificationMessagingTemplate}, including the conversion of the message and
+	 * the time it waited for its batch request.
+	 * @param topicArn the arn of the destination topic
+	 * @param durationNanos the duration of the publish operation in nanoseconds
+	 * @param successful {@code false} if the notification could not be published
+	 */
+	default void recordPublish(String topicArn, long durationNanos, boolean successful) {
+	}
+
+	/**
+	 * Records a {@code PublishBatch} request of the
+	 * {@code NotificationMessagingTemplate}.
+	 * @param topicArn the arn of the destination topic
+	 * @param messages the number of notifications of the batch
+	 */
+	default void recordPublishBatch(String topicArn, int messages) {
+	}
+
+}
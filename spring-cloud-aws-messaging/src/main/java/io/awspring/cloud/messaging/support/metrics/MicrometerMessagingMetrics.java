@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link MessagingMetrics} that record the SQS and SNS operations as Micrometer meters.
+ * Listener meters are tagged with the name of the queue, template meters with the name of
+ * the destination queue or topic, and timers additionally with the outcome
+ * ({@code success} or {@code failure}) of the operation:
+ * <ul>
+ * <li>{@code sqs.listener.receive}: timer of the {@code ReceiveMessage} requests</li>
+ * <li>{@code sqs.listener.receive.empty}: counter of the requests that returned no
+ * messages</li>
+ * <li>{@code sqs.listener.receive.messages}: distribution of the number of messages per
+ * request</li>
+ * <li>{@code sqs.listener.message.age}: timer of the time messages spent in the queue
+ * until they were received</li>
+ * <li>{@code sqs.listener.in.flight}: gauge of the messages processed by listener
+ * methods</li>
+ * <li>{@code sqs.listener.handler}: timer of the listener method invocations</li>
+ * <li>{@code sqs.listener.delete} and {@code sqs.listener.delete.failures}: timer of the
+ * delete requests and counter of the messages that could not be deleted</li>
+ * <li>{@code sqs.listener.visibility} and {@code sqs.listener.visibility.failures}: timer
+ * of the visibility change requests and counter of the messages whose visibility could
+ * not be changed</li>
+ * <li>{@code sqs.template.send} and {@code sqs.template.send.batch.size}: timer of the
+ * sent messages and distribution of the number of messages per batch request</li>
+ * <li>{@code sns.template.publish} and {@code sns.template.publish.batch.size}: timer of
+ * the published notifications and distribution of the number of notifications per batch
+ * request</li>
+ * </ul>
+ * The meters of a destination are created once, when the destination is used for the
+ * first time.
+ *
+ * @since 2.4
+ */
+public class MicrometerMessagingMetrics implements MessagingMetrics {
+
+	private static final String QUEUE_TAG = "queue";
+
+	private static final String TOPIC_TAG = "topic";
+
+	private static final String OUTCOME_TAG = "outcome";
+
+	private final MeterRegistry meterRegistry;
+
+	private final ConcurrentHashMap<String, ListenerMeters> listenerMetersByQueueUrl = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, SenderMeters> senderMetersByQueueUrl = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, SenderMeters> senderMetersByTopicArn = new ConcurrentHashMap<>();
+
+	public MicrometerMessagingMetrics(MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "meterRegistry must not be null");
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void recordReceive(String queueUrl, long durationNanos, int messages, boolean successful) {
+		ListenerMeters listenerMeters = getListenerMeters(queueUrl);
+		(successful ? listenerMeters.receiveSuccess : listenerMeters.receiveFailure).record(durationNanos,
+				TimeUnit.NANOSECONDS);
+		if (successful) {
+			listenerMeters.receivedMessages.record(messages);
+			if (messages == 0) {
+				listenerMeters.emptyReceives.increment();
+			}
+		}
+	}
+
+	@Override
+	public void recordMessageAge(String queueUrl, long ageMillis) {
+		getListenerMeters(queueUrl).messageAge.record(Math.max(ageMillis, 0), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void handlerStarted(String queueUrl, int messages) {
+		getListenerMeters(queueUrl).inFlightMessages.addAndGet(messages);
+	}
+
+	@Override
+	public void recordHandler(String queueUrl, long durationNanos, int messages, boolean successful) {
+		ListenerMeters listenerMeters = getListenerMeters(queueUrl);
+		listenerMeters.inFlightMessages.addAndGet(-messages);
+		(successful ? listenerMeters.handlerSuccess : listenerMeters.handlerFailure).record(durationNanos,
+				TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordDelete(String queueUrl, long durationNanos, int messages, int failedMessages) {
+		ListenerMeters listenerMeters = getListenerMeters(queueUrl);
+		(failedMessages == 0 ? listenerMeters.deleteSuccess : listenerMeters.deleteFailure).record(durationNanos,
+				TimeUnit.NANOSECONDS);
+		if (failedMessages > 0) {
+			listenerMeters.deleteFailures.increment(failedMessages);
+		}
+	}
+
+	@Override
+	public void recordVisibilityChange(String queueUrl, long durationNanos, int messages, int failedMessages) {
+		ListenerMeters listenerMeters = getListenerMeters(queueUrl);
+		(failedMessages == 0 ? listenerMeters.visibilitySuccess : listenerMeters.visibilityFailure)
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+		if (failedMessages > 0) {
+			listenerMeters.visibilityFailures.increment(failedMessages);
+		}
+	}
+
+	@Override
+	public void recordSend(String queueUrl, long durationNanos, boolean successful) {
+		getQueueSenderMeters(queueUrl).record(durationNanos, successful);
+	}
+
+	@Override
+	public void recordSendBatch(String queueUrl, int messages) {
+		getQueueSenderMeters(queueUrl).batchSize.record(messages);
+	}
+
+	@Override
+	public void recordPublish(String topicArn, long durationNanos, boolean successful) {
+		getTopicSenderMeters(topicArn).record(durationNanos, successful);
+	}
+
+	@Override
+	public void recordPublishBatch(String topicArn, int messages) {
+		getTopicSenderMeters(topicArn).batchSize.record(messages);
+	}
+
+	private ListenerMeters getListenerMeters(String queueUrl) {
+		ListenerMeters listenerMeters = this.listenerMetersByQueueUrl.get(queueUrl);
+		if (listenerMeters == null) {
+			listenerMeters = this.listenerMetersByQueueUrl.computeIfAbsent(queueUrl,
+					key -> new ListenerMeters(this.meterRegistry, Tags.of(QUEUE_TAG, getQueueName(key))));
+		}
+		return listenerMeters;
+	}
+
+	private SenderMeters getQueueSenderMeters(String queueUrl) {
+		SenderMeters senderMeters = this.senderMetersByQueueUrl.get(queueUrl);
+		if (senderMeters == null) {
+			senderMeters = this.senderMetersByQueueUrl.computeIfAbsent(queueUrl,
+					key -> new SenderMeters(this.meterRegistry, "sqs.template.send",
+							Tags.of(QUEUE_TAG, getQueueName(key))));
+		}
+		return senderMeters;
+	}
+
+	private SenderMeters getTopicSenderMeters(String topicArn) {
+		SenderMeters senderMeters = this.senderMetersByTopicArn.get(topicArn);
+		if (senderMeters == null) {
+			senderMeters = this.senderMetersByTopicArn.computeIfAbsent(topicArn,
+					key -> new SenderMeters(this.meterRegistry, "sns.template.publish",
+							Tags.of(TOPIC_TAG, getTopicName(key))));
+		}
+		return senderMeters;
+	}
+
+	static String getQueueName(String queueUrl) {
+		return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+	}
+
+	static String getTopicName(String topicArn) {
+		return topicArn.substring(topicArn.lastIndexOf(':') + 1);
+	}
+
+	private static Timer timer(MeterRegistry meterRegistry, String name, Tags tags, String outcome) {
+		return Timer.builder(name).tags(tags).tag(OUTCOME_TAG, outcome).register(meterRegistry);
+	}
+
+	private static final class ListenerMeters {
+
+		private final Timer receiveSuccess;
+
+		private final Timer receiveFailure;
+
+		private final Counter emptyReceives;
+
+		private final DistributionSummary receivedMessages;
+
+		private final Timer messageAge;
+
+		private final AtomicInteger inFlightMessages = new AtomicInteger();
+
+		private final Timer handlerSuccess;
+
+		private final Timer handlerFailure;
+
+		private final Timer deleteSuccess;
+
+		private final Timer deleteFailure;
+
+		private final Counter deleteFailures;
+
+		private final Timer visibilitySuccess;
+
+		private final Timer visibilityFailure;
+
+		private final Counter visibilityFailures;
+
+		private ListenerMeters(MeterRegistry meterRegistry, Tags tags) {
+			this.receiveSuccess = timer(meterRegistry, "sqs.listener.receive", tags, "success");
+			this.receiveFailure = timer(meterRegistry, "sqs.listener.receive", tags, "failure");
+			this.emptyReceives = Counter.builder("sqs.listener.receive.empty").tags(tags).register(meterRegistry);
+			this.receivedMessages = DistributionSummary.builder("sqs.listener.receive.messages").baseUnit("messages")
+					.tags(tags).register(meterRegistry);
+			this.messageAge = Timer.builder("sqs.listener.message.age").tags(tags).register(meterRegistry);
+			Gauge.builder("sqs.listener.in.flight", this.inFlightMessages, AtomicInteger::get).baseUnit("messages")
+					.tags(tags).register(meterRegistry);
+			this.handlerSuccess = timer(meterRegistry, "sqs.listener.handler", tags, "success");
+			this.handlerFailure = timer(meterRegistry, "sqs.listener.handler", tags, "failure");
+			this.deleteSuccess = timer(meterRegistry, "sqs.listener.delete", tags, "success");
+			this.deleteFailure = timer(meterRegistry, "sqs.listener.delete", tags, "failure");
+			this.deleteFailures = Counter.builder("sqs.listener.delete.failures").baseUnit("messages").tags(tags)
+					.register(meterRegistry);
+			this.visibilitySuccess = timer(meterRegistry, "sqs.listener.visibility", tags, "success");
+			this.visibilityFailure = timer(meterRegistry, "sqs.listener.visibility", tags, "failure");
+			this.visibilityFailures = Counter.builder("sqs.listener.visibility.failures").baseUnit("messages")
+					.tags(tags).register(meterRegistry);
+		}
+
+	}
+
+	private static final class SenderMeters {
+
+		private final Timer success;
+
+		private final Timer failure;
+
+		private final DistributionSummary batchSize;
+
+		private SenderMeters(MeterRegistry meterRegistry, String name, Tags tags) {
+			this.success = timer(meterRegistry, name, tags, "success");
+			this.failure = timer(meterRegistry, name, tags, "failure");
+			this.batchSize = DistributionSummary.builder(name + ".batch.size").baseUnit("messages").tags(tags)
+					.register(meterRegistry);
+		}
+
+		private void record(long durationNanos, boolean successful) {
+			(successful ? this.success : this.failure).record(durationNanos, TimeUnit.NANOSECONDS);
+		}
+
+	}
+
+}
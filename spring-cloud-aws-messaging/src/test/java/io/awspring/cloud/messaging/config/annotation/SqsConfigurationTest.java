@@ -122,9 +122,7 @@ class SqsConfigurationTest {
 				.isEqualTo(ConfigurationWithCustomizedMessageHandler.CUSTOM_AMAZON_SQS);
 
 		Object destinationResolver = ReflectionTestUtils.getField(sendToMessageTemplate, "destinationResolver");
-		Object targetDestinationResolver = ReflectionTestUtils.getField(destinationResolver,
-				"targetDestinationResolver");
-		assertThat(ReflectionTestUtils.getField(targetDestinationResolver, "resourceIdResolver"))
+		assertThat(ReflectionTestUtils.getField(destinationResolver, "resourceIdResolver"))
 				.isEqualTo(ConfigurationWithCustomizedMessageHandler.CUSTOM_RESOURCE_ID_RESOLVER);
 	}
 
@@ -153,9 +151,7 @@ class SqsConfigurationTest {
 				.isEqualTo(ConfigurationWithCustomizedMessageHandlerGlobalDeletionPolicy.CUSTOM_AMAZON_SQS);
 
 		Object destinationResolver = ReflectionTestUtils.getField(sendToMessageTemplate, "destinationResolver");
-		Object targetDestinationResolver = ReflectionTestUtils.getField(destinationResolver,
-				"targetDestinationResolver");
-		assertThat(ReflectionTestUtils.getField(targetDestinationResolver, "resourceIdResolver"))
+		assertThat(ReflectionTestUtils.getField(destinationResolver, "resourceIdResolver"))
 				.isEqualTo(ConfigurationWithCustomizedMessageHandlerGlobalDeletionPolicy.CUSTOM_RESOURCE_ID_RESOLVER);
 	}
 
@@ -197,7 +193,7 @@ class SqsConfigurationTest {
 		QueueMessageHandler queueMessageHandler = applicationContext.getBean(QueueMessageHandler.class);
 
 		// Assert
-		assertThat(queueMessageHandler.getReturnValueHandlers().size()).isEqualTo(1);
+		assertThat(queueMessageHandler.getReturnValueHandlers().size()).isEqualTo(2);
 		assertThat(ConfigurationWithCustomSendToMessageTemplate.SEND_TO_MESSAGE_TEMPLATE == ReflectionTestUtils
 				.getField(queueMessageHandler.getReturnValueHandlers().get(0), "messageTemplate")).isTrue();
 	}
@@ -59,11 +59,8 @@ class NotificationMessagingTemplateBeanDefinitionParserTest {
 		assertThat(ReflectionTestUtils.getField(notificationMessagingTemplate, "amazonSns"))
 				.isSameAs(registry.getBean(AmazonSNSClient.class));
 
-		Object cachingDestinationResolverProxy = ReflectionTestUtils.getField(notificationMessagingTemplate,
-				"destinationResolver");
-		Object targetDestinationResolver = ReflectionTestUtils.getField(cachingDestinationResolverProxy,
-				"targetDestinationResolver");
-		assertThat(ReflectionTestUtils.getField(targetDestinationResolver, "resourceIdResolver"))
+		Object destinationResolver = ReflectionTestUtils.getField(notificationMessagingTemplate, "destinationResolver");
+		assertThat(ReflectionTestUtils.getField(destinationResolver, "resourceIdResolver"))
 				.isEqualTo(registry.getBean(GlobalBeanDefinitionUtils.RESOURCE_ID_RESOLVER_BEAN_NAME));
 
 		assertThat(CompositeMessageConverter.class.isInstance(notificationMessagingTemplate.getMessageConverter()))
@@ -60,11 +60,8 @@ class QueueMessagingTemplateBeanDefinitionParserTest {
 		QueueMessagingTemplate queueMessagingTemplate = registry.getBean(QueueMessagingTemplate.class);
 		assertThat(ReflectionTestUtils.getField(queueMessagingTemplate, "amazonSqs"))
 				.isSameAs(registry.getBean(AmazonSQSAsync.class));
-		Object cachingDestinationResolverProxy = ReflectionTestUtils.getField(queueMessagingTemplate,
-				"destinationResolver");
-		Object targetDestinationResolver = ReflectionTestUtils.getField(cachingDestinationResolverProxy,
-				"targetDestinationResolver");
-		assertThat(ReflectionTestUtils.getField(targetDestinationResolver, "resourceIdResolver"))
+		Object destinationResolver = ReflectionTestUtils.getField(queueMessagingTemplate, "destinationResolver");
+		assertThat(ReflectionTestUtils.getField(destinationResolver, "resourceIdResolver"))
 				.isEqualTo(registry.getBean(GlobalBeanDefinitionUtils.RESOURCE_ID_RESOLVER_BEAN_NAME));
 		assertThat(CompositeMessageConverter.class.isInstance(queueMessagingTemplate.getMessageConverter())).isTrue();
 
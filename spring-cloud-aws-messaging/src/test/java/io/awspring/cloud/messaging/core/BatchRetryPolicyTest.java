@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchRetryPolicyTest {
+
+	private static AmazonServiceException serviceException(String errorCode, AmazonServiceException.ErrorType errorType,
+			int statusCode) {
+		AmazonServiceException exception = new AmazonServiceException(errorCode);
+		exception.setErrorCode(errorCode);
+		exception.setErrorType(errorType);
+		exception.setStatusCode(statusCode);
+		return exception;
+	}
+
+	@Test
+	void isRetryable_withRetryableFailures_returnsTrue() {
+		assertThat(BatchRetryPolicy.isRetryable(1, new AmazonClientException("connection refused"))).isTrue();
+		assertThat(BatchRetryPolicy.isRetryable(1,
+				serviceException("InternalError", AmazonServiceException.ErrorType.Service, 500))).isTrue();
+		assertThat(BatchRetryPolicy.isRetryable(1,
+				serviceException("Throttling", AmazonServiceException.ErrorType.Client, 400))).isTrue();
+		assertThat(BatchRetryPolicy.isRetryable(1, false)).isTrue();
+	}
+
+	@Test
+	void isRetryable_withFailuresCausedByTheRequest_returnsFalse() {
+		assertThat(BatchRetryPolicy.isRetryable(1,
+				serviceException("AccessDenied", AmazonServiceException.ErrorType.Client, 403))).isFalse();
+		assertThat(BatchRetryPolicy.isRetryable(1,
+				serviceException("InvalidParameter", AmazonServiceException.ErrorType.Client, 400))).isFalse();
+		assertThat(BatchRetryPolicy.isRetryable(1, new IllegalArgumentException("invalid"))).isFalse();
+		assertThat(BatchRetryPolicy.isRetryable(1, true)).isFalse();
+	}
+
+	@Test
+	void isRetryable_withMaxAttemptsReached_returnsFalse() {
+		assertThat(BatchRetryPolicy.isRetryable(BatchRetryPolicy.MAX_ATTEMPTS, new AmazonClientException("timeout")))
+				.isFalse();
+		assertThat(BatchRetryPolicy.isRetryable(BatchRetryPolicy.MAX_ATTEMPTS, false)).isFalse();
+	}
+
+	@Test
+	void getBackOff_withFurtherAttempts_doublesTheBackOff() {
+		assertThat(BatchRetryPolicy.getBackOff(1)).isEqualTo(BatchRetryPolicy.INITIAL_BACK_OFF);
+		assertThat(BatchRetryPolicy.getBackOff(2)).isEqualTo(BatchRetryPolicy.INITIAL_BACK_OFF * 2);
+	}
+
+}
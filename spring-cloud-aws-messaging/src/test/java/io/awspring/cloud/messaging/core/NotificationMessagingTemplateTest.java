@@ -17,19 +17,33 @@
 package io.awspring.cloud.messaging.core;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
 import com.amazonaws.services.sns.model.ListTopicsRequest;
 import com.amazonaws.services.sns.model.ListTopicsResult;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import com.amazonaws.services.sns.model.PublishBatchResultEntry;
 import com.amazonaws.services.sns.model.PublishRequest;
+import com.amazonaws.services.sns.model.PublishResult;
 import com.amazonaws.services.sns.model.Topic;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.messaging.core.DestinationResolver;
 import org.springframework.messaging.support.MessageBuilder;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNotNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,6 +85,68 @@ class NotificationMessagingTemplateTest {
 				.publish(new PublishRequest("TEST", "Message content", null).withMessageAttributes(isNotNull()));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void sendNotificationAsync_withDestinationPayloadAndSubject_publishesWithoutBlocking() throws Exception {
+		// Arrange
+		AmazonSNSAsync amazonSns = mock(AmazonSNSAsync.class);
+		when(amazonSns.publishAsync(any(PublishRequest.class), any(AsyncHandler.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(invocation.getArgument(0),
+					new PublishResult().withMessageId("messageId"));
+			return null;
+		});
+		NotificationMessagingTemplate notificationMessagingTemplate = new NotificationMessagingTemplate(amazonSns,
+				(DestinationResolver<String>) name -> name.toUpperCase(Locale.ENGLISH), null);
+
+		// Act
+		CompletableFuture<SendResult> sendResult = notificationMessagingTemplate.sendNotificationAsync("test",
+				"My message", "My subject");
+
+		// Assert
+		assertThat(sendResult.get().getMessageId()).isEqualTo("messageId");
+		ArgumentCaptor<PublishRequest> publishRequestArgumentCaptor = ArgumentCaptor.forClass(PublishRequest.class);
+		verify(amazonSns).publishAsync(publishRequestArgumentCaptor.capture(), any(AsyncHandler.class));
+		assertThat(publishRequestArgumentCaptor.getValue().getTopicArn()).isEqualTo("TEST");
+		assertThat(publishRequestArgumentCaptor.getValue().getMessage()).isEqualTo("My message");
+		assertThat(publishRequestArgumentCaptor.getValue().getSubject()).isEqualTo("My subject");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void convertAndSend_withPublishBatching_publishesConcurrentNotificationsInOneBatch() throws Exception {
+		// Arrange
+		AmazonSNSAsync amazonSns = mock(AmazonSNSAsync.class);
+		doAnswer(invocation -> {
+			PublishBatchRequest request = invocation.getArgument(0);
+			PublishBatchResult result = new PublishBatchResult();
+			request.getPublishBatchRequestEntries().forEach(entry -> result.withSuccessful(
+					new PublishBatchResultEntry().withId(entry.getId()).withMessageId(entry.getMessage())));
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request, result);
+			return null;
+		}).when(amazonSns).publishBatchAsync(any(PublishBatchRequest.class), any(AsyncHandler.class));
+		NotificationMessagingTemplate notificationMessagingTemplate = new NotificationMessagingTemplate(amazonSns,
+				(DestinationResolver<String>) name -> name.toUpperCase(Locale.ENGLISH), null);
+		notificationMessagingTemplate.setPublishBatching(true);
+		notificationMessagingTemplate.setPublishBatchWindow(200);
+
+		// Act
+		CompletableFuture<Void> first = CompletableFuture
+				.runAsync(() -> notificationMessagingTemplate.convertAndSend("test", "first"));
+		CompletableFuture<Void> second = CompletableFuture
+				.runAsync(() -> notificationMessagingTemplate.convertAndSend("test", "second"));
+		CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+		notificationMessagingTemplate.destroy();
+
+		// Assert
+		ArgumentCaptor<PublishBatchRequest> publishBatchRequestArgumentCaptor = ArgumentCaptor
+				.forClass(PublishBatchRequest.class);
+		verify(amazonSns).publishBatchAsync(publishBatchRequestArgumentCaptor.capture(), any(AsyncHandler.class));
+		assertThat(publishBatchRequestArgumentCaptor.getValue().getTopicArn()).isEqualTo("TEST");
+		assertThat(publishBatchRequestArgumentCaptor.getValue().getPublishBatchRequestEntries())
+				.extracting(PublishBatchRequestEntry::getMessage).containsExactlyInAnyOrder("first", "second");
+		verify(amazonSns, never()).publish(any(PublishRequest.class));
+	}
+
 	@Test
 	void convertAndSend_withDestinationPayloadAndSubject_shouldSetSubject() throws Exception {
 		// Arrange
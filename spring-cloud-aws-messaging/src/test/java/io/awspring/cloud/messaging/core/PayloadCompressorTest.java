@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayloadCompressorTest {
+
+	private static final String PAYLOAD = String.join(",", Collections.nCopies(200, "message content"));
+
+	@Test
+	void compress_withPayloadBelowThreshold_returnsNull() {
+		// Arrange
+		PayloadCompressor payloadCompressor = new PayloadCompressor();
+
+		// Act
+		String compressedPayload = payloadCompressor.compress("message content");
+
+		// Assert
+		assertThat(compressedPayload).isNull();
+	}
+
+	@Test
+	void decompress_withDeflateCompressedPayload_returnsOriginalPayload() {
+		// Arrange
+		PayloadCompressor payloadCompressor = new PayloadCompressor(PayloadCompressor.DEFLATE);
+		payloadCompressor.setLevel(Deflater.BEST_SPEED);
+		Message<String> message = MessageBuilder.withPayload(payloadCompressor.compress(PAYLOAD))
+				.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.DEFLATE)
+				.setHeader("key", "value").build();
+
+		// Act
+		Message<?> decompressedMessage = PayloadCompressor.decompress(message);
+
+		// Assert
+		assertThat(decompressedMessage.getPayload()).isEqualTo(PAYLOAD);
+		assertThat(decompressedMessage.getHeaders().get("key")).isEqualTo("value");
+	}
+
+	@Test
+	void decompress_withBatchOfCompressedPayloads_returnsOriginalPayloads() {
+		// Arrange
+		PayloadCompressor payloadCompressor = new PayloadCompressor();
+		Message<String> compressedMessage = MessageBuilder.withPayload(payloadCompressor.compress(PAYLOAD))
+				.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP).build();
+		Message<String> uncompressedMessage = MessageBuilder.withPayload("message content").build();
+		Message<List<Message<String>>> batchMessage = MessageBuilder
+				.withPayload(Arrays.asList(compressedMessage, uncompressedMessage)).build();
+
+		// Act
+		Message<?> decompressedMessage = PayloadCompressor.decompress(batchMessage);
+
+		// Assert
+		List<?> decompressedMessages = (List<?>) decompressedMessage.getPayload();
+		assertThat(((Message<?>) decompressedMessages.get(0)).getPayload()).isEqualTo(PAYLOAD);
+		assertThat(decompressedMessages.get(1)).isSameAs(uncompressedMessage);
+	}
+
+	@Test
+	void decompress_withInvalidPayload_throwsMessageConversionException() {
+		// Arrange
+		Message<String> message = MessageBuilder.withPayload("not compressed")
+				.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP).build();
+
+		// Act & Assert
+		assertThatThrownBy(() -> PayloadCompressor.decompress(message)).isInstanceOf(MessageConversionException.class);
+	}
+
+	@Test
+	void decompress_withPayloadExceedingMaxDecompressedSize_throwsMessageConversionException() {
+		// Arrange
+		PayloadCompressor payloadCompressor = new PayloadCompressor();
+		Message<String> message = MessageBuilder.withPayload(payloadCompressor.compress(PAYLOAD))
+				.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP).build();
+
+		// Act & Assert
+		assertThat(PayloadCompressor.decompress(message, PAYLOAD.length()).getPayload()).isEqualTo(PAYLOAD);
+		assertThatThrownBy(() -> PayloadCompressor.decompress(message, PAYLOAD.length() - 1))
+				.isInstanceOf(MessageConversionException.class).hasMessageContaining("maximum decompressed size");
+	}
+
+	@Test
+	void decompress_withHighlyCompressiblePayload_stopsAtDefaultMaxDecompressedSize() throws Exception {
+		// Arrange
+		ByteArrayOutputStream compressedPayload = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedPayload)) {
+			byte[] zeros = new byte[1024 * 1024];
+			for (int i = 0; i < 64; i++) {
+				gzipOutputStream.write(zeros);
+			}
+		}
+		Message<String> message = MessageBuilder
+				.withPayload(Base64.getEncoder().encodeToString(compressedPayload.toByteArray()))
+				.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP).build();
+
+		// Act & Assert
+		assertThat(message.getPayload().length()).isLessThan(PayloadCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE / 100);
+		assertThatThrownBy(() -> PayloadCompressor.decompress(message)).isInstanceOf(MessageConversionException.class)
+				.hasMessageContaining("maximum decompressed size");
+	}
+
+}
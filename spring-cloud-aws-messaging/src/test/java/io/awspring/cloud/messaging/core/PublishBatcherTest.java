@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
+import com.amazonaws.services.sns.model.AmazonSNSException;
+import com.amazonaws.services.sns.model.BatchResultErrorEntry;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import com.amazonaws.services.sns.model.PublishBatchResultEntry;
+import com.amazonaws.services.sns.model.PublishRequest;
+import com.amazonaws.services.sns.model.PublishResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublishBatcherTest {
+
+	private static final String TOPIC_ARN = "arn:aws:sns:eu-west:123456789012:test";
+
+	private AmazonSNSAsync amazonSns;
+
+	private ThreadPoolTaskScheduler taskScheduler;
+
+	@BeforeEach
+	void setUp() {
+		this.amazonSns = mock(AmazonSNSAsync.class);
+		this.taskScheduler = new ThreadPoolTaskScheduler();
+		this.taskScheduler.initialize();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.taskScheduler.destroy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mockPublishBatch() {
+		doAnswer(invocation -> {
+			PublishBatchRequest request = invocation.getArgument(0);
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request, successfulResult(request));
+			return null;
+		}).when(this.amazonSns).publishBatchAsync(any(PublishBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	private static PublishBatchResult successfulResult(PublishBatchRequest request) {
+		PublishBatchResult result = new PublishBatchResult();
+		for (PublishBatchRequestEntry entry : request.getPublishBatchRequestEntries()) {
+			result.withSuccessful(new PublishBatchResultEntry().withId(entry.getId())
+					.withMessageId("id-" + entry.getMessage()).withSequenceNumber("1"));
+		}
+		return result;
+	}
+
+	private static PublishRequest publishRequest(String message) {
+		return new PublishRequest(TOPIC_ARN, message);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void publish_withFullBatch_publishesBatchWithoutWaitingForBatchWindow() throws Exception {
+		// Arrange
+		mockPublishBatch();
+		PublishBatcher batcher = new PublishBatcher(this.amazonSns, mock(TaskScheduler.class), 60000);
+		List<CompletableFuture<PublishResult>> results = new ArrayList<>();
+
+		// Act
+		for (int i = 0; i < 10; i++) {
+			results.add(batcher.publish(publishRequest("message" + i)));
+		}
+
+		// Assert
+		ArgumentCaptor<PublishBatchRequest> requestCaptor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+		verify(this.amazonSns, times(1)).publishBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getValue().getTopicArn()).isEqualTo(TOPIC_ARN);
+		assertThat(requestCaptor.getValue().getPublishBatchRequestEntries()).hasSize(10);
+		assertThat(results.get(3).get().getMessageId()).isEqualTo("id-message3");
+		assertThat(results.get(3).get().getSequenceNumber()).isEqualTo("1");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void publish_withPartialBatch_publishesBatchAfterBatchWindow() throws Exception {
+		// Arrange
+		mockPublishBatch();
+		PublishBatcher batcher = new PublishBatcher(this.amazonSns, this.taskScheduler, 50);
+
+		// Act
+		CompletableFuture<PublishResult> first = batcher.publish(publishRequest("first").withSubject("subject")
+				.withMessageGroupId("group").withMessageDeduplicationId("dedup"));
+		CompletableFuture<PublishResult> second = batcher.publish(publishRequest("second"));
+
+		// Assert
+		assertThat(first.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-first");
+		assertThat(second.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-second");
+		ArgumentCaptor<PublishBatchRequest> requestCaptor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+		verify(this.amazonSns, times(1)).publishBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		List<PublishBatchRequestEntry> entries = requestCaptor.getValue().getPublishBatchRequestEntries();
+		assertThat(entries).extracting(PublishBatchRequestEntry::getMessage).containsExactly("first", "second");
+		assertThat(entries.get(0).getSubject()).isEqualTo("subject");
+		assertThat(entries.get(0).getMessageGroupId()).isEqualTo("group");
+		assertThat(entries.get(0).getMessageDeduplicationId()).isEqualTo("dedup");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void publish_withSenderFaultEntry_completesEntryExceptionallyWithoutRetry() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			PublishBatchRequest request = invocation.getArgument(0);
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request,
+					new PublishBatchResult().withFailed(new BatchResultErrorEntry().withId("0")
+							.withCode("InvalidParameter").withMessage("invalid").withSenderFault(true)));
+			return null;
+		}).when(this.amazonSns).publishBatchAsync(any(PublishBatchRequest.class), any(AsyncHandler.class));
+		PublishBatcher batcher = new PublishBatcher(this.amazonSns, mock(TaskScheduler.class), 60000);
+		CompletableFuture<PublishResult> result = batcher.publish(publishRequest("message"));
+
+		// Act
+		batcher.flush();
+
+		// Assert
+		assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(AmazonSNSException.class).hasMessageContaining("invalid");
+		verify(this.amazonSns, times(1)).publishBatchAsync(any(PublishBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	@Test
+	void publish_withSynchronousClient_publishesBatchOnFlushingThread() throws Exception {
+		// Arrange
+		AmazonSNS amazonSns = mock(AmazonSNS.class);
+		when(amazonSns.publishBatch(any(PublishBatchRequest.class)))
+				.thenAnswer(invocation -> successfulResult(invocation.getArgument(0)));
+		PublishBatcher batcher = new PublishBatcher(amazonSns, mock(TaskScheduler.class), 60000);
+		CompletableFuture<PublishResult> result = batcher.publish(publishRequest("message"));
+
+		// Act
+		batcher.flush();
+
+		// Assert
+		assertThat(result).isCompleted();
+		assertThat(result.get().getMessageId()).isEqualTo("id-message");
+	}
+
+}
@@ -16,14 +16,18 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -31,12 +35,19 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
 import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.amazonaws.services.sqs.model.ReceiveMessageResult;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import io.awspring.cloud.messaging.support.metrics.MessagingMetrics;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -48,14 +59,19 @@ import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.MimeType;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -100,6 +116,73 @@ class QueueMessageChannelTest {
 				.hasMessageContaining("wanted error");
 	}
 
+	@Test
+	void sendMessage_withMessagingMetrics_recordsSuccessfulAndFailedSends() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.sendMessage(any(SendMessageRequest.class))).thenReturn(new SendMessageResult())
+				.thenThrow(new AmazonServiceException("wanted error"));
+		MessagingMetrics metrics = mock(MessagingMetrics.class);
+
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setMetrics(metrics);
+
+		// Act
+		messageChannel.send(MessageBuilder.withPayload("message content").build());
+		assertThatThrownBy(() -> messageChannel.send(MessageBuilder.withPayload("message content").build()))
+				.isInstanceOf(MessageDeliveryException.class);
+
+		// Assert
+		verify(metrics).recordSend(eq("http://testQueue"), anyLong(), eq(true));
+		verify(metrics).recordSend(eq("http://testQueue"), anyLong(), eq(false));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sendAsync_validTextMessage_completesWithSendResult() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.sendMessageAsync(any(SendMessageRequest.class), any(AsyncHandler.class)))
+				.thenAnswer(invocation -> {
+					invocation.getArgument(1, AsyncHandler.class).onSuccess(invocation.getArgument(0),
+							new SendMessageResult().withMessageId("messageId").withSequenceNumber("1"));
+					return null;
+				});
+
+		Message<String> stringMessage = MessageBuilder.withPayload("message content").build();
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+
+		// Act
+		CompletableFuture<SendResult> sendResult = messageChannel.sendAsync(stringMessage);
+
+		// Assert
+		assertThat(sendResult.get().getMessageId()).isEqualTo("messageId");
+		assertThat(sendResult.get().getSequenceNumber()).isEqualTo("1");
+		verify(amazonSqs, never()).sendMessage(any(SendMessageRequest.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sendAsync_serviceReportsError_completesExceptionallyWithMessageDeliveryException() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.sendMessageAsync(any(SendMessageRequest.class), any(AsyncHandler.class)))
+				.thenAnswer(invocation -> {
+					invocation.getArgument(1, AsyncHandler.class).onError(new AmazonServiceException("wanted error"));
+					return null;
+				});
+
+		Message<String> stringMessage = MessageBuilder.withPayload("message content").build();
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+
+		// Act
+		CompletableFuture<SendResult> sendResult = messageChannel.sendAsync(stringMessage);
+
+		// Assert
+		assertThatThrownBy(sendResult::get).hasCauseInstanceOf(MessageDeliveryException.class)
+				.hasMessageContaining("wanted error");
+	}
+
 	@Test
 	void sendMessage_withMimeTypeAsStringHeader_shouldPassItAsMessageAttribute() throws Exception {
 		// Arrange
@@ -144,6 +227,32 @@ class QueueMessageChannelTest {
 				.getStringValue()).isEqualTo(mimeType.toString());
 	}
 
+	@Test
+	void receiveMessage_withAttributeNames_requestsOnlyGivenAndRequiredAttributes() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(
+						Collections.singleton(new com.amazonaws.services.sqs.model.Message().withBody("content"))));
+
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setAttributeNames(Collections.singleton("SenderId"));
+		messageChannel.setMessageAttributeNames(Collections.singleton("traceId"));
+
+		// Act
+		messageChannel.receive();
+
+		// Assert
+		ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequest = ArgumentCaptor
+				.forClass(ReceiveMessageRequest.class);
+		verify(amazonSqs).receiveMessage(receiveMessageRequest.capture());
+		assertThat(receiveMessageRequest.getValue().getAttributeNames()).contains("SenderId", "SentTimestamp")
+				.doesNotContain("All");
+		assertThat(receiveMessageRequest.getValue().getMessageAttributeNames())
+				.contains("traceId", MessageHeaders.CONTENT_TYPE, PayloadCompressor.CONTENT_ENCODING_HEADER)
+				.doesNotContain("All");
+	}
+
 	@Test
 	void receiveMessage_withoutTimeout_returnsTextMessage() throws Exception {
 		// Arrange
@@ -432,9 +541,13 @@ class QueueMessageChannelTest {
 
 		PollableChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
 
+		// Act
+		Message<?> receivedMessage = messageChannel.receive();
+
 		// Assert
-		assertThatThrownBy(messageChannel::receive).isInstanceOf(IllegalArgumentException.class).hasMessageContaining(
-				"Cannot convert String [17] to target class [java.util.concurrent.atomic.AtomicInteger]");
+		assertThatThrownBy(() -> receivedMessage.getHeaders().get("atomicInteger"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining(
+						"Cannot convert String [17] to target class [java.util.concurrent.atomic.AtomicInteger]");
 	}
 
 	@Test
@@ -455,10 +568,14 @@ class QueueMessageChannelTest {
 
 		PollableChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
 
+		// Act
+		Message<?> receivedMessage = messageChannel.receive();
+
 		// Assert
-		assertThatThrownBy(messageChannel::receive).isInstanceOf(MessagingException.class).hasMessageContaining(
-				"Message attribute with value '12' and data type 'Number.class.not.Found' could not be converted"
-						+ " into a Number because target class was not found.");
+		assertThatThrownBy(() -> receivedMessage.getHeaders().get("classNotFound"))
+				.isInstanceOf(MessagingException.class).hasMessageContaining(
+						"Message attribute with value '12' and data type 'Number.class.not.Found' could not be converted"
+								+ " into a Number because target class was not found.");
 	}
 
 	@Test
@@ -701,4 +818,165 @@ class QueueMessageChannelTest {
 				.isFalse();
 	}
 
+	@Test
+	void sendMessage_withPayloadExceedingPayloadStoreThreshold_shouldStorePayloadAndSendItsLocation() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		ArgumentCaptor<SendMessageRequest> sendMessageRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageRequest.class);
+		when(amazonSqs.sendMessage(sendMessageRequestArgumentCaptor.capture())).thenReturn(new SendMessageResult());
+
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		S3PayloadStore payloadStore = new S3PayloadStore(amazonS3, "payloads");
+		payloadStore.setThreshold(10);
+		payloadStore.setKeyPrefix("queue/");
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setPayloadStore(payloadStore);
+
+		// Act
+		boolean sent = messageChannel.send(MessageBuilder.withPayload("message content").build());
+
+		// Assert
+		assertThat(sent).isTrue();
+		ArgumentCaptor<String> keyArgumentCaptor = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<InputStream> contentArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+		verify(amazonS3).putObject(eq("payloads"), keyArgumentCaptor.capture(), contentArgumentCaptor.capture(),
+				any(ObjectMetadata.class));
+		assertThat(keyArgumentCaptor.getValue()).startsWith("queue/");
+		assertThat(StreamUtils.copyToString(contentArgumentCaptor.getValue(), StandardCharsets.UTF_8))
+				.isEqualTo("message content");
+
+		SendMessageRequest sendMessageRequest = sendMessageRequestArgumentCaptor.getValue();
+		assertThat(sendMessageRequest.getMessageBody()).isEqualTo("s3://payloads/" + keyArgumentCaptor.getValue());
+		assertThat(sendMessageRequest.getMessageAttributes().get(S3PayloadStore.PAYLOAD_SIZE_HEADER).getStringValue())
+				.isEqualTo("15");
+	}
+
+	@Test
+	void sendMessage_withPayloadNotExceedingPayloadStoreThreshold_shouldSendPayload() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		ArgumentCaptor<SendMessageRequest> sendMessageRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageRequest.class);
+		when(amazonSqs.sendMessage(sendMessageRequestArgumentCaptor.capture())).thenReturn(new SendMessageResult());
+
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setPayloadStore(new S3PayloadStore(amazonS3, "payloads"));
+
+		// Act
+		messageChannel.send(MessageBuilder.withPayload("message content").build());
+
+		// Assert
+		verifyNoInteractions(amazonS3);
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getMessageBody()).isEqualTo("message content");
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getMessageAttributes())
+				.doesNotContainKey(S3PayloadStore.PAYLOAD_SIZE_HEADER);
+	}
+
+	@Test
+	void sendMessage_withPayloadSizeHeaderOfResolvedPayload_shouldNotSendItAsMessageAttribute() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		ArgumentCaptor<SendMessageRequest> sendMessageRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageRequest.class);
+		when(amazonSqs.sendMessage(sendMessageRequestArgumentCaptor.capture())).thenReturn(new SendMessageResult());
+
+		MessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+
+		// Act
+		messageChannel.send(
+				MessageBuilder.withPayload("storedPayload").setHeader(S3PayloadStore.PAYLOAD_SIZE_HEADER, 13).build());
+
+		// Assert
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getMessageBody()).isEqualTo("storedPayload");
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getMessageAttributes())
+				.doesNotContainKey(S3PayloadStore.PAYLOAD_SIZE_HEADER);
+	}
+
+	@Test
+	void receiveMessage_withStoredPayload_returnsStoredPayload() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(new com.amazonaws.services.sqs.model.Message()
+						.withBody("s3://payloads/queue/key").withReceiptHandle("receiptHandle")
+						.addMessageAttributesEntry(S3PayloadStore.PAYLOAD_SIZE_HEADER, new MessageAttributeValue()
+								.withDataType("Number.java.lang.Integer").withStringValue("13"))));
+
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		S3Object s3Object = new S3Object();
+		s3Object.setObjectContent(new ByteArrayInputStream("storedPayload".getBytes(StandardCharsets.UTF_8)));
+		when(amazonS3.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
+		S3PayloadStore payloadStore = new S3PayloadStore(amazonS3, "payloads");
+		payloadStore.setDeleteAfterReceipt(true);
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setPayloadStore(payloadStore);
+
+		// Act
+		Message<?> receivedMessage = messageChannel.receive();
+
+		// Assert
+		assertThat(receivedMessage.getPayload()).isEqualTo("storedPayload");
+		assertThat(receivedMessage.getHeaders().get(S3PayloadStore.PAYLOAD_SIZE_HEADER)).isEqualTo(13);
+		ArgumentCaptor<GetObjectRequest> getObjectRequestArgumentCaptor = ArgumentCaptor
+				.forClass(GetObjectRequest.class);
+		verify(amazonS3).getObject(getObjectRequestArgumentCaptor.capture());
+		assertThat(getObjectRequestArgumentCaptor.getValue().getBucketName()).isEqualTo("payloads");
+		assertThat(getObjectRequestArgumentCaptor.getValue().getKey()).isEqualTo("queue/key");
+		verify(amazonSqs).deleteMessage(new DeleteMessageRequest("http://testQueue", "receiptHandle"));
+		verify(amazonS3).deleteObject("payloads", "queue/key");
+	}
+
+	@Test
+	void sendMessage_withPayloadCompressor_shouldSendCompressedPayloadWithContentEncoding() throws Exception {
+		// Arrange
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		ArgumentCaptor<SendMessageRequest> sendMessageRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageRequest.class);
+		when(amazonSqs.sendMessage(sendMessageRequestArgumentCaptor.capture())).thenReturn(new SendMessageResult());
+
+		PayloadCompressor payloadCompressor = new PayloadCompressor();
+		payloadCompressor.setThreshold(0);
+		QueueMessageChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+		messageChannel.setPayloadCompressor(payloadCompressor);
+		String payload = String.join(",", Collections.nCopies(100, "message content"));
+
+		// Act
+		messageChannel.send(MessageBuilder.withPayload(payload).build());
+
+		// Assert
+		SendMessageRequest sendMessageRequest = sendMessageRequestArgumentCaptor.getValue();
+		assertThat(sendMessageRequest.getMessageBody().length()).isLessThan(payload.length());
+		assertThat(sendMessageRequest.getMessageAttributes().get(PayloadCompressor.CONTENT_ENCODING_HEADER)
+				.getStringValue()).isEqualTo(PayloadCompressor.GZIP);
+		Message<?> decompressedMessage = PayloadCompressor
+				.decompress(MessageBuilder.withPayload(sendMessageRequest.getMessageBody())
+						.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP).build());
+		assertThat(decompressedMessage.getPayload()).isEqualTo(payload);
+	}
+
+	@Test
+	void receiveMessage_withCompressedPayload_returnsDecompressedPayload() throws Exception {
+		// Arrange
+		PayloadCompressor payloadCompressor = new PayloadCompressor(PayloadCompressor.DEFLATE);
+		payloadCompressor.setThreshold(0);
+		String payload = String.join(",", Collections.nCopies(100, "message content"));
+
+		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
+		when(amazonSqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(new com.amazonaws.services.sqs.model.Message()
+						.withBody(payloadCompressor.compress(payload)).withReceiptHandle("receiptHandle")
+						.addMessageAttributesEntry(PayloadCompressor.CONTENT_ENCODING_HEADER,
+								new MessageAttributeValue().withDataType(MessageAttributeDataTypes.STRING)
+										.withStringValue(PayloadCompressor.DEFLATE))));
+		PollableChannel messageChannel = new QueueMessageChannel(amazonSqs, "http://testQueue");
+
+		// Act
+		Message<?> receivedMessage = messageChannel.receive();
+
+		// Assert
+		assertThat(receivedMessage.getPayload()).isEqualTo(payload);
+	}
+
 }
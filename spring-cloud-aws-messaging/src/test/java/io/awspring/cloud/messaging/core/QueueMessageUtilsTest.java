@@ -23,14 +23,21 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import com.amazonaws.services.sqs.model.Message;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -108,4 +115,90 @@ class QueueMessageUtilsTest {
 				Arguments.of("String.description.moreInfo", "In the bottle", "In the bottle"));
 	}
 
+	@Test
+	void createsMessageWithHeadersResolvedWithSamePrecedenceAsACopy() {
+		Message message = new Message().withBody("some body").withMessageId("messageId")
+				.withReceiptHandle("receiptHandle").addAttributesEntry("SentTimestamp", "1000")
+				.addAttributesEntry("shared", "attribute")
+				.addMessageAttributesEntry("shared",
+						new MessageAttributeValue().withDataType("String").withStringValue("message attribute"))
+				.addMessageAttributesEntry("contentType",
+						new MessageAttributeValue().withDataType("String").withStringValue("text/plain"))
+				.addMessageAttributesEntry("unsupported",
+						new MessageAttributeValue().withDataType("Unknown").withStringValue("value"));
+
+		org.springframework.messaging.Message<String> result = QueueMessageUtils.createMessage(message,
+				Collections.singletonMap("additional", "header"));
+
+		MessageHeaders headers = result.getHeaders();
+		assertThat(headers.get("shared")).isEqualTo("message attribute");
+		assertThat(headers.get("additional")).isEqualTo("header");
+		assertThat(headers.get("MessageId")).isEqualTo("messageId");
+		assertThat(headers.get("ReceiptHandle", String.class)).isEqualTo("receiptHandle");
+		assertThat(headers.get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.TEXT_PLAIN);
+		assertThat(headers.getTimestamp()).isEqualTo(1000L);
+		assertThat(headers.containsKey("unsupported")).isFalse();
+		assertThat(QueueMessageUtils.getSourceData(result)).isSameAs(message);
+		assertThat(new HashMap<>(headers)).containsEntry("shared", "message attribute")
+				.containsEntry("SentTimestamp", "1000").containsEntry(MessageHeaders.ID, headers.getId())
+				.doesNotContainKey("unsupported").hasSize(9);
+	}
+
+	@Test
+	void createsMessageWithIdFromMessageAttribute() {
+		UUID id = UUID.randomUUID();
+		Message message = new Message().withBody("some body").addMessageAttributesEntry(MessageHeaders.ID,
+				new MessageAttributeValue().withDataType("String").withStringValue(id.toString()));
+
+		org.springframework.messaging.Message<String> result = QueueMessageUtils.createMessage(message);
+
+		assertThat(result.getHeaders().getId()).isEqualTo(id);
+		assertThat(result.getHeaders().get(MessageHeaders.ID)).isEqualTo(id);
+	}
+
+	@Test
+	void createsMessageWithConvertedHeaderValuesKeptForSubsequentReads() {
+		Message message = new Message().withBody("some body")
+				.addMessageAttributesEntry("binary-attribute",
+						new MessageAttributeValue().withDataType("Binary")
+								.withBinaryValue(ByteBuffer.wrap("value".getBytes(StandardCharsets.UTF_8))))
+				.addMessageAttributesEntry("number-attribute",
+						new MessageAttributeValue().withDataType("Number.java.math.BigDecimal").withStringValue("1.5"));
+
+		MessageHeaders headers = QueueMessageUtils.createMessage(message).getHeaders();
+		Object binaryValue = headers.get("binary-attribute");
+		Object numberValue = headers.get("number-attribute");
+		message.getMessageAttributes().clear();
+
+		assertThat(headers.get("binary-attribute")).isSameAs(binaryValue);
+		assertThat(headers.get("number-attribute")).isSameAs(numberValue).isEqualTo(new BigDecimal("1.5"));
+		assertThat(headers.get("missing")).isNull();
+	}
+
+	@Test
+	void createsMessageWithSentTimestampReadWithoutConvertingOtherHeaders() {
+		Message message = new Message().withBody("some body")
+				.addAttributesEntry(SqsMessageHeaders.SQS_SENT_TIMESTAMP, "1611000000000")
+				.addMessageAttributesEntry("invalid-number-attribute", new MessageAttributeValue()
+						.withDataType("Number.java.lang.Integer").withStringValue("invalid"));
+
+		SqsMessageHeaders headers = (SqsMessageHeaders) QueueMessageUtils.createMessage(message).getHeaders();
+
+		assertThat(headers.getSentTimestamp()).isEqualTo(1611000000000L);
+	}
+
+	@Test
+	void createsMessageWithCopyOfAdditionalHeaders() {
+		Message message = new Message().withBody("some body");
+		HashMap<String, Object> additionalHeaders = new HashMap<>();
+		additionalHeaders.put("additional", "header");
+
+		MessageHeaders headers = QueueMessageUtils.createMessage(message, additionalHeaders).getHeaders();
+		additionalHeaders.put("additional", "modified");
+		additionalHeaders.put("added", "later");
+
+		assertThat(headers.get("additional")).isEqualTo("header");
+		assertThat(headers.containsKey("added")).isFalse();
+	}
+
 }
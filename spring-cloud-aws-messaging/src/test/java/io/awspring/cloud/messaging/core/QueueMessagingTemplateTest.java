@@ -18,13 +18,21 @@ package io.awspring.cloud.messaging.core;
 
 import java.time.LocalDate;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
 import com.amazonaws.services.sqs.model.GetQueueUrlResult;
 import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import org.junit.jupiter.api.Test;
@@ -40,7 +48,9 @@ import org.springframework.messaging.support.MessageBuilder;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -196,6 +206,61 @@ class QueueMessagingTemplateTest {
 				.isInstanceOf(MappingJackson2MessageConverter.class);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void convertAndSendAsync_withDestination_sendsWithoutBlocking() throws Exception {
+		AmazonSQSAsync amazonSqs = createAmazonSqs();
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(invocation.getArgument(0),
+					new SendMessageResult().withMessageId("messageId"));
+			return null;
+		}).when(amazonSqs).sendMessageAsync(any(SendMessageRequest.class), any(AsyncHandler.class));
+		QueueMessagingTemplate queueMessagingTemplate = new QueueMessagingTemplate(amazonSqs);
+
+		CompletableFuture<SendResult> sendResult = queueMessagingTemplate.convertAndSendAsync("my-queue", "My message");
+
+		assertThat(sendResult.get().getMessageId()).isEqualTo("messageId");
+		ArgumentCaptor<SendMessageRequest> sendMessageRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageRequest.class);
+		verify(amazonSqs).sendMessageAsync(sendMessageRequestArgumentCaptor.capture(), any(AsyncHandler.class));
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getQueueUrl()).isEqualTo("https://queue-url.com");
+		assertThat(sendMessageRequestArgumentCaptor.getValue().getMessageBody()).isEqualTo("My message");
+		verify(amazonSqs, never()).sendMessage(any(SendMessageRequest.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void convertAndSend_withSendMessageBatching_sendsConcurrentMessagesInOneBatch() throws Exception {
+		AmazonSQSAsync amazonSqs = createAmazonSqs();
+		doAnswer(invocation -> {
+			SendMessageBatchRequest request = invocation.getArgument(0);
+			SendMessageBatchResult result = new SendMessageBatchResult();
+			request.getEntries().forEach(entry -> result.withSuccessful(
+					new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId(entry.getMessageBody())));
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request, result);
+			return null;
+		}).when(amazonSqs).sendMessageBatchAsync(any(SendMessageBatchRequest.class), any(AsyncHandler.class));
+		QueueMessagingTemplate queueMessagingTemplate = new QueueMessagingTemplate(amazonSqs);
+		queueMessagingTemplate.setSendMessageBatching(true);
+		queueMessagingTemplate.setSendMessageBatchWindow(200);
+
+		CompletableFuture<Void> first = CompletableFuture
+				.runAsync(() -> queueMessagingTemplate.convertAndSend("my-queue", "first"));
+		CompletableFuture<Void> second = CompletableFuture
+				.runAsync(() -> queueMessagingTemplate.convertAndSend("my-queue", "second"));
+		CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+		queueMessagingTemplate.destroy();
+
+		ArgumentCaptor<SendMessageBatchRequest> sendMessageBatchRequestArgumentCaptor = ArgumentCaptor
+				.forClass(SendMessageBatchRequest.class);
+		verify(amazonSqs).sendMessageBatchAsync(sendMessageBatchRequestArgumentCaptor.capture(),
+				any(AsyncHandler.class));
+		assertThat(sendMessageBatchRequestArgumentCaptor.getValue().getQueueUrl()).isEqualTo("https://queue-url.com");
+		assertThat(sendMessageBatchRequestArgumentCaptor.getValue().getEntries())
+				.extracting(SendMessageBatchRequestEntry::getMessageBody).containsExactlyInAnyOrder("first", "second");
+		verify(amazonSqs, never()).sendMessage(any(SendMessageRequest.class));
+	}
+
 	private AmazonSQSAsync createAmazonSqs() {
 		AmazonSQSAsync amazonSqs = mock(AmazonSQSAsync.class);
 
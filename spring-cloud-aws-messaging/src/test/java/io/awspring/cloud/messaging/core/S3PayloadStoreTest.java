@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import com.amazonaws.services.s3.AmazonS3;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class S3PayloadStoreTest {
+
+	private final AmazonS3 amazonS3 = mock(AmazonS3.class);
+
+	@Test
+	void isValidLocation_withKeyPrefix_acceptsOnlyKeysOfBucketAndPrefix() {
+		// Arrange
+		S3PayloadStore payloadStore = new S3PayloadStore(this.amazonS3, "payloads");
+		payloadStore.setKeyPrefix("queue/");
+
+		// Act & Assert
+		assertThat(payloadStore.isValidLocation("s3://payloads/queue/key")).isTrue();
+		assertThat(payloadStore.isValidLocation("s3://payloads/other/key")).isFalse();
+		assertThat(payloadStore.isValidLocation("s3://payloads/queue/")).isFalse();
+		assertThat(payloadStore.isValidLocation("s3://payloads-other/queue/key")).isFalse();
+		assertThat(payloadStore.isValidLocation("s3://secrets/queue/key")).isFalse();
+		assertThat(payloadStore.isValidLocation("payload")).isFalse();
+	}
+
+	@Test
+	void retrieve_withLocationOfOtherBucket_throwsAnExceptionWithoutAccessingS3() {
+		// Arrange
+		S3PayloadStore payloadStore = new S3PayloadStore(this.amazonS3, "payloads");
+
+		// Act & Assert
+		assertThatThrownBy(() -> payloadStore.retrieve("s3://secrets/key"))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(this.amazonS3);
+	}
+
+	@Test
+	void delete_withValidLocation_deletesObjectOfBucket() {
+		// Arrange
+		S3PayloadStore payloadStore = new S3PayloadStore(this.amazonS3, "payloads");
+
+		// Act
+		payloadStore.delete("s3://payloads/key");
+		assertThatThrownBy(() -> payloadStore.delete("s3://secrets/key")).isInstanceOf(IllegalArgumentException.class);
+
+		// Assert
+		verify(this.amazonS3).deleteObject("payloads", "key");
+	}
+
+}
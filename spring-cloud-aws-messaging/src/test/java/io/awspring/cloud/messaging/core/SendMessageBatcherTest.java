@@ -0,0 +1,327 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.AmazonSQSException;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SendMessageBatcherTest {
+
+	private static final String QUEUE_URL = "https://testQueue.amazonaws.com";
+
+	private AmazonSQSAsync amazonSqs;
+
+	private ThreadPoolTaskScheduler taskScheduler;
+
+	@BeforeEach
+	void setUp() {
+		this.amazonSqs = mock(AmazonSQSAsync.class);
+		this.taskScheduler = new ThreadPoolTaskScheduler();
+		this.taskScheduler.initialize();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.taskScheduler.destroy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mockSendMessageBatch(SendMessageBatchResult... results) {
+		List<SendMessageBatchResult> remainingResults = new ArrayList<>(Arrays.asList(results));
+		doAnswer(invocation -> {
+			SendMessageBatchRequest request = invocation.getArgument(0);
+			SendMessageBatchResult result = remainingResults.size() > 1 ? remainingResults.remove(0)
+					: remainingResults.get(0);
+			if (result == null) {
+				result = successfulResult(request);
+			}
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request, result);
+			return null;
+		}).when(this.amazonSqs).sendMessageBatchAsync(any(SendMessageBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	private static SendMessageBatchResult successfulResult(SendMessageBatchRequest request) {
+		SendMessageBatchResult result = new SendMessageBatchResult();
+		for (SendMessageBatchRequestEntry entry : request.getEntries()) {
+			result.withSuccessful(new SendMessageBatchResultEntry().withId(entry.getId())
+					.withMessageId("id-" + entry.getMessageBody()).withSequenceNumber("1"));
+		}
+		return result;
+	}
+
+	private static SendMessageRequest sendMessageRequest(String messageBody) {
+		return new SendMessageRequest(QUEUE_URL, messageBody);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withFullBatch_sendsBatchWithoutWaitingForBatchWindow() throws Exception {
+		// Arrange
+		mockSendMessageBatch((SendMessageBatchResult) null);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		List<CompletableFuture<SendMessageResult>> results = new ArrayList<>();
+
+		// Act
+		for (int i = 0; i < 10; i++) {
+			results.add(batcher.send(sendMessageRequest("message" + i)));
+		}
+
+		// Assert
+		ArgumentCaptor<SendMessageBatchRequest> requestCaptor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+		verify(this.amazonSqs, times(1)).sendMessageBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getValue().getQueueUrl()).isEqualTo(QUEUE_URL);
+		assertThat(requestCaptor.getValue().getEntries()).hasSize(10);
+		assertThat(results.get(3).get().getMessageId()).isEqualTo("id-message3");
+		assertThat(results.get(3).get().getSequenceNumber()).isEqualTo("1");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withPartialBatch_sendsBatchAfterBatchWindow() throws Exception {
+		// Arrange
+		mockSendMessageBatch((SendMessageBatchResult) null);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler, 50);
+		MessageAttributeValue attributeValue = new MessageAttributeValue().withDataType("String")
+				.withStringValue("value");
+
+		// Act
+		CompletableFuture<SendMessageResult> first = batcher.send(sendMessageRequest("first")
+				.withMessageGroupId("group").withMessageDeduplicationId("dedup").withDelaySeconds(5));
+		CompletableFuture<SendMessageResult> second = batcher
+				.send(sendMessageRequest("second").addMessageAttributesEntry("attribute", attributeValue));
+
+		// Assert
+		assertThat(first.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-first");
+		assertThat(second.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-second");
+		ArgumentCaptor<SendMessageBatchRequest> requestCaptor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+		verify(this.amazonSqs, times(1)).sendMessageBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		List<SendMessageBatchRequestEntry> entries = requestCaptor.getValue().getEntries();
+		assertThat(entries).extracting(SendMessageBatchRequestEntry::getMessageBody).containsExactly("first", "second");
+		assertThat(entries.get(0).getMessageGroupId()).isEqualTo("group");
+		assertThat(entries.get(0).getMessageDeduplicationId()).isEqualTo("dedup");
+		assertThat(entries.get(0).getDelaySeconds()).isEqualTo(5);
+		assertThat(entries.get(1).getMessageAttributes()).containsEntry("attribute", attributeValue);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withBatchExceedingMaxPayloadSize_sendsPendingBatchFirst() throws Exception {
+		// Arrange
+		mockSendMessageBatch((SendMessageBatchResult) null);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		String largeBody = new String(new char[SendMessageBatcher.MAX_BATCH_PAYLOAD_SIZE / 2 + 1]).replace('\0', 'a');
+
+		// Act
+		CompletableFuture<SendMessageResult> first = batcher.send(sendMessageRequest(largeBody));
+		CompletableFuture<SendMessageResult> second = batcher.send(sendMessageRequest(largeBody));
+		CompletableFuture<SendMessageResult> third = batcher.send(sendMessageRequest("small"));
+
+		// Assert
+		verify(this.amazonSqs, times(1)).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+		assertThat(first).isCompleted();
+		assertThat(second).isNotDone();
+		assertThat(third).isNotDone();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withMessageExceedingMaxPayloadSize_sendsMessageWithoutBatching() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(invocation.getArgument(0),
+					new SendMessageResult().withMessageId("large"));
+			return null;
+		}).when(this.amazonSqs).sendMessageAsync(any(SendMessageRequest.class), any(AsyncHandler.class));
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		String largeBody = new String(new char[SendMessageBatcher.MAX_BATCH_PAYLOAD_SIZE + 1]).replace('\0', 'a');
+
+		// Act
+		CompletableFuture<SendMessageResult> result = batcher.send(sendMessageRequest(largeBody));
+
+		// Assert
+		assertThat(result.get().getMessageId()).isEqualTo("large");
+		verify(this.amazonSqs, never()).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withFifoQueue_sendsMessagesOfGroupInOrderWithoutBatching() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			SendMessageRequest request = invocation.getArgument(0);
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request,
+					new SendMessageResult().withMessageId("id-" + request.getMessageBody()));
+			return null;
+		}).when(this.amazonSqs).sendMessageAsync(any(SendMessageRequest.class), any(AsyncHandler.class));
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		String fifoQueueUrl = QUEUE_URL + "/testQueue.fifo";
+		List<CompletableFuture<SendMessageResult>> results = new ArrayList<>();
+
+		// Act
+		for (int i = 0; i < 3; i++) {
+			results.add(batcher.send(new SendMessageRequest(fifoQueueUrl, "message" + i).withMessageGroupId("group")));
+		}
+
+		// Assert
+		assertThat(results).extracting(result -> result.get().getMessageId()).containsExactly("id-message0",
+				"id-message1", "id-message2");
+		ArgumentCaptor<SendMessageRequest> requestCaptor = ArgumentCaptor.forClass(SendMessageRequest.class);
+		verify(this.amazonSqs, times(3)).sendMessageAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getAllValues()).extracting(SendMessageRequest::getMessageBody)
+				.containsExactly("message0", "message1", "message2");
+		verify(this.amazonSqs, never()).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flush_withPendingMessages_sendsBatchImmediately() throws Exception {
+		// Arrange
+		mockSendMessageBatch((SendMessageBatchResult) null);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		CompletableFuture<SendMessageResult> result = batcher.send(sendMessageRequest("message"));
+		verify(this.amazonSqs, never()).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+
+		// Act
+		batcher.flush();
+
+		// Assert
+		assertThat(result).isCompleted();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withServerSideEntryFailure_retriesFailedEntry() throws Exception {
+		// Arrange
+		SendMessageBatchResult partialFailure = new SendMessageBatchResult()
+				.withSuccessful(new SendMessageBatchResultEntry().withId("0").withMessageId("id-first"))
+				.withFailed(new BatchResultErrorEntry().withId("1").withCode("InternalError").withSenderFault(false));
+		mockSendMessageBatch(partialFailure, null);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<SendMessageResult> first = batcher.send(sendMessageRequest("first"));
+		CompletableFuture<SendMessageResult> second = batcher.send(sendMessageRequest("second"));
+
+		// Assert
+		assertThat(first.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-first");
+		assertThat(second.get(1, TimeUnit.SECONDS).getMessageId()).isEqualTo("id-second");
+		ArgumentCaptor<SendMessageBatchRequest> requestCaptor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+		verify(this.amazonSqs, times(2)).sendMessageBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getAllValues().get(1).getEntries())
+				.extracting(SendMessageBatchRequestEntry::getMessageBody).containsExactly("second");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withSenderFaultEntryFailure_completesExceptionallyWithoutRetry() throws Exception {
+		// Arrange
+		SendMessageBatchResult failure = new SendMessageBatchResult().withFailed(new BatchResultErrorEntry().withId("0")
+				.withCode("InvalidMessageContents").withMessage("invalid").withSenderFault(true));
+		mockSendMessageBatch(failure);
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<SendMessageResult> result = batcher.send(sendMessageRequest("invalid"));
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(AmazonSQSException.class).hasMessageContaining("InvalidMessageContents");
+		verify(this.amazonSqs, times(1)).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withFailingRequest_retriesUpToMaxAttempts() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onError(new AmazonClientException("unavailable"));
+			return null;
+		}).when(this.amazonSqs).sendMessageBatchAsync(any(SendMessageBatchRequest.class), any(AsyncHandler.class));
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<SendMessageResult> result = batcher.send(sendMessageRequest("message"));
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(AmazonClientException.class);
+		verify(this.amazonSqs, times(BatchRetryPolicy.MAX_ATTEMPTS))
+				.sendMessageBatchAsync(any(SendMessageBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void send_withRequestRejectedByService_completesExceptionallyWithoutRetry() throws Exception {
+		// Arrange
+		AmazonServiceException accessDenied = new AmazonServiceException("denied");
+		accessDenied.setErrorCode("AccessDenied");
+		accessDenied.setErrorType(AmazonServiceException.ErrorType.Client);
+		accessDenied.setStatusCode(403);
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onError(accessDenied);
+			return null;
+		}).when(this.amazonSqs).sendMessageBatchAsync(any(SendMessageBatchRequest.class), any(AsyncHandler.class));
+		SendMessageBatcher batcher = new SendMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<SendMessageResult> result = batcher.send(sendMessageRequest("message"));
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCause(accessDenied);
+		verify(this.amazonSqs, times(1)).sendMessageBatchAsync(any(SendMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+}
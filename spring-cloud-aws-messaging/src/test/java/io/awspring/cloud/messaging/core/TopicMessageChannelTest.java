@@ -16,6 +16,7 @@
 
 package io.awspring.cloud.messaging.core;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -23,8 +24,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.AmazonSNSAsync;
 import com.amazonaws.services.sns.model.MessageAttributeValue;
 import com.amazonaws.services.sns.model.PublishRequest;
 import com.amazonaws.services.sns.model.PublishResult;
@@ -33,12 +40,17 @@ import org.mockito.ArgumentCaptor;
 
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -83,6 +95,116 @@ class TopicMessageChannelTest {
 		assertThat(sent).isTrue();
 	}
 
+	@Test
+	void sendMessage_withMessageGroupIdAndDeduplicationIdHeaders_setsFifoRequestParameters() throws Exception {
+		// Arrange
+		AmazonSNS amazonSns = mock(AmazonSNS.class);
+
+		Message<String> stringMessage = MessageBuilder.withPayload("Message content")
+				.setHeader(TopicMessageChannel.MESSAGE_GROUP_ID_HEADER, "group")
+				.setHeader(TopicMessageChannel.MESSAGE_DEDUPLICATION_ID_HEADER, "dedup").build();
+		MessageChannel messageChannel = new TopicMessageChannel(amazonSns, "topicArn");
+
+		// Act
+		boolean sent = messageChannel.send(stringMessage);
+
+		// Assert
+		ArgumentCaptor<PublishRequest> publishRequestArgumentCaptor = ArgumentCaptor.forClass(PublishRequest.class);
+		verify(amazonSns, only()).publish(publishRequestArgumentCaptor.capture());
+		assertThat(publishRequestArgumentCaptor.getValue().getMessageGroupId()).isEqualTo("group");
+		assertThat(publishRequestArgumentCaptor.getValue().getMessageDeduplicationId()).isEqualTo("dedup");
+		assertThat(publishRequestArgumentCaptor.getValue().getMessageAttributes()).doesNotContainKeys(
+				TopicMessageChannel.MESSAGE_GROUP_ID_HEADER, TopicMessageChannel.MESSAGE_DEDUPLICATION_ID_HEADER);
+		assertThat(sent).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sendAsync_withAsyncClient_publishesWithoutBlocking() throws Exception {
+		// Arrange
+		AmazonSNSAsync amazonSns = mock(AmazonSNSAsync.class);
+		when(amazonSns.publishAsync(any(PublishRequest.class), any(AsyncHandler.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(invocation.getArgument(0),
+					new PublishResult().withMessageId("messageId").withSequenceNumber("1"));
+			return null;
+		});
+
+		Message<String> stringMessage = MessageBuilder.withPayload("Message content").build();
+		TopicMessageChannel messageChannel = new TopicMessageChannel(amazonSns, "topicArn");
+
+		// Act
+		CompletableFuture<SendResult> sendResult = messageChannel.sendAsync(stringMessage);
+
+		// Assert
+		assertThat(sendResult.get().getMessageId()).isEqualTo("messageId");
+		assertThat(sendResult.get().getSequenceNumber()).isEqualTo("1");
+		verify(amazonSns, never()).publish(any(PublishRequest.class));
+	}
+
+	@Test
+	void sendAsync_withSyncClient_publishesSynchronously() throws Exception {
+		// Arrange
+		AmazonSNS amazonSns = mock(AmazonSNS.class);
+		when(amazonSns.publish(any(PublishRequest.class))).thenReturn(new PublishResult().withMessageId("messageId"));
+
+		Message<String> stringMessage = MessageBuilder.withPayload("Message content").build();
+		TopicMessageChannel messageChannel = new TopicMessageChannel(amazonSns, "topicArn");
+
+		// Act
+		CompletableFuture<SendResult> sendResult = messageChannel.sendAsync(stringMessage);
+
+		// Assert
+		assertThat(sendResult).isCompleted();
+		assertThat(sendResult.get().getMessageId()).isEqualTo("messageId");
+		assertThat(sendResult.get().getSequenceNumber()).isNull();
+	}
+
+	@Test
+	void sendAsync_serviceThrowsError_completesExceptionallyWithMessageDeliveryException() throws Exception {
+		// Arrange
+		AmazonSNS amazonSns = mock(AmazonSNS.class);
+		when(amazonSns.publish(any(PublishRequest.class))).thenThrow(new AmazonServiceException("wanted error"));
+
+		Message<String> stringMessage = MessageBuilder.withPayload("Message content").build();
+		TopicMessageChannel messageChannel = new TopicMessageChannel(amazonSns, "topicArn");
+
+		// Act
+		CompletableFuture<SendResult> sendResult = messageChannel.sendAsync(stringMessage);
+
+		// Assert
+		assertThatThrownBy(sendResult::get).hasCauseInstanceOf(MessageDeliveryException.class)
+				.hasMessageContaining("wanted error");
+	}
+
+	@Test
+	void sendMessage_withPayloadExceedingPayloadStoreThreshold_shouldStorePayloadAndPublishItsLocation()
+			throws Exception {
+		// Arrange
+		AmazonSNS amazonSns = mock(AmazonSNS.class);
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		S3PayloadStore payloadStore = new S3PayloadStore(amazonS3, "payloads");
+		payloadStore.setThreshold(10);
+		TopicMessageChannel messageChannel = new TopicMessageChannel(amazonSns, "topicArn");
+		messageChannel.setPayloadStore(payloadStore);
+
+		// Act
+		boolean sent = messageChannel.send(MessageBuilder.withPayload("Message content").build());
+
+		// Assert
+		assertThat(sent).isTrue();
+		ArgumentCaptor<String> keyArgumentCaptor = ArgumentCaptor.forClass(String.class);
+		verify(amazonS3).putObject(eq("payloads"), keyArgumentCaptor.capture(), any(InputStream.class),
+				any(ObjectMetadata.class));
+		ArgumentCaptor<PublishRequest> publishRequestArgumentCaptor = ArgumentCaptor.forClass(PublishRequest.class);
+		verify(amazonSns).publish(publishRequestArgumentCaptor.capture());
+		PublishRequest publishRequest = publishRequestArgumentCaptor.getValue();
+		assertThat(publishRequest.getMessage()).isEqualTo("s3://payloads/" + keyArgumentCaptor.getValue());
+		assertThat(publishRequest.getMessageAttributes().get(S3PayloadStore.PAYLOAD_SIZE_HEADER).getDataType())
+				.isEqualTo("Number.java.lang.Integer");
+		assertThat(publishRequest.getMessageAttributes().get(S3PayloadStore.PAYLOAD_SIZE_HEADER).getStringValue())
+				.isEqualTo("15");
+	}
+
 	@Test
 	void sendMessage_validTextMessageAndTimeout_timeoutIsIgnored() throws Exception {
 		// Arrange
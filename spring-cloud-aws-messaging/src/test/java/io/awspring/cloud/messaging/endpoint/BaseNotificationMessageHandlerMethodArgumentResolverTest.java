@@ -18,6 +18,7 @@ package io.awspring.cloud.messaging.endpoint;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.awspring.cloud.messaging.support.converter.NotificationEnvelope;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.MethodParameter;
@@ -147,4 +148,49 @@ class BaseNotificationMessageHandlerMethodArgumentResolverTest {
 						+ "arn:aws:sns:eu-west-1:721324560415:mySampleTopic:9859a6c9-6083-4690-ab02-d1aead3442df");
 	}
 
+	@Test
+	void resolveArgument_withEnvelopeResolver_readsRequestOnce() throws Exception {
+		// Arrange
+		AbstractNotificationMessageHandlerMethodArgumentResolver resolver;
+		resolver = new AbstractNotificationMessageHandlerMethodArgumentResolver() {
+
+			@Override
+			protected Object doResolveArgumentFromNotificationEnvelope(NotificationEnvelope envelope,
+					HttpInputMessage request, Class<?> parameterType) {
+				return envelope;
+			}
+
+			@Override
+			public boolean supportsParameter(MethodParameter parameter) {
+				return true;
+			}
+		};
+
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		ServletWebRequest servletWebRequest = new ServletWebRequest(servletRequest);
+
+		byte[] fileContent = FileCopyUtils.copyToByteArray(new ClassPathResource("notificationMessage.json",
+				AbstractNotificationMessageHandlerMethodArgumentResolver.class).getInputStream());
+
+		servletRequest.setContent(fileContent);
+
+		MethodParameter methodParameter = new MethodParameter(
+				ReflectionUtils.findMethod(NotificationMethods.class, "subscriptionMethod", NotificationStatus.class),
+				0);
+
+		// Act
+		NotificationEnvelope envelope = (NotificationEnvelope) resolver.resolveArgument(methodParameter, null,
+				servletWebRequest, null);
+		NotificationEnvelope secondEnvelope = (NotificationEnvelope) resolver.resolveArgument(methodParameter, null,
+				servletWebRequest, null);
+
+		// Assert
+		assertThat(secondEnvelope).isSameAs(envelope);
+		assertThat(envelope.getType()).isEqualTo("Notification");
+		assertThat(envelope.getTopicArn()).isEqualTo("arn:aws:sns:eu-west-1:111111111111:mySampleTopic");
+		assertThat(envelope.getSubject()).isEqualTo("asdasd");
+		assertThat(envelope.getMessage()).isEqualTo("asdasd");
+		assertThat(envelope.getToken()).isNull();
+	}
+
 }
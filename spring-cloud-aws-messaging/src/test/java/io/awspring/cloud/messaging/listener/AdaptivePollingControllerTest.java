@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static io.awspring.cloud.messaging.listener.AdaptivePollingController.INITIAL_BACK_OFF_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePollingControllerTest {
+
+	@Test
+	void receiveCompleted_withCompleteBatches_activatesPollersUpToTheMaximum() throws Exception {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(3, 10000);
+
+		// Act
+		long backOffTime = controller.receiveCompleted(10, 10);
+		controller.receiveCompleted(10, 10);
+		controller.receiveCompleted(10, 10);
+
+		// Assert
+		assertThat(backOffTime).isZero();
+		assertThat(controller.getActivePollers()).isEqualTo(3);
+		assertThat(controller.awaitActivation(2, 0)).isTrue();
+	}
+
+	@Test
+	void receiveCompleted_withPartialBatch_keepsTheActivePollers() throws Exception {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(3, 10000);
+
+		// Act
+		long backOffTime = controller.receiveCompleted(10, 5);
+
+		// Assert
+		assertThat(backOffTime).isZero();
+		assertThat(controller.getActivePollers()).isEqualTo(1);
+		assertThat(controller.awaitActivation(1, 10)).isFalse();
+	}
+
+	@Test
+	void receiveCompleted_withEmptyReceive_deactivatesAllPollersButOne() {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(3, 10000);
+		controller.receiveCompleted(10, 10);
+		controller.receiveCompleted(10, 10);
+
+		// Act
+		controller.receiveCompleted(10, 0);
+
+		// Assert
+		assertThat(controller.getActivePollers()).isEqualTo(1);
+	}
+
+	@Test
+	void receiveCompleted_withConsecutiveEmptyReceives_backsOffExponentiallyWithJitter() {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(1, 10000);
+
+		// Act
+		long firstBackOffTime = controller.receiveCompleted(10, 0);
+		long secondBackOffTime = controller.receiveCompleted(10, 0);
+		long thirdBackOffTime = controller.receiveCompleted(10, 0);
+
+		// Assert
+		assertThat(firstBackOffTime).isBetween(INITIAL_BACK_OFF_TIME / 2, INITIAL_BACK_OFF_TIME);
+		assertThat(secondBackOffTime).isBetween(INITIAL_BACK_OFF_TIME, 2 * INITIAL_BACK_OFF_TIME);
+		assertThat(thirdBackOffTime).isBetween(2 * INITIAL_BACK_OFF_TIME, 4 * INITIAL_BACK_OFF_TIME);
+	}
+
+	@Test
+	void receiveCompleted_withManyEmptyReceives_backOffTimeIsLimitedToTheMaximum() {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(1, 5000);
+
+		// Act
+		long backOffTime = 0;
+		for (int i = 0; i < 100; i++) {
+			backOffTime = controller.receiveCompleted(10, 0);
+		}
+
+		// Assert
+		assertThat(backOffTime).isBetween(2500L, 5000L);
+	}
+
+	@Test
+	void receiveCompleted_withMessagesAfterEmptyReceives_resetsTheBackOff() {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(1, 10000);
+		controller.receiveCompleted(10, 0);
+		controller.receiveCompleted(10, 0);
+
+		// Act
+		controller.receiveCompleted(10, 1);
+		long backOffTime = controller.receiveCompleted(10, 0);
+
+		// Assert
+		assertThat(backOffTime).isBetween(INITIAL_BACK_OFF_TIME / 2, INITIAL_BACK_OFF_TIME);
+	}
+
+	@Test
+	void stop_withWaitingPollers_wakesThemUp() throws Exception {
+		// Arrange
+		AdaptivePollingController controller = new AdaptivePollingController(2, 60000);
+		CompletableFuture<Void> backOff = CompletableFuture.runAsync(() -> {
+			try {
+				controller.backOff(60000);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		CompletableFuture<Boolean> activation = CompletableFuture.supplyAsync(() -> {
+			try {
+				return controller.awaitActivation(1, 60000);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return true;
+			}
+		});
+		Thread.sleep(100);
+
+		// Act
+		controller.stop();
+
+		// Assert
+		backOff.get(1, TimeUnit.SECONDS);
+		assertThat(activation.get(1, TimeUnit.SECONDS)).isFalse();
+	}
+
+}
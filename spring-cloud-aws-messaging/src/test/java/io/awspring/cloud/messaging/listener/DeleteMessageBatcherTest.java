@@ -0,0 +1,273 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResultEntry;
+import io.awspring.cloud.messaging.core.BatchRetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DeleteMessageBatcherTest {
+
+	private static final String QUEUE_URL = "https://testQueue.amazonaws.com";
+
+	private AmazonSQSAsync amazonSqs;
+
+	private ThreadPoolTaskScheduler taskScheduler;
+
+	@BeforeEach
+	void setUp() {
+		this.amazonSqs = mock(AmazonSQSAsync.class);
+		this.taskScheduler = new ThreadPoolTaskScheduler();
+		this.taskScheduler.initialize();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.taskScheduler.destroy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mockDeleteMessageBatch(DeleteMessageBatchResult... results) {
+		List<DeleteMessageBatchResult> remainingResults = new ArrayList<>();
+		for (DeleteMessageBatchResult result : results) {
+			remainingResults.add(result);
+		}
+		doAnswer(invocation -> {
+			DeleteMessageBatchRequest request = invocation.getArgument(0);
+			DeleteMessageBatchResult result = remainingResults.size() > 1 ? remainingResults.remove(0)
+					: remainingResults.get(0);
+			if (result == null) {
+				result = successfulResult(request);
+			}
+			invocation.getArgument(1, AsyncHandler.class).onSuccess(request, result);
+			return null;
+		}).when(this.amazonSqs).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	private static DeleteMessageBatchResult successfulResult(DeleteMessageBatchRequest request) {
+		DeleteMessageBatchResult result = new DeleteMessageBatchResult();
+		for (DeleteMessageBatchRequestEntry entry : request.getEntries()) {
+			result.withSuccessful(new DeleteMessageBatchResultEntry().withId(entry.getId()));
+		}
+		return result;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withFullBatch_sendsBatchWithoutWaitingForFlushInterval() throws Exception {
+		// Arrange
+		mockDeleteMessageBatch((DeleteMessageBatchResult) null);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		List<CompletableFuture<Void>> results = new ArrayList<>();
+
+		// Act
+		for (int i = 0; i < 10; i++) {
+			results.add(batcher.delete(QUEUE_URL, "receiptHandle" + i));
+		}
+
+		// Assert
+		ArgumentCaptor<DeleteMessageBatchRequest> requestCaptor = ArgumentCaptor
+				.forClass(DeleteMessageBatchRequest.class);
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getValue().getQueueUrl()).isEqualTo(QUEUE_URL);
+		assertThat(requestCaptor.getValue().getEntries()).hasSize(10);
+		assertThat(results).allMatch(result -> result.isDone() && !result.isCompletedExceptionally());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withPartialBatch_sendsBatchAfterFlushInterval() throws Exception {
+		// Arrange
+		mockDeleteMessageBatch((DeleteMessageBatchResult) null);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, this.taskScheduler, 50);
+
+		// Act
+		CompletableFuture<Void> first = batcher.delete(QUEUE_URL, "first");
+		CompletableFuture<Void> second = batcher.delete(QUEUE_URL, "second");
+
+		// Assert
+		first.get(1, TimeUnit.SECONDS);
+		second.get(1, TimeUnit.SECONDS);
+		ArgumentCaptor<DeleteMessageBatchRequest> requestCaptor = ArgumentCaptor
+				.forClass(DeleteMessageBatchRequest.class);
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getValue().getEntries()).extracting(DeleteMessageBatchRequestEntry::getReceiptHandle)
+				.containsExactly("first", "second");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flush_withPendingEntries_sendsBatchImmediately() throws Exception {
+		// Arrange
+		mockDeleteMessageBatch((DeleteMessageBatchResult) null);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, mock(TaskScheduler.class), 60000);
+		CompletableFuture<Void> result = batcher.delete(QUEUE_URL, "receiptHandle");
+		verify(this.amazonSqs, never()).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class),
+				any(AsyncHandler.class));
+
+		// Act
+		batcher.flush();
+
+		// Assert
+		assertThat(result).isCompleted();
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withServerSideEntryFailure_retriesFailedEntry() throws Exception {
+		// Arrange
+		DeleteMessageBatchResult partialFailure = new DeleteMessageBatchResult()
+				.withSuccessful(new DeleteMessageBatchResultEntry().withId("0"))
+				.withFailed(new BatchResultErrorEntry().withId("1").withCode("InternalError").withSenderFault(false));
+		mockDeleteMessageBatch(partialFailure, null);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<Void> first = batcher.delete(QUEUE_URL, "first");
+		CompletableFuture<Void> second = batcher.delete(QUEUE_URL, "second");
+
+		// Assert
+		first.get(1, TimeUnit.SECONDS);
+		second.get(1, TimeUnit.SECONDS);
+		ArgumentCaptor<DeleteMessageBatchRequest> requestCaptor = ArgumentCaptor
+				.forClass(DeleteMessageBatchRequest.class);
+		verify(this.amazonSqs, timeout(1000).times(2)).deleteMessageBatchAsync(requestCaptor.capture(),
+				any(AsyncHandler.class));
+		assertThat(requestCaptor.getAllValues().get(1).getEntries())
+				.extracting(DeleteMessageBatchRequestEntry::getReceiptHandle).containsExactly("second");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withServerSideEntryFailure_backsOffBeforeRetry() throws Exception {
+		// Arrange
+		DeleteMessageBatchResult failure = new DeleteMessageBatchResult()
+				.withFailed(new BatchResultErrorEntry().withId("0").withCode("InternalError").withSenderFault(false));
+		mockDeleteMessageBatch(failure);
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, taskScheduler, 60000);
+		CompletableFuture<Void> result = batcher.delete(QUEUE_URL, "receiptHandle");
+		Instant flushed = Instant.now();
+
+		// Act
+		batcher.flush();
+
+		// Assert
+		ArgumentCaptor<Instant> retryTimeCaptor = ArgumentCaptor.forClass(Instant.class);
+		verify(taskScheduler, times(2)).schedule(any(Runnable.class), retryTimeCaptor.capture());
+		assertThat(retryTimeCaptor.getAllValues().get(1))
+				.isAfterOrEqualTo(flushed.plusMillis(BatchRetryPolicy.INITIAL_BACK_OFF));
+		assertThat(result).isNotDone();
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withSenderFaultEntryFailure_completesExceptionallyWithoutRetry() throws Exception {
+		// Arrange
+		DeleteMessageBatchResult failure = new DeleteMessageBatchResult().withFailed(new BatchResultErrorEntry()
+				.withId("0").withCode("ReceiptHandleIsInvalid").withMessage("invalid").withSenderFault(true));
+		mockDeleteMessageBatch(failure);
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<Void> result = batcher.delete(QUEUE_URL, "invalid");
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasMessageContaining("ReceiptHandleIsInvalid");
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withFailingRequest_retriesUpToMaxAttempts() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onError(new AmazonClientException("unavailable"));
+			return null;
+		}).when(this.amazonSqs).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class), any(AsyncHandler.class));
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<Void> result = batcher.delete(QUEUE_URL, "receiptHandle");
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(AmazonClientException.class);
+		verify(this.amazonSqs, times(BatchRetryPolicy.MAX_ATTEMPTS))
+				.deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void delete_withRequestRejectedByService_completesExceptionallyWithoutRetry() throws Exception {
+		// Arrange
+		AmazonServiceException accessDenied = new AmazonServiceException("denied");
+		accessDenied.setErrorCode("AccessDenied");
+		accessDenied.setErrorType(AmazonServiceException.ErrorType.Client);
+		accessDenied.setStatusCode(403);
+		doAnswer(invocation -> {
+			invocation.getArgument(1, AsyncHandler.class).onError(accessDenied);
+			return null;
+		}).when(this.amazonSqs).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class), any(AsyncHandler.class));
+		DeleteMessageBatcher batcher = new DeleteMessageBatcher(this.amazonSqs, this.taskScheduler, 10);
+
+		// Act
+		CompletableFuture<Void> result = batcher.delete(QUEUE_URL, "receiptHandle");
+
+		// Assert
+		assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCause(accessDenied);
+		verify(this.amazonSqs, times(1)).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class),
+				any(AsyncHandler.class));
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ErrorVisibilityBackOffTest {
+
+	@Test
+	void getVisibilityTimeout_withIncreasingReceiveCount_growsExponentiallyUpToMaximum() {
+		// Arrange
+		ErrorVisibilityBackOff backOff = new ErrorVisibilityBackOff(5, 3, 100);
+
+		// Act & Assert
+		assertThat(backOff.getVisibilityTimeout(1)).isEqualTo(5);
+		assertThat(backOff.getVisibilityTimeout(2)).isEqualTo(15);
+		assertThat(backOff.getVisibilityTimeout(3)).isEqualTo(45);
+		assertThat(backOff.getVisibilityTimeout(4)).isEqualTo(100);
+		assertThat(backOff.getVisibilityTimeout(1000)).isEqualTo(100);
+	}
+
+	@Test
+	void getVisibilityTimeout_withUnknownReceiveCount_usesInitialVisibilityTimeout() {
+		// Arrange
+		ErrorVisibilityBackOff backOff = new ErrorVisibilityBackOff(10);
+
+		// Act & Assert
+		assertThat(backOff.getVisibilityTimeout(0)).isEqualTo(10);
+		assertThat(backOff.getMaxVisibilityTimeout()).isEqualTo(ErrorVisibilityBackOff.MAX_VISIBILITY_TIMEOUT);
+	}
+
+	@Test
+	void new_withMaxVisibilityTimeoutLowerThanInitialVisibilityTimeout_throwsAnException() {
+		assertThatThrownBy(() -> new ErrorVisibilityBackOff(60, 2, 30)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxVisibilityTimeout must be greater than or equal to initialVisibilityTimeout");
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.amazonaws.services.sqs.model.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageGroupLanesTest {
+
+	@Test
+	void offer_withoutOpenLane_opensTheLane() {
+		// Arrange
+		MessageGroupLanes messageGroupLanes = new MessageGroupLanes();
+
+		// Act
+		boolean firstGroupOpened = messageGroupLanes.offer("first", messages("first1"));
+		boolean secondGroupOpened = messageGroupLanes.offer("second", messages("second1"));
+
+		// Assert
+		assertThat(firstGroupOpened).isTrue();
+		assertThat(secondGroupOpened).isTrue();
+		assertThat(messageGroupLanes.size()).isEqualTo(2);
+	}
+
+	@Test
+	void offer_withOpenLane_appendsTheMessagesInOrder() {
+		// Arrange
+		MessageGroupLanes messageGroupLanes = new MessageGroupLanes();
+		messageGroupLanes.offer("first", messages("first1"));
+
+		// Act
+		boolean secondOfferOpened = messageGroupLanes.offer("first", messages("first2", "first3"));
+		boolean thirdOfferOpened = messageGroupLanes.offer("first", messages("first4"));
+
+		// Assert
+		assertThat(secondOfferOpened).isFalse();
+		assertThat(thirdOfferOpened).isFalse();
+		assertThat(messageGroupLanes.poll("first")).extracting(Message::getBody).containsExactly("first2", "first3");
+		assertThat(messageGroupLanes.poll("first")).extracting(Message::getBody).containsExactly("first4");
+	}
+
+	@Test
+	void poll_withEmptyLane_closesTheLane() {
+		// Arrange
+		MessageGroupLanes messageGroupLanes = new MessageGroupLanes();
+		messageGroupLanes.offer("first", messages("first1"));
+
+		// Act
+		List<Message> nextMessages = messageGroupLanes.poll("first");
+
+		// Assert
+		assertThat(nextMessages).isNull();
+		assertThat(messageGroupLanes.size()).isZero();
+		assertThat(messageGroupLanes.offer("first", messages("first2"))).isTrue();
+	}
+
+	@Test
+	void close_withWaitingMessages_returnsThemAndClosesTheLane() {
+		// Arrange
+		MessageGroupLanes messageGroupLanes = new MessageGroupLanes();
+		messageGroupLanes.offer("first", messages("first1"));
+		messageGroupLanes.offer("first", messages("first2"));
+		messageGroupLanes.offer("first", messages("first3"));
+
+		// Act
+		List<Message> remainingMessages = messageGroupLanes.close("first");
+
+		// Assert
+		assertThat(remainingMessages).extracting(Message::getBody).containsExactly("first2", "first3");
+		assertThat(messageGroupLanes.size()).isZero();
+		assertThat(messageGroupLanes.close("first")).isEqualTo(Collections.emptyList());
+	}
+
+	private static List<Message> messages(String... bodies) {
+		List<Message> messages = new ArrayList<>(bodies.length);
+		Arrays.stream(bodies).forEach(body -> messages.add(new Message().withBody(body).withReceiptHandle(body)));
+		return messages;
+	}
+
+}
@@ -20,12 +20,15 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.buffered.AmazonSQSBufferedAsyncClient;
 import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
 import com.amazonaws.services.sqs.model.GetQueueAttributesResult;
 import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
 import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.QueueAttributeName;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import io.awspring.cloud.messaging.listener.AbstractMessageListenerContainer.QueueAttributes;
 import io.awspring.cloud.messaging.listener.annotation.SqsListener;
 import io.awspring.cloud.messaging.support.destination.DynamicQueueUrlDestinationResolver;
@@ -37,6 +40,7 @@ import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.messaging.core.CachingDestinationResolverProxy;
 import org.springframework.messaging.core.DestinationResolutionException;
 import org.springframework.messaging.core.DestinationResolver;
+import org.springframework.messaging.handler.annotation.Header;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -259,6 +263,72 @@ class MessageListenerContainerTest {
 				.isEqualTo(33L);
 	}
 
+	@Test
+	void receiveMessageRequests_withDerivedAttributeNames_requestOnlyAttributesReadByListener() throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+		container.setDeriveAttributeNames(true);
+
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("messageListener", MessageListenerWithHeaders.class);
+		applicationContext.registerSingleton("anotherMessageListener", MessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+
+		when(mock.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("http://testQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		// Act
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		// Assert
+		ReceiveMessageRequest receiveMessageRequest = container.getRegisteredQueues().get("headerQueue")
+				.getReceiveMessageRequest();
+		assertThat(receiveMessageRequest.getAttributeNames()).contains("SenderId", "MessageGroupId")
+				.doesNotContain("All");
+		assertThat(receiveMessageRequest.getMessageAttributeNames()).contains("traceId", "contentType")
+				.doesNotContain("All");
+		assertThat(container.getRegisteredQueues().get("testQueue").getReceiveMessageRequest().getAttributeNames())
+				.doesNotContain("All", "SenderId");
+	}
+
+	@Test
+	void receiveMessageRequests_withAttributeNamesOnListener_requestConfiguredAttributes() throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("messageListener", MessageListenerWithAttributeNames.class);
+		applicationContext.registerSingleton("anotherMessageListener", MessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+
+		when(mock.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("http://testQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		// Act
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		// Assert
+		ReceiveMessageRequest receiveMessageRequest = container.getRegisteredQueues().get("headerQueue")
+				.getReceiveMessageRequest();
+		assertThat(receiveMessageRequest.getAttributeNames()).containsExactly("All");
+		assertThat(receiveMessageRequest.getMessageAttributeNames()).contains("tenant", "contentType")
+				.doesNotContain("All", "traceId");
+		assertThat(container.getRegisteredQueues().get("testQueue").getReceiveMessageRequest().getAttributeNames())
+				.containsExactly("All");
+	}
+
 	@Test
 	void receiveMessageRequests_withMultipleElements_created() throws Exception {
 		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
@@ -466,6 +536,184 @@ class MessageListenerContainerTest {
 				.isEqualTo("https://anotherTestQueue.amazonaws.com");
 	}
 
+	@Test
+	void afterPropertiesSet_withQueueAttributesRequestFailing_shouldFailWithTheException() throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = createMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		AmazonServiceException exception = new AmazonServiceException("Access denied");
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://testQueue.amazonaws.com"));
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("anotherTestQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://anotherTestQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(new GetQueueAttributesRequest("https://testQueue.amazonaws.com")
+				.withAttributeNames(QueueAttributeName.RedrivePolicy))).thenThrow(exception);
+		when(mock.getQueueAttributes(new GetQueueAttributesRequest("https://anotherTestQueue.amazonaws.com")
+				.withAttributeNames(QueueAttributeName.RedrivePolicy))).thenReturn(new GetQueueAttributesResult());
+
+		messageHandler.afterPropertiesSet();
+
+		// Act & Assert
+		assertThatThrownBy(container::afterPropertiesSet).isSameAs(exception);
+		assertThat(container.getRegisteredQueues()).isEmpty();
+	}
+
+	@Test
+	void receiveMessageRequests_withQueueAttributesRequestFailingAndIgnoreUnresolvedQueues_shouldIgnoreQueueAndRegisterOtherQueues()
+			throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+		container.setIgnoreUnresolvedQueues(true);
+		Logger loggerMock = container.getLogger();
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = createMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		AmazonServiceException exception = new AmazonServiceException("Access denied");
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://testQueue.amazonaws.com"));
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("anotherTestQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://anotherTestQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(new GetQueueAttributesRequest("https://testQueue.amazonaws.com")
+				.withAttributeNames(QueueAttributeName.RedrivePolicy))).thenThrow(exception);
+		when(mock.getQueueAttributes(new GetQueueAttributesRequest("https://anotherTestQueue.amazonaws.com")
+				.withAttributeNames(QueueAttributeName.RedrivePolicy))).thenReturn(new GetQueueAttributesResult());
+
+		messageHandler.afterPropertiesSet();
+
+		// Act
+		container.afterPropertiesSet();
+
+		// Assert
+		assertThat(container.getRegisteredQueues()).containsOnlyKeys("anotherTestQueue");
+		verify(loggerMock).warn("Ignoring queue with name '{}' as its attributes could not be retrieved", "testQueue",
+				exception);
+	}
+
+	@Test
+	void afterPropertiesSet_withQueueResolutionExceedingTimeout_shouldFailAfterTheTimeout() throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+		container.setQueueResolutionTimeout(200);
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = createMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		CountDownLatch queueUrlLatch = new CountDownLatch(1);
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue"))).thenAnswer(invocation -> {
+			queueUrlLatch.await(10, TimeUnit.SECONDS);
+			return new GetQueueUrlResult().withQueueUrl("https://testQueue.amazonaws.com");
+		});
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("anotherTestQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://anotherTestQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		messageHandler.afterPropertiesSet();
+
+		// Act
+		long start = System.currentTimeMillis();
+		assertThatThrownBy(container::afterPropertiesSet).isInstanceOf(IllegalStateException.class)
+				.hasMessage("Queue with name 'testQueue' could not be resolved within 200 milliseconds");
+		long initializationTime = System.currentTimeMillis() - start;
+		queueUrlLatch.countDown();
+
+		// Assert
+		assertThat(initializationTime).isLessThan(5000);
+		assertThat(container.getRegisteredQueues()).isEmpty();
+	}
+
+	@Test
+	void receiveMessageRequests_withQueueResolutionExceedingTimeoutAndIgnoreUnresolvedQueues_shouldIgnoreUnresolvedQueue()
+			throws Exception {
+		// Arrange
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer();
+		container.setQueueResolutionTimeout(200);
+		container.setIgnoreUnresolvedQueues(true);
+		Logger loggerMock = container.getLogger();
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = createMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		CountDownLatch queueUrlLatch = new CountDownLatch(1);
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue"))).thenAnswer(invocation -> {
+			queueUrlLatch.await(10, TimeUnit.SECONDS);
+			return new GetQueueUrlResult().withQueueUrl("https://testQueue.amazonaws.com");
+		});
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("anotherTestQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://anotherTestQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		messageHandler.afterPropertiesSet();
+
+		// Act
+		long start = System.currentTimeMillis();
+		container.afterPropertiesSet();
+		long initializationTime = System.currentTimeMillis() - start;
+		queueUrlLatch.countDown();
+
+		// Assert
+		assertThat(initializationTime).isLessThan(5000);
+		assertThat(container.getRegisteredQueues()).containsOnlyKeys("anotherTestQueue");
+		verify(loggerMock).warn("Ignoring queue with name '{}' as it could not be resolved within {} milliseconds",
+				"testQueue", 200L);
+	}
+
+	@Test
+	void afterPropertiesSet_withDeferredQueueResolution_shouldRegisterQueuesOnceResolved() throws Exception {
+		// Arrange
+		CountDownLatch registeredLatch = new CountDownLatch(2);
+		AbstractMessageListenerContainer container = new StubAbstractMessageListenerContainer() {
+
+			@Override
+			protected void queueRegistered(String logicalQueueName, QueueAttributes queueAttributes) {
+				registeredLatch.countDown();
+			}
+
+		};
+		container.setDeferredQueueResolution(true);
+		AmazonSQSAsync mock = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(mock);
+		QueueMessageHandler messageHandler = createMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		CountDownLatch queueUrlLatch = new CountDownLatch(1);
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue"))).thenAnswer(invocation -> {
+			queueUrlLatch.await(10, TimeUnit.SECONDS);
+			return new GetQueueUrlResult().withQueueUrl("https://testQueue.amazonaws.com");
+		});
+		when(mock.getQueueUrl(new GetQueueUrlRequest().withQueueName("anotherTestQueue")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://anotherTestQueue.amazonaws.com"));
+		when(mock.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		messageHandler.afterPropertiesSet();
+
+		// Act
+		container.afterPropertiesSet();
+		boolean registeredBeforeSlowQueue = container.getRegisteredQueues().containsKey("testQueue");
+		queueUrlLatch.countDown();
+
+		// Assert
+		assertThat(registeredBeforeSlowQueue).isFalse();
+		assertThat(registeredLatch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(container.getRegisteredQueues()).containsOnlyKeys("testQueue", "anotherTestQueue");
+	}
+
+	private static QueueMessageHandler createMessageHandler() {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("messageListener", MessageListener.class);
+		applicationContext.registerSingleton("anotherMessageListener", AnotherMessageListener.class);
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		messageHandler.setApplicationContext(applicationContext);
+		return messageHandler;
+	}
+
 	private static class StubAbstractMessageListenerContainer extends AbstractMessageListenerContainer {
 
 		private final Logger mock = mock(Logger.class);
@@ -495,6 +743,26 @@ class MessageListenerContainerTest {
 
 	}
 
+	private static class MessageListenerWithHeaders {
+
+		@SuppressWarnings({ "UnusedDeclaration", "EmptyMethod" })
+		@SqsListener("headerQueue")
+		void listenerMethod(String ignore, @Header("SenderId") String senderId, @Header("traceId") String traceId) {
+
+		}
+
+	}
+
+	private static class MessageListenerWithAttributeNames {
+
+		@SuppressWarnings({ "UnusedDeclaration", "EmptyMethod" })
+		@SqsListener(value = "headerQueue", messageAttributeNames = "tenant")
+		void listenerMethod(String ignore, @Header("SenderId") String senderId, @Header("traceId") String traceId) {
+
+		}
+
+	}
+
 	private static class FifoMessageListener {
 
 		@SuppressWarnings({ "UnusedDeclaration", "EmptyMethod" })
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.services.sqs.model.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefetchBufferTest {
+
+	@Test
+	void reserve_withPartiallyFilledBuffer_reservesTheFreeCapacityOnly() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(15, null);
+		prefetchBuffer.add(messages("first", "second", "third"), prefetchBuffer.reserve(10, 0));
+
+		// Act
+		int firstReservation = prefetchBuffer.reserve(10, 0);
+		int secondReservation = prefetchBuffer.reserve(10, 10);
+
+		// Assert
+		assertThat(firstReservation).isEqualTo(10);
+		assertThat(secondReservation).isEqualTo(2);
+	}
+
+	@Test
+	void reserve_withFullBuffer_returnsZeroAfterTimeout() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(2, null);
+		prefetchBuffer.add(messages("first", "second"), prefetchBuffer.reserve(2, 0));
+
+		// Act
+		int reservation = prefetchBuffer.reserve(10, 10);
+
+		// Assert
+		assertThat(reservation).isZero();
+	}
+
+	@Test
+	void add_withLessMessagesThanReserved_releasesTheUnusedCapacity() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(10, null);
+		int reservation = prefetchBuffer.reserve(10, 0);
+
+		// Act
+		prefetchBuffer.add(messages("first"), reservation);
+
+		// Assert
+		assertThat(prefetchBuffer.size()).isEqualTo(1);
+		assertThat(prefetchBuffer.reserve(10, 0)).isEqualTo(9);
+	}
+
+	@Test
+	void take_withBufferedMessages_returnsTheMessagesInReceiveOrderAndFreesCapacity() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(3, null);
+		prefetchBuffer.add(messages("first", "second", "third"), prefetchBuffer.reserve(3, 0));
+
+		// Act
+		List<Message> takenMessages = prefetchBuffer.take(2, 0, new ArrayList<>());
+
+		// Assert
+		assertThat(takenMessages).extracting(Message::getBody).containsExactly("first", "second");
+		assertThat(prefetchBuffer.reserve(10, 0)).isEqualTo(2);
+	}
+
+	@Test
+	void take_withMessagesLongerBufferedThanTheirVisibilityTimeout_discardsThem() throws Exception {
+		// Arrange
+		AtomicLong nanoClock = new AtomicLong();
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(10, 30, nanoClock::get);
+		prefetchBuffer.add(messages("expired"), prefetchBuffer.reserve(1, 0));
+		nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+		prefetchBuffer.add(messages("valid"), prefetchBuffer.reserve(1, 0));
+		nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		List<Message> expiredMessages = new ArrayList<>();
+
+		// Act
+		List<Message> takenMessages = prefetchBuffer.take(10, 0, expiredMessages);
+
+		// Assert
+		assertThat(takenMessages).extracting(Message::getBody).containsExactly("valid");
+		assertThat(expiredMessages).extracting(Message::getBody).containsExactly("expired");
+	}
+
+	@Test
+	void take_withEmptyBuffer_wakesUpWhenMessagesAreAdded() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(10, null);
+		CompletableFuture<List<Message>> takenMessages = CompletableFuture.supplyAsync(() -> {
+			try {
+				return prefetchBuffer.take(10, 5000, new ArrayList<>());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Collections.emptyList();
+			}
+		});
+		Thread.sleep(100);
+
+		// Act
+		prefetchBuffer.add(messages("first"), prefetchBuffer.reserve(1, 0));
+
+		// Assert
+		assertThat(takenMessages.get(1, TimeUnit.SECONDS)).extracting(Message::getBody).containsExactly("first");
+	}
+
+	@Test
+	void close_withBufferedMessages_returnsThemAndRejectsFurtherMessages() throws Exception {
+		// Arrange
+		PrefetchBuffer prefetchBuffer = new PrefetchBuffer(10, null);
+		prefetchBuffer.add(messages("first"), prefetchBuffer.reserve(1, 0));
+		int reservation = prefetchBuffer.reserve(1, 0);
+
+		// Act
+		List<Message> remainingMessages = prefetchBuffer.close();
+
+		// Assert
+		assertThat(remainingMessages).extracting(Message::getBody).containsExactly("first");
+		assertThat(prefetchBuffer.add(messages("second"), reservation)).isFalse();
+		assertThat(prefetchBuffer.reserve(1, 5000)).isZero();
+		assertThat(prefetchBuffer.take(1, 5000, new ArrayList<>())).isEmpty();
+	}
+
+	private static List<Message> messages(String... bodies) {
+		List<Message> messages = new ArrayList<>(bodies.length);
+		Arrays.stream(bodies).forEach(body -> messages.add(new Message().withBody(body).withReceiptHandle(body)));
+		return messages;
+	}
+
+}
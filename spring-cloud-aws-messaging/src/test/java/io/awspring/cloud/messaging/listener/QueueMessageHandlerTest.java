@@ -16,13 +16,21 @@
 
 package io.awspring.cloud.messaging.listener;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.zip.GZIPOutputStream;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
@@ -37,9 +45,11 @@ import io.awspring.cloud.core.support.documentation.RuntimeUse;
 import io.awspring.cloud.messaging.config.annotation.NotificationMessage;
 import io.awspring.cloud.messaging.config.annotation.NotificationSubject;
 import io.awspring.cloud.messaging.core.MessageAttributeDataTypes;
+import io.awspring.cloud.messaging.core.PayloadCompressor;
 import io.awspring.cloud.messaging.core.QueueMessageUtils;
 import io.awspring.cloud.messaging.core.SqsMessageHeaders;
 import io.awspring.cloud.messaging.listener.annotation.SqsListener;
+import io.awspring.cloud.messaging.support.converter.CborMessageConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,7 +75,9 @@ import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
 import org.springframework.messaging.core.DestinationResolvingMessageSendingOperations;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
@@ -81,6 +93,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -121,6 +134,85 @@ class QueueMessageHandlerTest {
 		assertThat(messageListener.getLastReceivedMessage()).isEqualTo("testContent");
 	}
 
+	@Test
+	void receiveMessage_withGzipCompressedPayload_methodInvokedWithDecompressedPayload() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("incomingMessageHandler", IncomingMessageHandler.class);
+		applicationContext.registerSingleton("queueMessageHandler", QueueMessageHandler.class);
+		applicationContext.refresh();
+
+		ByteArrayOutputStream compressedPayload = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedPayload)) {
+			gzipOutputStream.write("testContent".getBytes(StandardCharsets.UTF_8));
+		}
+
+		MessageHandler messageHandler = applicationContext.getBean(MessageHandler.class);
+		messageHandler.handleMessage(
+				MessageBuilder.withPayload(Base64.getEncoder().encodeToString(compressedPayload.toByteArray()))
+						.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP)
+						.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "receive").build());
+
+		IncomingMessageHandler messageListener = applicationContext.getBean(IncomingMessageHandler.class);
+		assertThat(messageListener.getLastReceivedMessage()).isEqualTo("testContent");
+	}
+
+	@Test
+	void receiveMessage_withCompressedPayloadExceedingMaxDecompressedPayloadSize_methodNotInvoked() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("incomingMessageHandler", IncomingMessageHandler.class);
+		applicationContext.registerSingleton("queueMessageHandler", QueueMessageHandler.class,
+				new MutablePropertyValues(Collections.singletonMap("maxDecompressedPayloadSize", 5)));
+		applicationContext.refresh();
+
+		ByteArrayOutputStream compressedPayload = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedPayload)) {
+			gzipOutputStream.write("testContent".getBytes(StandardCharsets.UTF_8));
+		}
+
+		MessageHandler messageHandler = applicationContext.getBean(MessageHandler.class);
+		assertThatThrownBy(() -> messageHandler.handleMessage(
+				MessageBuilder.withPayload(Base64.getEncoder().encodeToString(compressedPayload.toByteArray()))
+						.setHeader(PayloadCompressor.CONTENT_ENCODING_HEADER, PayloadCompressor.GZIP)
+						.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "receive").build()))
+								.isInstanceOf(MessageConversionException.class);
+
+		IncomingMessageHandler messageListener = applicationContext.getBean(IncomingMessageHandler.class);
+		assertThat(messageListener.getLastReceivedMessage()).isNull();
+	}
+
+	@Test
+	void receiveMessage_prototypeHandlerBean_newHandlerInstanceInvokedForEveryMessage() {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerPrototype("incomingMessageHandler", PrototypeMessageHandler.class);
+		applicationContext.registerSingleton("queueMessageHandler", QueueMessageHandler.class);
+		applicationContext.refresh();
+		PrototypeMessageHandler.INSTANCES.clear();
+
+		MessageHandler messageHandler = applicationContext.getBean(MessageHandler.class);
+		messageHandler.handleMessage(MessageBuilder.withPayload("first")
+				.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "prototypeQueue").build());
+		messageHandler.handleMessage(MessageBuilder.withPayload("second")
+				.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "prototypeQueue").build());
+
+		assertThat(PrototypeMessageHandler.INSTANCES).hasSize(2);
+	}
+
+	@Test
+	void receiveMessage_twoMethodsMappedToSameQueue_throwsAmbiguousHandlerException() {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("incomingMessageHandler", IncomingMessageHandler.class);
+		applicationContext.registerSingleton("sqsListenerWithoutMessageExceptionHandler",
+				SqsListenerWithoutMessageExceptionHandler.class);
+		applicationContext.registerSingleton("queueMessageHandler", QueueMessageHandler.class);
+		applicationContext.refresh();
+
+		MessageHandler messageHandler = applicationContext.getBean(MessageHandler.class);
+
+		assertThatThrownBy(() -> messageHandler.handleMessage(MessageBuilder.withPayload("testContent")
+				.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "receive").build()))
+						.isInstanceOf(IllegalStateException.class).hasMessageContaining("Ambiguous handler methods");
+	}
+
 	@Test
 	void receiveMessage_methodWithCustomObjectAsParameter_parameterIsConverted() {
 		new ApplicationContextRunner()
@@ -142,6 +234,25 @@ class QueueMessageHandlerTest {
 				});
 	}
 
+	@Test
+	void receiveMessage_methodWithCustomObjectAsParameterAndCborContentType_parameterIsConverted() {
+		new ApplicationContextRunner()
+				.withConfiguration(UserConfigurations.of(QueueMessageHandlerWithJacksonMappingConfiguration.class))
+				.withBean(IncomingMessageHandlerWithCustomParameter.class).run((context) -> {
+					DummyKeyValueHolder messagePayload = new DummyKeyValueHolder("myKey", "A value");
+					Message<?> message = new CborMessageConverter().toMessage(messagePayload, new MessageHeaders(
+							Collections.singletonMap(QueueMessageHandler.LOGICAL_RESOURCE_ID, "testQueue")));
+
+					MessageHandler messageHandler = context.getBean(MessageHandler.class);
+					messageHandler.handleMessage(message);
+
+					IncomingMessageHandlerWithCustomParameter messageListener = context
+							.getBean(IncomingMessageHandlerWithCustomParameter.class);
+					assertThat(messageListener.getLastReceivedMessage())
+							.isEqualTo(new DummyKeyValueHolder("myKey", "A value"));
+				});
+	}
+
 	// @checkstyle:off
 	@Test
 	void receiveMessage_methodWithMessageAsParameter_parameterIsConverted() {
@@ -163,6 +274,131 @@ class QueueMessageHandlerTest {
 				});
 	}
 
+	@Test
+	void receiveMessage_batchListenerWithPayloadList_parametersAreConverted() {
+		new ApplicationContextRunner()
+				.withConfiguration(UserConfigurations.of(QueueMessageHandlerWithJacksonMappingConfiguration.class))
+				.withBean(BatchMessageHandlerWithPayloadList.class).run((context) -> {
+					MappingJackson2MessageConverter jsonMapper = context.getBean(MappingJackson2MessageConverter.class);
+					List<Message<?>> messages = Arrays.asList(
+							jsonMapper.toMessage(new DummyKeyValueHolder("first", "A value"), null),
+							jsonMapper.toMessage(new DummyKeyValueHolder("second", "Another value"), null));
+
+					MessageHandler messageHandler = context.getBean(MessageHandler.class);
+					messageHandler.handleMessage(MessageBuilder.withPayload(messages)
+							.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "testQueue").build());
+
+					BatchMessageHandlerWithPayloadList messageListener = context
+							.getBean(BatchMessageHandlerWithPayloadList.class);
+					assertThat(messageListener.getLastReceivedMessages()).containsExactly(
+							new DummyKeyValueHolder("first", "A value"),
+							new DummyKeyValueHolder("second", "Another value"));
+				});
+	}
+
+	@Test
+	void receiveMessage_batchListenerWithMessageList_parametersAreConverted() {
+		new ApplicationContextRunner()
+				.withConfiguration(UserConfigurations.of(QueueMessageHandlerWithJacksonMappingConfiguration.class))
+				.withBean(BatchMessageHandlerWithMessageList.class).run((context) -> {
+					MappingJackson2MessageConverter jsonMapper = context.getBean(MappingJackson2MessageConverter.class);
+					Message<?> message = jsonMapper.toMessage(new DummyKeyValueHolder("myKey", "A value"),
+							new MessageHeaders(Collections.singletonMap("SenderId", "sender")));
+
+					MessageHandler messageHandler = context.getBean(MessageHandler.class);
+					messageHandler.handleMessage(MessageBuilder.withPayload(Collections.singletonList(message))
+							.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "testQueue").build());
+
+					BatchMessageHandlerWithMessageList messageListener = context
+							.getBean(BatchMessageHandlerWithMessageList.class);
+					assertThat(messageListener.getLastReceivedMessages()).hasSize(1);
+					assertThat(messageListener.getLastReceivedMessages().get(0).getPayload())
+							.isEqualTo(new DummyKeyValueHolder("myKey", "A value"));
+					assertThat(messageListener.getLastReceivedMessages().get(0).getHeaders().get("SenderId"))
+							.isEqualTo("sender");
+				});
+	}
+
+	@Test
+	void getMappingForMethod_batchListener_shouldReturnBatchMappingInformation() throws Exception {
+		// Arrange
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		Method method = BatchMessageHandlerWithPayloadList.class.getMethod("receive", List.class);
+
+		// Act
+		QueueMessageHandler.MappingInformation mappingInformation = queueMessageHandler.getMappingForMethod(method,
+				null);
+
+		// Assert
+		assertThat(mappingInformation.isBatch()).isTrue();
+	}
+
+	@Test
+	void getMappingForMethod_methodWithHeaderParameters_shouldDeriveAttributeNames() throws Exception {
+		// Arrange
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		queueMessageHandler.afterPropertiesSet();
+		Method method = MessageReceiverWithHeaderParametersAndExceptionHandler.class.getMethod("receive", String.class,
+				String.class, String.class, Acknowledgment.class);
+
+		// Act
+		QueueMessageHandler.MappingInformation mappingInformation = queueMessageHandler.getMappingForMethod(method,
+				MessageReceiverWithHeaderParametersAndExceptionHandler.class);
+
+		// Assert
+		assertThat(mappingInformation.getDerivedAttributeNames()).containsExactly("SenderId");
+		assertThat(mappingInformation.getDerivedMessageAttributeNames()).containsExactly("traceId", "tenant");
+		assertThat(mappingInformation.getAttributeNames()).isNull();
+		assertThat(mappingInformation.getMessageAttributeNames()).isNull();
+	}
+
+	@Test
+	void getMappingForMethod_methodWithMessageParameters_shouldNotDeriveAttributeNames() throws Exception {
+		// Arrange
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		queueMessageHandler.afterPropertiesSet();
+
+		// Act
+		QueueMessageHandler.MappingInformation messageMapping = queueMessageHandler.getMappingForMethod(
+				IncomingMessageHandlerWithMessageParameter.class.getMethod("receive", Message.class),
+				IncomingMessageHandlerWithMessageParameter.class);
+		QueueMessageHandler.MappingInformation messageListMapping = queueMessageHandler.getMappingForMethod(
+				BatchMessageHandlerWithMessageList.class.getMethod("receive", List.class),
+				BatchMessageHandlerWithMessageList.class);
+		QueueMessageHandler.MappingInformation payloadListMapping = queueMessageHandler.getMappingForMethod(
+				BatchMessageHandlerWithPayloadList.class.getMethod("receive", List.class),
+				BatchMessageHandlerWithPayloadList.class);
+
+		// Assert
+		assertThat(messageMapping.getDerivedAttributeNames()).isNull();
+		assertThat(messageMapping.getDerivedMessageAttributeNames()).isNull();
+		assertThat(messageListMapping.getDerivedMessageAttributeNames()).isNull();
+		assertThat(payloadListMapping.getDerivedAttributeNames()).isEmpty();
+		assertThat(payloadListMapping.getDerivedMessageAttributeNames()).isEmpty();
+	}
+
+	@Test
+	void getMappingForMethod_methodWithAttributeNames_shouldResolveAttributeNames() throws Exception {
+		// Arrange
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getEnvironment().getPropertySources()
+				.addLast(new MapPropertySource("test", Collections.singletonMap("tracing.header", "traceId")));
+		applicationContext.registerSingleton("placeholderConfigurer", PropertySourcesPlaceholderConfigurer.class);
+		applicationContext.refresh();
+
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		queueMessageHandler.setApplicationContext(applicationContext);
+		Method method = SqsListenerWithAttributeNames.class.getMethod("receive", String.class);
+
+		// Act
+		QueueMessageHandler.MappingInformation mappingInformation = queueMessageHandler.getMappingForMethod(method,
+				SqsListenerWithAttributeNames.class);
+
+		// Assert
+		assertThat(mappingInformation.getAttributeNames()).containsExactly("SenderId", "SentTimestamp");
+		assertThat(mappingInformation.getMessageAttributeNames()).containsExactly("traceId");
+	}
+
 	@Test
 	void receiveMessage_methodWithSqsMessageAsParameter_parameterIsConverted() {
 		new ApplicationContextRunner()
@@ -220,6 +456,33 @@ class QueueMessageHandlerTest {
 		assertThat(messageListener.isExceptionHandlerCalled()).isTrue();
 	}
 
+	@Test
+	void receiveAndReplyMessage_withCompletableFutureReturnValue_shouldSendResultOnceFutureCompletes() {
+		// Arrange
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("incomingMessageHandler", IncomingMessageHandler.class);
+		applicationContext.registerBeanDefinition("queueMessageHandler", getQueueMessageHandlerBeanDefinition());
+		applicationContext.refresh();
+
+		QueueMessageHandler queueMessageHandler = applicationContext.getBean(QueueMessageHandler.class);
+		IncomingMessageHandler messageListener = applicationContext.getBean(IncomingMessageHandler.class);
+
+		// Act
+		CompletionStage<?> asyncResult = queueMessageHandler
+				.captureAsyncResult(() -> queueMessageHandler.handleMessage(MessageBuilder.withPayload("testContent")
+						.setHeader(QueueMessageHandler.LOGICAL_RESOURCE_ID, "receiveAndReplyAsync").build()));
+
+		// Assert
+		assertThat(asyncResult).isNotNull();
+		verify(this.messageTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+		messageListener.getAsyncReply().complete("TESTCONTENT");
+
+		assertThat(asyncResult.toCompletableFuture()).isCompleted();
+		assertThat(asyncResult.toCompletableFuture().join()).isEqualTo("TESTCONTENT");
+		verify(this.messageTemplate).convertAndSend("sendTo", "TESTCONTENT");
+	}
+
 	@Test
 	void receiveMessage_methodAnnotatedWithSqsListenerContainingMultipleQueueNames_methodInvokedForEachQueueName() {
 		StaticApplicationContext applicationContext = new StaticApplicationContext();
@@ -356,6 +619,8 @@ class QueueMessageHandlerTest {
 		assertThat(messageReceiver.getHeaders()).isNotNull();
 		assertThat(messageReceiver.getHeaders().get("SenderId")).isEqualTo("ID");
 		assertThat(messageReceiver.getHeaders().get(QueueMessageHandler.LOGICAL_RESOURCE_ID)).isEqualTo("testQueue");
+		assertThat(messageReceiver.getHeaders().get(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER))
+				.isEqualTo("testQueue");
 	}
 
 	@Test
@@ -533,6 +798,59 @@ class QueueMessageHandlerTest {
 		assertThat(mappingInformation.getDeletionPolicy()).isEqualTo(SqsMessageDeletionPolicy.NO_REDRIVE);
 	}
 
+	@Test
+	void getMappingForMethod_methodWithPollersAndMaxConcurrentMessages_shouldReturnResolvedValues() {
+		// Arrange
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getEnvironment().getPropertySources()
+				.addLast(new MapPropertySource("test", Collections.singletonMap("custom.maxConcurrentMessages", "40")));
+		applicationContext.registerSingleton("ppc", PropertySourcesPlaceholderConfigurer.class);
+		applicationContext.registerSingleton("sqsListenerWithConcurrency", SqsListenerWithConcurrency.class);
+		applicationContext.registerSingleton("queueMessageHandler", QueueMessageHandler.class);
+
+		// Act
+		applicationContext.refresh();
+
+		// Assert
+		QueueMessageHandler queueMessageHandler = applicationContext.getBean(QueueMessageHandler.class);
+		QueueMessageHandler.MappingInformation mappingInformation = queueMessageHandler.getHandlerMethods().keySet()
+				.iterator().next();
+		assertThat(mappingInformation.getPollers()).isEqualTo(3);
+		assertThat(mappingInformation.getMaxConcurrentMessages()).isEqualTo(40);
+		assertThat(mappingInformation.getMaxEmptyReceiveBackOffTime()).isEqualTo(5000);
+		assertThat(mappingInformation.getErrorVisibilityTimeout()).isZero();
+		assertThat(mappingInformation.getMaxErrorVisibilityTimeout()).isEqualTo(300);
+	}
+
+	@Test
+	void getMappingForMethod_methodWithoutConcurrencySettings_shouldUseContainerDefaults() throws Exception {
+		// Arrange
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		Method receiveMethod = MessageMappingAnnotationStillSupported.class.getMethod("receive", String.class);
+
+		// Act
+		QueueMessageHandler.MappingInformation mappingInformation = queueMessageHandler
+				.getMappingForMethod(receiveMethod, null);
+
+		// Assert
+		assertThat(mappingInformation.getPollers()).isNull();
+		assertThat(mappingInformation.getMaxConcurrentMessages()).isNull();
+		assertThat(mappingInformation.getMaxEmptyReceiveBackOffTime()).isNull();
+		assertThat(mappingInformation.getErrorVisibilityTimeout()).isNull();
+	}
+
+	@Test
+	void getMappingForMethod_methodWithNonPositivePollers_throwsAnException() throws Exception {
+		// Arrange
+		QueueMessageHandler queueMessageHandler = new QueueMessageHandler();
+		Method receiveMethod = SqsListenerWithInvalidPollers.class.getMethod("receive", String.class);
+
+		// Act & Assert
+		assertThatThrownBy(() -> queueMessageHandler.getMappingForMethod(receiveMethod, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("@SqsListener attribute 'pollers' must be a positive number");
+	}
+
 	@Test
 	void getMappingForMethod_methodWithDeletionPolicyNeverWithoutParameterTypeAcknowledgment_warningMustBeLogged()
 			throws Exception {
@@ -614,6 +932,18 @@ class QueueMessageHandlerTest {
 		assertThat(appender.list).hasSize(1);
 	}
 
+	private static class PrototypeMessageHandler {
+
+		private static final List<PrototypeMessageHandler> INSTANCES = new ArrayList<>();
+
+		@RuntimeUse
+		@SqsListener("prototypeQueue")
+		public void receive(String value) {
+			INSTANCES.add(this);
+		}
+
+	}
+
 	@SuppressWarnings("UnusedDeclaration")
 	private static class IncomingMessageHandler {
 
@@ -621,6 +951,8 @@ class QueueMessageHandlerTest {
 
 		private boolean exceptionHandlerCalled;
 
+		private final CompletableFuture<String> asyncReply = new CompletableFuture<>();
+
 		public boolean isExceptionHandlerCalled() {
 			return this.exceptionHandlerCalled;
 		}
@@ -641,6 +973,13 @@ class QueueMessageHandlerTest {
 			return value.toUpperCase();
 		}
 
+		@SqsListener("receiveAndReplyAsync")
+		@SendTo("sendTo")
+		public CompletableFuture<String> receiveAndReplyAsync(String value) {
+			this.lastReceivedMessage = value;
+			return this.asyncReply;
+		}
+
 		@MessageExceptionHandler(RuntimeException.class)
 		public void handleException() {
 			this.exceptionHandlerCalled = true;
@@ -650,6 +989,10 @@ class QueueMessageHandlerTest {
 			return this.lastReceivedMessage;
 		}
 
+		private CompletableFuture<String> getAsyncReply() {
+			return this.asyncReply;
+		}
+
 	}
 
 	private static class SqsListenerWithoutMessageExceptionHandler {
@@ -909,6 +1252,25 @@ class QueueMessageHandlerTest {
 
 	}
 
+	private static class SqsListenerWithConcurrency {
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", pollers = "3", maxConcurrentMessages = "${custom.maxConcurrentMessages}",
+				maxEmptyReceiveBackOffTime = "5000", errorVisibilityTimeout = "0", maxErrorVisibilityTimeout = "300")
+		public void receive(String message) {
+		}
+
+	}
+
+	private static class SqsListenerWithInvalidPollers {
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", pollers = "0")
+		public void receive(String message) {
+		}
+
+	}
+
 	private static class SqsListenerWithExpressionProducingMultipleQueueNames {
 
 		@RuntimeUse
@@ -950,6 +1312,63 @@ class QueueMessageHandlerTest {
 
 	}
 
+	private static class BatchMessageHandlerWithPayloadList {
+
+		private List<DummyKeyValueHolder> lastReceivedMessages;
+
+		public List<DummyKeyValueHolder> getLastReceivedMessages() {
+			return this.lastReceivedMessages;
+		}
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", batch = true)
+		public void receive(List<DummyKeyValueHolder> values) {
+			this.lastReceivedMessages = values;
+		}
+
+	}
+
+	private static class MessageReceiverWithHeaderParametersAndExceptionHandler {
+
+		@RuntimeUse
+		@SqsListener("testQueue")
+		public void receive(@Payload String payload, @Header("SenderId") String senderId,
+				@Header(name = "traceId", required = false) String traceId, Acknowledgment acknowledgment) {
+		}
+
+		@RuntimeUse
+		@MessageExceptionHandler(RuntimeException.class)
+		public void handle(RuntimeException exception, @Header("tenant") String tenant) {
+		}
+
+	}
+
+	private static class SqsListenerWithAttributeNames {
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", attributeNames = { "SenderId", "SentTimestamp" },
+				messageAttributeNames = "${tracing.header}")
+		public void receive(String message) {
+		}
+
+	}
+
+	private static class BatchMessageHandlerWithMessageList {
+
+		private List<Message<DummyKeyValueHolder>> lastReceivedMessages;
+
+		public List<Message<DummyKeyValueHolder>> getLastReceivedMessages() {
+			return this.lastReceivedMessages;
+		}
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", batch = true)
+		public void receive(List<Message<DummyKeyValueHolder>> values) {
+			this.lastReceivedMessages = values;
+		}
+
+	}
+
 	@TestConfiguration
 	static class QueueMessageHandlerWithJacksonMappingConfiguration {
 
@@ -16,14 +16,22 @@
 
 package io.awspring.cloud.messaging.listener;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import ch.qos.logback.classic.Level;
@@ -31,10 +39,18 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.buffered.AmazonSQSBufferedAsyncClient;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
 import com.amazonaws.services.sqs.model.ChangeMessageVisibilityRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageResult;
 import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
 import com.amazonaws.services.sqs.model.GetQueueAttributesResult;
 import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
@@ -48,7 +64,11 @@ import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.amazonaws.services.sqs.model.ReceiveMessageResult;
 import io.awspring.cloud.core.support.documentation.RuntimeUse;
 import io.awspring.cloud.messaging.config.annotation.EnableSqs;
+import io.awspring.cloud.messaging.core.S3PayloadStore;
+import io.awspring.cloud.messaging.core.SqsMessageHeaders;
 import io.awspring.cloud.messaging.listener.annotation.SqsListener;
+import io.awspring.cloud.messaging.support.metrics.MicrometerMessagingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -75,11 +95,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -335,272 +359,1515 @@ class SimpleMessageListenerContainerTest {
 	}
 
 	@Test
-	void testContainerDoesNotProcessMessageAfterBeingStopped() throws Exception {
+	void receiveMessage_fromFifoQueueWithSlowMessageGroup_shouldNotPollAgainBeforeThePollCompleted() throws Exception {
 		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
-		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
-		container.setTaskExecutor(taskExecutor);
 
 		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
 		container.setAmazonSqs(sqs);
 
+		CountDownLatch releaseSlowGroup = new CountDownLatch(1);
+		CountDownLatch laterPollProcessed = new CountDownLatch(1);
+		List<String> actualHandledMessages = Collections.synchronizedList(new ArrayList<>());
+		QueueMessageHandler messageHandler = new QueueMessageHandler() {
+
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				String payload = (String) message.getPayload();
+				if ("group1Msg1".equals(payload)) {
+					try {
+						releaseSlowGroup.await(5, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				actualHandledMessages.add(payload);
+				if ("group2Msg2".equals(payload)) {
+					laterPollProcessed.countDown();
+				}
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("fifoTestMessageListener", FifoTestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue.fifo", "http://testFifoLanes.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testFifoLanes.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(fifoMessage("1", "group1Msg1"),
+						fifoMessage("2", "group2Msg1")))
+				.thenReturn(new ReceiveMessageResult().withMessages(fifoMessage("2", "group2Msg2")))
+				.thenReturn(new ReceiveMessageResult());
+
+		container.start();
+
+		assertThat(laterPollProcessed.await(500, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(actualHandledMessages).containsExactly("group2Msg1");
+
+		releaseSlowGroup.countDown();
+		assertThat(laterPollProcessed.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(actualHandledMessages).containsExactly("group2Msg1", "group1Msg1", "group2Msg2");
+		container.stop();
+	}
+
+	@Test
+	void receiveMessage_fromFifoQueueWithSlowMessageGroupAndPipelinedPolling_shouldProcessOtherGroupsOfLaterPolls()
+			throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+		container.setFifoPipelinedPolling(true);
+
+		CountDownLatch releaseSlowGroup = new CountDownLatch(1);
+		CountDownLatch laterPollProcessed = new CountDownLatch(1);
+		List<String> actualHandledMessages = Collections.synchronizedList(new ArrayList<>());
+		QueueMessageHandler messageHandler = new QueueMessageHandler() {
+
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				String payload = (String) message.getPayload();
+				if ("group1Msg1".equals(payload)) {
+					try {
+						releaseSlowGroup.await(5, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				actualHandledMessages.add(payload);
+				if ("group2Msg2".equals(payload)) {
+					laterPollProcessed.countDown();
+				}
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("fifoTestMessageListener", FifoTestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue.fifo", "http://testFifoLanes.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testFifoLanes.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(fifoMessage("1", "group1Msg1"),
+						fifoMessage("2", "group2Msg1")))
+				.thenReturn(new ReceiveMessageResult().withMessages(fifoMessage("2", "group2Msg2")))
+				.thenReturn(new ReceiveMessageResult());
+
+		container.start();
+
+		assertThat(laterPollProcessed.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(actualHandledMessages).containsExactly("group2Msg1", "group2Msg2");
+
+		releaseSlowGroup.countDown();
+		container.stop();
+	}
+
+	@Test
+	void receiveMessage_fromFifoQueueWithFailingMessage_shouldStopProcessingItsMessageGroup() throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		CountDownLatch otherGroupProcessed = new CountDownLatch(1);
+		List<String> actualHandledMessages = Collections.synchronizedList(new ArrayList<>());
+		QueueMessageHandler messageHandler = new QueueMessageHandler() {
+
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				String payload = (String) message.getPayload();
+				actualHandledMessages.add(payload);
+				if ("group1Msg1".equals(payload)) {
+					throw new MessagingException(message, "failed");
+				}
+				otherGroupProcessed.countDown();
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("fifoTestMessageListener", FifoTestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue.fifo", "http://testFifoFailure.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testFifoFailure.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(
+						fifoMessage("1", "group1Msg1").withReceiptHandle("group1Msg1"),
+						fifoMessage("1", "group1Msg2").withReceiptHandle("group1Msg2"),
+						fifoMessage("2", "group2Msg1").withReceiptHandle("group2Msg1")))
+				.thenReturn(new ReceiveMessageResult());
+
+		container.start();
+
+		assertThat(otherGroupProcessed.await(2, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, timeout(1000)).deleteMessageAsync(
+				eq(new DeleteMessageRequest("http://testFifoFailure.amazonaws.com", "group2Msg1")), any());
+		container.stop();
+
+		assertThat(actualHandledMessages).containsExactlyInAnyOrder("group1Msg1", "group2Msg1");
+		verify(sqs, never()).deleteMessageAsync(
+				eq(new DeleteMessageRequest("http://testFifoFailure.amazonaws.com", "group1Msg2")), any());
+	}
+
+	@Test
+	void receiveMessage_fromFifoQueueWithAsynchronousListener_shouldProcessNextMessageOnceTheFutureCompleted()
+			throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("fifoAsyncTestMessageListener", FifoAsyncTestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue.fifo", "http://testFifoAsync.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testFifoAsync.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenReturn(new ReceiveMessageResult().withMessages(
+						fifoMessage("1", "group1Msg1").withReceiptHandle("group1Msg1"),
+						fifoMessage("1", "group1Msg2").withReceiptHandle("group1Msg2")))
+				.thenReturn(new ReceiveMessageResult());
+		FifoAsyncTestMessageListener listener = applicationContext.getBean(FifoAsyncTestMessageListener.class);
+
+		container.start();
+
+		CompletableFuture<Void> firstResult = listener.getResults().poll(2, TimeUnit.SECONDS);
+		assertThat(firstResult).isNotNull();
+		assertThat(listener.getResults().poll(200, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(listener.getHandledMessages()).containsExactly("group1Msg1");
+
+		firstResult.complete(null);
+		CompletableFuture<Void> secondResult = listener.getResults().poll(2, TimeUnit.SECONDS);
+		assertThat(secondResult).isNotNull();
+		secondResult.complete(null);
+
+		verify(sqs, timeout(1000)).deleteMessageAsync(
+				eq(new DeleteMessageRequest("http://testFifoAsync.amazonaws.com", "group1Msg2")), any());
+		container.stop();
+
+		assertThat(listener.getHandledMessages()).containsExactly("group1Msg1", "group1Msg2");
+		verify(sqs).deleteMessageAsync(eq(new DeleteMessageRequest("http://testFifoAsync.amazonaws.com", "group1Msg1")),
+				any());
+	}
+
+	@Test
+	void receiveMessage_withMaxInFlightMessagesPerQueue_shouldPollNextBatchWhilePreviousBatchIsProcessed()
+			throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxInFlightMessagesPerQueue(4);
+		container.setMaxNumberOfMessages(2);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		CountDownLatch bothMessagesInFlight = new CountDownLatch(2);
+		CountDownLatch releaseHandlers = new CountDownLatch(1);
+		QueueMessageHandler messageHandler = new QueueMessageHandler() {
+
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				bothMessagesInFlight.countDown();
+				try {
+					releaseHandlers.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testPipelinedPolling.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testPipelinedPolling.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(
+				new ReceiveMessageRequest("http://testPipelinedPolling.amazonaws.com").withAttributeNames("All")
+						.withMessageAttributeNames("All").withMaxNumberOfMessages(2).withWaitTimeSeconds(20)))
+								.thenReturn(new ReceiveMessageResult().withMessages(new Message().withBody("first")),
+										new ReceiveMessageResult().withMessages(new Message().withBody("second")),
+										new ReceiveMessageResult());
+
+		container.start();
+
+		assertThat(bothMessagesInFlight.await(2, TimeUnit.SECONDS)).isTrue();
+		releaseHandlers.countDown();
+
+		container.stop();
+	}
+
+	@Test
+	void receiveMessage_withMaxInFlightMessagesPerQueueReached_shouldNotPollUntilMessagesAreProcessed()
+			throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxInFlightMessagesPerQueue(1);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		CountDownLatch messageInFlight = new CountDownLatch(1);
+		CountDownLatch releaseHandler = new CountDownLatch(1);
 		QueueMessageHandler messageHandler = new QueueMessageHandler() {
 
-			@Override
-			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
-				fail("Should not have been called");
-			}
-		};
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				messageInFlight.countDown();
+				try {
+					releaseHandler.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testInFlightBudget.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testInFlightBudget.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		ReceiveMessageRequest expectedRequest = new ReceiveMessageRequest("http://testInFlightBudget.amazonaws.com")
+				.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(1)
+				.withWaitTimeSeconds(20);
+		when(sqs.receiveMessage(expectedRequest)).thenReturn(
+				new ReceiveMessageResult().withMessages(new Message().withBody("message")), new ReceiveMessageResult());
+
+		container.start();
+
+		assertThat(messageInFlight.await(2, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, after(500).times(1)).receiveMessage(expectedRequest);
+
+		releaseHandler.countDown();
+		verify(sqs, timeout(2000).atLeast(2)).receiveMessage(expectedRequest);
+
+		container.stop();
+	}
+
+	@Test
+	void createDefaultTaskExecutor_withMaxInFlightMessagesPerQueue_shouldSizePoolForInFlightMessages()
+			throws Exception {
+		Map<QueueMessageHandler.MappingInformation, HandlerMethod> messageHandlerMethods = Collections
+				.singletonMap(new QueueMessageHandler.MappingInformation(Collections.singleton("testQueue"),
+						SqsMessageDeletionPolicy.ALWAYS), null);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxInFlightMessagesPerQueue(25);
+
+		QueueMessageHandler mockedHandler = mock(QueueMessageHandler.class);
+		AmazonSQSAsync mockedSqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+
+		when(mockedSqs.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+				.thenReturn(new GetQueueAttributesResult());
+		when(mockedSqs.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("testQueueUrl"));
+		when(mockedHandler.getHandlerMethods()).thenReturn(messageHandlerMethods);
+
+		container.setAmazonSqs(mockedSqs);
+		container.setMessageHandler(mockedHandler);
+
+		container.afterPropertiesSet();
+
+		ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) container.getTaskExecutor();
+		assertThat(taskExecutor.getMaxPoolSize()).isEqualTo(26);
+	}
+
+	@Test
+	void createDefaultTaskExecutor_withVirtualThreads_shouldUseVirtualThreadsIfSupportedByTheRuntime()
+			throws Exception {
+		Map<QueueMessageHandler.MappingInformation, HandlerMethod> messageHandlerMethods = Collections
+				.singletonMap(new QueueMessageHandler.MappingInformation(Collections.singleton("testQueue"),
+						SqsMessageDeletionPolicy.ALWAYS), null);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setVirtualThreads(true);
+
+		QueueMessageHandler mockedHandler = mock(QueueMessageHandler.class);
+		AmazonSQSAsync mockedSqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+
+		when(mockedSqs.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+				.thenReturn(new GetQueueAttributesResult());
+		when(mockedSqs.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("testQueueUrl"));
+		when(mockedHandler.getHandlerMethods()).thenReturn(messageHandlerMethods);
+
+		container.setAmazonSqs(mockedSqs);
+		container.setMessageHandler(mockedHandler);
+
+		container.afterPropertiesSet();
+
+		if (isVirtualThreadSupported()) {
+			assertThat(container.getTaskExecutor()).isInstanceOf(SimpleAsyncTaskExecutor.class);
+			assertThat(((SimpleAsyncTaskExecutor) container.getTaskExecutor()).getConcurrencyLimit()).isEqualTo(11);
+		}
+		else {
+			assertThat(container.getTaskExecutor()).isInstanceOf(ThreadPoolTaskExecutor.class);
+		}
+		container.destroy();
+	}
+
+	private static boolean isVirtualThreadSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual").invoke(null);
+			return true;
+		}
+		catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+
+	@Test
+	void receiveMessage_withMultiplePollersPerQueue_shouldPollQueueConcurrently() throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setPollersPerQueue(2);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testMultiplePollers.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testMultiplePollers.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		CountDownLatch concurrentPolls = new CountDownLatch(2);
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
+					concurrentPolls.countDown();
+					concurrentPolls.await(1, TimeUnit.SECONDS);
+					return new ReceiveMessageResult();
+				});
+
+		container.start();
+
+		assertThat(concurrentPolls.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(container.isRunning("testQueue")).isTrue();
+
+		container.stop();
+		assertThat(container.isRunning("testQueue")).isFalse();
+	}
+
+	@Test
+	void receiveMessage_withMaxEmptyReceiveBackOffTimeAndIdleQueue_shouldBackOffAndStopPromptly() throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setPollersPerQueue(3);
+		container.setMaxEmptyReceiveBackOffTime(60000L);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testAdaptivePolling.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testAdaptivePolling.amazonaws.com");
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(new ReceiveMessageResult());
+
+		container.afterPropertiesSet();
+		container.start();
+
+		verify(sqs, timeout(1000)).receiveMessage(any(ReceiveMessageRequest.class));
+		verify(sqs, after(1500).atMost(3)).receiveMessage(any(ReceiveMessageRequest.class));
+
+		long stopStart = System.currentTimeMillis();
+		container.stop();
+		assertThat(System.currentTimeMillis() - stopStart).isLessThan(5000);
+		assertThat(container.isRunning("testQueue")).isFalse();
+	}
+
+	@Test
+	void receiveMessage_withMaxEmptyReceiveBackOffTimeAndCompleteBatches_shouldRampUpPollers() throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setPollersPerQueue(2);
+		container.setMaxNumberOfMessages(1);
+		container.setMaxEmptyReceiveBackOffTime(60000L);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testAdaptivePollingRampUp.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testAdaptivePollingRampUp.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		AtomicInteger runningPolls = new AtomicInteger();
+		CountDownLatch concurrentPolls = new CountDownLatch(1);
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
+					if (runningPolls.incrementAndGet() > 1) {
+						concurrentPolls.countDown();
+					}
+					Thread.sleep(50);
+					runningPolls.decrementAndGet();
+					return new ReceiveMessageResult()
+							.withMessages(new Message().withBody("messageContent").withReceiptHandle("ReceiptHandle"));
+				});
+
+		container.start();
+
+		assertThat(concurrentPolls.await(3, TimeUnit.SECONDS)).isTrue();
+
+		container.stop();
+	}
+
+	@Test
+	void setMaxEmptyReceiveBackOffTime_withNonPositiveValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		assertThatThrownBy(() -> container.setMaxEmptyReceiveBackOffTime(0L))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxEmptyReceiveBackOffTime must be a positive number");
+	}
+
+	@Test
+	void receiveMessage_withMaxPrefetchedMessagesAndBlockedListener_shouldPausePollingWhenBufferIsFull()
+			throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxNumberOfMessages(1);
+		container.setMaxPrefetchedMessagesPerQueue(2);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestBlockingMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testPrefetch.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testPrefetch.amazonaws.com");
+		AtomicInteger receivedMessages = new AtomicInteger();
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
+					int messageNumber = receivedMessages.incrementAndGet();
+					return new ReceiveMessageResult().withMessages(new Message().withBody("message" + messageNumber)
+							.withReceiptHandle("ReceiptHandle" + messageNumber));
+				});
+
+		container.afterPropertiesSet();
+		container.start();
+
+		TestBlockingMessageListener listener = applicationContext.getBean(TestBlockingMessageListener.class);
+		assertThat(listener.getStartedLatch().await(1, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, after(500).times(3)).receiveMessage(any(ReceiveMessageRequest.class));
+		assertThat(listener.getReceivedMessages()).containsExactly("message1");
+
+		listener.getReleaseLatch().countDown();
+		verify(sqs, timeout(1000)).deleteMessageAsync(
+				eq(new DeleteMessageRequest("http://testPrefetch.amazonaws.com", "ReceiptHandle3")), any());
+		assertThat(listener.getReceivedMessages()).startsWith("message1", "message2", "message3");
+
+		container.stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void stop_withMessagesInFlightAndPrefetched_shouldDrainInFlightMessagesAndReleasePrefetchedMessages()
+			throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxNumberOfMessages(1);
+		container.setMaxPrefetchedMessagesPerQueue(2);
+		container.setDeleteMessageBatching(true);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestBlockingMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testDrain.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testDrain.amazonaws.com");
+		AtomicInteger receivedMessages = new AtomicInteger();
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+				.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
+					int messageNumber = receivedMessages.incrementAndGet();
+					return new ReceiveMessageResult().withMessages(new Message().withBody("message" + messageNumber)
+							.withReceiptHandle("ReceiptHandle" + messageNumber));
+				});
+
+		container.afterPropertiesSet();
+		container.start();
+
+		TestBlockingMessageListener listener = applicationContext.getBean(TestBlockingMessageListener.class);
+		assertThat(listener.getStartedLatch().await(1, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, after(500).times(3)).receiveMessage(any(ReceiveMessageRequest.class));
+
+		// Act
+		CompletableFuture<Void> stop = CompletableFuture.runAsync(container::stop);
+
+		// Assert
+		verify(sqs, timeout(1000)).changeMessageVisibilityBatchAsync(
+				eq(new ChangeMessageVisibilityBatchRequest("http://testDrain.amazonaws.com", Arrays.asList(
+						new ChangeMessageVisibilityBatchRequestEntry("0", "ReceiptHandle2").withVisibilityTimeout(0),
+						new ChangeMessageVisibilityBatchRequestEntry("1", "ReceiptHandle3").withVisibilityTimeout(0)))),
+				any(AsyncHandler.class));
+		assertThat(container.getInFlightMessages()).isEqualTo(1);
+		assertThat(stop).isNotDone();
+		verify(sqs, never()).deleteMessageBatchAsync(any(DeleteMessageBatchRequest.class), any(AsyncHandler.class));
+
+		listener.getReleaseLatch().countDown();
+		stop.get(2, TimeUnit.SECONDS);
+		verify(sqs).deleteMessageBatchAsync(
+				eq(new DeleteMessageBatchRequest("http://testDrain.amazonaws.com",
+						Collections.singletonList(new DeleteMessageBatchRequestEntry("0", "ReceiptHandle1")))),
+				any(AsyncHandler.class));
+		assertThat(container.getInFlightMessages()).isZero();
+		assertThat(listener.getReceivedMessages()).containsExactly("message1");
+
+		container.destroy();
+	}
+
+	@Test
+	void stop_withInFlightMessageExceedingQueueStopTimeout_shouldStopAfterTimeout() throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setMaxInFlightMessagesPerQueue(1);
+		container.setMaxNumberOfMessages(1);
+		container.setQueueStopTimeout(200);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestBlockingMessageListener.class);
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testDrainTimeout.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testDrainTimeout.amazonaws.com");
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(
+				new ReceiveMessageResult().withMessages(new Message().withBody("message").withReceiptHandle("1")),
+				new ReceiveMessageResult());
+
+		container.afterPropertiesSet();
+		container.start();
+
+		TestBlockingMessageListener listener = applicationContext.getBean(TestBlockingMessageListener.class);
+		assertThat(listener.getStartedLatch().await(1, TimeUnit.SECONDS)).isTrue();
+
+		// Act
+		long start = System.currentTimeMillis();
+		container.stop();
+		long stopTime = System.currentTimeMillis() - start;
+
+		// Assert
+		assertThat(stopTime).isLessThan(2000);
+		assertThat(container.getInFlightMessages()).isEqualTo(1);
+
+		listener.getReleaseLatch().countDown();
+		container.destroy();
+	}
+
+	@Test
+	void setMaxPrefetchedMessagesPerQueue_withNonPositiveValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		assertThatThrownBy(() -> container.setMaxPrefetchedMessagesPerQueue(0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxPrefetchedMessagesPerQueue must be a positive number");
+	}
+
+	@Test
+	void createDefaultTaskExecutor_withMaxPrefetchedMessages_shouldSizePoolForDispatcherAndInFlightBudget()
+			throws Exception {
+		Map<QueueMessageHandler.MappingInformation, HandlerMethod> messageHandlerMethods = new HashMap<>();
+		messageHandlerMethods.put(new QueueMessageHandler.MappingInformation(Collections.singleton("testQueue"),
+				SqsMessageDeletionPolicy.ALWAYS), null);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setPollersPerQueue(2);
+		container.setMaxPrefetchedMessagesPerQueue(20);
+
+		QueueMessageHandler mockedHandler = mock(QueueMessageHandler.class);
+		AmazonSQSAsync mockedSqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+
+		when(mockedSqs.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+				.thenReturn(new GetQueueAttributesResult());
+		when(mockedSqs.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("testQueueUrl"));
+		when(mockedHandler.getHandlerMethods()).thenReturn(messageHandlerMethods);
+
+		container.setAmazonSqs(mockedSqs);
+		container.setMessageHandler(mockedHandler);
+
+		container.afterPropertiesSet();
+
+		ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) container.getTaskExecutor();
+		assertThat(taskExecutor.getMaxPoolSize()).isEqualTo(3 + 10);
+	}
+
+	@Test
+	void createDefaultTaskExecutor_withMultiplePollersPerQueue_shouldSizePoolForAllPollers() throws Exception {
+		Map<QueueMessageHandler.MappingInformation, HandlerMethod> messageHandlerMethods = new HashMap<>();
+		messageHandlerMethods.put(new QueueMessageHandler.MappingInformation(Collections.singleton("testQueue"),
+				SqsMessageDeletionPolicy.ALWAYS), null);
+		messageHandlerMethods.put(new QueueMessageHandler.MappingInformation.Builder(Collections.singleton("hotQueue"),
+				SqsMessageDeletionPolicy.ALWAYS).withPollers(4).withMaxConcurrentMessages(50).build(), null);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setPollersPerQueue(2);
+
+		QueueMessageHandler mockedHandler = mock(QueueMessageHandler.class);
+		AmazonSQSAsync mockedSqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+
+		when(mockedSqs.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+				.thenReturn(new GetQueueAttributesResult());
+		when(mockedSqs.getQueueUrl(any(GetQueueUrlRequest.class)))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("testQueueUrl"));
+		when(mockedHandler.getHandlerMethods()).thenReturn(messageHandlerMethods);
+
+		container.setAmazonSqs(mockedSqs);
+		container.setMessageHandler(mockedHandler);
+
+		container.afterPropertiesSet();
+
+		ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) container.getTaskExecutor();
+		assertThat(taskExecutor.getCorePoolSize()).isEqualTo(12);
+		assertThat(taskExecutor.getMaxPoolSize()).isEqualTo((2 + 2 * 10) + (4 + 50));
+	}
+
+	@Test
+	void setPollersPerQueue_withNonPositiveValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		assertThatThrownBy(() -> container.setPollersPerQueue(0)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("pollersPerQueue must be a positive number");
+	}
+
+	@Test
+	void setMaxInFlightMessagesPerQueue_withNonPositiveValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		assertThatThrownBy(() -> container.setMaxInFlightMessagesPerQueue(0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxInFlightMessagesPerQueue must be a positive number");
+	}
+
+	@Test
+	void testContainerDoesNotProcessMessageAfterBeingStopped() throws Exception {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+		container.setTaskExecutor(taskExecutor);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler() {
+
+			@Override
+			public void handleMessage(org.springframework.messaging.Message<?> message) throws MessagingException {
+				fail("Should not have been called");
+			}
+		};
+		container.setMessageHandler(messageHandler);
+		container.setBeanName("testContainerName");
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testContainerDoesNotProcessMessageAfterBeingStopped.amazonaws.com");
+
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(
+				new ReceiveMessageRequest("http://testContainerDoesNotProcessMessageAfterBeingStopped.amazonaws.com")))
+						.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
+							container.stop();
+							return new ReceiveMessageResult().withMessages(new Message().withBody("test"));
+						});
+
+		container.start();
+	}
+
+	@Test
+	void listener_withMultipleMessageHandlers_shouldBeCalled() throws Exception {
+		CountDownLatch countDownLatch = new CountDownLatch(2);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
+				countDownLatch.countDown();
+				super.executeMessage(stringMessage);
+			}
+		};
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		applicationContext.registerSingleton("anotherTestMessageListener", AnotherTestMessageListener.class);
+
+		mockGetQueueUrl(sqs, "testQueue", "https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com");
+		mockGetQueueUrl(sqs, "anotherTestQueue",
+				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com");
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(
+				new ReceiveMessageRequest("https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com")
+						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
+						.withWaitTimeSeconds(20))).thenReturn(
+								new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")))
+								.thenReturn(new ReceiveMessageResult());
+		when(sqs.receiveMessage(new ReceiveMessageRequest(
+				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com")
+						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
+						.withWaitTimeSeconds(20)))
+								.thenReturn(new ReceiveMessageResult()
+										.withMessages(new Message().withBody("anotherMessageContent")))
+								.thenReturn(new ReceiveMessageResult());
+		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		container.start();
+
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+		assertThat(applicationContext.getBean(TestMessageListener.class).getMessage()).isEqualTo("messageContent");
+		assertThat(applicationContext.getBean(AnotherTestMessageListener.class).getMessage())
+				.isEqualTo("anotherMessageContent");
+	}
+
+	@Test
+	void messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders() throws Exception {
+		// Arrange
+		CountDownLatch countDownLatch = new CountDownLatch(1);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
+				countDownLatch.countDown();
+				super.executeMessage(stringMessage);
+			}
+		};
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = spy(new QueueMessageHandler());
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+
+		mockGetQueueUrl(sqs, "testQueue",
+				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com");
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(new ReceiveMessageRequest(
+				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com")
+						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
+						.withWaitTimeSeconds(20))).thenReturn(new ReceiveMessageResult().withMessages(
+								new Message().withBody("messageContent").withAttributes(new HashMap<String, String>() {
+									{
+										put("SenderId", "ID");
+										put("SentTimestamp", "1000");
+										put("ApproximateFirstReceiveTimestamp", "2000");
+									}
+								}))).thenReturn(new ReceiveMessageResult());
+		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+
+		verify(messageHandler).handleMessage(this.stringMessageCaptor.capture());
+		assertThat(this.stringMessageCaptor.getValue().getHeaders().get("SenderId")).isEqualTo("ID");
+		assertThat(this.stringMessageCaptor.getValue().getHeaders().getTimestamp()).isEqualTo(1000L);
+		assertThat(this.stringMessageCaptor.getValue().getHeaders().get("ApproximateFirstReceiveTimestamp"))
+				.isEqualTo("2000");
+
+	}
+
+	@Test
+	void doDestroy_whenContainerCallsDestroy_DestroysDefaultTaskExecutor() throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer simpleMessageListenerContainer = new SimpleMessageListenerContainer();
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		simpleMessageListenerContainer.setAmazonSqs(sqs);
+		QueueMessageHandler messageHandler = mock(QueueMessageHandler.class);
+		simpleMessageListenerContainer.setMessageHandler(messageHandler);
+		simpleMessageListenerContainer.afterPropertiesSet();
+		simpleMessageListenerContainer.start();
+
+		// Act
+		simpleMessageListenerContainer.destroy();
+
+		// Assert
+		assertThat(((ThreadPoolTaskExecutor) simpleMessageListenerContainer.getTaskExecutor()).getThreadPoolExecutor()
+				.isTerminated()).isTrue();
+	}
+
+	@Test
+	void afterPropertiesSet_whenCalled_taskExecutorIsActive() throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+		QueueMessageHandler messageHandler = mock(QueueMessageHandler.class);
+		container.setMessageHandler(messageHandler);
+
+		// Act
+		container.afterPropertiesSet();
+
+		// Assert
+		assertThat(((ThreadPoolTaskExecutor) container.getTaskExecutor()).getThreadPoolExecutor().isTerminated())
+				.isFalse();
+		container.stop();
+	}
+
+	@Test
+	void messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader() throws Exception {
+		// Arrange
+		CountDownLatch countDownLatch = new CountDownLatch(1);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
+				countDownLatch.countDown();
+				super.executeMessage(stringMessage);
+			}
+		};
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = spy(new QueueMessageHandler());
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+
+		mockGetQueueUrl(sqs, "testQueue",
+				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com");
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		MimeType mimeType = new MimeType("text", "plain", Charset.forName("UTF-8"));
+		when(sqs.receiveMessage(new ReceiveMessageRequest(
+				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com")
+						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
+						.withWaitTimeSeconds(20))).thenReturn(
+								new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")
+										.withAttributes(Collections.singletonMap("SenderId", "ID"))
+										.withMessageAttributes(Collections.singletonMap(MessageHeaders.CONTENT_TYPE,
+												new MessageAttributeValue().withDataType("String")
+														.withStringValue(mimeType.toString())))))
+								.thenReturn(new ReceiveMessageResult());
+		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+
+		verify(messageHandler).handleMessage(this.stringMessageCaptor.capture());
+		assertThat(this.stringMessageCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.isEqualTo(mimeType);
+	}
+
+	@Test
+	void queueMessageHandler_withJavaConfig_shouldScanTheListenerMethods() {
+		// Arrange & Act
+		AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(
+				SqsTestConfig.class, TestMessageListener.class);
+		SimpleMessageListenerContainer simpleMessageListenerContainer = applicationContext
+				.getBean(SimpleMessageListenerContainer.class);
+		QueueMessageHandler queueMessageHandler = (QueueMessageHandler) ReflectionTestUtils
+				.getField(simpleMessageListenerContainer, "messageHandler");
+
+		// Assert
+		assertThat(queueMessageHandler.getHandlerMethods().size()).isEqualTo(1);
+	}
+
+	@Test
+	void executeMessage_successfulExecution_shouldRemoveMessageFromQueue() throws Exception {
+		// Arrange
+		CountDownLatch countDownLatch = new CountDownLatch(1);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
+				countDownLatch.countDown();
+				super.executeMessage(stringMessage);
+			}
+		};
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+
+		mockGetQueueUrl(sqs, "testQueue",
+				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com");
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		mockReceiveMessage(sqs, "https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com",
+				"messageContent", "ReceiptHandle");
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+		verify(sqs, times(1)).deleteMessageAsync(eq(new DeleteMessageRequest(
+				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com",
+				"ReceiptHandle")), any(AsyncHandler.class));
+	}
+
+	@Test
+	void executeMessage_withDeleteMessageBatchingEnabled_shouldDeleteMessagesInBatches() throws Exception {
+		// Arrange
+		CountDownLatch countDownLatch = new CountDownLatch(1);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
+				countDownLatch.countDown();
+				super.executeMessage(stringMessage);
+			}
+		};
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+		container.setDeleteMessageBatching(true);
+		container.setDeleteMessageBatchWindow(50);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+
+		mockGetQueueUrl(sqs, "testQueue", "https://executeMessage_withDeleteMessageBatchingEnabled.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs,
+				"https://executeMessage_withDeleteMessageBatchingEnabled.amazonaws.com");
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		mockReceiveMessage(sqs, "https://executeMessage_withDeleteMessageBatchingEnabled.amazonaws.com",
+				"messageContent", "ReceiptHandle");
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+		verify(sqs,
+				timeout(1000))
+						.deleteMessageBatchAsync(
+								eq(new DeleteMessageBatchRequest(
+										"https://executeMessage_withDeleteMessageBatchingEnabled.amazonaws.com",
+										Collections.singletonList(
+												new DeleteMessageBatchRequestEntry("0", "ReceiptHandle")))),
+								any(AsyncHandler.class));
+		verify(sqs, never()).deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class));
+		container.destroy();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void executeMessage_withStoredPayload_shouldReceiveStoredPayloadAndDeleteItAfterTheMessage() throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		S3Object s3Object = new S3Object();
+		s3Object.setObjectContent(new ByteArrayInputStream("storedPayload".getBytes(StandardCharsets.UTF_8)));
+		when(amazonS3.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
+		S3PayloadStore payloadStore = new S3PayloadStore(amazonS3, "payloads");
+		payloadStore.setDeleteAfterReceipt(true);
+		container.setPayloadStore(payloadStore);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
 		container.setMessageHandler(messageHandler);
-		container.setBeanName("testContainerName");
 
-		mockGetQueueUrl(sqs, "testQueue", "http://testContainerDoesNotProcessMessageAfterBeingStopped.amazonaws.com");
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
 
+		mockGetQueueUrl(sqs, "testQueue", "https://executeMessage_withStoredPayload.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "https://executeMessage_withStoredPayload.amazonaws.com");
+		when(sqs.deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class)))
+				.thenAnswer(invocation -> {
+					invocation.<AsyncHandler<DeleteMessageRequest, DeleteMessageResult>>getArgument(1)
+							.onSuccess(invocation.getArgument(0), new DeleteMessageResult());
+					return null;
+				});
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
-		when(sqs.receiveMessage(
-				new ReceiveMessageRequest("http://testContainerDoesNotProcessMessageAfterBeingStopped.amazonaws.com")))
-						.thenAnswer((Answer<ReceiveMessageResult>) invocation -> {
-							container.stop();
-							return new ReceiveMessageResult().withMessages(new Message().withBody("test"));
-						});
+		when(sqs.receiveMessage(new ReceiveMessageRequest("https://executeMessage_withStoredPayload.amazonaws.com")
+				.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
+				.withWaitTimeSeconds(20))).thenReturn(new ReceiveMessageResult().withMessages(new Message()
+						.withBody("s3://payloads/key").withReceiptHandle("ReceiptHandle")
+						.addMessageAttributesEntry(S3PayloadStore.PAYLOAD_SIZE_HEADER, new MessageAttributeValue()
+								.withDataType("Number.java.lang.Integer").withStringValue("13"))),
+						new ReceiveMessageResult());
 
+		// Act
 		container.start();
+
+		// Assert
+		TestMessageListener testMessageListener = applicationContext.getBean(TestMessageListener.class);
+		assertThat(testMessageListener.getCountDownLatch().await(2L, TimeUnit.SECONDS)).isTrue();
+		container.stop();
+		assertThat(testMessageListener.getMessage()).isEqualTo("storedPayload");
+		ArgumentCaptor<GetObjectRequest> getObjectRequest = ArgumentCaptor.forClass(GetObjectRequest.class);
+		verify(amazonS3).getObject(getObjectRequest.capture());
+		assertThat(getObjectRequest.getValue().getBucketName()).isEqualTo("payloads");
+		assertThat(getObjectRequest.getValue().getKey()).isEqualTo("key");
+		verify(sqs, timeout(1000)).deleteMessageAsync(
+				eq(new DeleteMessageRequest("https://executeMessage_withStoredPayload.amazonaws.com", "ReceiptHandle")),
+				any(AsyncHandler.class));
+		verify(amazonS3, timeout(1000)).deleteObject("payloads", "key");
 	}
 
 	@Test
-	void listener_withMultipleMessageHandlers_shouldBeCalled() throws Exception {
-		CountDownLatch countDownLatch = new CountDownLatch(2);
-		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+	@SuppressWarnings("unchecked")
+	void executeMessage_withStoredPayloadOutsideOfPayloadStore_shouldFailMessageWithoutAccessingS3() throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
 
-			@Override
-			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
-				countDownLatch.countDown();
-				super.executeMessage(stringMessage);
-			}
-		};
-		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
 		container.setAmazonSqs(sqs);
 
+		AmazonS3 amazonS3 = mock(AmazonS3.class);
+		S3PayloadStore payloadStore = new S3PayloadStore(amazonS3, "payloads");
+		payloadStore.setDeleteAfterReceipt(true);
+		container.setPayloadStore(payloadStore);
+
 		QueueMessageHandler messageHandler = new QueueMessageHandler();
 		container.setMessageHandler(messageHandler);
+
 		StaticApplicationContext applicationContext = new StaticApplicationContext();
 		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
-		applicationContext.registerSingleton("anotherTestMessageListener", AnotherTestMessageListener.class);
 
-		mockGetQueueUrl(sqs, "testQueue", "https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com");
-		mockGetQueueAttributesWithEmptyResult(sqs,
-				"https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com");
-		mockGetQueueUrl(sqs, "anotherTestQueue",
-				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com");
-		mockGetQueueAttributesWithEmptyResult(sqs,
-				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com");
+		String queueUrl = "https://executeMessage_withStoredPayloadOutsideOfPayloadStore.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
 
 		messageHandler.setApplicationContext(applicationContext);
 		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
-		when(sqs.receiveMessage(
-				new ReceiveMessageRequest("https://listener_withMultipleMessageHandlers_shouldBeCalled.amazonaws.com")
-						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
-						.withWaitTimeSeconds(20))).thenReturn(
-								new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")))
-								.thenReturn(new ReceiveMessageResult());
-		when(sqs.receiveMessage(new ReceiveMessageRequest(
-				"https://listener_withMultipleMessageHandlers_shouldBeCalled.another.amazonaws.com")
-						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
-						.withWaitTimeSeconds(20)))
-								.thenReturn(new ReceiveMessageResult()
-										.withMessages(new Message().withBody("anotherMessageContent")))
-								.thenReturn(new ReceiveMessageResult());
-		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(
+				new ReceiveMessageResult().withMessages(new Message().withBody("s3://secrets/key")
+						.withReceiptHandle("ReceiptHandle")
+						.addMessageAttributesEntry(S3PayloadStore.PAYLOAD_SIZE_HEADER, new MessageAttributeValue()
+								.withDataType("Number.java.lang.Integer").withStringValue("13"))),
+				new ReceiveMessageResult());
 
+		// Act
 		container.start();
 
-		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		// Assert
+		verify(sqs, timeout(2000)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "ReceiptHandle")),
+				any(AsyncHandler.class));
 		container.stop();
-		assertThat(applicationContext.getBean(TestMessageListener.class).getMessage()).isEqualTo("messageContent");
-		assertThat(applicationContext.getBean(AnotherTestMessageListener.class).getMessage())
-				.isEqualTo("anotherMessageContent");
+		TestMessageListener testMessageListener = applicationContext.getBean(TestMessageListener.class);
+		assertThat(testMessageListener.getMessage()).isNull();
+		verifyNoInteractions(amazonS3);
 	}
 
 	@Test
-	void messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders() throws Exception {
+	@SuppressWarnings("unchecked")
+	void executeMessage_withMessagingMetrics_shouldRecordReceiveHandlerAndDeletion() throws Exception {
 		// Arrange
-		CountDownLatch countDownLatch = new CountDownLatch(1);
-		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
-
-			@Override
-			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
-				countDownLatch.countDown();
-				super.executeMessage(stringMessage);
-			}
-		};
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
 
-		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
 		container.setAmazonSqs(sqs);
 
-		QueueMessageHandler messageHandler = spy(new QueueMessageHandler());
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		container.setMessagingMetrics(new MicrometerMessagingMetrics(meterRegistry));
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
 		container.setMessageHandler(messageHandler);
 
 		StaticApplicationContext applicationContext = new StaticApplicationContext();
 		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
 
-		mockGetQueueUrl(sqs, "testQueue",
-				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com");
+		mockGetQueueUrl(sqs, "testQueue", "https://executeMessage_withMessagingMetrics.amazonaws.com/testQueue");
 		mockGetQueueAttributesWithEmptyResult(sqs,
-				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com");
+				"https://executeMessage_withMessagingMetrics.amazonaws.com/testQueue");
+		CountDownLatch deletionLatch = new CountDownLatch(1);
+		when(sqs.deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class)))
+				.thenAnswer(invocation -> {
+					invocation.<AsyncHandler<DeleteMessageRequest, DeleteMessageResult>>getArgument(1)
+							.onSuccess(invocation.getArgument(0), new DeleteMessageResult());
+					deletionLatch.countDown();
+					return null;
+				});
 
 		messageHandler.setApplicationContext(applicationContext);
 		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
-		when(sqs.receiveMessage(new ReceiveMessageRequest(
-				"https://messageExecutor_withMessageWithAttributes_shouldPassThemAsHeaders.amazonaws.com")
+		when(sqs.receiveMessage(
+				new ReceiveMessageRequest("https://executeMessage_withMessagingMetrics.amazonaws.com/testQueue")
 						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
-						.withWaitTimeSeconds(20))).thenReturn(new ReceiveMessageResult().withMessages(
-								new Message().withBody("messageContent").withAttributes(new HashMap<String, String>() {
-									{
-										put("SenderId", "ID");
-										put("SentTimestamp", "1000");
-										put("ApproximateFirstReceiveTimestamp", "2000");
-									}
-								}))).thenReturn(new ReceiveMessageResult());
-		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+						.withWaitTimeSeconds(20)))
+								.thenReturn(
+										new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")
+												.withReceiptHandle("ReceiptHandle")
+												.addAttributesEntry(SqsMessageHeaders.SQS_SENT_TIMESTAMP,
+														String.valueOf(System.currentTimeMillis() - 5000))),
+										new ReceiveMessageResult());
 
 		// Act
 		container.start();
 
 		// Assert
-		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		assertThat(deletionLatch.await(2L, TimeUnit.SECONDS)).isTrue();
 		container.stop();
+		assertThat(meterRegistry.get("sqs.listener.receive").tags("queue", "testQueue", "outcome", "success").timer()
+				.count()).isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("sqs.listener.message.age").tag("queue", "testQueue").timer()
+				.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5000);
+		assertThat(meterRegistry.get("sqs.listener.handler").tags("queue", "testQueue", "outcome", "success").timer()
+				.count()).isEqualTo(1);
+		assertThat(meterRegistry.get("sqs.listener.in.flight").tag("queue", "testQueue").gauge().value()).isEqualTo(0);
+		assertThat(meterRegistry.get("sqs.listener.delete").tags("queue", "testQueue", "outcome", "success").timer()
+				.count()).isEqualTo(1);
+	}
 
-		verify(messageHandler).handleMessage(this.stringMessageCaptor.capture());
-		assertThat(this.stringMessageCaptor.getValue().getHeaders().get("SenderId")).isEqualTo("ID");
-		assertThat(this.stringMessageCaptor.getValue().getHeaders().getTimestamp()).isEqualTo(1000L);
-		assertThat(this.stringMessageCaptor.getValue().getHeaders().get("ApproximateFirstReceiveTimestamp"))
-				.isEqualTo("2000");
+	@Test
+	void setDeleteMessageBatchWindow_withNegativeValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
 
+		assertThatThrownBy(() -> container.setDeleteMessageBatchWindow(-1)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("deleteMessageBatchWindow");
 	}
 
 	@Test
-	void doDestroy_whenContainerCallsDestroy_DestroysDefaultTaskExecutor() throws Exception {
-		// Arrange
-		SimpleMessageListenerContainer simpleMessageListenerContainer = new SimpleMessageListenerContainer();
-		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
-		simpleMessageListenerContainer.setAmazonSqs(sqs);
-		QueueMessageHandler messageHandler = mock(QueueMessageHandler.class);
-		simpleMessageListenerContainer.setMessageHandler(messageHandler);
-		simpleMessageListenerContainer.afterPropertiesSet();
-		simpleMessageListenerContainer.start();
-
-		// Act
-		simpleMessageListenerContainer.destroy();
+	void setVisibilityHeartbeatMaxDuration_withZero_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
 
-		// Assert
-		assertThat(((ThreadPoolTaskExecutor) simpleMessageListenerContainer.getTaskExecutor()).getThreadPoolExecutor()
-				.isTerminated()).isTrue();
+		assertThatThrownBy(() -> container.setVisibilityHeartbeatMaxDuration(0))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("visibilityHeartbeatMaxDuration");
 	}
 
 	@Test
-	void afterPropertiesSet_whenCalled_taskExecutorIsActive() throws Exception {
+	void executeMessageBatch_withPartiallyFailedBatch_shouldOnlyRemoveSuccessfulMessagesFromQueue() throws Exception {
 		// Arrange
-		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
-		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		CountDownLatch countDownLatch = new CountDownLatch(1);
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
+
+			@Override
+			protected void executeMessageBatch(
+					org.springframework.messaging.Message<List<org.springframework.messaging.Message<String>>> batchMessage) {
+				try {
+					super.executeMessageBatch(batchMessage);
+				}
+				finally {
+					countDownLatch.countDown();
+				}
+			}
+		};
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
 		container.setAmazonSqs(sqs);
-		QueueMessageHandler messageHandler = mock(QueueMessageHandler.class);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
 		container.setMessageHandler(messageHandler);
 
-		// Act
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestBatchMessageListenerWithPartialFailure.class);
+
+		String queueUrl = "https://executeMessageBatch_withPartiallyFailedBatch.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
+		when(sqs.receiveMessage(new ReceiveMessageRequest(queueUrl).withAttributeNames("All")
+				.withMessageAttributeNames("All").withMaxNumberOfMessages(10).withWaitTimeSeconds(20)))
+						.thenReturn(
+								new ReceiveMessageResult().withMessages(
+										new Message().withBody("first").withReceiptHandle("first-handle"),
+										new Message().withBody("fail").withReceiptHandle("fail-handle"),
+										new Message().withBody("third").withReceiptHandle("third-handle")),
+								new ReceiveMessageResult());
+
+		// Act
+		container.start();
+
 		// Assert
-		assertThat(((ThreadPoolTaskExecutor) container.getTaskExecutor()).getThreadPoolExecutor().isTerminated())
-				.isFalse();
+		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
 		container.stop();
+		TestBatchMessageListenerWithPartialFailure listener = applicationContext
+				.getBean(TestBatchMessageListenerWithPartialFailure.class);
+		assertThat(listener.getReceivedMessages()).containsExactly("first", "fail", "third");
+		verify(sqs, times(1)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "first-handle")),
+				any(AsyncHandler.class));
+		verify(sqs, times(1)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "third-handle")),
+				any(AsyncHandler.class));
+		verify(sqs, never()).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "fail-handle")),
+				any(AsyncHandler.class));
 	}
 
 	@Test
-	void messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader() throws Exception {
+	void executeMessage_withVisibilityHeartbeat_shouldExtendVisibilityOfLongRunningMessage() throws Exception {
 		// Arrange
 		CountDownLatch countDownLatch = new CountDownLatch(1);
 		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
 
 			@Override
 			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
-				countDownLatch.countDown();
+				try {
+					Thread.sleep(1500);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
 				super.executeMessage(stringMessage);
+				countDownLatch.countDown();
 			}
 		};
 
-		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
 		container.setAmazonSqs(sqs);
+		container.setVisibilityHeartbeatInterval(1);
 
-		QueueMessageHandler messageHandler = spy(new QueueMessageHandler());
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
 		container.setMessageHandler(messageHandler);
 
 		StaticApplicationContext applicationContext = new StaticApplicationContext();
 		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
 
-		mockGetQueueUrl(sqs, "testQueue",
-				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com");
-		mockGetQueueAttributesWithEmptyResult(sqs,
-				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com");
+		String queueUrl = "https://executeMessage_withVisibilityHeartbeat.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
 
 		messageHandler.setApplicationContext(applicationContext);
 		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
-		MimeType mimeType = new MimeType("text", "plain", Charset.forName("UTF-8"));
-		when(sqs.receiveMessage(new ReceiveMessageRequest(
-				"https://messageExecutor_messageWithMimeTypeMessageAttribute_shouldSetItAsHeader.amazonaws.com")
-						.withAttributeNames("All").withMessageAttributeNames("All").withMaxNumberOfMessages(10)
-						.withWaitTimeSeconds(20))).thenReturn(
-								new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")
-										.withAttributes(Collections.singletonMap("SenderId", "ID"))
-										.withMessageAttributes(Collections.singletonMap(MessageHeaders.CONTENT_TYPE,
-												new MessageAttributeValue().withDataType("String")
-														.withStringValue(mimeType.toString())))))
-								.thenReturn(new ReceiveMessageResult());
-		when(sqs.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(new GetQueueAttributesResult());
+		mockReceiveMessage(sqs, queueUrl, "messageContent", "ReceiptHandle");
 
 		// Act
 		container.start();
 
 		// Assert
-		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		assertThat(countDownLatch.await(3L, TimeUnit.SECONDS)).isTrue();
 		container.stop();
+		verify(sqs, atLeastOnce()).changeMessageVisibilityBatchAsync(
+				eq(new ChangeMessageVisibilityBatchRequest(queueUrl, Collections.singletonList(
+						new ChangeMessageVisibilityBatchRequestEntry("0", "ReceiptHandle").withVisibilityTimeout(2)))),
+				any(AsyncHandler.class));
+		container.destroy();
+	}
 
-		verify(messageHandler).handleMessage(this.stringMessageCaptor.capture());
-		assertThat(this.stringMessageCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
-				.isEqualTo(mimeType);
+	@Test
+	void setVisibilityHeartbeatInterval_withNonPositiveValue_throwsAnException() {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		assertThatThrownBy(() -> container.setVisibilityHeartbeatInterval(0))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("visibilityHeartbeatInterval");
+	}
+
+	@Test
+	void executeMessage_withCompletableFutureReturningListener_shouldDeleteMessageOnceFutureCompletes()
+			throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+		container.setMaxInFlightMessagesPerQueue(1);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestAsyncMessageListener.class);
+
+		String queueUrl = "https://executeMessage_withCompletableFutureReturningListener.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(new ReceiveMessageRequest(queueUrl).withAttributeNames("All")
+				.withMessageAttributeNames("All").withMaxNumberOfMessages(1).withWaitTimeSeconds(20)))
+						.thenReturn(
+								new ReceiveMessageResult().withMessages(
+										new Message().withBody("messageContent").withReceiptHandle("ReceiptHandle")),
+								new ReceiveMessageResult());
+		TestAsyncMessageListener listener = applicationContext.getBean(TestAsyncMessageListener.class);
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(listener.getCountDownLatch().await(2L, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, after(200).never()).deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class));
+		verify(sqs, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+
+		listener.getResult().complete(null);
+		verify(sqs, timeout(1000)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "ReceiptHandle")),
+				any(AsyncHandler.class));
+		verify(sqs, timeout(2000).atLeast(2)).receiveMessage(any(ReceiveMessageRequest.class));
+		container.stop();
 	}
 
-	@Test
-	void queueMessageHandler_withJavaConfig_shouldScanTheListenerMethods() {
-		// Arrange & Act
-		AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(
-				SqsTestConfig.class, TestMessageListener.class);
-		SimpleMessageListenerContainer simpleMessageListenerContainer = applicationContext
-				.getBean(SimpleMessageListenerContainer.class);
-		QueueMessageHandler queueMessageHandler = (QueueMessageHandler) ReflectionTestUtils
-				.getField(simpleMessageListenerContainer, "messageHandler");
+	@Test
+	void executeMessage_withIncompleteCompletableFuturesAndSingleWorkerThread_shouldNotBlockWorkerThread()
+			throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+		// One thread for the poller and a single worker thread
+		taskExecutor.setCorePoolSize(2);
+		taskExecutor.setMaxPoolSize(2);
+		taskExecutor.initialize();
+		container.setTaskExecutor(taskExecutor);
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestPendingAsyncMessageListener.class);
+
+		String queueUrl = "https://executeMessage_withIncompleteCompletableFutures.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(new ReceiveMessageRequest(queueUrl).withAttributeNames("All")
+				.withMessageAttributeNames("All").withMaxNumberOfMessages(10).withWaitTimeSeconds(20)))
+						.thenReturn(
+								new ReceiveMessageResult().withMessages(
+										new Message().withBody("first").withReceiptHandle("FirstReceiptHandle"),
+										new Message().withBody("second").withReceiptHandle("SecondReceiptHandle")),
+								new ReceiveMessageResult());
+		TestPendingAsyncMessageListener listener = applicationContext.getBean(TestPendingAsyncMessageListener.class);
+
+		// Act
+		container.start();
 
 		// Assert
-		assertThat(queueMessageHandler.getHandlerMethods().size()).isEqualTo(1);
+		assertThat(listener.getCountDownLatch().await(2L, TimeUnit.SECONDS)).isTrue();
+		verify(sqs, after(200).never()).deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class));
+		verify(sqs, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+
+		listener.getResult().complete(null);
+		verify(sqs, timeout(1000)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "FirstReceiptHandle")),
+				any(AsyncHandler.class));
+		verify(sqs, timeout(1000)).deleteMessageAsync(eq(new DeleteMessageRequest(queueUrl, "SecondReceiptHandle")),
+				any(AsyncHandler.class));
+		verify(sqs, timeout(2000).atLeast(2)).receiveMessage(any(ReceiveMessageRequest.class));
+		container.stop();
+		taskExecutor.shutdown();
 	}
 
 	@Test
-	void executeMessage_successfulExecution_shouldRemoveMessageFromQueue() throws Exception {
+	void executeMessage_withFailedCompletableFutureAndOnSuccessDeletionPolicy_shouldNotDeleteMessage()
+			throws Exception {
 		// Arrange
-		CountDownLatch countDownLatch = new CountDownLatch(1);
-		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer() {
-
-			@Override
-			protected void executeMessage(org.springframework.messaging.Message<String> stringMessage) {
-				countDownLatch.countDown();
-				super.executeMessage(stringMessage);
-			}
-		};
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
 
 		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
 		container.setAmazonSqs(sqs);
@@ -609,29 +1876,27 @@ class SimpleMessageListenerContainerTest {
 		container.setMessageHandler(messageHandler);
 
 		StaticApplicationContext applicationContext = new StaticApplicationContext();
-		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		applicationContext.registerSingleton("testMessageListener", TestAsyncMessageListener.class);
 
-		mockGetQueueUrl(sqs, "testQueue",
-				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com");
-		mockGetQueueAttributesWithEmptyResult(sqs,
-				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com");
+		String queueUrl = "https://executeMessage_withFailedCompletableFuture.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
 
 		messageHandler.setApplicationContext(applicationContext);
 		messageHandler.afterPropertiesSet();
 		container.afterPropertiesSet();
 
-		mockReceiveMessage(sqs, "https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com",
-				"messageContent", "ReceiptHandle");
+		mockReceiveMessage(sqs, queueUrl, "messageContent", "ReceiptHandle");
+		TestAsyncMessageListener listener = applicationContext.getBean(TestAsyncMessageListener.class);
 
 		// Act
 		container.start();
 
 		// Assert
-		assertThat(countDownLatch.await(2L, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.getCountDownLatch().await(2L, TimeUnit.SECONDS)).isTrue();
+		listener.getResult().completeExceptionally(new IllegalStateException("Processing failed"));
+		verify(sqs, after(500).never()).deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class));
 		container.stop();
-		verify(sqs, times(1)).deleteMessageAsync(eq(new DeleteMessageRequest(
-				"https://executeMessage_successfulExecution_shouldRemoveMessageFromQueue.amazonaws.com",
-				"ReceiptHandle")), any(AsyncHandler.class));
 	}
 
 	@Test
@@ -687,6 +1952,89 @@ class SimpleMessageListenerContainerTest {
 						"ReceiptHandle")), any(AsyncHandler.class));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void executeMessage_withErrorVisibilityBackOffAndFailingListener_shouldBackOffVisibilityByReceiveCount()
+			throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		container.setErrorVisibilityBackOff(new ErrorVisibilityBackOff(2, 2, 30));
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener",
+				TestMessageListenerThatThrowsAnExceptionWithAllExceptOnRedriveDeletionPolicy.class);
+
+		String queueUrl = "https://executeMessage_withErrorVisibilityBackOff.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithRedrivePolicy(sqs, queueUrl);
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(
+				new ReceiveMessageResult().withMessages(new Message().withBody("messageContent")
+						.withReceiptHandle("ReceiptHandle").addAttributesEntry("ApproximateReceiveCount", "3")),
+				new ReceiveMessageResult());
+
+		// Act
+		container.start();
+
+		// Assert
+		verify(sqs, timeout(2000)).changeMessageVisibilityBatchAsync(
+				eq(new ChangeMessageVisibilityBatchRequest(queueUrl, Collections.singletonList(
+						new ChangeMessageVisibilityBatchRequestEntry("0", "ReceiptHandle").withVisibilityTimeout(8)))),
+				any(AsyncHandler.class));
+		verify(sqs, never()).deleteMessageAsync(any(DeleteMessageRequest.class), any(AsyncHandler.class));
+		container.stop();
+		container.destroy();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void executeMessage_withListenerErrorVisibilityTimeout_shouldMakeFailedMessageVisibleWithoutContainerBackOff()
+			throws Exception {
+		// Arrange
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class);
+		container.setAmazonSqs(sqs);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		container.setMessageHandler(messageHandler);
+
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener",
+				TestMessageListenerThatThrowsAnExceptionWithErrorVisibilityTimeout.class);
+
+		String queueUrl = "https://executeMessage_withListenerErrorVisibilityTimeout.amazonaws.com";
+		mockGetQueueUrl(sqs, "testQueue", queueUrl);
+		mockGetQueueAttributesWithEmptyResult(sqs, queueUrl);
+
+		messageHandler.setApplicationContext(applicationContext);
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		mockReceiveMessage(sqs, queueUrl, "messageContent", "ReceiptHandle");
+
+		// Act
+		container.start();
+
+		// Assert
+		verify(sqs, timeout(2000)).changeMessageVisibilityBatchAsync(
+				eq(new ChangeMessageVisibilityBatchRequest(queueUrl, Collections.singletonList(
+						new ChangeMessageVisibilityBatchRequestEntry("0", "ReceiptHandle").withVisibilityTimeout(0)))),
+				any(AsyncHandler.class));
+		container.stop();
+		container.destroy();
+	}
+
 	@Test
 	void executeMessage_executionThrowsExceptionAndQueueHasRedrivePolicy_shouldNotRemoveMessageFromQueue()
 			throws Exception {
@@ -1042,6 +2390,102 @@ class SimpleMessageListenerContainerTest {
 		assertThat(container.isRunning("anotherTestQueue")).isFalse();
 	}
 
+	@Test
+	void start_withDeferredQueueResolution_shouldPollResolvedQueuesWithoutWaitingForSlowQueues() throws Exception {
+		// Arrange
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		applicationContext.registerSingleton("anotherTestMessageListener", AnotherTestMessageListener.class);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+		container.setBackOffTime(0);
+		container.setDeferredQueueResolution(true);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		messageHandler.setApplicationContext(applicationContext);
+		container.setMessageHandler(messageHandler);
+
+		CountDownLatch queueUrlLatch = new CountDownLatch(1);
+		when(sqs.getQueueUrl(new GetQueueUrlRequest().withQueueName("testQueue"))).thenAnswer(invocation -> {
+			queueUrlLatch.await(10, TimeUnit.SECONDS);
+			return new GetQueueUrlResult().withQueueUrl("http://testQueue.amazonaws.com");
+		});
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testQueue.amazonaws.com");
+		mockGetQueueUrl(sqs, "anotherTestQueue", "https://anotherTestQueue.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "https://anotherTestQueue.amazonaws.com");
+
+		CountDownLatch anotherQueuePolled = new CountDownLatch(1);
+		CountDownLatch queuePolled = new CountDownLatch(1);
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+			String queueUrl = invocation.<ReceiveMessageRequest>getArgument(0).getQueueUrl();
+			(queueUrl.startsWith("http://testQueue") ? queuePolled : anotherQueuePolled).countDown();
+			return new ReceiveMessageResult();
+		});
+
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		// Act
+		container.start();
+
+		// Assert
+		assertThat(anotherQueuePolled.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(queuePolled.getCount()).isEqualTo(1);
+
+		queueUrlLatch.countDown();
+		assertThat(queuePolled.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(container.isRunning("testQueue")).isTrue();
+
+		container.stop();
+	}
+
+	@Test
+	void start_withDeferredQueueResolution_shouldSizeDefaultTaskExecutorForResolvedQueues() throws Exception {
+		// Arrange
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerSingleton("testMessageListener", TestMessageListener.class);
+		applicationContext.registerSingleton("anotherTestMessageListener", AnotherTestMessageListener.class);
+
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+		AmazonSQSAsync sqs = mock(AmazonSQSAsync.class, withSettings().stubOnly());
+		container.setAmazonSqs(sqs);
+		container.setBackOffTime(0);
+		container.setDeferredQueueResolution(true);
+
+		QueueMessageHandler messageHandler = new QueueMessageHandler();
+		messageHandler.setApplicationContext(applicationContext);
+		container.setMessageHandler(messageHandler);
+
+		mockGetQueueUrl(sqs, "testQueue", "http://testQueue.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "http://testQueue.amazonaws.com");
+		mockGetQueueUrl(sqs, "anotherTestQueue", "https://anotherTestQueue.amazonaws.com");
+		mockGetQueueAttributesWithEmptyResult(sqs, "https://anotherTestQueue.amazonaws.com");
+		when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(new ReceiveMessageResult());
+
+		messageHandler.afterPropertiesSet();
+		container.afterPropertiesSet();
+
+		// Act
+		container.start();
+
+		// Assert
+		long deadline = System.currentTimeMillis() + 2000;
+		while (!(container.isRunning("testQueue") && container.isRunning("anotherTestQueue"))
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(container.isRunning("testQueue")).isTrue();
+		assertThat(container.isRunning("anotherTestQueue")).isTrue();
+
+		ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) container.getTaskExecutor();
+		assertThat(taskExecutor.getMaxPoolSize()).isEqualTo(2 * (10 + 1));
+		assertThat(taskExecutor.getCorePoolSize()).isLessThanOrEqualTo(taskExecutor.getMaxPoolSize());
+
+		container.stop();
+	}
+
 	@Test
 	void stopAndStart_withContainerHavingARunningQueue_shouldRestartTheSpecifiedQueue() throws Exception {
 		// Arrange
@@ -1433,6 +2877,25 @@ class SimpleMessageListenerContainerTest {
 
 	}
 
+	@SuppressWarnings("NonExceptionNameEndsWithException")
+	private static class TestMessageListenerThatThrowsAnExceptionWithErrorVisibilityTimeout {
+
+		@SuppressWarnings("UnusedDeclaration")
+		@SqsListener(value = "testQueue", deletionPolicy = SqsMessageDeletionPolicy.ON_SUCCESS,
+				errorVisibilityTimeout = "0")
+		private void handleMessage(String message) {
+			throw new RuntimeException();
+		}
+
+		@RuntimeUse
+		@MessageExceptionHandler(RuntimeException.class)
+		void handle() {
+			// Empty body just to avoid unnecessary log output because no exception
+			// handler was found.
+		}
+
+	}
+
 	@Configuration
 	@EnableSqs
 	protected static class SqsTestConfig {
@@ -1581,4 +3044,130 @@ class SimpleMessageListenerContainerTest {
 
 	}
 
+	private static class TestBlockingMessageListener {
+
+		private final CountDownLatch startedLatch = new CountDownLatch(1);
+
+		private final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+		private final List<String> receivedMessages = new CopyOnWriteArrayList<>();
+
+		@RuntimeUse
+		@SqsListener("testQueue")
+		private void handleMessage(String message) throws InterruptedException {
+			this.receivedMessages.add(message);
+			this.startedLatch.countDown();
+			this.releaseLatch.await(5, TimeUnit.SECONDS);
+		}
+
+		CountDownLatch getStartedLatch() {
+			return this.startedLatch;
+		}
+
+		CountDownLatch getReleaseLatch() {
+			return this.releaseLatch;
+		}
+
+		List<String> getReceivedMessages() {
+			return this.receivedMessages;
+		}
+
+	}
+
+	private static class TestBatchMessageListenerWithPartialFailure {
+
+		private final List<String> receivedMessages = new ArrayList<>();
+
+		List<String> getReceivedMessages() {
+			return this.receivedMessages;
+		}
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", deletionPolicy = SqsMessageDeletionPolicy.ON_SUCCESS, batch = true)
+		private void handleMessages(List<String> messages) {
+			this.receivedMessages.addAll(messages);
+			List<Integer> failedIndexes = new ArrayList<>();
+			for (int i = 0; i < messages.size(); i++) {
+				if ("fail".equals(messages.get(i))) {
+					failedIndexes.add(i);
+				}
+			}
+			if (!failedIndexes.isEmpty()) {
+				throw new BatchListenerFailedException("Processing failed", failedIndexes);
+			}
+		}
+
+	}
+
+	private static class FifoAsyncTestMessageListener {
+
+		private final List<String> handledMessages = new CopyOnWriteArrayList<>();
+
+		private final BlockingQueue<CompletableFuture<Void>> results = new LinkedBlockingQueue<>();
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue.fifo", deletionPolicy = SqsMessageDeletionPolicy.ON_SUCCESS)
+		private CompletableFuture<Void> handleMessage(String message) {
+			this.handledMessages.add(message);
+			CompletableFuture<Void> result = new CompletableFuture<>();
+			this.results.add(result);
+			return result;
+		}
+
+		List<String> getHandledMessages() {
+			return this.handledMessages;
+		}
+
+		BlockingQueue<CompletableFuture<Void>> getResults() {
+			return this.results;
+		}
+
+	}
+
+	private static class TestPendingAsyncMessageListener {
+
+		private final CountDownLatch countDownLatch = new CountDownLatch(2);
+
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", deletionPolicy = SqsMessageDeletionPolicy.ON_SUCCESS)
+		private CompletableFuture<Void> handleMessage(String message) {
+			this.countDownLatch.countDown();
+			return this.result;
+		}
+
+		CountDownLatch getCountDownLatch() {
+			return this.countDownLatch;
+		}
+
+		CompletableFuture<Void> getResult() {
+			return this.result;
+		}
+
+	}
+
+	private static class TestAsyncMessageListener {
+
+		private final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+		@RuntimeUse
+		@SqsListener(value = "testQueue", deletionPolicy = SqsMessageDeletionPolicy.ON_SUCCESS)
+		private CompletableFuture<Void> handleMessage(String message) {
+			this.countDownLatch.countDown();
+			return this.result;
+		}
+
+		CountDownLatch getCountDownLatch() {
+			return this.countDownLatch;
+		}
+
+		CompletableFuture<Void> getResult() {
+			return this.result;
+		}
+
+	}
+
 }
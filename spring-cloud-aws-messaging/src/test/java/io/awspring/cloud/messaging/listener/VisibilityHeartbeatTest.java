@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.listener;
+
+import java.time.Duration;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VisibilityHeartbeatTest {
+
+	private AmazonSQSAsync amazonSqs;
+
+	private VisibilityHeartbeat visibilityHeartbeat;
+
+	@BeforeEach
+	void setUp() {
+		this.amazonSqs = mock(AmazonSQSAsync.class);
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		this.visibilityHeartbeat = new VisibilityHeartbeat(
+				new ChangeMessageVisibilityBatcher(this.amazonSqs, taskScheduler, 100), taskScheduler,
+				Duration.ofSeconds(10), 30, Duration.ofHours(1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void extendVisibility_withTrackedMessages_extendsVisibilityInOneBatchPerQueue() {
+		// Arrange
+		this.visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+		this.visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "second");
+		this.visibilityHeartbeat.track("https://secondQueue.amazonaws.com", "third");
+
+		// Act
+		this.visibilityHeartbeat.extendVisibility();
+
+		// Assert
+		ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor
+				.forClass(ChangeMessageVisibilityBatchRequest.class);
+		verify(this.amazonSqs, times(2)).changeMessageVisibilityBatchAsync(requestCaptor.capture(),
+				any(AsyncHandler.class));
+		assertThat(requestCaptor.getAllValues()).anySatisfy(request -> {
+			assertThat(request.getQueueUrl()).isEqualTo("https://firstQueue.amazonaws.com");
+			assertThat(request.getEntries()).extracting(ChangeMessageVisibilityBatchRequestEntry::getReceiptHandle)
+					.containsExactlyInAnyOrder("first", "second");
+			assertThat(request.getEntries()).extracting(ChangeMessageVisibilityBatchRequestEntry::getVisibilityTimeout)
+					.containsOnly(30);
+		});
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void extendVisibility_withUntrackedMessage_doesNotExtendVisibility() {
+		// Arrange
+		this.visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+		this.visibilityHeartbeat.untrack("first");
+
+		// Act
+		this.visibilityHeartbeat.extendVisibility();
+
+		// Assert
+		verify(this.amazonSqs, never()).changeMessageVisibilityBatchAsync(
+				any(ChangeMessageVisibilityBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void extendVisibility_withMaxDurationElapsed_stopsExtendingVisibility() {
+		// Arrange
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		VisibilityHeartbeat visibilityHeartbeat = new VisibilityHeartbeat(
+				new ChangeMessageVisibilityBatcher(this.amazonSqs, taskScheduler, 100), taskScheduler,
+				Duration.ofSeconds(10), 30, Duration.ZERO);
+		visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+
+		// Act
+		visibilityHeartbeat.extendVisibility();
+
+		// Assert
+		verify(this.amazonSqs, never()).changeMessageVisibilityBatchAsync(
+				any(ChangeMessageVisibilityBatchRequest.class), any(AsyncHandler.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void extendVisibility_withMaxDurationAlmostElapsed_limitsVisibilityTimeoutToRemainingDuration() {
+		// Arrange
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		VisibilityHeartbeat visibilityHeartbeat = new VisibilityHeartbeat(
+				new ChangeMessageVisibilityBatcher(this.amazonSqs, taskScheduler, 100), taskScheduler,
+				Duration.ofSeconds(10), 30, Duration.ofSeconds(20));
+		visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+
+		// Act
+		visibilityHeartbeat.extendVisibility();
+
+		// Assert
+		ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor
+				.forClass(ChangeMessageVisibilityBatchRequest.class);
+		verify(this.amazonSqs).changeMessageVisibilityBatchAsync(requestCaptor.capture(), any(AsyncHandler.class));
+		assertThat(requestCaptor.getValue().getEntries().get(0).getVisibilityTimeout()).isBetween(1, 20);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void extendVisibility_withMessageTrackedAgainAfterMaxDuration_stopsExtendingVisibility() throws Exception {
+		// Arrange
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		VisibilityHeartbeat visibilityHeartbeat = new VisibilityHeartbeat(
+				new ChangeMessageVisibilityBatcher(this.amazonSqs, taskScheduler, 100), taskScheduler,
+				Duration.ofSeconds(10), 30, Duration.ofSeconds(1));
+		visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+		Thread.sleep(1100);
+		visibilityHeartbeat.track("https://firstQueue.amazonaws.com", "first");
+
+		// Act
+		visibilityHeartbeat.extendVisibility();
+
+		// Assert
+		verify(this.amazonSqs, never()).changeMessageVisibilityBatchAsync(
+				any(ChangeMessageVisibilityBatchRequest.class), any(AsyncHandler.class));
+	}
+
+}
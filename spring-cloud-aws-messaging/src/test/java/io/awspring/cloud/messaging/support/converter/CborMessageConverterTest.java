@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.converter;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborMessageConverterTest {
+
+	@Test
+	void toMessage_withObjectPayload_createsSmallerPayloadThanJavaSerializationWithCborContentType() {
+		// Arrange
+		CborMessageConverter messageConverter = new CborMessageConverter();
+		ObjectMessageConverter objectMessageConverter = new ObjectMessageConverter();
+		Person person = new Person("John", "Doe", 42);
+
+		// Act
+		Message<?> message = messageConverter.toMessage(person, null);
+
+		// Assert
+		assertThat(message.getPayload()).isInstanceOf(String.class);
+		assertThat(message.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.isEqualTo(CborMessageConverter.CBOR_MIME_TYPE);
+		assertThat(((String) message.getPayload()).length())
+				.isLessThan(((String) objectMessageConverter.toMessage(person, null).getPayload()).length());
+	}
+
+	@Test
+	void fromMessage_withConvertedPayload_returnsOriginalObject() {
+		// Arrange
+		CborMessageConverter messageConverter = new CborMessageConverter();
+		Message<?> message = messageConverter.toMessage(new Person("John", "Doe", 42), null);
+
+		// Act
+		Person person = (Person) messageConverter.fromMessage(message, Person.class);
+
+		// Assert
+		assertThat(person).isEqualTo(new Person("John", "Doe", 42));
+	}
+
+	@Test
+	void fromMessage_withGenericMethodParameter_returnsConvertedElements() throws Exception {
+		// Arrange
+		CborMessageConverter messageConverter = new CborMessageConverter();
+		Message<?> message = messageConverter
+				.toMessage(Arrays.asList(new Person("John", "Doe", 42), new Person("Jane", "Doe", 41)), null);
+		Method method = CborMessageConverterTest.class.getDeclaredMethod("receive", List.class);
+
+		// Act
+		Object persons = messageConverter.fromMessage(message, List.class, new MethodParameter(method, 0));
+
+		// Assert
+		assertThat(persons).isEqualTo(Arrays.asList(new Person("John", "Doe", 42), new Person("Jane", "Doe", 41)));
+	}
+
+	@Test
+	void toMessage_withByteArraySerializedPayloadClass_createsBinaryPayload() {
+		// Arrange
+		CborMessageConverter messageConverter = new CborMessageConverter();
+		messageConverter.setSerializedPayloadClass(byte[].class);
+
+		// Act
+		Message<?> message = messageConverter.toMessage(Collections.singletonMap("key", "value"), null);
+
+		// Assert
+		assertThat(message.getPayload()).isInstanceOf(byte[].class);
+		assertThat(messageConverter.fromMessage(message, Object.class))
+				.isEqualTo(Collections.singletonMap("key", "value"));
+	}
+
+	@Test
+	void fromMessage_withInvalidPayload_throwsMessageConversionException() {
+		// Arrange
+		CborMessageConverter messageConverter = new CborMessageConverter();
+		Message<String> message = MessageBuilder.withPayload("not base64 €")
+				.setHeader(MessageHeaders.CONTENT_TYPE, CborMessageConverter.CBOR_MIME_TYPE).build();
+
+		// Act & Assert
+		assertThatThrownBy(() -> messageConverter.fromMessage(message, Person.class))
+				.isInstanceOf(MessageConversionException.class).hasMessageContaining("not a valid Base64");
+	}
+
+	@Test
+	void createConverter_withJsonObjectMapper_reportsError() {
+		assertThatThrownBy(() -> new CborMessageConverter(new ObjectMapper()))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("CBORFactory");
+	}
+
+	@SuppressWarnings("unused")
+	private void receive(List<Person> persons) {
+	}
+
+	private static final class Person implements Serializable {
+
+		private final String firstName;
+
+		private final String lastName;
+
+		private final int age;
+
+		private Person(@JsonProperty("firstName") String firstName, @JsonProperty("lastName") String lastName,
+				@JsonProperty("age") int age) {
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.age = age;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Person)) {
+				return false;
+			}
+			Person person = (Person) other;
+			return this.firstName.equals(person.firstName) && this.lastName.equals(person.lastName)
+					&& this.age == person.age;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.firstName.hashCode() * 31 + this.age;
+		}
+
+	}
+
+}
@@ -19,13 +19,21 @@ package io.awspring.cloud.messaging.support.converter;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import org.springframework.messaging.Message;
 import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.converter.StringMessageConverter;
 import org.springframework.messaging.support.MessageBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Agim Emruli
@@ -106,6 +114,36 @@ class NotificationRequestConverterTest {
 		assertThat(notificationRequest).isNotNull();
 	}
 
+	@Test
+	void fromMessage_withNestedUnknownFieldsAndAttributes_shouldReturnMessageWithHeaders() throws Exception {
+		// Arrange
+		ObjectNode jsonObject = JsonNodeFactory.instance.objectNode();
+		jsonObject.set("Unknown", JsonNodeFactory.instance.objectNode().put("Message", "Nested"));
+		jsonObject.put("Type", "Notification");
+		ObjectNode messageAttributes = JsonNodeFactory.instance.objectNode();
+		messageAttributes.set("string-attribute",
+				JsonNodeFactory.instance.objectNode().put("Type", "String").put("Value", "value"));
+		messageAttributes.set("number-attribute", JsonNodeFactory.instance.objectNode().put("Type", "Number.long")
+				.put("Value", "30").set("Unknown", JsonNodeFactory.instance.arrayNode().add("Value")));
+		jsonObject.set("MessageAttributes", messageAttributes);
+		jsonObject.put("Message", "World");
+		String payload = jsonObject.toString();
+		MessageConverter payloadConverter = mock(MessageConverter.class);
+		when(payloadConverter.fromMessage(any(), eq(String.class))).thenReturn("World");
+
+		// Act
+		Object notificationRequest = new NotificationRequestConverter(payloadConverter)
+				.fromMessage(MessageBuilder.withPayload(payload).build(), String.class);
+
+		// Assert
+		assertThat(((NotificationRequestConverter.NotificationRequest) notificationRequest).getSubject()).isEmpty();
+		ArgumentCaptor<Message<?>> messageArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+		verify(payloadConverter).fromMessage(messageArgumentCaptor.capture(), eq(String.class));
+		assertThat(messageArgumentCaptor.getValue().getPayload()).isEqualTo("World");
+		assertThat(messageArgumentCaptor.getValue().getHeaders().get("string-attribute")).isEqualTo("value");
+		assertThat(messageArgumentCaptor.getValue().getHeaders().get("number-attribute")).isEqualTo(30L);
+	}
+
 	@Test
 	void testNoTypeSupplied() throws Exception {
 		ObjectNode jsonObject = JsonNodeFactory.instance.objectNode();
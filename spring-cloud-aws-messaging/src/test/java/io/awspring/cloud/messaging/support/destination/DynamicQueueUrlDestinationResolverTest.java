@@ -26,12 +26,16 @@ import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.messaging.core.DestinationResolutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DynamicQueueUrlDestinationResolverTest {
@@ -137,6 +141,54 @@ class DynamicQueueUrlDestinationResolverTest {
 		assertThat(physicalResourceId).isEqualTo("http://queue.com");
 	}
 
+	@Test
+	void resolveDestination_calledTwice_getsQueueUrlOnlyOnce() throws Exception {
+		AmazonSQS amazonSqs = mock(AmazonSQS.class);
+		when(amazonSqs.getQueueUrl(new GetQueueUrlRequest("foo")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://foo/bar"));
+		DynamicQueueUrlDestinationResolver dynamicQueueDestinationResolver = new DynamicQueueUrlDestinationResolver(
+				amazonSqs);
+
+		dynamicQueueDestinationResolver.resolveDestination("foo");
+		String queueUrl = dynamicQueueDestinationResolver.resolveDestination("foo");
+
+		assertThat(queueUrl).isEqualTo("https://foo/bar");
+		verify(amazonSqs, times(1)).getQueueUrl(any(GetQueueUrlRequest.class));
+	}
+
+	@Test
+	void resolveDestination_withNonExistentQueueCalledTwice_getsQueueUrlOnlyOnce() throws Exception {
+		AmazonSQS amazonSqs = mock(AmazonSQS.class);
+		when(amazonSqs.getQueueUrl(new GetQueueUrlRequest("unknown")))
+				.thenThrow(new QueueDoesNotExistException("AWS.SimpleQueueService.NonExistentQueue"));
+		DynamicQueueUrlDestinationResolver dynamicQueueDestinationResolver = new DynamicQueueUrlDestinationResolver(
+				amazonSqs);
+
+		assertThatThrownBy(() -> dynamicQueueDestinationResolver.resolveDestination("unknown"))
+				.isInstanceOf(DestinationResolutionException.class);
+		assertThatThrownBy(() -> dynamicQueueDestinationResolver.resolveDestination("unknown"))
+				.isInstanceOf(DestinationResolutionException.class);
+
+		verify(amazonSqs, times(1)).getQueueUrl(any(GetQueueUrlRequest.class));
+	}
+
+	@Test
+	void resolveDestination_withExpiredQueueUrl_returnsCachedUrlAndRefreshesIt() throws Exception {
+		AmazonSQS amazonSqs = mock(AmazonSQS.class);
+		when(amazonSqs.getQueueUrl(new GetQueueUrlRequest("foo")))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://foo/old"))
+				.thenReturn(new GetQueueUrlResult().withQueueUrl("https://foo/new"));
+		DynamicQueueUrlDestinationResolver dynamicQueueDestinationResolver = new DynamicQueueUrlDestinationResolver(
+				amazonSqs);
+		dynamicQueueDestinationResolver.setCacheTimeToLive(1);
+		dynamicQueueDestinationResolver.setTaskExecutor(new SyncTaskExecutor());
+
+		assertThat(dynamicQueueDestinationResolver.resolveDestination("foo")).isEqualTo("https://foo/old");
+		Thread.sleep(5);
+		assertThat(dynamicQueueDestinationResolver.resolveDestination("foo")).isEqualTo("https://foo/old");
+		assertThat(dynamicQueueDestinationResolver.resolveDestination("foo")).isEqualTo("https://foo/new");
+	}
+
 	@Test
 	void instantiation_withNullAmazonClient_shouldThrowAnError() throws Exception {
 		assertThatThrownBy(() -> new DynamicQueueUrlDestinationResolver(null, null))
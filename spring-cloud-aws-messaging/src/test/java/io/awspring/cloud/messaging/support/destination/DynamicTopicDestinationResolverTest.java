@@ -25,9 +25,14 @@ import com.amazonaws.services.sns.model.Topic;
 import io.awspring.cloud.core.env.ResourceIdResolver;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.task.SyncTaskExecutor;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -107,6 +112,89 @@ class DynamicTopicDestinationResolverTest {
 		assertThat(resolvedDestinationName).isEqualTo(topicArn);
 	}
 
+	@Test
+	void resolveDestination_withDifferentTopics_listsTopicsOnlyOnce() throws Exception {
+		// Arrange
+		AmazonSNS sns = mock(AmazonSNS.class);
+		when(sns.listTopics(new ListTopicsRequest(null))).thenReturn(new ListTopicsResult()
+				.withTopics(new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:first")).withNextToken("mark"));
+		when(sns.listTopics(new ListTopicsRequest("mark"))).thenReturn(
+				new ListTopicsResult().withTopics(new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:second")));
+
+		DynamicTopicDestinationResolver resolver = new DynamicTopicDestinationResolver(sns);
+
+		// Act
+		String first = resolver.resolveDestination("first");
+		String second = resolver.resolveDestination("second");
+
+		// Assert
+		assertThat(first).isEqualTo("arn:aws:sns:eu-west:123456789012:first");
+		assertThat(second).isEqualTo("arn:aws:sns:eu-west:123456789012:second");
+		verify(sns, times(2)).listTopics(any(ListTopicsRequest.class));
+	}
+
+	@Test
+	void resolveDestination_withNonExistentTopicResolvedTwice_listsTopicsOnlyOnce() throws Exception {
+		// Arrange
+		AmazonSNS sns = mock(AmazonSNS.class);
+		when(sns.listTopics(new ListTopicsRequest(null))).thenReturn(new ListTopicsResult());
+
+		DynamicTopicDestinationResolver resolver = new DynamicTopicDestinationResolver(sns);
+
+		// Act
+		assertThatThrownBy(() -> resolver.resolveDestination("test")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> resolver.resolveDestination("test")).isInstanceOf(IllegalArgumentException.class);
+
+		// Assert
+		verify(sns, times(1)).listTopics(any(ListTopicsRequest.class));
+	}
+
+	@Test
+	void resolveDestination_withTopicCreatedAfterIndexWasLoaded_reloadsIndex() throws Exception {
+		// Arrange
+		AmazonSNS sns = mock(AmazonSNS.class);
+		when(sns.listTopics(new ListTopicsRequest(null)))
+				.thenReturn(new ListTopicsResult()
+						.withTopics(new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:first")))
+				.thenReturn(new ListTopicsResult().withTopics(
+						new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:first"),
+						new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:second")));
+
+		DynamicTopicDestinationResolver resolver = new DynamicTopicDestinationResolver(sns);
+		resolver.resolveDestination("first");
+
+		// Act
+		String second = resolver.resolveDestination("second");
+
+		// Assert
+		assertThat(second).isEqualTo("arn:aws:sns:eu-west:123456789012:second");
+	}
+
+	@Test
+	void resolveDestination_withExpiredCache_returnsCachedArnAndRefreshesIt() throws Exception {
+		// Arrange
+		AmazonSNS sns = mock(AmazonSNS.class);
+		when(sns.listTopics(new ListTopicsRequest(null)))
+				.thenReturn(new ListTopicsResult()
+						.withTopics(new Topic().withTopicArn("arn:aws:sns:eu-west:123456789012:test")))
+				.thenReturn(new ListTopicsResult()
+						.withTopics(new Topic().withTopicArn("arn:aws:sns:us-east:123456789012:test")));
+
+		DynamicTopicDestinationResolver resolver = new DynamicTopicDestinationResolver(sns);
+		resolver.setCacheTimeToLive(1);
+		resolver.setTaskExecutor(new SyncTaskExecutor());
+		resolver.resolveDestination("test");
+		Thread.sleep(5);
+
+		// Act
+		String expired = resolver.resolveDestination("test");
+		String refreshed = resolver.resolveDestination("test");
+
+		// Assert
+		assertThat(expired).isEqualTo("arn:aws:sns:eu-west:123456789012:test");
+		assertThat(refreshed).isEqualTo("arn:aws:sns:us-east:123456789012:test");
+	}
+
 	@Test
 	void resolveDestination_withAlreadyExistingArn_returnsArnWithoutValidatingIt() throws Exception {
 		// Arrange
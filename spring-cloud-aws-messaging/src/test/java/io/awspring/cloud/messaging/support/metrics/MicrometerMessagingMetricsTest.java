@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.awspring.cloud.messaging.support.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerMessagingMetricsTest {
+
+	private static final String QUEUE_URL = "https://sqs.eu-west-1.amazonaws.com/123456789012/test-queue";
+
+	private static final String TOPIC_ARN = "arn:aws:sns:eu-west-1:123456789012:test-topic";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MicrometerMessagingMetrics metrics = new MicrometerMessagingMetrics(this.meterRegistry);
+
+	@Test
+	void recordReceive_withAndWithoutMessages_recordsLatencyMessagesAndEmptyReceives() {
+		// Act
+		this.metrics.recordReceive(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(20), 10, true);
+		this.metrics.recordReceive(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(20_000), 0, true);
+		this.metrics.recordReceive(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(5), 0, false);
+
+		// Assert
+		assertThat(this.meterRegistry.get("sqs.listener.receive").tags("queue", "test-queue", "outcome", "success")
+				.timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20_020);
+		assertThat(this.meterRegistry.get("sqs.listener.receive").tags("queue", "test-queue", "outcome", "failure")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sqs.listener.receive.messages").summary().totalAmount()).isEqualTo(10);
+		assertThat(this.meterRegistry.get("sqs.listener.receive.empty").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void handlerStarted_untilHandlerIsRecorded_countsMessagesInFlight() {
+		// Act
+		this.metrics.handlerStarted(QUEUE_URL, 1);
+		this.metrics.handlerStarted(QUEUE_URL, 10);
+		double inFlightMessages = this.meterRegistry.get("sqs.listener.in.flight").gauge().value();
+		this.metrics.recordHandler(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(100), 10, false);
+
+		// Assert
+		assertThat(inFlightMessages).isEqualTo(11);
+		assertThat(this.meterRegistry.get("sqs.listener.in.flight").gauge().value()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sqs.listener.handler").tags("queue", "test-queue", "outcome", "failure")
+				.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void recordDelete_withFailedMessages_countsFailures() {
+		// Act
+		this.metrics.recordDelete(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(10), 10, 0);
+		this.metrics.recordDelete(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(10), 10, 3);
+		this.metrics.recordVisibilityChange(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(10), 5, 5);
+
+		// Assert
+		assertThat(this.meterRegistry.get("sqs.listener.delete").tags("queue", "test-queue", "outcome", "success")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sqs.listener.delete").tags("queue", "test-queue", "outcome", "failure")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sqs.listener.delete.failures").counter().count()).isEqualTo(3);
+		assertThat(this.meterRegistry.get("sqs.listener.visibility.failures").counter().count()).isEqualTo(5);
+	}
+
+	@Test
+	void recordSendAndPublish_withDestinations_tagsMetersWithQueueAndTopicName() {
+		// Act
+		this.metrics.recordSend(QUEUE_URL, TimeUnit.MILLISECONDS.toNanos(10), true);
+		this.metrics.recordSendBatch(QUEUE_URL, 7);
+		this.metrics.recordPublish(TOPIC_ARN, TimeUnit.MILLISECONDS.toNanos(10), false);
+		this.metrics.recordPublishBatch(TOPIC_ARN, 3);
+
+		// Assert
+		assertThat(this.meterRegistry.get("sqs.template.send").tags("queue", "test-queue", "outcome", "success").timer()
+				.count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sqs.template.send.batch.size").tag("queue", "test-queue").summary()
+				.totalAmount()).isEqualTo(7);
+		assertThat(this.meterRegistry.get("sns.template.publish").tags("topic", "test-topic", "outcome", "failure")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("sns.template.publish.batch.size").tag("topic", "test-topic").summary()
+				.totalAmount()).isEqualTo(3);
+	}
+
+	@Test
+	void recordMessageAge_forSameQueue_reusesMeters() {
+		// Act
+		this.metrics.recordMessageAge(QUEUE_URL, 1000);
+		this.metrics.recordMessageAge(QUEUE_URL, 3000);
+
+		// Assert
+		assertThat(this.meterRegistry.get("sqs.listener.message.age").timers()).hasSize(1);
+		assertThat(this.meterRegistry.get("sqs.listener.message.age").timer().mean(TimeUnit.MILLISECONDS))
+				.isEqualTo(2000);
+	}
+
+}